@@ -0,0 +1,100 @@
+package com.github.tymefly.eel;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import com.github.tymefly.eel.benchmark.Expressions;
+import com.github.tymefly.eel.builder.EelContextBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the overhead that {@link EelRuntime#wrap(Term)} adds to each evaluation. This benchmark is in the same
+ * package as {@link EelRuntime} so that it can access the package private compiler classes directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RuntimeBenchmark {
+    @Param({ "LITERAL", "INTERPOLATION" })
+    private Expressions expression;
+
+    private EelContextImpl timed;
+    private Term term;
+    private Expression withTimeout;
+    private Expression withoutTimeout;
+    private SymbolsTable symbols;
+
+
+    /**
+     * Compile the expression once and wrap it with and without a timeout
+     */
+    @Setup
+    public void setUp() {
+        timed = context(EelContextBuilder.DEFAULT_TIMEOUT);
+
+        EelContextImpl untimed = context(EelContextBuilder.NO_TIMEOUT);
+        Source source = Source.build(expression.source(), timed.maxExpressionLength());
+
+        term = new Parser(new Tokenizer(source), new LambdaCompiler(timed))
+            .parse();
+        withTimeout = new EelRuntime(timed).wrap(term);
+        withoutTimeout = new EelRuntime(untimed).wrap(term);
+        symbols = Expressions.symbolsTable();
+    }
+
+    private EelContextImpl context(Duration timeout) {
+        return (EelContextImpl) EelContext.factory()
+            .withTimeout(timeout)
+            .build();
+    }
+
+
+    /**
+     * Benchmark the raw term, without the EEL runtime
+     * @return the evaluated value
+     */
+    @Benchmark
+    public Value term() {
+        return term.evaluate(symbols);
+    }
+
+    /**
+     * Benchmark the term wrapped in the EEL runtime without a timeout
+     * @return the result of the evaluation
+     */
+    @Benchmark
+    public Result withoutTimeout() {
+        return withoutTimeout.evaluate(symbols);
+    }
+
+    /**
+     * Benchmark the term wrapped in the EEL runtime with the default timeout
+     * @return the result of the evaluation
+     */
+    @Benchmark
+    public Result withTimeout() {
+        return withTimeout.evaluate(symbols);
+    }
+
+    /**
+     * Benchmark the cost of wrapping a term in the EEL runtime
+     * @return the wrapped term
+     */
+    @Benchmark
+    public Expression wrap() {
+        return new EelRuntime(timed).wrap(term);
+    }
+}
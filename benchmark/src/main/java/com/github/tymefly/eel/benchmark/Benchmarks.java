@@ -0,0 +1,33 @@
+package com.github.tymefly.eel.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point for the EEL benchmarks. This accepts the standard JMH command line options, but always adds the
+ * GC profiler so that the allocation rate is reported alongside the throughput of each benchmark.
+ */
+public class Benchmarks {
+    private Benchmarks() {
+    }
+
+    /**
+     * Application entry point
+     * @param args  standard JMH command line arguments
+     * @throws RunnerException if the benchmarks failed to run
+     * @throws CommandLineOptionException if the command line was invalid
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .addProfiler(GCProfiler.class)
+            .build();
+
+        new Runner(options).run();
+    }
+}
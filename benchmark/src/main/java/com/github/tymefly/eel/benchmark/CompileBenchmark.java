@@ -0,0 +1,56 @@
+package com.github.tymefly.eel.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.github.tymefly.eel.Eel;
+import com.github.tymefly.eel.EelContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of compiling expressions; this covers the {@code Source}, {@code Tokenizer}, {@code Parser} and
+ * the {@code Compiler}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompileBenchmark {
+    @Param
+    private Expressions expression;
+
+    private EelContext context;
+    private String source;
+
+
+    /**
+     * Create the context once so that the cost of scanning for functions is not measured
+     */
+    @Setup
+    public void setUp() {
+        context = EelContext.factory()
+            .build();
+        source = expression.source();
+    }
+
+
+    /**
+     * Benchmark {@link Eel#compile(EelContext, String)}
+     * @return the compiled expression
+     */
+    @Benchmark
+    public Eel compile() {
+        return Eel.compile(context, source);
+    }
+}
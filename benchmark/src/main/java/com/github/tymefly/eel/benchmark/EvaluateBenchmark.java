@@ -0,0 +1,189 @@
+package com.github.tymefly.eel.benchmark;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.annotation.Nonnull;
+
+import com.github.tymefly.eel.BatchHandler;
+import com.github.tymefly.eel.Eel;
+import com.github.tymefly.eel.EelContext;
+import com.github.tymefly.eel.Result;
+import com.github.tymefly.eel.SymbolsTable;
+import com.github.tymefly.eel.TimeoutMode;
+import com.github.tymefly.eel.builder.EelContextBuilder;
+import com.github.tymefly.eel.exception.EelException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the cost of evaluating previously compiled expressions, both with and without the default timeout,
+ * for each of the timeout modes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EvaluateBenchmark {
+    private static final int BATCH_SIZE = 1000;
+
+    @Param
+    private Expressions expression;
+
+    @Param({ "true", "false" })
+    private boolean timeout;
+
+    @Param
+    private TimeoutMode timeoutMode;
+
+    private Eel compiled;
+    private Eel schemaCompiled;
+    private SymbolsTable symbols;
+    private SymbolsTable slots;
+    private SymbolsTable frozen;
+    private SymbolsTable typed;
+    private long sequence;
+    private List<SymbolsTable> batch;
+
+
+    /**
+     * Compile the expression once so that only the evaluation is measured
+     */
+    @Setup
+    public void setUp() {
+        EelContext context = EelContext.factory()
+            .withTimeout(timeout ? EelContextBuilder.DEFAULT_TIMEOUT : EelContextBuilder.NO_TIMEOUT)
+            .withTimeoutMode(timeoutMode)
+            .build();
+
+        compiled = Eel.compile(context, expression.source());
+        symbols = Expressions.symbolsTable();
+        frozen = symbols.freeze();
+        typed = Expressions.typedTable();
+
+        EelContext schemaContext = EelContext.factory()
+            .withTimeout(timeout ? EelContextBuilder.DEFAULT_TIMEOUT : EelContextBuilder.NO_TIMEOUT)
+            .withTimeoutMode(timeoutMode)
+            .withSymbolSchema(Expressions.names())
+            .build();
+
+        schemaCompiled = Eel.compile(schemaContext, expression.source());
+        slots = Expressions.slotsTable();
+        batch = Collections.nCopies(BATCH_SIZE, symbols);
+    }
+
+
+    /**
+     * Benchmark {@link Eel#evaluate(SymbolsTable)}
+     * @return the result of the evaluation
+     */
+    @Benchmark
+    public Result evaluate() {
+        return compiled.evaluate(symbols);
+    }
+
+    /**
+     * Benchmark {@link Eel#evaluate(SymbolsTable)} with a {@link SymbolsTable#freeze() frozen} SymbolsTable
+     * @return the result of the evaluation
+     */
+    @Benchmark
+    public Result evaluateFrozen() {
+        return compiled.evaluate(frozen);
+    }
+
+    /**
+     * Benchmark {@link Eel#evaluate(SymbolsTable)} with a SymbolsTable that returns numbers rather than text
+     * @return the result of the evaluation
+     */
+    @Benchmark
+    public Result evaluateTyped() {
+        return compiled.evaluate(typed);
+    }
+
+    /**
+     * Benchmark {@link Eel#evaluate(SymbolsTable)} for an expression compiled with a symbol schema and evaluated
+     * with a slot based SymbolsTable
+     * @return the result of the evaluation
+     */
+    @Benchmark
+    public Result evaluateSlots() {
+        return schemaCompiled.evaluate(slots);
+    }
+
+    /**
+     * Benchmark {@link Eel#evaluate(java.util.Map)}, which includes the cost of building a one-off SymbolsTable
+     * @return the result of the evaluation
+     */
+    @Benchmark
+    public Result evaluateMap() {
+        return compiled.evaluate(Expressions.symbols());
+    }
+
+    /**
+     * Benchmark {@link Eel#evaluate(Function)} where the numeric values change on every evaluation, so that
+     * intermediate results are unlikely to have been seen before
+     * @return the result of the evaluation
+     */
+    @Benchmark
+    public Result evaluateDistinct() {
+        String next = Long.toString(++sequence);
+
+        return compiled.evaluate(k -> "id".equals(k) || "count".equals(k) ? next : Expressions.symbols().get(k));
+    }
+
+
+    /**
+     * Benchmark {@link Eel#evaluateAll(Iterable, BatchHandler)}. The score is per row so that it can be compared
+     * with {@link #evaluate()}
+     * @param blackhole     consumer for the results
+     * @return the number of rows that failed
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public long evaluateBatch(@Nonnull Blackhole blackhole) {
+        return compiled.evaluateAll(batch, handler(blackhole));
+    }
+
+    /**
+     * Benchmark {@link Eel#evaluateParallel(List, BatchHandler)}. The score is per row so that it can be compared
+     * with {@link #evaluate()}
+     * @param blackhole     consumer for the results
+     * @return the number of rows that failed
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public long evaluateParallel(@Nonnull Blackhole blackhole) {
+        return compiled.evaluateParallel(batch, handler(blackhole));
+    }
+
+
+    @Nonnull
+    private BatchHandler handler(@Nonnull Blackhole blackhole) {
+        return new BatchHandler() {
+            @Override
+            public void onResult(long row, @Nonnull Result result) {
+                blackhole.consume(result);
+            }
+
+            @Override
+            public void onFailure(long row, @Nonnull EelException failure) {
+                blackhole.consume(failure);
+            }
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.tymefly.eel.benchmark;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+import com.github.tymefly.eel.SymbolsTable;
+
+/**
+ * Realistic expressions used by the benchmarks, grouped by the part of the compiler and runtime they exercise.
+ */
+public enum Expressions {
+    /** Text without any interpolation. This should compile to a single constant */
+    LITERAL("The quick brown fox jumps over the lazy dog"),
+
+    /** Text interpolated with values read from the SymbolsTable */
+    INTERPOLATION("https://${host}:${port}/${path}/${id}?user=${user}&env=${env:0:3^^}"),
+
+    /** A chain of arithmetic operators */
+    ARITHMETIC("$( (${port} + ${id} * 3 - ${count} // 7) % 1000 + (${size} << 2) & 0xFFFF )"),
+
+    /** Nested conditionals and relational operators */
+    CONDITIONAL("$( ${env} = 'prod' ? 'p' : ${env} = 'test' ? 't' : ${size} > 100 ? 'big' : 'small' )"),
+
+    /** A template dominated by function calls */
+    FUNCTIONS("$upper(${user})-$padLeft(${id}, 8, '0')-$format.hex(${size}) " +
+        "$printf('%s:%d', ${host}, ${port}) $format.date('yyyy-MM-dd', date.start('UTC', '@d'))");
+
+    private static final Map<String, String> VALUES = Map.ofEntries(
+        Map.entry("host", "www.example.com"),
+        Map.entry("port", "8443"),
+        Map.entry("path", "api/v2/resource"),
+        Map.entry("id", "123456"),
+        Map.entry("user", "alice"),
+        Map.entry("env", "production"),
+        Map.entry("count", "42"),
+        Map.entry("size", "4096"));
+
+    private static final Map<String, Object> TYPED_VALUES = typedValues();
+    private static final String[] NAMES = VALUES.keySet().toArray(String[]::new);
+
+    private final String source;
+
+
+    Expressions(@Nonnull String source) {
+        this.source = source;
+    }
+
+
+    /**
+     * Returns the source text of this expression
+     * @return the source text of this expression
+     */
+    @Nonnull
+    public String source() {
+        return source;
+    }
+
+    /**
+     * Returns the values that the expressions can read
+     * @return the values that the expressions can read
+     */
+    @Nonnull
+    public static Map<String, String> symbols() {
+        return VALUES;
+    }
+
+    /**
+     * Returns a SymbolsTable containing all the values that the expressions can read
+     * @return a SymbolsTable containing all the values that the expressions can read
+     */
+    @Nonnull
+    public static SymbolsTable symbolsTable() {
+        return SymbolsTable.from(VALUES);
+    }
+
+    /**
+     * Returns the names of all the symbols, in slot order
+     * @return the names of all the symbols
+     * @see #slotsTable()
+     */
+    @Nonnull
+    public static String[] names() {
+        return NAMES.clone();
+    }
+
+    /**
+     * Returns a slot based SymbolsTable for expressions compiled with the {@link #names()} schema
+     * @return a slot based SymbolsTable
+     */
+    @Nonnull
+    public static SymbolsTable slotsTable() {
+        String[] values = new String[NAMES.length];
+
+        for (int index = 0; index < NAMES.length; index++) {
+            values[index] = VALUES.get(NAMES[index]);
+        }
+
+        return SymbolsTable.slots(values);
+    }
+
+    /**
+     * Returns a SymbolsTable with a typed lookup that holds the numeric values as numbers, as they would be if they
+     * were read from domain objects
+     * @return a SymbolsTable with a typed lookup
+     */
+    @Nonnull
+    public static SymbolsTable typedTable() {
+        return SymbolsTable.factory()
+            .withTypedLookup(TYPED_VALUES::get)
+            .build();
+    }
+
+
+    @Nonnull
+    private static Map<String, Object> typedValues() {
+        Map<String, Object> typed = new HashMap<>();
+
+        VALUES.forEach((key, value) -> typed.put(key, value.chars().allMatch(Character::isDigit) ?
+            new BigDecimal(value) :
+            value));
+
+        return Map.copyOf(typed);
+    }
+}
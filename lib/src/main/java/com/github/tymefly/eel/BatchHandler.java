@@ -0,0 +1,27 @@
+package com.github.tymefly.eel;
+
+import javax.annotation.Nonnull;
+
+import com.github.tymefly.eel.exception.EelException;
+
+/**
+ * Receives the outcome of each row in a batch evaluation. Methods are always called on the thread that started
+ * the batch, in the same order as the rows were supplied, so implementations do not need to be thread safe.
+ * @since 3.3
+ * @see Eel#evaluateAll(Iterable, BatchHandler)
+ */
+public interface BatchHandler {
+    /**
+     * Called when a row was successfully evaluated
+     * @param row       zero based index of the row in the batch
+     * @param result    the result of the evaluation
+     */
+    void onResult(long row, @Nonnull Result result);
+
+    /**
+     * Called when a row failed to evaluate. The remaining rows in the batch will still be evaluated
+     * @param row       zero based index of the row in the batch
+     * @param failure   the reason the evaluation failed
+     */
+    void onFailure(long row, @Nonnull EelException failure);
+}
@@ -0,0 +1,309 @@
+package com.github.tymefly.eel;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+
+import com.github.tymefly.eel.exception.EelException;
+import com.github.tymefly.eel.exception.EelInterruptedException;
+import com.github.tymefly.eel.exception.EelRejectedException;
+import com.github.tymefly.eel.exception.EelRuntimeException;
+import com.github.tymefly.eel.exception.EelTimeoutException;
+
+/**
+ * Evaluates an {@link Expression} for many rows by handing chunks of rows to an executor. Whichever threads evaluate
+ * the rows, the outcomes are passed to the {@link BatchHandler} on the calling thread in row order.
+ * <br>
+ * If a timeout is given and a row has been evaluated for longer than that, the row is reported as timed out, the
+ * chunk is abandoned and the remaining rows are resubmitted. Chunks that are waiting for a thread are not timed.
+ */
+final class Batches {
+    private static final int CHUNK_SIZE = 256;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int NOT_STARTED = -1;
+    private static final long MIN_WAIT = TimeUnit.MILLISECONDS.toNanos(1);
+
+
+    /**
+     * A contiguous set of rows that is evaluated by a single executor task
+     */
+    private static final class Chunk implements Runnable {
+        private final Expression evaluator;
+        private final List<SymbolsTable> rows;
+        private final int start;
+        private final Result[] results;
+        private final EelException[] failures;
+        private final AtomicInteger next;
+        private volatile int completed;
+        private volatile long rowStart;
+        private volatile int running;
+        private CompletableFuture<Void> future;
+        private RejectedExecutionException rejected;
+
+        private Chunk(@Nonnull Expression evaluator, @Nonnull List<SymbolsTable> rows, int start) {
+            this.evaluator = evaluator;
+            this.rows = rows;
+            this.start = start;
+            this.results = new Result[rows.size()];
+            this.failures = new EelException[rows.size()];
+            this.next = new AtomicInteger(start);
+            this.completed = start;
+            this.running = NOT_STARTED;
+        }
+
+
+        @Nonnull
+        private Chunk submit(@Nonnull Executor executor) {
+            try {
+                future = CompletableFuture.runAsync(this, executor);
+            } catch (RejectedExecutionException e) {
+                rejected = e;
+            }
+
+            return this;
+        }
+
+        @Override
+        public void run() {
+            int index = next.get();
+
+            while ((index < rows.size()) && next.compareAndSet(index, index + 1)) {
+                rowStart = System.nanoTime();
+                running = index;
+
+                try {
+                    results[index] = evaluator.evaluate(rows.get(index));
+                } catch (EelException e) {
+                    failures[index] = e;
+                } catch (RuntimeException | Error e) {
+                    failures[index] = new EelRuntimeException("EEL execution failed", e);
+                }
+
+                completed = ++index;
+            }
+        }
+
+        /**
+         * Prevent this chunk from starting any more rows. A row that is currently being evaluated is
+         * allowed to run to completion, but its outcome will be ignored.
+         */
+        private void abandon() {
+            next.set(Integer.MAX_VALUE);
+        }
+
+        /**
+         * Abandon this chunk, but only if {@code row} is the last row it started
+         * @param row       the row that has been evaluated for too long
+         * @return          {@literal true} if the chunk was abandoned
+         */
+        private boolean abandon(int row) {
+            return next.compareAndSet(row + 1, Integer.MAX_VALUE);
+        }
+    }
+
+
+    private Batches() {
+    }
+
+
+    /**
+     * Evaluate the rows one chunk at a time, so that only a single thread is used
+     * @param evaluator         evaluates a single row
+     * @param executor          executor that evaluates the chunks
+     * @param timeout           the maximum time a row can be evaluated for, or zero for no limit
+     * @param symbolsTables     the SymbolsTable for each row
+     * @param handler           receiver for the outcome of each row
+     * @return                  the number of rows that failed
+     */
+    static long sequential(@Nonnull Expression evaluator,
+                           @Nonnull Executor executor,
+                           @Nonnull Duration timeout,
+                           @Nonnull Iterable<SymbolsTable> symbolsTables,
+                           @Nonnull BatchHandler handler) {
+        Iterator<SymbolsTable> iterator = symbolsTables.iterator();
+        long base = 0;
+        long failures = 0;
+
+        while (iterator.hasNext()) {
+            List<SymbolsTable> rows = new ArrayList<>(CHUNK_SIZE);
+
+            while (iterator.hasNext() && rows.size() < CHUNK_SIZE) {
+                rows.add(iterator.next());
+            }
+
+            Chunk chunk = new Chunk(evaluator, rows, 0).submit(executor);
+
+            failures += deliver(chunk, executor, timeout, base, handler);
+            base += rows.size();
+        }
+
+        return failures;
+    }
+
+    /**
+     * Split the rows into chunks and evaluate all of them concurrently
+     * @param evaluator         evaluates a single row
+     * @param pool              pool that evaluates the chunks
+     * @param timeout           the maximum time a row can be evaluated for, or zero for no limit
+     * @param symbolsTables     the SymbolsTable for each row
+     * @param handler           receiver for the outcome of each row
+     * @return                  the number of rows that failed
+     */
+    static long parallel(@Nonnull Expression evaluator,
+                         @Nonnull ForkJoinPool pool,
+                         @Nonnull Duration timeout,
+                         @Nonnull List<SymbolsTable> symbolsTables,
+                         @Nonnull BatchHandler handler) {
+        int size = symbolsTables.size();
+        int chunkSize = Math.max(1, Math.min(CHUNK_SIZE, size / (pool.getParallelism() * CHUNKS_PER_THREAD)));
+        List<Chunk> chunks = new ArrayList<>(size / chunkSize + 1);
+        long base = 0;
+        long failures = 0;
+
+        for (int start = 0; start < size; start += chunkSize) {
+            List<SymbolsTable> rows = symbolsTables.subList(start, Math.min(size, start + chunkSize));
+
+            chunks.add(new Chunk(evaluator, rows, 0).submit(pool));
+        }
+
+        for (Chunk chunk : chunks) {
+            failures += deliver(chunk, pool, timeout, base, handler);
+            base += chunk.rows.size();
+        }
+
+        return failures;
+    }
+
+
+    private static long deliver(@Nonnull Chunk submitted,
+                                @Nonnull Executor executor,
+                                @Nonnull Duration timeout,
+                                long base,
+                                @Nonnull BatchHandler handler) {
+        Chunk chunk = submitted;
+        int size = chunk.rows.size();
+        long failures = 0;
+
+        while (chunk != null) {
+            int start = chunk.start;
+
+            if (chunk.rejected != null) {
+                for (int index = start; index < size; index++) {
+                    failures++;
+                    handler.onFailure(base + index,
+                        new EelRejectedException("EEL execution was rejected", chunk.rejected));
+                }
+
+                break;
+            }
+
+            int stalled = await(chunk, timeout);
+            int done = chunk.completed;
+
+            for (int index = start; index < done; index++) {
+                Result result = chunk.results[index];
+
+                if (result == null) {
+                    failures++;
+                    handler.onFailure(base + index, chunk.failures[index]);
+                } else {
+                    handler.onResult(base + index, result);
+                }
+            }
+
+            if (stalled == done) {
+                failures++;
+                handler.onFailure(base + done, timedOut(chunk.rowStart));
+                done++;
+            }
+
+            chunk = (done < size ? new Chunk(chunk.evaluator, chunk.rows, done).submit(executor) : null);
+        }
+
+        return failures;
+    }
+
+    /**
+     * Wait for the {@code chunk} to complete, or for one of its rows to be evaluated for longer than the
+     * {@code timeout}. Time spent waiting for the chunk to start is not counted.
+     * @return  the row that was abandoned because it ran out of time, or {@link #NOT_STARTED} if the chunk
+     *          completed. Rows after the abandoned row were not started.
+     */
+    private static int await(@Nonnull Chunk chunk, @Nonnull Duration timeout) {
+        long limit = timeout.toNanos();
+        long wait = limit;
+        int stalled = NOT_STARTED;
+        boolean waiting = true;
+
+        while (waiting) {
+            try {
+                get(chunk.future, wait);
+                waiting = false;
+            } catch (TimeoutException e) {
+                int row = chunk.running;
+                long elapsed = System.nanoTime() - chunk.rowStart;
+
+                if (row == NOT_STARTED) {                   // Waiting for a thread
+                    wait = limit;
+                } else if (chunk.completed > row) {         // Between rows
+                    wait = MIN_WAIT;
+                } else if (elapsed < limit) {
+                    wait = Math.max(MIN_WAIT, limit - elapsed);
+                } else if (chunk.abandon(row)) {
+                    stalled = row;
+                    waiting = false;
+                } else {
+                    wait = MIN_WAIT;                        // The chunk has moved on to the next row
+                }
+            } catch (InterruptedException e) {
+                chunk.abandon();
+
+                throw new EelInterruptedException("EEL execution was interrupted", e);
+            } catch (ExecutionException e) {                // Should not happen - Chunk catches all failures
+                failed(chunk, e.getCause());
+                waiting = false;
+            }
+        }
+
+        return stalled;
+    }
+
+    /**
+     * Record the failure of the row that a chunk was evaluating when its task failed
+     */
+    private static void failed(@Nonnull Chunk chunk, @Nonnull Throwable cause) {
+        int row = chunk.completed;
+
+        if (row < chunk.rows.size()) {
+            chunk.failures[row] = new EelRuntimeException("EEL execution failed", cause);
+            chunk.completed = row + 1;
+        }
+    }
+
+    private static void get(@Nonnull CompletableFuture<Void> future, long wait)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        if (wait == 0) {
+            future.get();
+        } else {
+            future.get(wait, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Nonnull
+    private static EelTimeoutException timedOut(long start) {
+        long duration = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start);
+
+        return new EelTimeoutException("EEL Timeout after %d second(s)", duration);
+    }
+}
@@ -0,0 +1,29 @@
+package com.github.tymefly.eel;
+
+/**
+ * A snapshot of the counters maintained by one of the caches used by EEL.
+ * These can be used to size the cache.
+ * @param hits          the number of lookups that found a cached entry
+ * @param misses        the number of lookups that did not find a cached entry
+ * @param evictions     the number of entries that have been removed to make space for new entries
+ * @param size          the number of entries currently in the cache
+ * @param capacity      the maximum number of entries that the cache can hold
+ * @since 3.3
+ */
+public record CacheStatistics(long hits, long misses, long evictions, int size, int capacity) {
+    /**
+     * Statistics for a cache that has been disabled
+     */
+    static final CacheStatistics DISABLED = new CacheStatistics(0, 0, 0, 0, 0);
+
+
+    /**
+     * Returns the proportion of lookups that found a cached entry.
+     * @return a value in the range {@literal 0.0} to {@literal 1.0}, or {@literal 0.0} if no lookups have been made
+     */
+    public double hitRate() {
+        long requests = hits + misses;
+
+        return (requests == 0 ? 0.0 : (double) hits / requests);
+    }
+}
@@ -0,0 +1,455 @@
+package com.github.tymefly.eel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link Compiler} that performs common subexpression elimination for a {@link LambdaCompiler}.
+ * <br>
+ * Each term that is built from constants, plain symbol reads and deterministic operations is given a structural
+ * key. If the same key is compiled more than once then the existing term is returned, and its value is held in the
+ * evaluation's frame so that it is evaluated at most once per evaluation. Shared terms are evaluated when they are
+ * first reached, so a subexpression that is never reached is never evaluated.
+ * <br>
+ * Terms that depend on more than their operands, such as lookbacks, symbol reads with defaults or transformations
+ * and calls to non-deterministic functions, are not given a key; nor is any term that contains them.
+ */
+final class CommonTerms implements Compiler {
+    private static final String SYMBOL = "$";
+    private static final String DEFINED = "?";
+    private static final String CONSTANT = "#";
+    private static final String CALL = "call ";
+
+
+    /**
+     * SymbolBuilder that records if the symbol is read without a default or transformations
+     */
+    private final class SharedSymbolBuilder implements SymbolBuilder {
+        private final String identifier;
+        private final SymbolBuilder builder;
+        private boolean plain;
+
+        private SharedSymbolBuilder(@Nonnull String identifier, @Nonnull SymbolBuilder builder) {
+            this.identifier = identifier;
+            this.builder = builder;
+            this.plain = true;
+        }
+
+        @Nonnull
+        @Override
+        public SymbolBuilder withDefault(@Nonnull Term defaultValue) {
+            builder.withDefault(defaultValue);
+            plain = false;
+
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public SymbolBuilder withBlankDefault(@Nonnull Term defaultValue) {
+            builder.withBlankDefault(defaultValue);
+            plain = false;
+
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public SymbolBuilder withTransformation(@Nonnull SymbolTransformation transformation) {
+            builder.withTransformation(transformation);
+            plain = false;
+
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public Term build() {
+            Term term = builder.build();
+
+            return (plain ? leaf(List.of(SYMBOL, identifier), term) : term);
+        }
+    }
+
+
+    private final EelContextImpl context;
+    private final LambdaCompiler compiler;
+    private final Map<Term, Object> keys;
+    private final Map<Object, Term> terms;
+
+
+    CommonTerms(@Nonnull EelContextImpl context, @Nonnull LambdaCompiler compiler) {
+        this.context = context;
+        this.compiler = compiler;
+        this.keys = new IdentityHashMap<>();
+        this.terms = new HashMap<>();
+    }
+
+
+    @Nonnull
+    @Override
+    public Term complete(@Nonnull Term expression) {
+        return compiler.complete(expression);
+    }
+
+    @Nonnull
+    @Override
+    public Term constTerm(@Nonnull Term term) {
+        return compiler.constTerm(term);
+    }
+
+    @Nonnull
+    @Override
+    public LookbackBuilder lookback(@Nullable List<Term> lookBacks) {
+        return compiler.lookback(lookBacks);
+    }
+
+
+    @Nonnull
+    @Override
+    public Term isDefined(@Nonnull String identifier) {
+        return leaf(List.of(DEFINED, identifier), compiler.isDefined(identifier));
+    }
+
+    @Nonnull
+    @Override
+    public SymbolBuilder read(@Nonnull String identifier) {
+        return new SharedSymbolBuilder(identifier, compiler.read(identifier));
+    }
+
+
+    @Nonnull
+    @Override
+    public Term textConstant(@Nonnull String value) {
+        return compiler.textConstant(value);
+    }
+
+    @Nonnull
+    @Override
+    public Term logicConstant(boolean value) {
+        return compiler.logicConstant(value);
+    }
+
+    @Nonnull
+    @Override
+    public Term numericConstant(@Nonnull Number value) {
+        return compiler.numericConstant(value);
+    }
+
+
+    @Nonnull
+    @Override
+    public Term conditional(@Nonnull Term condition, @Nonnull Term first, @Nonnull Term second) {
+        return node(() -> compiler.conditional(condition, first, second), "conditional", condition, first, second);
+    }
+
+
+    @Nonnull
+    @Override
+    public Term equal(@Nonnull Term left, @Nonnull Term right) {
+        return node(() -> compiler.equal(left, right), "equal", left, right);
+    }
+
+    @Nonnull
+    @Override
+    public Term notEqual(@Nonnull Term left, @Nonnull Term right) {
+        return node(() -> compiler.notEqual(left, right), "notEqual", left, right);
+    }
+
+    @Nonnull
+    @Override
+    public Term greaterThan(@Nonnull Term left, @Nonnull Term right) {
+        return node(() -> compiler.greaterThan(left, right), "greaterThan", left, right);
+    }
+
+    @Nonnull
+    @Override
+    public Term greaterThenEquals(@Nonnull Term left, @Nonnull Term right) {
+        return node(() -> compiler.greaterThenEquals(left, right), "greaterThenEquals", left, right);
+    }
+
+    @Nonnull
+    @Override
+    public Term lessThan(@Nonnull Term left, @Nonnull Term right) {
+        return node(() -> compiler.lessThan(left, right), "lessThan", left, right);
+    }
+
+    @Nonnull
+    @Override
+    public Term lessThanEquals(@Nonnull Term left, @Nonnull Term right) {
+        return node(() -> compiler.lessThanEquals(left, right), "lessThanEquals", left, right);
+    }
+
+    @Nonnull
+    @Override
+    public Term isBefore(@Nonnull Term left, @Nonnull Term right) {
+        return node(() -> compiler.isBefore(left, right), "isBefore", left, right);
+    }
+
+    @Nonnull
+    @Override
+    public Term isAfter(@Nonnull Term left, @Nonnull Term right) {
+        return node(() -> compiler.isAfter(left, right), "isAfter", left, right);
+    }
+
+    @Nonnull
+    @Override
+    public Term in(@Nonnull Term left, @Nonnull List<Term> terms) {
+        List<Term> operands = new ArrayList<>(terms.size() + 1);
+
+        operands.add(left);
+        operands.addAll(terms);
+
+        return node(() -> compiler.in(left, terms), "in", operands.toArray(Term[]::new));
+    }
+
+
+    @Nonnull
+    @Override
+    public Term negate(@Nonnull Term value) {
+        return node(() -> compiler.negate(value), "negate", value);
+    }
+
+    @Nonnull
+    @Override
+    public Term add(@Nonnull Term left, @Nonnull Term right) {
+        return node(() -> compiler.add(left, right), "add", left, right);
+    }
+
+    @Nonnull
+    @Override
+    public Term subtract(@Nonnull Term left, @Nonnull Term right) {
+        return node(() -> compiler.subtract(left, right), "subtract", left, right);
+    }
+
+    @Nonnull
+    @Override
+    public Term multiply(@Nonnull Term left, @Nonnull Term right) {
+        return node(() -> compiler.multiply(left, right), "multiply", left, right);
+    }
+
+    @Nonnull
+    @Override
+    public Term divide(@Nonnull Term left, @Nonnull Term right) {
+        return node(() -> compiler.divide(left, right), "divide", left, right);
+    }
+
+    @Nonnull
+    @Override
+    public Term divideFloor(@Nonnull Term left, @Nonnull Term right) {
+        return node(() -> compiler.divideFloor(left, right), "divideFloor", left, right);
+    }
+
+    @Nonnull
+    @Override
+    public Term divideTruncate(@Nonnull Term left, @Nonnull Term right) {
+        return node(() -> compiler.divideTruncate(left, right), "divideTruncate", left, right);
+    }
+
+    @Nonnull
+    @Override
+    public Term modulus(@Nonnull Term left, @Nonnull Term right) {
+        return node(() -> compiler.modulus(left, right), "modulus", left, right);
+    }
+
+    @Nonnull
+    @Override
+    public Term power(@Nonnull Term left, @Nonnull Term right) {
+        return node(() -> compiler.power(left, right), "power", left, right);
+    }
+
+
+    @Nonnull
+    @Override
+    public Term logicalNot(@Nonnull Term value) {
+        return node(() -> compiler.logicalNot(value), "logicalNot", value);
+    }
+
+    @Nonnull
+    @Override
+    public Term logicalAnd(@Nonnull Term left, @Nonnull Term right) {
+        return node(() -> compiler.logicalAnd(left, right), "logicalAnd", left, right);
+    }
+
+    @Nonnull
+    @Override
+    public Term logicalOr(@Nonnull Term left, @Nonnull Term right) {
+        return node(() -> compiler.logicalOr(left, right), "logicalOr", left, right);
+    }
+
+    @Nonnull
+    @Override
+    public Term logicalXor(@Nonnull Term left, @Nonnull Term right) {
+        return node(() -> compiler.logicalXor(left, right), "logicalXor", left, right);
+    }
+
+
+    @Nonnull
+    @Override
+    public Term bitwiseNot(@Nonnull Term value) {
+        return node(() -> compiler.bitwiseNot(value), "bitwiseNot", value);
+    }
+
+    @Nonnull
+    @Override
+    public Term bitwiseAnd(@Nonnull Term left, @Nonnull Term right) {
+        return node(() -> compiler.bitwiseAnd(left, right), "bitwiseAnd", left, right);
+    }
+
+    @Nonnull
+    @Override
+    public Term bitwiseOr(@Nonnull Term left, @Nonnull Term right) {
+        return node(() -> compiler.bitwiseOr(left, right), "bitwiseOr", left, right);
+    }
+
+    @Nonnull
+    @Override
+    public Term bitwiseXor(@Nonnull Term left, @Nonnull Term right) {
+        return node(() -> compiler.bitwiseXor(left, right), "bitwiseXor", left, right);
+    }
+
+    @Nonnull
+    @Override
+    public Term leftShift(@Nonnull Term value, @Nonnull Term shift) {
+        return node(() -> compiler.leftShift(value, shift), "leftShift", value, shift);
+    }
+
+    @Nonnull
+    @Override
+    public Term rightShift(@Nonnull Term value, @Nonnull Term shift) {
+        return node(() -> compiler.rightShift(value, shift), "rightShift", value, shift);
+    }
+
+
+    @Nonnull
+    @Override
+    public Term concatenate(@Nonnull Term first, @Nonnull Term second) {
+        return node(() -> compiler.concatenate(first, second), "concatenate", first, second);
+    }
+
+    @Nonnull
+    @Override
+    public Term interpolate(@Nonnull List<Term> elements) {
+        return node(() -> compiler.interpolate(elements), "interpolate", elements.toArray(Term[]::new));
+    }
+
+
+    @Nonnull
+    @Override
+    public Term callText(@Nonnull Term operand) {
+        return node(() -> compiler.callText(operand), "callText", operand);
+    }
+
+    @Nonnull
+    @Override
+    public Term callNumber(@Nonnull Term operand) {
+        return node(() -> compiler.callNumber(operand), "callNumber", operand);
+    }
+
+    @Nonnull
+    @Override
+    public Term callLogic(@Nonnull Term operand) {
+        return node(() -> compiler.callLogic(operand), "callLogic", operand);
+    }
+
+    @Nonnull
+    @Override
+    public Term callDate(@Nonnull Term operand) {
+        return node(() -> compiler.callDate(operand), "callDate", operand);
+    }
+
+
+    @Nonnull
+    @Override
+    public Term callFunction(@Nonnull String functionName, @Nonnull List<Term> arguments) {
+        Supplier<Term> call = () -> compiler.callFunction(functionName, arguments);
+
+        return (context.getFunctionManager().isDeterministic(functionName) ?
+            node(call, CALL + functionName, arguments.toArray(Term[]::new)) :
+            call.get());
+    }
+
+
+    /**
+     * Record the key for a term that has no operands. As these terms are cheap to evaluate they are not held in
+     * the frame, but all references to the same key share the first term
+     */
+    @Nonnull
+    private Term leaf(@Nonnull Object key, @Nonnull Term term) {
+        Term existing = terms.putIfAbsent(key, term);
+        Term result = (existing == null ? term : existing);
+
+        keys.putIfAbsent(result, key);
+
+        return result;
+    }
+
+    /**
+     * Returns the term for an operation. If the same operation has already been compiled with the same operands
+     * then the existing term is shared, otherwise the term is built
+     * @param build         builds the term if it has not already been compiled
+     * @param operator      identifies the operation
+     * @param operands      the operands passed to the operation
+     * @return              the term for the operation
+     */
+    @Nonnull
+    private Term node(@Nonnull Supplier<Term> build, @Nonnull String operator, @Nonnull Term... operands) {
+        List<Object> key = new ArrayList<>(operands.length + 1);
+        Term result = null;
+
+        key.add(operator);
+
+        for (Term operand : operands) {
+            Object operandKey = key(operand);
+
+            if (operandKey == null) {
+                result = build.get();               // The operation can not be shared
+                break;
+            }
+
+            key.add(operandKey);
+        }
+
+        if (result == null) {
+            result = terms.get(key);
+
+            if (result == null) {
+                result = build.get();
+                result = (result.isConstant() || keys.containsKey(result) ? result : compiler.shareable(result));
+
+                terms.put(key, result);
+                keys.putIfAbsent(result, key);
+            } else if (result instanceof LambdaCompiler.SharedTerm shared) {
+                compiler.share(shared);
+            }
+        }
+
+        return result;
+    }
+
+    @Nullable
+    private Object key(@Nonnull Term term) {
+        Object key = keys.get(term);
+
+        if ((key == null) && (term instanceof Constant constant)) {
+            // Don't rely on Constant.equals() - it considers 1.0 and 1.00 to be equal, but they have different text
+            Object value = switch (constant.getType()) {
+                case TEXT -> constant.asText();
+                case NUMBER -> constant.asNumber();
+                case LOGIC -> constant.asLogic();
+                case DATE -> constant.asDate();
+            };
+
+            key = List.of(CONSTANT, constant.getType(), value);
+        }
+
+        return key;
+    }
+}
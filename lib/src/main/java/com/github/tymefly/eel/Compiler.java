@@ -5,6 +5,9 @@ import java.util.List;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import com.github.tymefly.eel.utils.StringUtils;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
 /**
  * Defines the contract of a Compiler in the EEL language. The root operations are
  * {@link #read(String)}, {@link #textConstant(String)}, {@link #numericConstant(Number)} and
@@ -31,6 +34,12 @@ interface Compiler {
     interface SymbolTransformation {
         SymbolTransformation IDENTITY = (s, t) -> t;
         SymbolTransformation LENGTH = (s, t) -> String.valueOf(t.length());
+        SymbolTransformation UPPER_FIRST = (s, t) -> StringUtils.upperFirst(t);
+        SymbolTransformation UPPER = (s, t) -> t.toUpperCase();
+        SymbolTransformation LOWER_FIRST = (s, t) -> StringUtils.lowerFirst(t);
+        SymbolTransformation LOWER = (s, t) -> t.toLowerCase();
+        SymbolTransformation TOGGLE_FIRST = (s, t) -> StringUtils.toggleFirst(t);
+        SymbolTransformation TOGGLE = (s, t) -> StringUtils.toggleAll(t);
 
         @Nonnull
         String transform(@Nonnull SymbolsTable symbols, @Nonnull String text);
@@ -41,6 +50,20 @@ interface Compiler {
         }
     }
 
+    /**
+     * Transformation that returns part of the text
+     * @param start     evaluates to the position of the first character, negative values count from the end
+     * @param count     evaluates to the maximum number of characters to return, negative values count from the end
+     */
+    @SuppressFBWarnings(value="EI_EXPOSE_REP", justification="Compiled terms are immutable")
+    record Substring(@Nonnull Term start, @Nonnull Term count) implements SymbolTransformation {
+        @Nonnull
+        @Override
+        public String transform(@Nonnull SymbolsTable symbols, @Nonnull String text) {
+            return StringUtils.mid(text, start.evaluate(symbols).asInt(), count.evaluate(symbols).asInt());
+        }
+    }
+
     /** Fluent interface used to read values from the SymbolsTable. Multiple SymbolTransformation can be set */
     interface SymbolBuilder {
         @Nonnull
@@ -57,6 +80,16 @@ interface Compiler {
     }
 
 
+    /**
+     * Called by the Parser once the complete expression has been compiled. This allows the compiler to apply any
+     * transformations that need to know about the whole expression.
+     * @param expression    the complete expression
+     * @return              the term that will be executed by the EEL runtime
+     */
+    @Nonnull
+    Term complete(@Nonnull Term expression);
+
+
     @Nonnull
     Term constTerm(@Nonnull Term term);
 
@@ -177,6 +210,14 @@ interface Compiler {
     @Nonnull
     Term concatenate(@Nonnull Term first, @Nonnull Term second);
 
+    /**
+     * Compile a sequence of text and interpolated values into a single concatenation
+     * @param elements      the text and interpolated values, in the order they appear in the expression
+     * @return              a term that will concatenate the text of all the elements
+     */
+    @Nonnull
+    Term interpolate(@Nonnull List<Term> elements);
+
 
     @Nonnull
     Term callText(@Nonnull Term operand);
@@ -189,4 +230,14 @@ interface Compiler {
 
     @Nonnull
     Term callDate(@Nonnull Term operand);
+
+
+    /**
+     * Compile a call to an EEL function
+     * @param functionName  the name of the function
+     * @param arguments     the arguments passed to the function
+     * @return              a term that will call the function
+     */
+    @Nonnull
+    Term callFunction(@Nonnull String functionName, @Nonnull List<Term> arguments);
 }
@@ -3,10 +3,14 @@ package com.github.tymefly.eel;
 import java.io.File;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -22,11 +26,95 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 @Immutable
 @SuppressFBWarnings(value="JCIP_FIELD_ISNT_FINAL_IN_IMMUTABLE_CLASS", justification="fields cache computed values")
 final class Constant extends AbstractValue implements Result {
+    /**
+     * Remembers the last value returned by one operation in a compiled expression. Expressions are often evaluated
+     * with the same symbols, so an operation often returns the same value as it did last time. When it does, the
+     * previous Constant, together with any conversions it has cached, is returned instead of a new one. This costs
+     * a single comparison rather than the hash lookup needed by the pools, so values that are not repeated cost
+     * little more than an {@link #ephemeral(String) ephemeral} Constant.
+     * <br>
+     * A compiled expression can be evaluated by several threads at the same time, so the last value is shared
+     * through an {@link AtomicReference}.
+     */
+    static final class Recent {
+        private final AtomicReference<Constant> last = new AtomicReference<>();
+
+        /**
+         * Returns a text Constant, reusing the last one if it has the same value
+         * @param value     the backing text
+         * @return          a text Constant for the {@code value}
+         */
+        @Nonnull
+        Constant of(@Nonnull String value) {
+            Constant previous = last.getAcquire();
+
+            return ((previous != null) && (previous.type == Type.TEXT) && value.equals(previous.text) ?
+                previous :
+                remember(ephemeral(value)));
+        }
+
+        /**
+         * Returns a numeric Constant, reusing the last one if it has the same value and scale
+         * @param value     the backing number
+         * @return          a numeric Constant for the {@code value}
+         */
+        @Nonnull
+        Constant of(@Nonnull Number value) {
+            BigDecimal backing = BigDecimals.toBigDecimal(value);
+            Constant previous = last.getAcquire();
+
+            return ((previous != null) && (previous.type == Type.NUMBER) && backing.equals(previous.number) ?
+                previous :
+                remember(new Constant(Type.NUMBER, null, backing, null, null)));
+        }
+
+        /**
+         * Returns a numeric Constant for an integer, reusing the last one if it has the same value. If it does then
+         * no BigDecimal is created
+         * @param value     the backing number
+         * @return          a numeric Constant for the {@code value}
+         */
+        @Nonnull
+        Constant of(long value) {
+            Constant previous = last.getAcquire();
+            boolean same = (previous != null) &&
+                (previous.type == Type.NUMBER) &&
+                BigDecimals.isSmallInteger(previous.number) &&
+                (previous.number.longValue() == value);
+
+            return (same ? previous : remember(ephemeral(value)));
+        }
+
+        /**
+         * Returns a date Constant, reusing the last one if it has the same value
+         * @param value     the backing date
+         * @return          a date Constant for the {@code value}
+         */
+        @Nonnull
+        Constant of(@Nonnull ZonedDateTime value) {
+            Constant previous = last.getAcquire();
+
+            return ((previous != null) && (previous.type == Type.DATE) && value.equals(previous.date) ?
+                previous :
+                remember(ephemeral(value)));
+        }
+
+        @Nonnull
+        private Constant remember(@Nonnull Constant value) {
+            last.setRelease(value);
+
+            return value;
+        }
+    }
+
+
     private static final ZonedDateTime ONE_DATE = EelContext.ZERO_DATE.plusSeconds(1);
     private static final ZonedDateTime TEN_DATE = EelContext.ZERO_DATE.plusSeconds(10);
 
-    // As we keep a reference to these objects because static final fields can't be garbage collected
-    // and therefore will not be removed from the WeakHashMaps
+    private static final int POOL_CAPACITY =
+        Math.max(0, Integer.getInteger(Eel.CONSTANT_POOL_PROPERTY, Eel.DEFAULT_CONSTANT_POOL_CAPACITY));
+
+    // These values are pinned in the pools, so they will never be evicted.
     // These values are created with all the conversion values defined to save time later.
     private static final Constant BLANK = new Constant(Type.TEXT, "", null, null, null);
     private static final Constant ZERO = new Constant(Type.NUMBER, "0", BigDecimal.ZERO, false, EelContext.FALSE_DATE);
@@ -40,9 +128,9 @@ final class Constant extends AbstractValue implements Result {
 
     // The same value can end in multiple pools if they have different types
     // We can also have the same number in the NUMBER_POOL if the keys have different scales
-    private static final Map<String, Constant> TEXT_POOL = new WeakHashMap<>();
-    private static final Map<BigDecimal, Constant> NUMBER_POOL = new WeakHashMap<>();
-    private static final Map<ZonedDateTime, Constant> DATE_POOL = new WeakHashMap<>();
+    private static final ConstantPool<String> TEXT_POOL = new ConstantPool<>(POOL_CAPACITY);
+    private static final ConstantPool<BigDecimal> NUMBER_POOL = new ConstantPool<>(POOL_CAPACITY);
+    private static final ConstantPool<ZonedDateTime> DATE_POOL = new ConstantPool<>(POOL_CAPACITY);
 
 
     private final Type type;
@@ -53,13 +141,13 @@ final class Constant extends AbstractValue implements Result {
 
 
     static {
-        TEXT_POOL.put(BLANK.asText(), BLANK);
+        TEXT_POOL.pin(BLANK.asText(), BLANK);
 
-        NUMBER_POOL.put(BigDecimal.ZERO, ZERO);
-        NUMBER_POOL.put(BigDecimal.ONE, ONE);
-        NUMBER_POOL.put(BigDecimal.TEN, TEN);
+        NUMBER_POOL.pin(BigDecimal.ZERO, ZERO);
+        NUMBER_POOL.pin(BigDecimal.ONE, ONE);
+        NUMBER_POOL.pin(BigDecimal.TEN, TEN);
 
-        DATE_POOL.put(EPOCH_START_UTC.asDate(), EPOCH_START_UTC);
+        DATE_POOL.pin(EPOCH_START_UTC.asDate(), EPOCH_START_UTC);
     }
 
 
@@ -78,13 +166,13 @@ final class Constant extends AbstractValue implements Result {
 
     @Nonnull
     static Constant of(@Nonnull String value) {
-        return TEXT_POOL.computeIfAbsent(value, v -> new Constant(Type.TEXT, v, null, null, null));
+        return TEXT_POOL.intern(value, v -> new Constant(Type.TEXT, v, null, null, null));
     }
 
     @Nonnull
     static Constant of(@Nonnull Number value) {
         BigDecimal backing = BigDecimals.toBigDecimal(value);
-        Constant result = NUMBER_POOL.computeIfAbsent(backing, v -> new Constant(Type.NUMBER, null, v, null, null));
+        Constant result = NUMBER_POOL.intern(backing, v -> new Constant(Type.NUMBER, null, v, null, null));
 
         return result;
     }
@@ -96,7 +184,111 @@ final class Constant extends AbstractValue implements Result {
 
     @Nonnull
     static Constant of(@Nonnull ZonedDateTime value) {
-        return DATE_POOL.computeIfAbsent(value, v -> new Constant(Type.DATE, null, null, null, v));
+        return DATE_POOL.intern(value, v -> new Constant(Type.DATE, null, null, null, v));
+    }
+
+
+    /**
+     * Creates a text Constant for a symbol that was read from a typed source. As far as EEL is concerned the value
+     * is still text, but the native value is held so that converting it back to its own type is free. The text
+     * is only built if it is needed.
+     * @param value     a {@link Number}, {@link Boolean}, {@link ZonedDateTime}, {@link Instant} or {@link Value}.
+     *                  Any other object is converted to text by calling its {@link Object#toString()} method
+     * @return          a text Constant for the {@code value}
+     */
+    @Nonnull
+    static Constant symbol(@Nonnull Object value) {
+        Constant result;
+
+        if (value instanceof Value eelValue) {
+            result = switch (eelValue.getType()) {
+                case TEXT -> (eelValue instanceof Constant constant ? constant : of(eelValue.asText()));
+                case NUMBER -> new Constant(Type.TEXT, null, eelValue.asNumber(), null, null);
+                case LOGIC -> new Constant(Type.TEXT, null, null, eelValue.asLogic(), null);
+                case DATE -> new Constant(Type.TEXT, null, null, null, eelValue.asDate());
+            };
+        } else if (value instanceof Number number) {
+            result = new Constant(Type.TEXT, null, BigDecimals.toBigDecimal(number), null, null);
+        } else if (value instanceof Boolean logic) {
+            result = new Constant(Type.TEXT, null, null, logic, null);
+        } else if (value instanceof ZonedDateTime date) {
+            result = new Constant(Type.TEXT, null, null, null, date);
+        } else if (value instanceof Instant instant) {
+            result = new Constant(Type.TEXT, null, null, null, ZonedDateTime.ofInstant(instant, ZoneOffset.UTC));
+        } else {
+            result = of(value.toString());
+        }
+
+        return result;
+    }
+
+    /**
+     * Creates a text Constant that is not pooled. These are used for the intermediate values generated while an
+     * expression is evaluated; most of them are discarded straight away, so pooling them would only add the cost of
+     * hashing the value and looking it up. Compiled operations create them through a {@link Recent} so that
+     * repeated results are still shared.
+     * @param value     the backing text
+     * @return          a new Constant, or {@link #BLANK} for empty text
+     * @see #intern()
+     */
+    @Nonnull
+    static Constant ephemeral(@Nonnull String value) {
+        return (value.isEmpty() ? BLANK : new Constant(Type.TEXT, value, null, null, null));
+    }
+
+    /**
+     * Creates a numeric Constant that is not pooled.
+     * @param value     the backing number
+     * @return          a new Constant
+     * @see #ephemeral(String)
+     */
+    @Nonnull
+    static Constant ephemeral(@Nonnull Number value) {
+        return new Constant(Type.NUMBER, null, BigDecimals.toBigDecimal(value), null, null);
+    }
+
+    /**
+     * Creates a date Constant that is not pooled.
+     * @param value     the backing date
+     * @return          a new Constant
+     * @see #ephemeral(String)
+     */
+    @Nonnull
+    static Constant ephemeral(@Nonnull ZonedDateTime value) {
+        return new Constant(Type.DATE, null, null, null, value);
+    }
+
+
+    /**
+     * Returns a snapshot of the counters for each of the pools. There is no pool for {@link Type#LOGIC} values as
+     * there are only two of them.
+     * @return a snapshot of the counters for each of the pools
+     */
+    @Nonnull
+    static Map<Type, CacheStatistics> poolStatistics() {
+        Map<Type, CacheStatistics> statistics = new EnumMap<>(Type.class);
+
+        statistics.put(Type.TEXT, TEXT_POOL.statistics());
+        statistics.put(Type.NUMBER, NUMBER_POOL.statistics());
+        statistics.put(Type.DATE, DATE_POOL.statistics());
+
+        return Collections.unmodifiableMap(statistics);
+    }
+
+
+    /**
+     * Returns the pooled Constant with the same type and value as this Constant. This is used to canonicalise
+     * values that are computed at compile time.
+     * @return the pooled equivalent of this Constant
+     */
+    @Nonnull
+    Constant intern() {
+        return switch (type) {
+            case TEXT -> of(asText());
+            case NUMBER -> of(number);
+            case LOGIC -> this;
+            case DATE -> of(date);
+        };
     }
 
 
@@ -113,6 +305,7 @@ final class Constant extends AbstractValue implements Result {
             text = switch (type) {
                 case NUMBER -> Convert.toText(number);
                 case DATE -> Convert.toText(date);
+                case TEXT -> symbolText();
                 default -> null;    // ValueImpl.TRUE and ValueImpl.FALSE were created with text values => no conversion
             };
         }
@@ -124,13 +317,34 @@ final class Constant extends AbstractValue implements Result {
         return text;
     }
 
+    /**
+     * Returns the text for a Constant that was built from the native value of a typed symbol
+     * @see #symbol(Object)
+     */
+    @Nullable
+    private String symbolText() {
+        String result;
+
+        if (number != null) {
+            result = Convert.toText(number);
+        } else if (date != null) {
+            result = Convert.toText(date);
+        } else if (logic != null) {
+            result = logic.toString();
+        } else {
+            result = null;
+        }
+
+        return result;
+    }
+
     @Override
     @Nonnull
     public BigDecimal asNumber() {
         if (number == null) {
             try {
                 number = switch (type) {
-                    case TEXT -> Convert.toNumber(text);
+                    case TEXT -> Convert.toNumber(asText());
                     case DATE -> Convert.toNumber(date);
                     default -> null;    // Value.TRUE and Value.FALSE were created with numeric values => no conversion
                 };
@@ -151,7 +365,7 @@ final class Constant extends AbstractValue implements Result {
     public boolean asLogic() {
         if (logic == null) {
             logic = switch (type) {
-                case TEXT -> Convert.toLogic(text);
+                case TEXT -> Convert.toLogic(asText());
                 case NUMBER -> Convert.toLogic(number);
                 case DATE -> Convert.toLogic(date);
                 default -> null;    // ValueImpl.TRUE and ValueImpl.FALSE already have the correct logic value
@@ -172,7 +386,7 @@ final class Constant extends AbstractValue implements Result {
         if (date == null) {
             try {
                 date = switch (type) {
-                    case TEXT -> Convert.toDate(text);
+                    case TEXT -> Convert.toDate(asText());
                     case NUMBER -> Convert.toDate(number);
                     default -> null;    // Value.TRUE and Value.FALSE were created with date values => no conversion
                 };
@@ -224,7 +438,7 @@ final class Constant extends AbstractValue implements Result {
                 equal = false;
             } else {
                 equal = switch (type) {
-                    case TEXT -> this.text.equals(constant.text);
+                    case TEXT -> this.asText().equals(constant.asText());
                     case NUMBER -> BigDecimals.eq(this.number, constant.number);
                     case LOGIC -> this.logic.equals(constant.logic);
                     case DATE -> this.date.equals(constant.date);
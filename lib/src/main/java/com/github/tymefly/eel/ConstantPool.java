@@ -0,0 +1,203 @@
+package com.github.tymefly.eel;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import javax.annotation.Nonnull;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * A concurrent, bounded, interner for {@link Constant} values.
+ * <br>
+ * The pool is split into stripes, each guarded by its own lock, so that threads interning unrelated values do not
+ * contend with each other. The number of stripes is the largest power of two that is no more than either
+ * {@link #STRIPES} or the capacity. The capacity is divided between them, and the first {@code capacity % stripes}
+ * stripes hold one extra entry, so the pool never holds more than the configured capacity. When a stripe is full
+ * its least recently used entry is evicted.
+ * <br>
+ * Constants are held by weak references. Although each Constant holds its own key, the key is only strongly
+ * reachable from the pool while the Constant itself is reachable; once the Constant has been garbage collected
+ * its entry is purged. Pinned values are never evicted.
+ * @param <K> the type of the value used to look up Constants
+ */
+final class ConstantPool<K> {
+    private static final int STRIPES = 16;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int HASH_SPREAD = 16;
+
+
+    /**
+     * A weak reference to a pooled Constant that remembers its key, so the entry can be purged after the Constant
+     * has been collected
+     * @param <K> the type of the key
+     */
+    private static final class Entry<K> extends WeakReference<Constant> {
+        private final K key;
+
+        Entry(@Nonnull K key, @Nonnull Constant value, @Nonnull ReferenceQueue<Constant> queue) {
+            super(value, queue);
+
+            this.key = key;
+        }
+    }
+
+
+    /**
+     * A single, least recently used, partition of the pool. Callers must synchronise on the stripe.
+     */
+    @SuppressFBWarnings(value="SE_BAD_FIELD", justification="The pool is never serialised")
+    private final class Stripe {
+        private final int limit;
+        private final Map<K, Entry<K>> entries = new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, true) {
+            @Override
+            protected boolean removeEldestEntry(@Nonnull Map.Entry<K, Entry<K>> eldest) {
+                boolean remove = (size() > limit);
+
+                if (remove) {
+                    evictions.increment();
+                }
+
+                return remove;
+            }
+        };
+
+        Stripe(int limit) {
+            this.limit = limit;
+        }
+    }
+
+
+    private final int capacity;
+    private final List<Stripe> stripes;
+    private final Map<K, Constant> pinned;
+    private final ReferenceQueue<Constant> queue;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+
+    /**
+     * Create a new pool
+     * @param capacity  the maximum number of unpinned Constants in the pool, or {@literal 0} to disable interning
+     */
+    ConstantPool(int capacity) {
+        int count = Integer.highestOneBit(Math.max(1, Math.min(STRIPES, capacity)));
+
+        this.capacity = capacity;
+        this.stripes = new ArrayList<>(count);
+        this.pinned = new HashMap<>();
+        this.queue = new ReferenceQueue<>();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+
+        for (int i = 0; i < count; i++) {
+            stripes.add(new Stripe((capacity / count) + (i < (capacity % count) ? 1 : 0)));
+        }
+    }
+
+
+    /**
+     * Add a value that will never be evicted. This must only be called while the pool is being initialised.
+     * @param key       the key for the value
+     * @param value     the pinned value
+     */
+    void pin(@Nonnull K key, @Nonnull Constant value) {
+        pinned.put(key, value);
+    }
+
+
+    /**
+     * Returns the pooled Constant for the {@code key}, creating and pooling it if necessary
+     * @param key       the key for the value
+     * @param factory   creates the Constant if it is not pooled
+     * @return          the pooled Constant
+     */
+    @Nonnull
+    Constant intern(@Nonnull K key, @Nonnull Function<K, Constant> factory) {
+        Constant result = pinned.get(key);
+
+        if (result == null) {
+            purge();
+
+            Stripe stripe = stripe(key);
+
+            synchronized (stripe) {
+                Entry<K> entry = stripe.entries.get(key);
+
+                result = (entry == null ? null : entry.get());
+
+                if (result != null) {
+                    hits.increment();
+                } else {
+                    misses.increment();
+                    result = factory.apply(key);
+
+                    if (capacity != 0) {
+                        stripe.entries.put(key, new Entry<>(key, result, queue));
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Remove the entries for all Constants that have been garbage collected
+     */
+    @SuppressWarnings("unchecked")
+    private void purge() {
+        Entry<K> entry;
+
+        while ((entry = (Entry<K>) queue.poll()) != null) {
+            Stripe stripe = stripe(entry.key);
+
+            synchronized (stripe) {
+                stripe.entries.remove(entry.key, entry);
+            }
+        }
+    }
+
+
+    @Nonnull
+    private Stripe stripe(@Nonnull K key) {
+        int hash = key.hashCode();
+
+        return stripes.get((hash ^ (hash >>> HASH_SPREAD)) & (stripes.size() - 1));
+    }
+
+
+    /**
+     * Returns a snapshot of the pool counters. The size includes the pinned values.
+     * @return a snapshot of the pool counters
+     */
+    @Nonnull
+    CacheStatistics statistics() {
+        int size = pinned.size();
+
+        purge();
+
+        for (var stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.entries.size();
+            }
+        }
+
+        return new CacheStatistics(hits.sum(),
+            misses.sum(),
+            evictions.sum(),
+            size,
+            capacity + pinned.size());
+    }
+}
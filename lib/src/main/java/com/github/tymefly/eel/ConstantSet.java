@@ -0,0 +1,151 @@
+package com.github.tymefly.eel;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+/**
+ * An ordered list of constant values, hashed so that a value can be tested against all of them at once. This is
+ * used for the list passed to the {@code in} operator, for chains of conditionals that compare the same term
+ * with different constants and for the values passed to {@code text.index()}.
+ * <br>
+ * A value matches a constant if they are equal using the same rules as the {@code =} operator:
+ * <ul>
+ *  <li>If either value is TEXT then their text is compared</li>
+ *  <li>If both values are LOGIC then their logic values are compared</li>
+ *  <li>Otherwise their numeric values are compared, ignoring the scale</li>
+ * </ul>
+ * Each rule has its own table, so a value is converted at most once for each type of comparison.
+ */
+final class ConstantSet {
+    /** Returned by {@link #indexOf(Value)} if the value does not match any of the constants */
+    static final int NOT_FOUND = -1;
+
+    private final Map<String, Integer> allText;
+    private final Map<String, Integer> text;
+    private final Map<Boolean, Integer> logic;
+    private final Map<BigDecimal, Integer> numbers;
+    private final Map<BigDecimal, Integer> logicNumbers;
+    private final boolean allTextConstants;
+
+
+    private ConstantSet(@Nonnull List<Constant> constants) {
+        int index = 0;
+
+        this.allText = new HashMap<>();
+        this.text = new HashMap<>();
+        this.logic = new HashMap<>();
+        this.numbers = new HashMap<>();
+        this.logicNumbers = new HashMap<>();
+
+        for (Constant constant : constants) {
+            allText.putIfAbsent(constant.asText(), index);
+
+            switch (constant.getType()) {
+                case TEXT -> text.putIfAbsent(constant.asText(), index);
+                case LOGIC -> {
+                    logic.putIfAbsent(constant.asLogic(), index);
+                    logicNumbers.putIfAbsent(normalise(constant.asNumber()), index);
+                }
+                default -> numbers.putIfAbsent(normalise(constant.asNumber()), index);
+            }
+
+            index++;
+        }
+
+        this.allTextConstants = logic.isEmpty() && numbers.isEmpty();
+    }
+
+
+    /**
+     * Create a set of constant values
+     * @param constants     the constant values in the set, in the order they would be tested
+     * @return              a set of the constant values
+     */
+    @Nonnull
+    static ConstantSet of(@Nonnull List<Constant> constants) {
+        return new ConstantSet(constants);
+    }
+
+
+    /**
+     * Returns {@literal true} if the {@code value} is equal to any of the constants in this set
+     * @param value     the value to test
+     * @return          {@literal true} if the {@code value} is equal to any of the constants in this set
+     */
+    boolean contains(@Nonnull Value value) {
+        return indexOf(value) != NOT_FOUND;
+    }
+
+    /**
+     * Returns the position of the first constant that the {@code value} is equal to
+     * @param value     the value to test
+     * @return          the 0-based position of the first constant that the {@code value} is equal to, or
+     *                  {@link #NOT_FOUND} if it does not match any of them
+     */
+    int indexOf(@Nonnull Value value) {
+        Type type = value.getType();
+        int index;
+
+        if ((type == Type.TEXT) || allTextConstants) {            // Fast path - every comparison is by text
+            index = find(allText, value.asText());
+        } else {
+            index = find(text, value.asText());
+
+            if (type == Type.LOGIC) {
+                index = first(index, find(logic, value.asLogic()));
+                index = first(index, findNumber(numbers, value));
+            } else {
+                index = first(index, findNumber(numbers, value));
+                index = first(index, findNumber(logicNumbers, value));
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Returns the position of the first constant whose text is equal to the {@code text}
+     * @param text      the text to look for
+     * @return          the 0-based position of the first constant with the same text, or {@link #NOT_FOUND} if
+     *                  there is none
+     */
+    int indexOfText(@Nonnull String text) {
+        return find(allText, text);
+    }
+
+    private static <K> int find(@Nonnull Map<K, Integer> table, @Nonnull K key) {
+        Integer index = (table.isEmpty() ? null : table.get(key));
+
+        return (index == null ? NOT_FOUND : index);
+    }
+
+    private static int findNumber(@Nonnull Map<BigDecimal, Integer> table, @Nonnull Value value) {
+        return (table.isEmpty() ? NOT_FOUND : find(table, normalise(value.asNumber())));
+    }
+
+    private static int first(int left, int right) {
+        int result;
+
+        if (left == NOT_FOUND) {
+            result = right;
+        } else if (right == NOT_FOUND) {
+            result = left;
+        } else {
+            result = Math.min(left, right);
+        }
+
+        return result;
+    }
+
+    /**
+     * BigDecimal.equals() considers the scale of the values, so all numbers are held with the same representation
+     */
+    @Nonnull
+    private static BigDecimal normalise(@Nonnull BigDecimal number) {
+        return number.stripTrailingZeros();
+    }
+}
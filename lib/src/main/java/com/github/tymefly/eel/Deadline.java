@@ -0,0 +1,96 @@
+package com.github.tymefly.eel;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+
+import com.github.tymefly.eel.exception.EelTimeoutException;
+
+/**
+ * The deadline for an expression that is evaluated with a {@link TimeoutMode#COOPERATIVE} timeout.
+ * The deadline is associated with the thread that evaluates the expression.
+ * <br>
+ * UDFs that may run for a long time should call {@link #checkpoint()} periodically so that they can be abandoned
+ * if the expression that called them has run out of time.
+ * @since 3.3
+ */
+public final class Deadline {
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long start;
+    private final long expiry;
+
+
+    private Deadline(long start, long expiry) {
+        this.start = start;
+        this.expiry = expiry;
+    }
+
+
+    /**
+     * Checks the deadline for the expression that is being evaluated by the current thread.
+     * If there is no deadline then this method does nothing.
+     * @throws EelTimeoutException if the expression has run out of time
+     */
+    public static void checkpoint() throws EelTimeoutException {
+        Deadline deadline = CURRENT.get();
+
+        if (deadline != null) {
+            deadline.check();
+        }
+    }
+
+
+    /**
+     * Run the {@code task} on the current thread with a deadline. If the task is still running when the deadline
+     * expires then it will fail at the next checkpoint. If the task completes after the deadline then its result
+     * is discarded.
+     * Nested tasks can not extend the deadline of the task that started them.
+     * @param timeout   the time the task is allowed to run for
+     * @param task      the task to run
+     * @param <T>       the type of value returned by the task
+     * @return          the value returned by the task
+     * @throws EelTimeoutException if the task runs out of time
+     */
+    static <T> T run(@Nonnull Duration timeout, @Nonnull Supplier<T> task) throws EelTimeoutException {
+        Deadline previous = CURRENT.get();
+        long start = System.nanoTime();
+        long expiry = start + timeout.toNanos();
+        T result;
+
+        if ((previous != null) && (previous.expiry - expiry < 0)) {
+            expiry = previous.expiry;
+        }
+
+        Deadline deadline = new Deadline(start, expiry);
+
+        CURRENT.set(deadline);
+
+        try {
+            result = task.get();
+
+            deadline.check();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+
+        return result;
+    }
+
+
+    private void check() throws EelTimeoutException {
+        long now = System.nanoTime();
+
+        if (now - expiry >= 0) {
+            long duration = TimeUnit.NANOSECONDS.toSeconds(now - start);
+
+            throw new EelTimeoutException("EEL Timeout after %d second(s)", duration);
+        }
+    }
+}
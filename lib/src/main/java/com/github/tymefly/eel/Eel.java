@@ -1,11 +1,16 @@
 package com.github.tymefly.eel;
 
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.time.DayOfWeek;
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
+import java.util.stream.StreamSupport;
 
 import javax.annotation.Nonnull;
 
@@ -58,6 +63,42 @@ public class Eel {
             return this;
         }
 
+        @Nonnull
+        @Override
+        public EelBuilder withTimeoutMode(@Nonnull TimeoutMode mode) {
+            contextBuilder.withTimeoutMode(mode);
+            context = null;
+
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public EelBuilder withExecutor(@Nonnull Executor executor) {
+            contextBuilder.withExecutor(executor);
+            context = null;
+
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public EelBuilder withSymbolSchema(@Nonnull String... names) {
+            contextBuilder.withSymbolSchema(names);
+            context = null;
+
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public EelBuilder withSymbolMemoisation(boolean enabled) {
+            contextBuilder.withSymbolMemoisation(enabled);
+            context = null;
+
+            return this;
+        }
+
         @Nonnull
         @Override
         public EelBuilder withPrecision(int precision) {
@@ -104,6 +145,15 @@ public class Eel {
             return this;
         }
 
+        @Nonnull
+        @Override
+        public EelBuilder withExpressionCache(int size) {
+            contextBuilder.withExpressionCache(size);
+            context = null;
+
+            return this;
+        }
+
         @Override
         @Nonnull
         public EelBuilder withUdfPackage(@Nonnull Package location) {
@@ -131,9 +181,8 @@ public class Eel {
         public Eel compile(@Nonnull String expression) {
             Preconditions.checkNotNull(expression, "Can not parse a null expression");
             resolveContext();
-            Source source = Source.build(expression, context.maxExpressionLength());
 
-            return new Eel(context, source);
+            return Eel.compile(context, expression);
         }
 
         @Override
@@ -155,17 +204,64 @@ public class Eel {
     }
 
 
-    private static final EelContextImpl DEFAULT_CONTEXT = new EelContextImpl.Builder().build();
+    /**
+     * The name of the system property that sets the size of the expression cache owned by the default context.
+     * If the property is not set then the default context does not cache expressions.
+     * @see #defaultContext()
+     * @see com.github.tymefly.eel.builder.EelContextSettingBuilder#withExpressionCache(int)
+     * @since 3.3
+     */
+    public static final String DEFAULT_CACHE_PROPERTY = "eel.defaultContext.expressionCache";
+
+    /**
+     * The name of the system property that sets the maximum number of values held in each of the pools used to
+     * share immutable values. If the property is not set then the pools are limited to
+     * {@value #DEFAULT_CONSTANT_POOL_CAPACITY} values. Setting the property to {@literal 0} disables pooling.
+     * @see #constantPoolStatistics()
+     * @since 3.3
+     */
+    public static final String CONSTANT_POOL_PROPERTY = "eel.constantPool.capacity";
+
+    /**
+     * The default maximum number of values held in each of the pools used to share immutable values.
+     * @see #CONSTANT_POOL_PROPERTY
+     * @since 3.3
+     */
+    public static final int DEFAULT_CONSTANT_POOL_CAPACITY = 4096;
+
+    private static final EelContextImpl DEFAULT_CONTEXT = (EelContextImpl) new EelContextImpl.Builder()
+        .withExpressionCache(Math.max(0, Integer.getInteger(DEFAULT_CACHE_PROPERTY, 0)))
+        .build();
 
     private final Expression expression;
+    private final ForkJoinPool pool;
 
     private Eel(@Nonnull EelContextImpl context, @Nonnull Source source) {
-        Tokenizer tokenizer = new Tokenizer(source);
-        LambdaCompiler compiler = new LambdaCompiler(context);
-        Parser parser = new Parser(context, tokenizer, compiler);
+        this(context, new Parser(new Tokenizer(source), compiler(context)).parse());
+    }
 
+    /**
+     * Constructor for an expression that has already been compiled
+     * @param context       the context the expression was compiled in
+     * @param term          the compiled expression, as returned by {@link Compiler#complete(Term)}
+     */
+    Eel(@Nonnull EelContextImpl context, @Nonnull Term term) {
         this.expression = new EelRuntime(context)
-            .wrap(parser.parse());
+            .wrap(term);
+        this.pool = (context.getExecutor() instanceof ForkJoinPool forkJoinPool ?
+            forkJoinPool :
+            ForkJoinPool.commonPool());
+    }
+
+
+    /**
+     * Returns a new compiler that generates code for the {@code context}
+     * @param context       the context that expressions will be compiled in
+     * @return              a new compiler for a single expression
+     */
+    @Nonnull
+    static Compiler compiler(@Nonnull EelContextImpl context) {
+        return new CommonTerms(context, new LambdaCompiler(context));
     }
 
     /**
@@ -179,6 +275,32 @@ public class Eel {
     }
 
 
+    /**
+     * Returns the default, shared, context that is used to compile expressions when a custom context is not
+     * supplied.
+     * @return the default context
+     * @see #DEFAULT_CACHE_PROPERTY
+     * @since 3.3
+     */
+    @Nonnull
+    public static EelContext defaultContext() {
+        return DEFAULT_CONTEXT;
+    }
+
+
+    /**
+     * Returns a snapshot of the counters for the pools that EEL uses to share immutable values between expressions.
+     * These can be used to size the pools.
+     * @return a snapshot of the counters for each pool, keyed by the type of value it holds
+     * @see #CONSTANT_POOL_PROPERTY
+     * @since 3.3
+     */
+    @Nonnull
+    public static Map<Type, CacheStatistics> constantPoolStatistics() {
+        return Constant.poolStatistics();
+    }
+
+
     /**
      * Creates a builder for constructing an EEL expression with a custom context.
      * @return a builder for configuring and compiling expressions
@@ -225,8 +347,11 @@ public class Eel {
         Preconditions.checkNotNull(context, "Can not compile with a null context");
         Preconditions.checkNotNull(expression, "Can not parse a null expression");
         EelContextImpl contextImpl = (EelContextImpl) context;
+        ExpressionCache cache = contextImpl.getExpressionCache();
 
-        return new Eel(contextImpl, Source.build(expression, contextImpl.maxExpressionLength()));
+        return (cache == null ?
+            new Eel(contextImpl, Source.build(expression, contextImpl.maxExpressionLength())) :
+            cache.get(expression, e -> new Eel(contextImpl, Source.build(e, contextImpl.maxExpressionLength()))));
     }
 
     /**
@@ -269,6 +394,27 @@ public class Eel {
         return expression.evaluate(symbolsTable);
     }
 
+    /**
+     * Evaluates this expression using the provided {@code symbolsTable} and appends the text of the result to the
+     * {@code sink}. The text of each interpolated part of the expression is written as soon as it has been evaluated,
+     * so the complete result is never held in memory. If the evaluation fails then some of the text may already have
+     * been written.
+     * <br>
+     * If the context uses {@link TimeoutMode#ASYNC} with a timeout then the result is built by the executor and is
+     * only written once the evaluation has completed, so nothing is written by an evaluation that times out.
+     * @param symbolsTable  the Symbols table supplying values
+     * @param sink          receives the text of the result
+     * @throws IOException if the text could not be written to the {@code sink}
+     * @see #evaluate(SymbolsTable)
+     * @since 3.3
+     */
+    public void evaluateTo(@Nonnull SymbolsTable symbolsTable, @Nonnull Appendable sink) throws IOException {
+        Preconditions.checkNotNull(symbolsTable, "Can not evaluate with a null symbolsTable");
+        Preconditions.checkNotNull(sink, "Can not evaluate with a null sink");
+
+        expression.evaluateTo(symbolsTable, sink);
+    }
+
     /**
      * Evaluates this expression using the provided {@code values} as an anonymous SymbolsTable.
      * @param values        key-value pairs used to resolve symbols
@@ -377,4 +523,77 @@ public class Eel {
     public Result evaluate(@Nonnull String defaultValue) {
         return expression.evaluate(SymbolsTable.from(defaultValue));
     }
-}
\ No newline at end of file
+
+
+    /**
+     * Evaluates this expression once for each of the {@code symbolsTables}. This is cheaper than calling
+     * {@link #evaluate(SymbolsTable)} for each table as the per-evaluation setup, including any timeout
+     * bookkeeping, is shared by the whole batch. A row that fails to evaluate is reported to the {@code handler}
+     * and does not prevent the remaining rows from being evaluated.
+     * @param symbolsTables     the SymbolsTable for each row. The tables are read lazily.
+     * @param handler           receiver for the outcome of each row
+     * @return the number of rows that failed to evaluate
+     * @see #evaluateRows(Iterable, BatchHandler)
+     * @since 3.3
+     */
+    public long evaluateAll(@Nonnull Iterable<SymbolsTable> symbolsTables, @Nonnull BatchHandler handler) {
+        Preconditions.checkNotNull(symbolsTables, "Can not evaluate with null symbolsTables");
+        Preconditions.checkNotNull(handler, "Can not evaluate with a null handler");
+
+        return expression.evaluateAll(symbolsTables, handler);
+    }
+
+    /**
+     * Evaluates this expression once for each of the {@code rows}, where each row is used as an anonymous
+     * {@link SymbolsTable}. Unlike {@link #evaluate(Map)} the rows are not copied, so they must not be modified
+     * while the batch is being evaluated.
+     * @param rows          key-value pairs used to resolve symbols for each row. The rows are read lazily.
+     * @param handler       receiver for the outcome of each row
+     * @return the number of rows that failed to evaluate
+     * @see #evaluateAll(Iterable, BatchHandler)
+     * @since 3.3
+     */
+    public long evaluateRows(@Nonnull Iterable<? extends Map<String, String>> rows, @Nonnull BatchHandler handler) {
+        Preconditions.checkNotNull(rows, "Can not evaluate with null rows");
+
+        return evaluateAll(() -> StreamSupport.stream(rows.spliterator(), false)
+            .map(r -> SymbolsTable.from((Function<String, String>) r::get))
+            .iterator(), handler);
+    }
+
+    /**
+     * Evaluates this expression once for each of the {@code symbolsTables}, splitting the rows across all the threads
+     * in the context's executor if it is a {@link ForkJoinPool}, or else the common ForkJoinPool. Although the rows
+     * are evaluated concurrently, the outcomes are passed to the {@code handler} on the calling thread in row order.
+     * If the context has a timeout then it applies to each row.
+     * @param symbolsTables     the SymbolsTable for each row
+     * @param handler           receiver for the outcome of each row
+     * @return the number of rows that failed to evaluate
+     * @see #evaluateParallel(List, ForkJoinPool, BatchHandler)
+     * @since 3.3
+     */
+    public long evaluateParallel(@Nonnull List<SymbolsTable> symbolsTables, @Nonnull BatchHandler handler) {
+        return evaluateParallel(symbolsTables, pool, handler);
+    }
+
+    /**
+     * Evaluates this expression once for each of the {@code symbolsTables}, splitting the rows across all the threads
+     * in the {@code pool}. Although the rows are evaluated concurrently, the outcomes are passed to the
+     * {@code handler} on the calling thread in row order. If the context has a timeout then it applies to each row.
+     * @param symbolsTables     the SymbolsTable for each row
+     * @param pool              the pool that evaluates the rows
+     * @param handler           receiver for the outcome of each row
+     * @return the number of rows that failed to evaluate
+     * @see #evaluateParallel(List, BatchHandler)
+     * @since 3.3
+     */
+    public long evaluateParallel(@Nonnull List<SymbolsTable> symbolsTables,
+                                 @Nonnull ForkJoinPool pool,
+                                 @Nonnull BatchHandler handler) {
+        Preconditions.checkNotNull(symbolsTables, "Can not evaluate with null symbolsTables");
+        Preconditions.checkNotNull(pool, "Can not evaluate with a null pool");
+        Preconditions.checkNotNull(handler, "Can not evaluate with a null handler");
+
+        return expression.evaluateParallel(symbolsTables, pool, handler);
+    }
+}
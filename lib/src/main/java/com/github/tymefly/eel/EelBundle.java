@@ -0,0 +1,210 @@
+package com.github.tymefly.eel;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+import com.github.tymefly.eel.exception.EelInternalException;
+import com.github.tymefly.eel.validate.Preconditions;
+
+/**
+ * Reads and writes bundles of precompiled EEL expressions.
+ * <br>
+ * A bundle is written, typically at build time, by {@link #write(EelContext, Map, OutputStream)} and is loaded at
+ * runtime by {@link #read(EelContext, InputStream)}, which rebuilds each expression without parsing its source.
+ * Each bundle holds a fingerprint of the EEL version, the functions that can be called and the context settings used
+ * by the compiler. If the fingerprint does not match the context that the bundle is read with then the bundle is
+ * stale, and each expression is compiled from its source instead.
+ * @since 3.3
+ */
+public final class EelBundle {
+    private static final int MAGIC = 0x45454C42;                // "EELB"
+    private static final int VERSION = 1;
+    private static final String FINGERPRINT_ALGORITHM = "SHA-256";
+
+
+    private EelBundle() {
+    }
+
+
+    /**
+     * Compiles the {@code expressions} and writes them to the {@code out} stream as a bundle. The stream is not
+     * closed.
+     * @param context       the context that the expressions are compiled in
+     * @param expressions   the source of each expression, keyed by the name it will be read back with
+     * @param out           the stream that the bundle is written to
+     * @throws IOException if the bundle could not be written
+     * @throws com.github.tymefly.eel.exception.EelCompileException if any of the expressions could not be compiled
+     * @see #read(EelContext, InputStream)
+     */
+    public static void write(@Nonnull EelContext context,
+                             @Nonnull Map<String, String> expressions,
+                             @Nonnull OutputStream out) throws IOException {
+        Preconditions.checkNotNull(context, "Can not compile with a null context");
+        Preconditions.checkNotNull(expressions, "Can not write null expressions");
+        Preconditions.checkNotNull(out, "Can not write to a null stream");
+
+        EelContextImpl contextImpl = (EelContextImpl) context;
+        DataOutputStream data = new DataOutputStream(out);
+        byte[] fingerprint = fingerprint(contextImpl);
+
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        writeBytes(data, fingerprint);
+        data.writeInt(expressions.size());
+
+        for (var entry : expressions.entrySet()) {
+            String name = entry.getKey();
+            String expression = entry.getValue();
+
+            Preconditions.checkNotNull(name, "Can not write an expression with a null name");
+            Preconditions.checkNotNull(expression, "Can not parse a null expression");
+
+            Source source = Source.build(expression, contextImpl.maxExpressionLength());
+            Program.Recorder recorder = new Program.Recorder(Eel.compiler(contextImpl));
+
+            new Parser(new Tokenizer(source), recorder)
+                .parse();
+
+            writeText(data, name);
+            writeText(data, expression);
+            writeBytes(data, recorder.program());
+        }
+
+        data.flush();
+    }
+
+
+    /**
+     * Reads a bundle that was written by {@link #write(EelContext, Map, OutputStream)}. The stream is not closed.
+     * @param context       the context that the expressions are compiled in
+     * @param in            the stream that the bundle is read from
+     * @return              the compiled expressions, keyed by name, in the order they were written
+     * @throws StreamCorruptedException if the stream does not contain a bundle or the bundle was written
+     *                      by an unsupported version of EEL
+     * @throws IOException if the bundle could not be read
+     * @see #write(EelContext, Map, OutputStream)
+     */
+    @Nonnull
+    public static Map<String, Eel> read(@Nonnull EelContext context, @Nonnull InputStream in) throws IOException {
+        Preconditions.checkNotNull(context, "Can not compile with a null context");
+        Preconditions.checkNotNull(in, "Can not read from a null stream");
+
+        EelContextImpl contextImpl = (EelContextImpl) context;
+        DataInputStream data = new DataInputStream(in);
+
+        if (data.readInt() != MAGIC) {
+            throw new StreamCorruptedException("Not an EEL bundle");
+        }
+
+        int version = data.readInt();
+
+        if (version != VERSION) {
+            throw new StreamCorruptedException("Unsupported EEL bundle version " + version);
+        }
+
+        boolean stale = !Arrays.equals(fingerprint(contextImpl), readBytes(data));
+        int size = readSize(data);
+        Map<String, Eel> expressions = new LinkedHashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            String name = readText(data);
+            byte[] source = readBytes(data);
+            byte[] program = readBytes(data);
+            boolean recompile = stale || (source.length > contextImpl.maxExpressionLength());
+            Eel expression = (recompile ?
+                Eel.compile(contextImpl, new String(source, StandardCharsets.UTF_8)) :
+                new Eel(contextImpl, Program.replay(program, Eel.compiler(contextImpl))));
+
+            expressions.put(name, expression);
+        }
+
+        return expressions;
+    }
+
+
+    /**
+     * Returns a fingerprint of everything, other than the source, that the compiled form of an expression
+     * depends on.
+     * @param context       the context that the expressions are compiled in
+     * @return              a digest of the EEL version, the available functions and the compiler settings
+     */
+    @Nonnull
+    static byte[] fingerprint(@Nonnull EelContextImpl context) {
+        SymbolSchema schema = context.getSymbolSchema();
+        List<String> settings = new ArrayList<>();
+        MessageDigest digest;
+
+        settings.add(Eel.metadata().version());
+        settings.add(context.getMathContext().toString());
+        settings.add(context.getWeek().toString());
+        settings.add(String.valueOf(context.isSymbolMemoisation()));
+        settings.add(schema == null ? "" : "schema " + schema.names().size());
+        settings.addAll(schema == null ? List.of() : schema.names());
+        settings.addAll(context.getFunctionManager().signatures());
+
+        try {
+            digest = MessageDigest.getInstance(FINGERPRINT_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new EelInternalException("Unsupported fingerprint algorithm " + FINGERPRINT_ALGORITHM, e);
+        }
+
+        for (String setting : settings) {
+            digest.update(setting.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+
+        return digest.digest();
+    }
+
+
+    private static void writeText(@Nonnull DataOutputStream data, @Nonnull String text) throws IOException {
+        writeBytes(data, text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeBytes(@Nonnull DataOutputStream data, @Nonnull byte[] bytes) throws IOException {
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+    @Nonnull
+    private static String readText(@Nonnull DataInputStream data) throws IOException {
+        return new String(readBytes(data), StandardCharsets.UTF_8);
+    }
+
+    @Nonnull
+    private static byte[] readBytes(@Nonnull DataInputStream data) throws IOException {
+        int size = readSize(data);
+        byte[] bytes = data.readNBytes(size);           // Don't trust the size until the bytes have been read
+
+        if (bytes.length != size) {
+            throw new EOFException("Expected " + size + " bytes but only " + bytes.length + " could be read");
+        }
+
+        return bytes;
+    }
+
+    private static int readSize(@Nonnull DataInputStream data) throws IOException {
+        int size = data.readInt();
+
+        if (size < 0) {
+            throw new StreamCorruptedException("Invalid size " + size);
+        }
+
+        return size;
+    }
+}
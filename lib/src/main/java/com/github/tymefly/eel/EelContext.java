@@ -113,4 +113,14 @@ public sealed interface EelContext permits EelContextImpl {
      */
     @Nonnull
     File getFile(@Nonnull String path) throws EelFunctionException;
-}
\ No newline at end of file
+
+    /**
+     * Returns a snapshot of the counters for the cache of compiled expressions owned by this context.
+     * If the cache has not been enabled then all the counters are zero.
+     * @return a snapshot of the expression cache counters
+     * @see EelContextBuilder#withExpressionCache(int)
+     * @since 3.3
+     */
+    @Nonnull
+    CacheStatistics getExpressionCacheStatistics();
+}
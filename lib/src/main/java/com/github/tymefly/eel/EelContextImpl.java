@@ -11,10 +11,13 @@ import java.time.temporal.WeekFields;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import com.github.tymefly.eel.builder.EelContextBuilder;
 import com.github.tymefly.eel.validate.Preconditions;
@@ -42,8 +45,13 @@ final class EelContextImpl implements EelContext {
         private int ioLimit = DEFAULT_IO_LIMIT;
         private int maxExpressionLength = DEFAULT_MAX_EXPRESSION_LENGTH;
         private Duration timeout = DEFAULT_TIMEOUT;
+        private TimeoutMode timeoutMode = TimeoutMode.ASYNC;
+        private Executor executor = new CompletableFuture<>().defaultExecutor();
         private WeekFields week = WeekFields.ISO;
         private FileFactory fileFactory = SecureFileFactory.standard();
+        private int expressionCacheSize = 0;
+        private SymbolSchema symbolSchema = null;
+        private boolean symbolMemoisation = false;
 
 
         Builder() {
@@ -70,6 +78,44 @@ final class EelContextImpl implements EelContext {
             return this;
         }
 
+        @Nonnull
+        @Override
+        public EelContextBuilder withTimeoutMode(@Nonnull TimeoutMode mode) {
+            Preconditions.checkNotNull(mode, "Can not set a null timeout mode");
+
+            timeoutMode = mode;
+
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public EelContextBuilder withExecutor(@Nonnull Executor executor) {
+            Preconditions.checkNotNull(executor, "Can not set a null executor");
+
+            this.executor = executor;
+
+            return this;
+        }
+
+
+        @Nonnull
+        @Override
+        public EelContextBuilder withSymbolSchema(@Nonnull String... names) {
+            Preconditions.checkNotNull(names, "Can not set a null symbol schema");
+
+            this.symbolSchema = new SymbolSchema(names);
+
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public EelContextBuilder withSymbolMemoisation(boolean enabled) {
+            this.symbolMemoisation = enabled;
+
+            return this;
+        }
 
         @Nonnull
         @Override
@@ -138,6 +184,16 @@ final class EelContextImpl implements EelContext {
             return this;
         }
 
+        @Nonnull
+        @Override
+        public EelContextBuilder withExpressionCache(int size) {
+            Preconditions.checkArgument((size >= 0), "Invalid cache size: %d", size);
+
+            expressionCacheSize = size;
+
+            return this;
+        }
+
 
         @Nonnull
         @Override
@@ -162,11 +218,16 @@ final class EelContextImpl implements EelContext {
     private final String id;
     private final int maxExpressionLength;
     private final Duration timeout;
+    private final TimeoutMode timeoutMode;
+    private final Executor executor;
     private final ZonedDateTime startTime;
     private final int ioLimit;
     private final WeekFields week;
     private final MathContext mathContext;
     private final FileFactory fileFactory;
+    private final SymbolSchema symbolSchema;
+    private final boolean symbolMemoisation;
+    private final ExpressionCache expressionCache;
     private final FunctionManager functionManager;
     private final Map<ResourceKey, Object> resources;
 
@@ -175,12 +236,19 @@ final class EelContextImpl implements EelContext {
         this.id = "_id" + CONTEXT_COUNT.incrementAndGet();
         this.maxExpressionLength = builder.maxExpressionLength;
         this.timeout = builder.timeout;
+        this.timeoutMode = builder.timeoutMode;
+        this.executor = builder.executor;
         this.ioLimit = builder.ioLimit;
         this.startTime = ZonedDateTime.now(ZoneId.of("UTC"));
         this.week = builder.week;
         this.mathContext = builder.mathContext;
         this.functionManager = builder.functionManager.build();
         this.fileFactory = builder.fileFactory;
+        this.symbolSchema = builder.symbolSchema;
+        this.symbolMemoisation = builder.symbolMemoisation;
+        this.expressionCache = (builder.expressionCacheSize == 0 ?
+            null :
+            new ExpressionCache(builder.expressionCacheSize));
         this.resources = Collections.synchronizedMap(new HashMap<>());
     }
 
@@ -240,6 +308,12 @@ final class EelContextImpl implements EelContext {
         return result;
     }
 
+    @Nonnull
+    @Override
+    public CacheStatistics getExpressionCacheStatistics() {
+        return (expressionCache == null ? CacheStatistics.DISABLED : expressionCache.statistics());
+    }
+
     @Nonnull
     FunctionManager getFunctionManager() {
         return functionManager;
@@ -263,4 +337,41 @@ final class EelContextImpl implements EelContext {
     Duration getTimeout() {
         return timeout;
     }
+
+    @Nonnull
+    TimeoutMode getTimeoutMode() {
+        return timeoutMode;
+    }
+
+    @Nonnull
+    Executor getExecutor() {
+        return executor;
+    }
+
+
+    /**
+     * Returns the names of the symbols that expressions can read
+     * @return the symbol schema, or {@code null} if expressions can read any symbol
+     */
+    @Nullable
+    SymbolSchema getSymbolSchema() {
+        return symbolSchema;
+    }
+
+    /**
+     * Returns {@code true} if symbols are read at most once per evaluation
+     * @return {@code true} if symbols are read at most once per evaluation
+     */
+    boolean isSymbolMemoisation() {
+        return symbolMemoisation;
+    }
+
+    /**
+     * Returns the cache of compiled expressions
+     * @return the cache of compiled expressions or {@code null} if the cache is disabled
+     */
+    @Nullable
+    ExpressionCache getExpressionCache() {
+        return expressionCache;
+    }
 }
@@ -0,0 +1,96 @@
+package com.github.tymefly.eel;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+
+import com.github.tymefly.eel.validate.Preconditions;
+
+/**
+ * Factory for {@link Executor Executors} that can be used to evaluate EEL expressions that have a timeout.
+ * @since 3.3
+ * @see com.github.tymefly.eel.builder.EelContextSettingBuilder#withExecutor(Executor)
+ */
+public final class EelExecutors {
+    private static final Executor THREAD_PER_EVALUATION = createThreadPerEvaluation();
+
+
+    private EelExecutors() {
+    }
+
+
+    /**
+     * Returns an executor that starts a new thread for each evaluation. Virtual threads are used if the JVM
+     * supports them, otherwise each evaluation is run in a new daemon thread.
+     * @return an executor that starts a new thread for each evaluation
+     */
+    @Nonnull
+    public static Executor threadPerEvaluation() {
+        return THREAD_PER_EVALUATION;
+    }
+
+    /**
+     * Returns an executor that limits the number of evaluations that can run concurrently on the {@code executor}.
+     * If {@code maxConcurrent} evaluations are already running then new evaluations are rejected immediately,
+     * and the client will receive an {@link com.github.tymefly.eel.exception.EelRejectedException}.
+     * Evaluations that have timed out continue to count towards the limit until they complete.
+     * @param executor          the executor that runs the evaluations
+     * @param maxConcurrent     the maximum number of evaluations that can run at the same time
+     * @return an executor that limits the number of concurrent evaluations
+     */
+    @Nonnull
+    public static Executor bounded(@Nonnull Executor executor, int maxConcurrent) {
+        Preconditions.checkNotNull(executor, "Can not bound a null executor");
+        Preconditions.checkArgument((maxConcurrent > 0), "Invalid concurrency: %d", maxConcurrent);
+
+        Semaphore permits = new Semaphore(maxConcurrent);
+
+        return task -> {
+            if (!permits.tryAcquire()) {
+                throw new RejectedExecutionException("Too many concurrent EEL evaluations");
+            }
+
+            try {
+                executor.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                permits.release();
+
+                throw e;
+            }
+        };
+    }
+
+
+    @Nonnull
+    private static Executor createThreadPerEvaluation() {
+        Executor executor;
+
+        try {                                       // Virtual threads require Java 21
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+
+            executor = (Executor) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicLong count = new AtomicLong();
+
+            executor = task -> {
+                Thread thread = new Thread(task, "eel-evaluation-" + count.incrementAndGet());
+
+                thread.setDaemon(true);
+                thread.start();
+            };
+        }
+
+        return executor;
+    }
+}
@@ -1,18 +1,24 @@
 package com.github.tymefly.eel;
 
+import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import com.github.tymefly.eel.exception.EelException;
 import com.github.tymefly.eel.exception.EelInternalException;
 import com.github.tymefly.eel.exception.EelInterruptedException;
+import com.github.tymefly.eel.exception.EelRejectedException;
 import com.github.tymefly.eel.exception.EelRuntimeException;
 import com.github.tymefly.eel.exception.EelTimeoutException;
 
@@ -31,7 +37,15 @@ class EelRuntime {
     Expression wrap(@Nonnull Term wrapped) {
         Duration timeout = context.getTimeout();
         boolean skipTimeOut = (timeout.isZero() || wrapped.isConstant());
-        Expression expression = (skipTimeOut ? withoutTimeout(wrapped) : withTimeout(wrapped, timeout));
+        Expression expression;
+
+        if (skipTimeOut) {
+            expression = withoutTimeout(wrapped);
+        } else if (context.getTimeoutMode() == TimeoutMode.COOPERATIVE) {
+            expression = withDeadline(wrapped, timeout);
+        } else {
+            expression = withTimeout(wrapped, timeout);
+        }
 
         return expression;
     }
@@ -39,23 +53,125 @@ class EelRuntime {
 
     @Nonnull
     private Expression withoutTimeout(@Nonnull Term wrapped) {
-        return s -> {
+        return new DirectExpression(wrapped, null);
+    }
+
+    @Nonnull
+    private Expression withDeadline(@Nonnull Term wrapped, @Nonnull Duration timeout) {
+        return new DirectExpression(wrapped, timeout);
+    }
+
+    @Nonnull
+    private Expression withTimeout(@Nonnull Term wrapped, @Nonnull Duration timeout) {
+        return new TimedExpression(wrapped, timeout);
+    }
+
+    @Nonnull
+    private static Result execute(@Nonnull Term wrapped, @Nonnull SymbolsTable symbols) {
+        Value value = wrapped.evaluate(symbols);
+
+        if (value instanceof ValueArgument executor) {
+            value = executor.evaluate(symbols);
+        }
+
+        if (value instanceof Constant constant) {
+            return constant;
+        } else {                // Should not happen
+            throw new EelInternalException("Unexpected type evaluated: " + value.getClass().getName());
+        }
+    }
+
+    @Nullable
+    private static IOException append(@Nonnull Term wrapped, @Nonnull SymbolsTable symbols, @Nonnull Appendable sink) {
+        IOException failure = null;
+
+        try {
+            wrapped.appendTo(symbols, sink);
+        } catch (IOException e) {
+            failure = e;
+        }
+
+        return failure;
+    }
+
+
+    /**
+     * Expression that is evaluated on the calling thread, with an optional cooperative deadline. The text of
+     * the result can be streamed to a sink as it is evaluated.
+     */
+    private static final class DirectExpression implements Expression {
+        private final Term wrapped;
+        private final Duration timeout;
+
+        DirectExpression(@Nonnull Term wrapped, @Nullable Duration timeout) {
+            this.wrapped = wrapped;
+            this.timeout = timeout;
+        }
+
+
+        @Nonnull
+        @Override
+        public Result evaluate(@Nonnull SymbolsTable symbols) {
             try {
-                return execute(wrapped, s);
+                return (timeout == null ?
+                    execute(wrapped, symbols) :
+                    Deadline.run(timeout, () -> execute(wrapped, symbols)));
             } catch (EelException e) {
                 throw e;
             } catch (Exception e) {
                 throw new EelRuntimeException("EEL execution failed", e);
             }
-        };
+        }
+
+        @Override
+        public void evaluateTo(@Nonnull SymbolsTable symbols, @Nonnull Appendable sink) throws IOException {
+            IOException failure;
+
+            try {
+                failure = (timeout == null ?
+                    append(wrapped, symbols, sink) :
+                    Deadline.run(timeout, () -> append(wrapped, symbols, sink)));
+            } catch (EelException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new EelRuntimeException("EEL execution failed", e);
+            }
+
+            if (failure != null) {
+                throw failure;
+            }
+        }
     }
 
-    @Nonnull
-    private Expression withTimeout(@Nonnull Term wrapped, @Nonnull Duration timeout) {
-        return s -> {
+
+    /**
+     * Expression that is evaluated asynchronously by the context executor so that the calling thread is never
+     * blocked for longer than the timeout.
+     */
+    private final class TimedExpression implements Expression {
+        private final Term wrapped;
+        private final Duration timeout;
+        private final Expression cooperative;
+
+        TimedExpression(@Nonnull Term wrapped, @Nonnull Duration timeout) {
+            this.wrapped = wrapped;
+            this.timeout = timeout;
+            this.cooperative = withDeadline(wrapped, timeout);
+        }
+
+
+        @Nonnull
+        @Override
+        public Result evaluate(@Nonnull SymbolsTable symbols) {
             Instant start = Instant.now();
-            CompletableFuture<Result> future = CompletableFuture.supplyAsync(() -> execute(wrapped, s))
-                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            CompletableFuture<Result> future;
+
+            try {
+                future = CompletableFuture.supplyAsync(() -> execute(wrapped, symbols), context.getExecutor())
+                    .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                throw new EelRejectedException("EEL execution was rejected", e);
+            }
 
             try {
                 return future.get();
@@ -65,30 +181,36 @@ class EelRuntime {
                 Throwable cause = e.getCause();
 
                 if (cause instanceof TimeoutException) {
-                    long duration = ChronoUnit.SECONDS.between(start, Instant.now());
-
-                    throw new EelTimeoutException("EEL Timeout after %d second(s)", duration);
+                    throw timedOut(start);
                 } else if (cause instanceof EelException eelException) {
                     throw eelException;
                 } else {
                     throw new EelRuntimeException("EEL execution failed", cause);
                 }
             }
-        };
-    }
+        }
 
-    @Nonnull
-    private static Result execute(@Nonnull Term wrapped, @Nonnull SymbolsTable symbols) {
-        Value value = wrapped.evaluate(symbols);
+        /**
+         * Rather than submitting one task per row, rows are handed to the executor in chunks. Each row has a
+         * cooperative deadline, and the calling thread abandons any row that blocks without reaching a checkpoint.
+         */
+        @Override
+        public long evaluateAll(@Nonnull Iterable<SymbolsTable> symbolsTables, @Nonnull BatchHandler handler) {
+            return Batches.sequential(cooperative, context.getExecutor(), timeout, symbolsTables, handler);
+        }
 
-        if (value instanceof ValueArgument executor) {
-            value = executor.evaluate(symbols);
+        @Override
+        public long evaluateParallel(@Nonnull List<SymbolsTable> symbolsTables,
+                                     @Nonnull ForkJoinPool pool,
+                                     @Nonnull BatchHandler handler) {
+            return Batches.parallel(cooperative, pool, timeout, symbolsTables, handler);
         }
 
-        if (value instanceof Constant constant) {
-            return constant;
-        } else {                // Should not happen
-            throw new EelInternalException("Unexpected type evaluated: " + value.getClass().getName());
+        @Nonnull
+        private EelTimeoutException timedOut(@Nonnull Instant start) {
+            long duration = ChronoUnit.SECONDS.between(start, Instant.now());
+
+            return new EelTimeoutException("EEL Timeout after %d second(s)", duration);
         }
     }
 }
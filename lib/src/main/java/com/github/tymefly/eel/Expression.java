@@ -1,7 +1,14 @@
 package com.github.tymefly.eel;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
 import javax.annotation.Nonnull;
 
+import com.github.tymefly.eel.exception.EelException;
+
 /**
  * An executable expression that contains one or more code {@link Term}s
  */
@@ -14,4 +21,60 @@ interface Expression {
      */
     @Nonnull
     Result evaluate(@Nonnull SymbolsTable symbols);
+
+    /**
+     * Evaluate this expression and append the text of the result to the {@code sink}
+     * @param symbols   Accessor for values stored in the SymbolsTable
+     * @param sink      receives the text of the result
+     * @throws IOException if the text could not be written to the {@code sink}
+     */
+    default void evaluateTo(@Nonnull SymbolsTable symbols, @Nonnull Appendable sink) throws IOException {
+        sink.append(evaluate(symbols).asText());
+    }
+
+    /**
+     * Evaluate this expression once for each of the {@code symbolsTables}. A failure in one row is passed to the
+     * {@code handler} and does not prevent the remaining rows from being evaluated
+     * @param symbolsTables     the symbols table for each row in the batch
+     * @param handler           receiver for the outcome of each row
+     * @return                  the number of rows that failed
+     */
+    default long evaluateAll(@Nonnull Iterable<SymbolsTable> symbolsTables, @Nonnull BatchHandler handler) {
+        long row = 0;
+        long failures = 0;
+
+        for (SymbolsTable symbols : symbolsTables) {
+            Result result;
+
+            try {
+                result = evaluate(symbols);
+            } catch (EelException e) {
+                result = null;
+                failures++;
+                handler.onFailure(row, e);
+            }
+
+            if (result != null) {
+                handler.onResult(row, result);
+            }
+
+            row++;
+        }
+
+        return failures;
+    }
+
+    /**
+     * Evaluate this expression once for each of the {@code symbolsTables}, splitting the rows across the threads
+     * in the {@code pool}. The outcomes are passed to the {@code handler} on the calling thread in row order.
+     * @param symbolsTables     the symbols table for each row in the batch
+     * @param pool              the pool that evaluates the rows
+     * @param handler           receiver for the outcome of each row
+     * @return                  the number of rows that failed
+     */
+    default long evaluateParallel(@Nonnull List<SymbolsTable> symbolsTables,
+                                  @Nonnull ForkJoinPool pool,
+                                  @Nonnull BatchHandler handler) {
+        return Batches.parallel(this, pool, Duration.ZERO, symbolsTables, handler);
+    }
 }
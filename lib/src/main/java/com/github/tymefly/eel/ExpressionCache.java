@@ -0,0 +1,80 @@
+package com.github.tymefly.eel;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A bounded cache of compiled expressions, keyed by their source text. When the cache is full the least
+ * recently used expression is evicted.
+ * <br>
+ * Expressions are compiled outside the lock, so two threads that miss on the same text at the same time may
+ * both compile it; only the first expression is kept. Expressions that fail to compile are never cached.
+ */
+final class ExpressionCache {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final int capacity;
+    private final Map<String, Eel> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+
+    ExpressionCache(int capacity) {
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, true) {
+            @Override
+            protected boolean removeEldestEntry(@Nonnull Map.Entry<String, Eel> eldest) {
+                boolean remove = (size() > ExpressionCache.this.capacity);
+
+                if (remove) {
+                    evictions++;
+                }
+
+                return remove;
+            }
+        };
+    }
+
+
+    /**
+     * Returns the compiled expression for the {@code source} text, compiling it if it is not already cached
+     * @param source    the expression source text
+     * @param compiler  function used to compile the source on a cache miss
+     * @return          the compiled expression
+     */
+    @Nonnull
+    Eel get(@Nonnull String source, @Nonnull Function<String, Eel> compiler) {
+        Eel result;
+
+        synchronized (this) {
+            result = entries.get(source);
+
+            if (result == null) {
+                misses++;
+            } else {
+                hits++;
+            }
+        }
+
+        if (result == null) {
+            Eel compiled = compiler.apply(source);
+
+            synchronized (this) {
+                result = entries.putIfAbsent(source, compiled);
+                result = (result == null ? compiled : result);
+            }
+        }
+
+        return result;
+    }
+
+    @Nonnull
+    synchronized CacheStatistics statistics() {
+        return new CacheStatistics(hits, misses, evictions, entries.size(), capacity);
+    }
+}
@@ -0,0 +1,134 @@
+package com.github.tymefly.eel;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.github.tymefly.eel.exception.EelSymbolsTableException;
+
+/**
+ * An immutable snapshot of the values in a {@link SymbolsTable}.
+ * <br>
+ * The keys are held in an open addressing hash table with linear probing that is never more than half full, so
+ * most reads find their key in the first slot that they probe. Each value is held as a {@link Constant}, so values
+ * are not converted from text on every read and any number or date conversions are cached between evaluations.
+ */
+final class FrozenSymbols {
+    private static final int MINIMUM_CAPACITY = 2;
+    private static final int HASH_SPREAD = 16;
+
+    private final String[] keys;
+    private final int[] hashes;
+    private final Constant[] values;
+    private final int mask;
+    private final Constant fallback;
+
+
+    private FrozenSymbols(int size, @Nullable Constant fallback) {
+        int capacity = Integer.highestOneBit(Math.max(MINIMUM_CAPACITY, size) * 2 - 1) << 1;
+
+        this.keys = new String[capacity];
+        this.hashes = new int[capacity];
+        this.values = new Constant[capacity];
+        this.mask = capacity - 1;
+        this.fallback = fallback;
+    }
+
+
+    /**
+     * Take a snapshot of the {@code sources}. Values are taken from the first source that contains their key, and
+     * any sources after a default value are ignored as they can never be read.
+     * @param sources   the sources in a SymbolsTable
+     * @return          the snapshot of the sources
+     * @throws EelSymbolsTableException if any source is a lookup function, which can not be enumerated
+     */
+    @Nonnull
+    static FrozenSymbols of(@Nonnull List<SymbolsSource> sources) {
+        int size = 0;
+        String fallback = null;
+
+        for (SymbolsSource source : sources) {
+            Map<?, ?> values = source.values();
+
+            fallback = source.fallback();
+
+            if (fallback != null) {
+                break;
+            } else if (values == null) {
+                throw new EelSymbolsTableException("Can not freeze a SymbolsTable that uses a lookup function");
+            } else {
+                size += values.size();
+            }
+        }
+
+        FrozenSymbols frozen = new FrozenSymbols(size, (fallback == null ? null : Constant.of(fallback)));
+
+        for (SymbolsSource source : sources) {
+            Map<?, ?> values = source.values();
+
+            if (values == null) {
+                break;
+            }
+
+            String prefix = source.prefix();
+
+            for (var entry : values.entrySet()) {
+                Object key = entry.getKey();
+                Object value = entry.getValue();
+
+                if ((key instanceof String name) && (value != null)) {
+                    frozen.putIfAbsent(prefix + name, value.toString());
+                }
+            }
+        }
+
+        return frozen;
+    }
+
+
+    private void putIfAbsent(@Nonnull String key, @Nonnull String value) {
+        int hash = hash(key);
+        int index = find(key, hash);
+
+        if (keys[index] == null) {
+            keys[index] = key;
+            hashes[index] = hash;
+            values[index] = Constant.of(value);
+        }
+    }
+
+    /**
+     * Returns the value associated with the {@code key}
+     * @param key   the name of the symbol
+     * @return      the value associated with the {@code key}, or {@code null} if it is undefined
+     */
+    @Nullable
+    Constant get(@Nonnull String key) {
+        Constant value = values[find(key, hash(key))];
+
+        return (value != null ? value : fallback);
+    }
+
+    /**
+     * Returns the index of the {@code key}, or the index of the empty slot where it would be stored
+     */
+    private int find(@Nonnull String key, int hash) {
+        int index = hash & mask;
+        String candidate;
+
+        while (((candidate = keys[index]) != null) && ((hashes[index] != hash) || !candidate.equals(key))) {
+            index = (index + 1) & mask;
+        }
+
+        return index;
+    }
+
+
+    private static int hash(@Nonnull String key) {
+        int hash = key.hashCode();
+
+        return hash ^ (hash >>> HASH_SPREAD);
+    }
+}
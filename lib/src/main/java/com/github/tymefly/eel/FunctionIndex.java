@@ -0,0 +1,196 @@
+package com.github.tymefly.eel;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.github.tymefly.eel.udf.PackagedEelFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The classes annotated with {@link PackagedEelFunction} that were indexed by the EEL annotation processor when they
+ * were compiled. Each jar and directory on the classpath can contain an index resource, which only describes the
+ * classes in that jar or directory. Packages that are not in any index, or that are also found in a jar or directory
+ * without an index, have to be found by scanning the classpath.
+ */
+final class FunctionIndex {
+    /** The name of the resource written by {@code com.github.tymefly.eel.processor.FunctionIndexProcessor} */
+    static final String RESOURCE = "META-INF/eel/functions.index";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FunctionIndex.class);
+    private static final String COMMENT = "#";
+    private static final String SEPARATOR = "/";
+
+    private final Map<String, Map<String, ClassLoader>> packages;
+    private final Set<String> roots;
+    private final List<ClassLoader> loaders;
+
+
+    private FunctionIndex(@Nonnull Map<String, Map<String, ClassLoader>> packages,
+                          @Nonnull Set<String> roots,
+                          @Nonnull List<ClassLoader> loaders) {
+        this.packages = packages;
+        this.roots = roots;
+        this.loaders = loaders;
+    }
+
+
+    /**
+     * Read every index resource that can be found by the {@code loaders}
+     * @param loaders       the class loaders used to find the index resources and load the indexed classes.
+     *                      {@code null} elements are ignored
+     * @return              the combined index
+     */
+    @Nonnull
+    static FunctionIndex load(@Nonnull ClassLoader... loaders) {
+        Map<String, Map<String, ClassLoader>> packages = new HashMap<>();
+        Set<String> roots = new HashSet<>();
+        List<ClassLoader> sources = Arrays.stream(loaders)
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+
+        for (ClassLoader loader : sources) {
+            read(packages, roots, loader);
+        }
+
+        return new FunctionIndex(packages, roots, sources);
+    }
+
+    private static void read(@Nonnull Map<String, Map<String, ClassLoader>> packages,
+                             @Nonnull Set<String> roots,
+                             @Nonnull ClassLoader loader) {
+        try {
+            for (URL resource : Collections.list(loader.getResources(RESOURCE))) {
+                if (roots.add(root(resource, RESOURCE))) {
+                    read(packages, resource, loader);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to read the EEL function index", e);
+        }
+    }
+
+    private static void read(@Nonnull Map<String, Map<String, ClassLoader>> packages,
+                             @Nonnull URL resource,
+                             @Nonnull ClassLoader loader) throws IOException {
+        try (
+            Reader reader = new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8);
+            BufferedReader lines = new BufferedReader(reader)
+        ) {
+            lines.lines()
+                .map(String::trim)
+                .filter(line -> !line.isEmpty() && !line.startsWith(COMMENT))
+                .forEach(name -> packages.computeIfAbsent(packageOf(name), p -> new LinkedHashMap<>())
+                    .putIfAbsent(name, loader));
+        }
+    }
+
+    @Nonnull
+    private static String packageOf(@Nonnull String className) {
+        int index = className.lastIndexOf('.');
+
+        return (index == -1 ? "" : className.substring(0, index));
+    }
+
+    /**
+     * Returns the jar or directory that a resource was found in
+     * @param resource      the URL of the resource
+     * @param path          the path of the resource within its jar or directory
+     * @return              the URL of the jar or directory, without a trailing separator
+     */
+    @Nonnull
+    private static String root(@Nonnull URL resource, @Nonnull String path) {
+        String url = trim(resource.toExternalForm());
+
+        return trim(url.endsWith(path) ? url.substring(0, url.length() - path.length()) : url);
+    }
+
+    @Nonnull
+    private static String trim(@Nonnull String url) {
+        return (url.endsWith(SEPARATOR) ? url.substring(0, url.length() - SEPARATOR.length()) : url);
+    }
+
+
+    /**
+     * Returns the indexed classes in a package. Classes in sub-packages are not included.
+     * @param location      the package to look in
+     * @return              the indexed classes in the package, or {@code null} if the package is not indexed by
+     *                      every jar and directory that it is found in
+     */
+    @Nullable
+    Set<Class<?>> find(@Nonnull Package location) {
+        Map<String, ClassLoader> names = packages.get(location.getName());
+        Set<Class<?>> classes;
+
+        if ((names == null) || !isIndexed(location.getName())) {
+            classes = null;
+        } else {
+            classes = new LinkedHashSet<>();
+
+            names.forEach((name, loader) -> {
+                Class<?> type = load(name, loader);
+
+                if ((type != null) && type.isAnnotationPresent(PackagedEelFunction.class)) {
+                    classes.add(type);
+                }
+            });
+        }
+
+        return classes;
+    }
+
+    private boolean isIndexed(@Nonnull String name) {
+        String path = name.replace('.', '/');
+        boolean indexed = true;
+
+        try {
+            for (ClassLoader loader : loaders) {
+                for (URL resource : Collections.list(loader.getResources(path))) {
+                    String root = root(resource, path);
+
+                    if (!roots.contains(root)) {
+                        LOGGER.debug("Package '{}' is also in '{}', which has no EEL function index", name, root);
+                        indexed = false;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to find the locations of package '{}'", name, e);
+            indexed = false;
+        }
+
+        return indexed;
+    }
+
+    @Nullable
+    private Class<?> load(@Nonnull String name, @Nonnull ClassLoader loader) {
+        Class<?> type;
+
+        try {
+            type = Class.forName(name, false, loader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            LOGGER.warn("Indexed EEL function class '{}' could not be loaded", name, e);
+            type = null;
+        }
+
+        return type;
+    }
+}
@@ -1,7 +1,9 @@
 package com.github.tymefly.eel;
 
 import java.io.File;
+import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -12,17 +14,18 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.BiFunction;
 import java.util.regex.Pattern;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import com.github.tymefly.eel.exception.EelInternalException;
 import com.github.tymefly.eel.exception.EelRuntimeException;
 import com.github.tymefly.eel.exception.EelUnknownFunctionException;
 import com.github.tymefly.eel.function.date.DateFactory;
@@ -54,6 +57,48 @@ import static java.util.Map.entry;
  * This is a mini IoC container
  */
 class FunctionManager {
+    /**
+     * Source of a {@link MethodHandle}
+     */
+    @FunctionalInterface
+    private interface HandleLookup {
+        @Nonnull
+        MethodHandle find() throws ReflectiveOperationException;
+    }
+
+
+    /**
+     * A compiled call to a function. Everything that does not depend on the symbols table is resolved once,
+     * when the expression is compiled, rather than every time the function is called.
+     * <br>
+     * The {@code invoker} evaluates and converts each argument to the exact type of its parameter, then calls the
+     * function directly, so primitive arguments are not boxed and variable length arguments are not built by
+     * reflection. Record fields are trusted to be final, so the JIT can inline the invoker into the expression.
+     * @param name      Name of the function as seen in the EEL expression
+     * @param invoker   {@code (SymbolsTable)Object} handle that calls the function
+     * @param recent    the last value returned by the function
+     */
+    private record CallSite(@Nonnull String name, @Nonnull MethodHandle invoker, @Nonnull Constant.Recent recent)
+            implements Term {
+        @Nonnull
+        @Override
+        @SuppressWarnings("PMD.AvoidCatchingThrowable")                     // required by MethodHandle.invokeExact
+        public Value evaluate(@Nonnull SymbolsTable symbols) {
+            Object returned;
+
+            try {
+                returned = (Object) invoker.invokeExact(symbols);
+            } catch (RuntimeException | Error e) {                          // Function failures are already wrapped
+                throw e;
+            } catch (Throwable e) {
+                throw new EelFunctionException("Failed to execute function '" + name + "'", e);
+            }
+
+            return convertReturned(name, returned, recent);
+        }
+    }
+
+
     /**
      * A Description of an external function
      * @param name              Name of the function as seen in the EEL expression
@@ -69,6 +114,9 @@ class FunctionManager {
     static class Builder {
         private static final Pattern UDF_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*([.][A-Za-z0-9_]+)*");
         private static final Map<Package, Set<Class<?>>> PACKAGE_CACHE = new ConcurrentHashMap<>();
+        private static final FunctionIndex INDEX = FunctionIndex.load(
+            FunctionManager.class.getClassLoader(),
+            Thread.currentThread().getContextClassLoader());
         private static final Map<Class<?>, List<Description>> DESCRIPTION_CACHE = new ConcurrentHashMap<>();
 
         private static final Collection<String> RESERVED_PREFIX = Set.of(
@@ -141,8 +189,9 @@ class FunctionManager {
 
 
         /**
-         * Scan the {@code location} for classes annotated with {@link PackagedEelFunction} and add their
-         * EEL functions to the {@code functions} map
+         * Find the classes in the {@code location} that are annotated with {@link PackagedEelFunction} and add their
+         * EEL functions to the {@code functions} map. Classes are read from the {@link FunctionIndex} if every jar and
+         * directory that holds the package has indexed it, otherwise the classpath is scanned.
          * @param functions     Function map that will be updated
          * @param location      package that should contain EEL functions.
          * @param validateName  {@literal false} for standard functions and {@literal true} for UDFs
@@ -152,25 +201,33 @@ class FunctionManager {
                 boolean validateName) {
             Set<Class<?>> implementations = PACKAGE_CACHE.computeIfAbsent(location,
                 p -> {
-                    String name = location.getName();
-                    String regEx = name.replace(".", "\\.")
-                        .replace("$", "\\$") +
-                            "\\.[^.]+\\.class$";
-                    FilterBuilder filter = new FilterBuilder()
-                        .includePattern(regEx);
-                    ConfigurationBuilder configuration = new ConfigurationBuilder()
-                        .filterInputsBy(filter)
-                        .setUrls(ClasspathHelper.forPackage(name))
-                        .setScanners(Scanners.TypesAnnotated);
-                    Set<Class<?>> classes = new Reflections(configuration)
-                        .getTypesAnnotatedWith(PackagedEelFunction.class);
-
-                    return classes;
+                    Set<Class<?>> indexed = INDEX.find(location);
+
+                    return (indexed == null ? scan(location) : indexed);
                 });
 
             implementations.forEach(implementation -> addClass(functions, implementation, validateName));
         }
 
+        @Nonnull
+        private static Set<Class<?>> scan(@Nonnull Package location) {
+            String name = location.getName();
+            String regEx = name.replace(".", "\\.")
+                .replace("$", "\\$") +
+                    "\\.[^.]+\\.class$";
+            FilterBuilder filter = new FilterBuilder()
+                .includePattern(regEx);
+            ConfigurationBuilder configuration = new ConfigurationBuilder()
+                .filterInputsBy(filter)
+                .setUrls(ClasspathHelper.forPackage(name))
+                .setScanners(Scanners.TypesAnnotated);
+
+            LOGGER.debug("Scanning the classpath for EEL functions in '{}'", name);
+
+            return new Reflections(configuration)
+                .getTypesAnnotatedWith(PackagedEelFunction.class);
+        }
+
         /**
          * Add all the functions in a class to the {@code #functions} map
          * @param functions         Function map that will be updated
@@ -241,31 +298,65 @@ class FunctionManager {
 
 
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final int MAX_SPREAD_ARGUMENTS = 100;             // long and double arguments take two slots
+    private static final Logger LOGGER = LoggerFactory.getLogger(LOOKUP.lookupClass());
     private static final Map<Class<?>, Object> INSTANCE_CACHE = new ConcurrentHashMap<>();
-    private static final Map<Class<?>, BiFunction<EelContextImpl, Value, Object>> ARGUMENT_CONVERSIONS = Map.ofEntries(
-        entry(Value.class, (c, v) -> v),
-        entry(String.class, (c, v) -> v.asText()),
-        entry(Boolean.class, (c, v) -> v.asLogic()),
-        entry(boolean.class, (c, v) -> v.asLogic()),
-        entry(Byte.class, (c, v) -> v.asNumber().byteValue()),
-        entry(byte.class, (c, v) -> v.asNumber().byteValue()),
-        entry(Short.class, (c, v) -> v.asNumber().shortValue()),
-        entry(short.class, (c, v) -> v.asNumber().shortValue()),
-        entry(Integer.class, (c, v) -> v.asInt()),
-        entry(int.class, (c, v) -> v.asInt()),
-        entry(Long.class, (c, v) -> v.asLong()),
-        entry(long.class, (c, v) -> v.asLong()),
-        entry(Float.class, (c, v) ->  v.asNumber().floatValue()),
-        entry(float.class, (c, v) -> v.asNumber().floatValue()),
-        entry(Double.class, (c, v) -> v.asDouble()),
-        entry(double.class, (c, v) -> v.asDouble()),
-        entry(BigInteger.class, (c, v) -> v.asBigInteger()),
-        entry(BigDecimal.class, (c, v) -> v.asNumber()),
-        entry(ZonedDateTime.class, (c, v) -> v.asDate()),
-        entry(Character.class, (c, v) -> v.asChar()),
-        entry(char.class, (c, v) -> v.asChar()),
-        entry(File.class, FunctionManager::asFile)
+    private static final MethodHandle EVALUATE = lookup(() ->
+        LOOKUP.findVirtual(Term.class, "evaluate", MethodType.methodType(Value.class, SymbolsTable.class)));
+    private static final MethodHandle VALUE_ARGUMENT = lookup(() ->
+        LOOKUP.findConstructor(ValueArgument.class, MethodType.methodType(void.class, Term.class, SymbolsTable.class))
+            .asType(MethodType.methodType(Value.class, Term.class, SymbolsTable.class)));
+    private static final MethodHandle CHECKPOINT = lookup(() ->
+        LOOKUP.findStatic(Deadline.class, "checkpoint", MethodType.methodType(void.class)));
+    private static final MethodHandle FAIL = lookup(() ->
+        LOOKUP.findStatic(FunctionManager.class, "fail", MethodType.methodType(Object.class, String.class)));
+    private static final MethodHandle COLLECT = lookup(() ->
+        LOOKUP.findStatic(FunctionManager.class, "collect",
+            MethodType.methodType(Object.class, Class.class, MethodHandle[].class, SymbolsTable.class)));
+    private static final MethodHandle RETHROW = lookup(() ->
+        LOOKUP.findStatic(FunctionManager.class, "rethrow",
+            MethodType.methodType(Object.class, String.class, Throwable.class)));
+
+    /** {@code (EelContextImpl, Value)T} handles that convert an argument to the type of its parameter */
+    private static final Map<Class<?>, MethodHandle> ARGUMENT_CONVERSIONS = Map.ofEntries(
+        entry(Value.class, reader(Value.class)),
+        entry(String.class, reader(String.class, "asText")),
+        entry(Boolean.class, reader(Boolean.class, "asLogic")),
+        entry(boolean.class, reader(boolean.class, "asLogic")),
+        entry(Byte.class, reader(Byte.class, "asNumber", "byteValue")),
+        entry(byte.class, reader(byte.class, "asNumber", "byteValue")),
+        entry(Short.class, reader(Short.class, "asNumber", "shortValue")),
+        entry(short.class, reader(short.class, "asNumber", "shortValue")),
+        entry(Integer.class, reader(Integer.class, "asInt")),
+        entry(int.class, reader(int.class, "asInt")),
+        entry(Long.class, reader(Long.class, "asLong")),
+        entry(long.class, reader(long.class, "asLong")),
+        entry(Float.class, reader(Float.class, "asNumber", "floatValue")),
+        entry(float.class, reader(float.class, "asNumber", "floatValue")),
+        entry(Double.class, reader(Double.class, "asDouble")),
+        entry(double.class, reader(double.class, "asDouble")),
+        entry(BigInteger.class, reader(BigInteger.class, "asBigInteger")),
+        entry(BigDecimal.class, reader(BigDecimal.class, "asNumber")),
+        entry(ZonedDateTime.class, reader(ZonedDateTime.class, "asDate")),
+        entry(Character.class, reader(Character.class, "asChar")),
+        entry(char.class, reader(char.class, "asChar")),
+        entry(File.class, lookup(() -> LOOKUP.findStatic(FunctionManager.class, "asFile",
+            MethodType.methodType(File.class, EelContextImpl.class, Value.class))))
+    );
+    private static final Map<Class<?>, Type> RETURN_TYPES = Map.ofEntries(
+        entry(String.class, Type.TEXT),
+        entry(Character.class, Type.TEXT),
+        entry(char.class, Type.TEXT),
+        entry(Boolean.class, Type.LOGIC),
+        entry(boolean.class, Type.LOGIC),
+        entry(byte.class, Type.NUMBER),
+        entry(short.class, Type.NUMBER),
+        entry(int.class, Type.NUMBER),
+        entry(long.class, Type.NUMBER),
+        entry(float.class, Type.NUMBER),
+        entry(double.class, Type.NUMBER),
+        entry(ZonedDateTime.class, Type.DATE)
     );
 
 
@@ -290,8 +381,160 @@ class FunctionManager {
         Method entryPoint = description.entryPoint();
         Class<?> implementation = entryPoint.getDeclaringClass();
         Object instance = INSTANCE_CACHE.computeIfAbsent(implementation, this::createInstance);
+        MethodHandle[] arguments = compileArguments(context, functionName, entryPoint, argumentList);
+        int parameterCount = entryPoint.getParameterCount();
+        boolean isVarArgs = (parameterCount != 0) && entryPoint.getParameterTypes()[parameterCount - 1].isArray();
+        MethodHandle target;
+
+        if (!isVarArgs && (parameterCount < argumentList.size())) {
+            target = failure(arguments, failing(Object.class,
+                String.format("Expected %d argument(s) for function '%s' but %d were passed",
+                    parameterCount, functionName, argumentList.size())));
+        } else {
+            try {
+                target = target(functionName, entryPoint, instance);
+            } catch (ReflectiveOperationException e) {
+                // be consistent with unoptimised code, generate a call that will fail when evaluated
+                target = failure(arguments, MethodHandles.insertArguments(RETHROW, 0, functionName, e));
+            }
+        }
+
+        MethodHandle call = MethodHandles.filterArguments(target, 0, arguments);
+        MethodHandle invoker = MethodHandles.permuteArguments(call,
+                MethodType.methodType(call.type().returnType(), SymbolsTable.class),
+                new int[arguments.length])
+            .asType(MethodType.methodType(Object.class, SymbolsTable.class));
+
+        return new CallSite(functionName, invoker, new Constant.Recent());
+    }
+
+
+    /**
+     * Returns a handle that calls the {@code entryPoint} with one parameter for each of its parameters.
+     * @param name              the name of the function
+     * @param entryPoint        the method that implements the function
+     * @param instance          the object the method is called on, if it is not static
+     * @return                  a handle that checks the deadline, then calls the method. Exceptions thrown by the
+     *                          method, other than {@link EelRuntimeException}s, are wrapped
+     * @throws ReflectiveOperationException if the method can not be accessed
+     */
+    @Nonnull
+    private static MethodHandle target(@Nonnull String name,
+                                       @Nonnull Method entryPoint,
+                                       @Nonnull Object instance) throws ReflectiveOperationException {
+        MethodHandle target = LOOKUP.unreflect(entryPoint);
+
+        target = (Modifier.isStatic(entryPoint.getModifiers()) ? target : target.bindTo(instance));
+        target = target.asFixedArity();
+
+        MethodType type = target.type();
+        MethodHandle handler = MethodHandles.insertArguments(RETHROW, 0, name)
+            .asType(MethodType.methodType(type.returnType(), Throwable.class));
+
+        target = MethodHandles.catchException(target,
+            Throwable.class,
+            MethodHandles.dropArguments(handler, 1, type.parameterList()));
+
+        return MethodHandles.foldArguments(target, CHECKPOINT);
+    }
+
+
+    /**
+     * Returns a handle that accepts the values of the {@code arguments}, but ignores them and invokes {@code failure}
+     * @param arguments     the handles that supply each argument slot
+     * @param failure       {@code ()Object} handle that will throw an exception
+     * @return              a handle that fails once the arguments have been evaluated
+     */
+    @Nonnull
+    private static MethodHandle failure(@Nonnull MethodHandle[] arguments, @Nonnull MethodHandle failure) {
+        List<Class<?>> types = new ArrayList<>(arguments.length);
+
+        for (MethodHandle argument : arguments) {
+            types.add(argument.type().returnType());
+        }
+
+        return MethodHandles.dropArguments(failure, 0, types);
+    }
+
+
+    /**
+     * Returns a handle that throws an {@link EelFunctionException}
+     * @param type          the type the handle claims to return
+     * @param message       the message of the exception
+     * @return              a {@code ()type} handle that always throws
+     */
+    @Nonnull
+    private static MethodHandle failing(@Nonnull Class<?> type, @Nonnull String message) {
+        return MethodHandles.insertArguments(FAIL, 0, message)
+            .asType(MethodType.methodType(type));
+    }
+
+    @Nonnull
+    @SuppressWarnings("PMD.UnusedPrivateMethod")                        // called through the FAIL handle
+    private static Object fail(@Nonnull String message) {
+        throw new EelFunctionException(message);
+    }
+
+    @Nonnull
+    @SuppressWarnings("PMD.UnusedPrivateMethod")                        // called through the RETHROW handle
+    private static Object rethrow(@Nonnull String name, @Nonnull Throwable cause) {
+        if (cause instanceof EelRuntimeException eelException) {            // Don't wrap Eel Exceptions
+            throw eelException;
+        }
+
+        throw new EelFunctionException("Failed to execute function '" + name + "'", cause);
+    }
+
+
+    /**
+     * Returns the type of value that will always be returned by a function
+     * @param functionName  the name of the function
+     * @return              the type of the returned value, or {@code null} if the function is not defined or its
+     *                      type can not be determined until it is called
+     */
+    @Nullable
+    Type returnType(@Nonnull String functionName) {
+        Description description = descriptions.get(functionName);
+        Class<?> returned = (description == null ? null : description.entryPoint().getReturnType());
+        Type result;
+
+        if (returned == null) {
+            result = null;
+        } else if (Number.class.isAssignableFrom(returned)) {
+            result = Type.NUMBER;
+        } else {
+            result = RETURN_TYPES.get(returned);
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Returns {@literal true} if the function always returns the same value for the same arguments
+     * @param functionName  the name of the function
+     * @return              {@literal true} if the function is defined and marked as
+     *                      {@link EelFunction#deterministic() deterministic}
+     */
+    boolean isDeterministic(@Nonnull String functionName) {
+        Description description = descriptions.get(functionName);
+
+        return (description != null) && description.entryPoint().getAnnotation(EelFunction.class).deterministic();
+    }
+
 
-        return s -> invokeFunction(context, functionName, instance, entryPoint, s, argumentList);
+    /**
+     * Returns a description of every function that can be called. If two FunctionManagers return the same list then
+     * any function call compiled by one of them would be compiled in the same way by the other.
+     * @return  the name, implementation and determinism of every function, sorted by name
+     */
+    @Nonnull
+    List<String> signatures() {
+        return descriptions.values()
+            .stream()
+            .sorted(Comparator.comparing(Description::name))
+            .map(d -> d.name() + "=" + d.entryPoint().toGenericString() + (isDeterministic(d.name()) ? " [d]" : ""))
+            .toList();
     }
 
 
@@ -311,167 +554,233 @@ class FunctionManager {
     }
 
 
+    /**
+     * Returns a {@code (EelContextImpl, Value)T} handle that converts an argument to the {@code targetType}
+     * @param name          the name of the function
+     * @param index         the index of the argument
+     * @param targetType    the type of the parameter the argument is passed to
+     * @return              the conversion, or a handle that will fail if the type is not supported
+     */
     @Nonnull
-    private Value invokeFunction(@Nonnull EelContextImpl context,
-                                 @Nonnull String name,
-                                 @Nonnull Object instance,
-                                 @Nonnull Method entryPoint,
-                                 @Nonnull SymbolsTable symbols,
-                                 @Nonnull List<Term> argumentList) {
-        Object[] arguments = buildArguments(context, name, entryPoint, symbols, argumentList);
-        Object returned;
+    private static MethodHandle conversion(@Nonnull String name, int index, @Nonnull Class<?> targetType) {
+        MethodHandle conversion = ARGUMENT_CONVERSIONS.get(targetType);
 
-        try {
-            returned = entryPoint.invoke(instance, arguments);
-        } catch (RuntimeException | ReflectiveOperationException e) {
-            Throwable cause = e.getCause();
+        if (conversion == null) {
+            String message = String.format("Argument %d for function '%s' is of unsupported type %s",
+                index, name, targetType.getName());
 
-            if (cause instanceof EelRuntimeException eelException) {        // Don't wrap Eel Exceptions
-                throw eelException;
-            }
+            conversion = MethodHandles.dropArguments(failing(targetType, message),
+                0,
+                EelContextImpl.class,
+                Value.class);
+        }
 
-            if (cause == null) {
-                cause = e;
-            }
+        return conversion;
+    }
+
+
+    /**
+     * Returns a {@code (EelContextImpl, Value)type} handle that reads a {@link Value} by calling a chain of
+     * no-argument methods, starting with a method on {@link Value}
+     * @param type          the type returned by the handle. The value returned by the last method is boxed or
+     *                      unboxed as required
+     * @param methods       the names of the methods to call
+     * @return              the conversion
+     */
+    @Nonnull
+    private static MethodHandle reader(@Nonnull Class<?> type, @Nonnull String... methods) {
+        MethodHandle reader = MethodHandles.identity(Value.class);
 
-            throw new EelFunctionException("Failed to execute function '" + name + "'", cause);
+        for (String method : methods) {
+            Class<?> owner = reader.type().returnType();
+            MethodHandle next = lookup(() ->
+                LOOKUP.findVirtual(owner, method, MethodType.methodType(owner.getMethod(method).getReturnType())));
+
+            reader = MethodHandles.filterReturnValue(reader, next);
         }
 
-        return convertReturned(name, returned);
+        reader = reader.asType(MethodType.methodType(type, Value.class));
+
+        return MethodHandles.dropArguments(reader, 0, EelContextImpl.class);
     }
 
 
     @Nonnull
-    private Object[] buildArguments(@Nonnull EelContextImpl context,
-                                    @Nonnull String name,
-                                    @Nonnull Method entryPoint,
-                                    @Nonnull SymbolsTable symbols,
-                                    @Nonnull List<Term> argumentList) {
+    private static MethodHandle lookup(@Nonnull HandleLookup lookup) {
+        MethodHandle handle;
+
+        try {
+            handle = lookup.find();
+        } catch (ReflectiveOperationException e) {
+            throw new EelInternalException("Failed to find a method used to call EEL functions", e);
+        }
+
+        return handle;
+    }
+
+
+    @Nonnull
+    @SuppressWarnings("PMD.UnusedPrivateMethod")                        // called through ARGUMENT_CONVERSIONS
+    private static File asFile(@Nonnull EelContextImpl context, @Nonnull Value fileName) {
+        String path = fileName.asText();
+        File result = context.getFile(path);
+
+        return result;
+    }
+
+
+
+    /**
+     * Returns a {@code (SymbolsTable)T} handle for each parameter of the {@code entryPoint}, where {@code T} is
+     * the type of the parameter. The variable length arguments are supplied by a single handle that builds the array.
+     */
+    @Nonnull
+    private MethodHandle[] compileArguments(@Nonnull EelContextImpl context,
+                                            @Nonnull String name,
+                                            @Nonnull Method entryPoint,
+                                            @Nonnull List<Term> argumentList) {
         Parameter[] params = entryPoint.getParameters();
-        int actualSize = entryPoint.getParameterCount();
-        Object[] actual = new Object[actualSize];
-        int paramIndex = 0;
+        List<MethodHandle> actual = new ArrayList<>(Math.max(params.length, argumentList.size()));
         int argumentIndex = 0;
-        boolean isVarArgs = false;
 
-        for (int paramsLength = params.length; paramIndex < paramsLength; paramIndex++) {
+        for (int paramIndex = 0; paramIndex < params.length; paramIndex++) {
             Parameter parameter = params[paramIndex];
             Class<?> paramType = parameter.getType();
+            boolean isVarArgs = (paramIndex == params.length - 1) && paramType.isArray();
 
-            isVarArgs = (paramIndex == params.length - 1) && paramType.isArray();
+            if (paramType == EelContext.class) {
+                actual.add(constant(EelContext.class, context));
+            } else if (paramType == FunctionalResource.class) {
+                FunctionalResource resource = new FunctionalResourceImpl(context, entryPoint.getDeclaringClass());
 
-            if (parameter.getType() == EelContext.class) {
-                actual[paramIndex] = context;
-            } else if (parameter.getType() == FunctionalResource.class) {
-                actual[paramIndex] = new FunctionalResourceImpl(context, entryPoint.getDeclaringClass());
+                actual.add(constant(FunctionalResource.class, resource));
             } else if (isVarArgs) {
-                actual[paramIndex] =
-                    varArgs(context, name, symbols, argumentList, argumentIndex, paramType.getComponentType());
-                argumentIndex++;
+                List<MethodHandle> elements = new ArrayList<>(argumentList.size() - argumentIndex);
+
+                while (argumentIndex < argumentList.size()) {
+                    elements.add(argument(context, name, argumentList.get(argumentIndex), argumentIndex,
+                        paramType.getComponentType()));
+                    argumentIndex++;
+                }
+
+                actual.add(varArgs(paramType, elements));
             } else if (argumentIndex < argumentList.size()) {
-                actual[paramIndex] = convertArgument(context, name, symbols, argumentList, argumentIndex, paramType);
+                actual.add(argument(context, name, argumentList.get(argumentIndex), argumentIndex, paramType));
                 argumentIndex++;
             } else {
-                actual[paramIndex] = defaultArgument(context, name, parameter, paramIndex, paramType);
+                actual.add(defaultArgument(context, name, parameter, paramIndex, paramType));
             }
         }
 
-        if (!isVarArgs && (paramIndex < argumentList.size())) {
-            throw new EelFunctionException("Expected %d argument(s) for function '%s' but %d were passed",
-                params.length, name, argumentList.size());
-        }
-
-        return actual;
+        return actual.toArray(MethodHandle[]::new);
     }
 
+    /**
+     * Returns a {@code (SymbolsTable)T[]} handle that builds the array of variable length arguments. Short arrays
+     * are built by typed handles that the JIT can inline. These take a parameter per element and the JVM limits a
+     * handle to 255 parameter slots, so arrays of more than {@value #MAX_SPREAD_ARGUMENTS} elements are filled in a
+     * loop instead.
+     * @param arrayType     the type of the variable length parameter
+     * @param elements      a {@code (SymbolsTable)T} handle for each element, where {@code T} is the component type
+     * @return              a handle that evaluates the elements into a new array
+     */
     @Nonnull
-    private Object convertArgument(@Nonnull EelContextImpl context,
-                                   @Nonnull String name,
-                                   @Nonnull SymbolsTable symbols,
-                                   @Nonnull List<Term> argumentList,
-                                   int index,
-                                   @Nonnull Class<?> targetType) {
-        Term argument = argumentList.get(index);
-        Object converted;
+    private static MethodHandle varArgs(@Nonnull Class<?> arrayType, @Nonnull List<MethodHandle> elements) {
+        MethodType type = MethodType.methodType(arrayType, SymbolsTable.class);
+        int count = elements.size();
+        MethodHandle result;
 
-        if (targetType == Value.class) {            // Don't execute the argument - we may never need its value
-            converted = new ValueArgument(argument, symbols);
+        if (count <= MAX_SPREAD_ARGUMENTS) {
+            MethodHandle array = MethodHandles.identity(arrayType)
+                .asCollector(arrayType, count);
+
+            array = MethodHandles.filterArguments(array, 0, elements.toArray(MethodHandle[]::new));
+            result = MethodHandles.permuteArguments(array, type, new int[count]);
         } else {
-            Value value = argument.evaluate(symbols);
+            MethodType generic = MethodType.methodType(Object.class, SymbolsTable.class);
+            MethodHandle[] values = elements.stream()
+                .map(e -> e.asType(generic))
+                .toArray(MethodHandle[]::new);
 
-            converted = convert(context, name, index, targetType, value);
+            result = MethodHandles.insertArguments(COLLECT, 0, arrayType.getComponentType(), values)
+                .asType(type);
         }
 
-        return converted;
+        return result;
     }
 
     @Nonnull
-    private Object convert(@Nonnull EelContextImpl context,
-                           @Nonnull String name, int index,
-                           @Nonnull Class<?> targetType,
-                           @Nonnull Value value) {
-        return ARGUMENT_CONVERSIONS.getOrDefault(targetType, (c, k) -> {
-                throw new EelFunctionException("Argument %d for function '%s' is of unsupported type %s",
-                    index, name, targetType.getName());
-            }
-        ).apply(context, value);
-    }
+    @SuppressWarnings("PMD.UnusedPrivateMethod")                        // called through the COLLECT handle
+    private static Object collect(@Nonnull Class<?> componentType,
+                                  @Nonnull MethodHandle[] elements,
+                                  @Nonnull SymbolsTable symbols) throws Throwable {
+        Object array = Array.newInstance(componentType, elements.length);
+
+        for (int index = 0; index < elements.length; index++) {
+            Array.set(array, index, (Object) elements[index].invokeExact(symbols));
+        }
 
+        return array;
+    }
 
     @Nonnull
-    private static File asFile(@Nonnull EelContextImpl context, @Nonnull Value fileName) {
-        String path = fileName.asText();
-        File result = context.getFile(path);
-
-        return result;
+    private static MethodHandle constant(@Nonnull Class<?> type, @Nonnull Object value) {
+        return MethodHandles.dropArguments(MethodHandles.constant(type, value), 0, SymbolsTable.class);
     }
 
-
-
     @Nonnull
-    private Object defaultArgument(@Nonnull EelContextImpl context,
-                                   @Nonnull String name,
-                                   @Nonnull Parameter parameter,
-                                   int index,
-                                   @Nonnull Class<?> targetType) {
-        DefaultArgument annotation = parameter.getAnnotation(DefaultArgument.class);
+    private MethodHandle argument(@Nonnull EelContextImpl context,
+                                  @Nonnull String name,
+                                  @Nonnull Term argument,
+                                  int index,
+                                  @Nonnull Class<?> targetType) {
+        MethodHandle result;
 
-        if (annotation == null) {
-            throw new EelFunctionException("Argument %d for function '%s' is missing and no default exists",
-                index, name, targetType.getName());
-        }
+        if (targetType == Value.class) {            // Don't execute the argument - we may never need its value
+            result = MethodHandles.insertArguments(VALUE_ARGUMENT, 0, argument);
+        } else {
+            MethodHandle conversion = MethodHandles.insertArguments(conversion(name, index, targetType), 0, context);
 
-        String to = annotation.value();
-        Value value = Value.of(to);
-        Object argument = convert(context, name, index, targetType, value);
+            result = MethodHandles.filterArguments(conversion, 0, EVALUATE.bindTo(argument));
+        }
 
-        return argument;
+        return result;
     }
 
-
     @Nonnull
-    private Object varArgs(@Nonnull EelContextImpl context,
-                           @Nonnull String name,
-                           @Nonnull SymbolsTable symbols,
-                           @Nonnull List<Term> argumentList,
-                           int passedIndex,
-                           @Nonnull Class<?> targetType) {
-        int size = argumentList.size() - passedIndex;
-        Object varArgs = Array.newInstance(targetType, size);
-        int varArgIndex = 0;
-
-        while (passedIndex != argumentList.size()) {
-            Object converted = convertArgument(context, name, symbols, argumentList, passedIndex, targetType);
-
-            Array.set(varArgs, varArgIndex++, converted);
-            passedIndex++;
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")                     // required by MethodHandle.invoke
+    private MethodHandle defaultArgument(@Nonnull EelContextImpl context,
+                                         @Nonnull String name,
+                                         @Nonnull Parameter parameter,
+                                         int index,
+                                         @Nonnull Class<?> targetType) {
+        DefaultArgument annotation = parameter.getAnnotation(DefaultArgument.class);
+        MethodHandle result;
+
+        if (annotation == null) {
+            result = failing(targetType,
+                String.format("Argument %d for function '%s' is missing and no default exists", index, name));
+        } else {
+            MethodHandle conversion = MethodHandles.insertArguments(conversion(name, index, targetType),
+                0,
+                context,
+                Value.of(annotation.value()));
+
+            try {
+                result = MethodHandles.constant(targetType, conversion.invoke());
+            } catch (Throwable e) {
+                // be consistent with unoptimised code, generate an argument that will fail when evaluated
+                result = conversion;
+            }
         }
 
-        return varArgs;
+        return MethodHandles.dropArguments(result, 0, SymbolsTable.class);
     }
 
     @Nonnull
-    private Value convertReturned(@Nonnull String name, @Nullable Object returned) {
+    private static Value convertReturned(@Nonnull String name,
+                                         @Nullable Object returned,
+                                         @Nonnull Constant.Recent recent) {
         Value result;
 
         if (returned == null) {
@@ -479,15 +788,15 @@ class FunctionManager {
         } else if (returned instanceof Value value) {
             result = value;
         } else if (returned instanceof String str) {
-            result = Constant.of(str);
+            result = recent.of(str);
         } else if (returned instanceof Number num) {
-            result = Constant.of(num);
+            result = recent.of(num);
         } else if (returned instanceof Boolean bool) {
             result = Constant.of(bool);
         } else if (returned instanceof ZonedDateTime date) {
-            result = Constant.of(date);
+            result = recent.of(date);
         } else if (returned instanceof Character character) {
-            result = Constant.of(Character.toString(character));
+            result = recent.of(Character.toString(character));
         } else {
             throw new EelFunctionException("Function '%s' returned unexpected type '%s'",
                 name, returned.getClass().getName());
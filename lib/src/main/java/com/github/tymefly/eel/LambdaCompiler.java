@@ -1,16 +1,24 @@
 package com.github.tymefly.eel;
 
 
+import java.io.IOException;
 import java.math.BigDecimal;
-import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import ch.obermuhlner.math.big.BigDecimalMath;
+import com.github.tymefly.eel.annotation.VisibleForTesting;
+import com.github.tymefly.eel.exception.EelRuntimeException;
 import com.github.tymefly.eel.exception.EelSemanticException;
 import com.github.tymefly.eel.exception.EelUnknownSymbolException;
 import com.github.tymefly.eel.utils.BigDecimals;
@@ -33,14 +41,18 @@ import com.github.tymefly.eel.utils.BigDecimals;
  *      without needing to set up a timeout thread.
  */
 class LambdaCompiler implements Compiler {
-    private static class LambdaSymbolBuilder implements SymbolBuilder {
+    private class LambdaSymbolBuilder implements SymbolBuilder {
         private final String identifier;
+        private final int slot;
+        private final int memo;
         private boolean blankDefault;
         private Term defaultTerm;
         private SymbolTransformation transformations = SymbolTransformation.IDENTITY;
 
         private LambdaSymbolBuilder(@Nonnull String identifier) {
             this.identifier = identifier;
+            this.slot = slot(identifier);
+            this.memo = memo(identifier);
         }
 
         @Nonnull
@@ -72,12 +84,17 @@ class LambdaCompiler implements Compiler {
         @Nonnull
         @Override
         public Term build() {
+            boolean identity = (transformations == SymbolTransformation.IDENTITY);
             Term result = s -> {
-                String text = s.read(identifier);
+                Object raw = lookup(s, identifier, slot, memo);
+                Constant symbol = (raw instanceof Constant constant ? constant : null);
+                String text = (symbol == null ? (String) raw : symbol.asText());
                 Value value;
 
                 if ("".equals(text) && blankDefault) {
                     value = defaultTerm.evaluate(s);
+                } else if ((symbol != null) && identity) {
+                    value = symbol;
                 } else if (text != null) {
                     text = transformations.transform(s, text);
                     value = Constant.of(text);
@@ -90,6 +107,11 @@ class LambdaCompiler implements Compiler {
                 return value;
             };
 
+            // Unless a default is used, symbols values are always text
+            if ((defaultTerm == null) || (typeOf(defaultTerm) == Type.TEXT)) {
+                typed(result, Type.TEXT);
+            }
+
             return result;
         }
     }
@@ -161,24 +183,58 @@ class LambdaCompiler implements Compiler {
         }
     }
 
-    // wrapper for a term that will only be evaluated once
+    // wrapper for a term that will only be evaluated once per evaluation of the complete expression.
+    // The values are held in a frame that belongs to the evaluation, so the term can be shared between threads
     private static class ConstTerm implements Term {
         private final Term term;
-        private Value value;
+        private final int slot;
 
-        private ConstTerm(@Nonnull Term term) {
+        private ConstTerm(@Nonnull Term term, int slot) {
             this.term = term;
-            this.value = null;
+            this.slot = slot;
         }
 
         @Nonnull
         @Override
         public Value evaluate(@Nonnull SymbolsTable symbols) {
-            if (value == null) {
-                value = term.evaluate(symbols);
-            }
+            return memoised(term, slot, symbols);
+        }
+
+        @Override
+        public boolean isConstant() {
+            return term.isConstant();
+        }
+    }
+
+    /**
+     * Wrapper for a subexpression that may be referenced from more than one place in the complete expression.
+     * Until a second reference is compiled the term is evaluated every time, after which its value is held in the
+     * evaluation's frame so it is evaluated at most once per evaluation. The term is still only evaluated if it is
+     * reached.
+     * @see CommonTerms
+     */
+    static final class SharedTerm implements Term {
+        private final Term term;
+        private int slot;
 
-            return value;
+        private SharedTerm(@Nonnull Term term) {
+            this.term = term;
+            this.slot = NOT_SHARED;
+        }
+
+        @Nonnull
+        @Override
+        public Value evaluate(@Nonnull SymbolsTable symbols) {
+            return (slot == NOT_SHARED ? term.evaluate(symbols) : memoised(term, slot, symbols));
+        }
+
+        @Override
+        public void appendTo(@Nonnull SymbolsTable symbols, @Nonnull Appendable sink) throws IOException {
+            if (slot == NOT_SHARED) {
+                term.appendTo(symbols, sink);
+            } else {
+                sink.append(evaluate(symbols).asText());
+            }
         }
 
         @Override
@@ -187,22 +243,212 @@ class LambdaCompiler implements Compiler {
         }
     }
 
+    /**
+     * Concatenation of the text of the interpolated parts of an expression. The parts can be streamed to a sink
+     * one at a time, in which case the complete text is never built.
+     */
+    private static final class Interpolation implements Term {
+        private final Term[] parts;
+        private final Constant.Recent recent;
+
+        private Interpolation(@Nonnull Term[] parts) {
+            this.parts = parts;
+            this.recent = new Constant.Recent();
+        }
 
+        @Nonnull
+        @Override
+        public Value evaluate(@Nonnull SymbolsTable symbols) {
+            int size = parts.length;
+            String[] text = new String[size];
+            long length = 0;
+
+            for (int index = 0; index < size; index++) {
+                text[index] = parts[index].evaluate(symbols).asText();
+                length += text[index].length();
+            }
+
+            StringBuilder buffer = new StringBuilder(interpolatedLength(length));
+
+            for (String part : text) {
+                buffer.append(part);
+            }
 
-    private final EelContext context;
+            return recent.of(buffer.toString());
+        }
+
+        @Override
+        public void appendTo(@Nonnull SymbolsTable symbols, @Nonnull Appendable sink) throws IOException {
+            for (Term part : parts) {
+                Deadline.checkpoint();
+
+                part.appendTo(symbols, sink);
+            }
+        }
+    }
+
+    /**
+     * Wrapper for a complete expression that gives each evaluation its own frame for the ConstTerm, SharedTerm and
+     * memoised symbol values. The previous frame is restored afterwards in case a UDF evaluates another expression
+     */
+    private static final class FramedTerm implements Term {
+        private final Term expression;
+        private final int size;
+
+        private FramedTerm(@Nonnull Term expression, int size) {
+            this.expression = expression;
+            this.size = size;
+        }
+
+        @Nonnull
+        @Override
+        public Value evaluate(@Nonnull SymbolsTable symbols) {
+            Object[] previous = enter();
+
+            try {
+                return expression.evaluate(symbols);
+            } finally {
+                exit(previous);
+            }
+        }
+
+        @Override
+        public void appendTo(@Nonnull SymbolsTable symbols, @Nonnull Appendable sink) throws IOException {
+            Object[] previous = enter();
+
+            try {
+                expression.appendTo(symbols, sink);
+            } finally {
+                exit(previous);
+            }
+        }
+
+        @Nullable
+        private Object[] enter() {
+            Object[] previous = FRAME.get();
+
+            FRAME.set(new Object[size]);
+
+            return previous;
+        }
+
+        private static void exit(@Nullable Object[] previous) {
+            if (previous == null) {
+                FRAME.remove();
+            } else {
+                FRAME.set(previous);
+            }
+        }
+    }
 
-    LambdaCompiler(@Nonnull EelContext context) {
+
+    /**
+     * A comparison of a non-constant subject with a constant
+     * @param subject   the non-constant term
+     * @param value     the constant it is compared with
+     */
+    private record Equality(@Nonnull Term subject, @Nonnull Constant value) {
+    }
+
+    /**
+     * A chain of conditionals that each compare the same subject with a constant. The branches are in the order
+     * that their conditions are tested, and {@code otherwise} is used if none of the conditions are met
+     * @param subject   the term that is compared with each constant
+     * @param cases     the constants, in the order they are tested
+     * @param branches  the term selected by each constant
+     * @param otherwise the term selected if the subject is not equal to any of the constants
+     */
+    private record Switch(@Nonnull Term subject,
+                          @Nonnull List<Constant> cases,
+                          @Nonnull List<Term> branches,
+                          @Nonnull Term otherwise) {
+    }
+
+
+    /** The longest text returned by a deterministic function call that is held as a constant */
+    static final int MAX_FOLDED_TEXT = 4096;
+
+    private static final int NO_SLOT = Integer.MIN_VALUE;
+    private static final int MAX_TEXT_LENGTH = Integer.MAX_VALUE;
+    private static final String TEXT_INDEX = "text.index";
+    private static final Constant INDEX_NOT_FOUND = Constant.of(-1);
+    private static final int NO_MEMO = -1;
+    private static final int NOT_SHARED = -1;
+    private static final Object UNDEFINED = new Object();
+    private static final ThreadLocal<Object[]> FRAME = new ThreadLocal<>();
+
+    private final EelContextImpl context;
+    private final Map<Term, Type> types;
+    private final Map<Term, Equality> equalities;
+    private final Map<Term, Switch> switches;
+    private final Map<String, Integer> memos;
+    private int slots;
+
+    LambdaCompiler(@Nonnull EelContextImpl context) {
         this.context = context;
+        this.types = new IdentityHashMap<>();
+        this.equalities = new IdentityHashMap<>();
+        this.switches = new IdentityHashMap<>();
+        this.memos = new HashMap<>();
+        this.slots = 0;
     }
 
 
+                //*** Complete expressions ***//
+
+    @Nonnull
+    @Override
+    public Term complete(@Nonnull Term expression) {
+        int size = slots;
+
+        return ((size == 0) || expression.isConstant() ?
+            expression :
+            typed(new FramedTerm(expression, size), typeOf(expression)));
+    }
+
                 //*** Cached terms ***//
 
     @Nonnull
     @Override
     public Term constTerm(@Nonnull Term term) {
         // values from the Constants pool are already constants
-        return (term.isConstant() ? term : new ConstTerm(term));
+        return (term.isConstant() ? term : typed(new ConstTerm(term, slots++), typeOf(term)));
+    }
+
+    /**
+     * Wrap a term so that it can be shared by other parts of the expression
+     * @param term      a non-constant term
+     * @return          the wrapped term, which has the same type as {@code term}
+     * @see #share(SharedTerm)
+     */
+    @Nonnull
+    SharedTerm shareable(@Nonnull Term term) {
+        SharedTerm shared = new SharedTerm(term);
+        Equality equality = equalities.get(term);
+        Switch chain = switches.get(term);
+
+        typed(shared, typeOf(term));
+
+        if (equality != null) {
+            equalities.put(shared, equality);
+        }
+
+        if (chain != null) {
+            switches.put(shared, chain);
+        }
+
+        return shared;
+    }
+
+    /**
+     * Record that a shareable term is referenced from more than one place, so its value should be held in the
+     * evaluation's frame
+     * @param term      a term returned by {@link #shareable(Term)}
+     */
+    void share(@Nonnull SharedTerm term) {
+        if (term.slot == NOT_SHARED) {
+            term.slot = slots++;
+        }
     }
 
                 //*** Lookbacks ***//
@@ -219,9 +465,11 @@ class LambdaCompiler implements Compiler {
     @Nonnull
     @Override
     public Term isDefined(@Nonnull String identifier) {
-        Term result = s -> Constant.of(s.read(identifier) != null);
+        int slot = slot(identifier);
+        int memo = memo(identifier);
+        Term result = s -> Constant.of(lookup(s, identifier, slot, memo) != null);
 
-        return result;
+        return typed(result, Type.LOGIC);
     }
 
     @Nonnull
@@ -230,6 +478,97 @@ class LambdaCompiler implements Compiler {
         return new LambdaSymbolBuilder(identifier);
     }
 
+    /**
+     * Returns the slot bound to the {@code identifier} by the context's symbol schema
+     * @param identifier    the name of the symbol
+     * @return              the bound slot, or {@link #NO_SLOT} if there is no schema
+     * @throws EelUnknownSymbolException if there is a schema, but it does not contain the {@code identifier}
+     */
+    private int slot(@Nonnull String identifier) {
+        SymbolSchema schema = context.getSymbolSchema();
+        int slot = (schema == null ? NO_SLOT : schema.slot(identifier));
+
+        if (slot == SymbolSchema.UNKNOWN) {
+            throw new EelUnknownSymbolException("Unknown variable '%s'", identifier);
+        }
+
+        return slot;
+    }
+
+    /**
+     * Returns the frame slot used to memoise the {@code identifier}. All references to the same symbol share a slot
+     * @param identifier    the name of the symbol
+     * @return              the frame slot, or {@link #NO_MEMO} if the context does not memoise symbols
+     */
+    private int memo(@Nonnull String identifier) {
+        return (context.isSymbolMemoisation() ? memos.computeIfAbsent(identifier, k -> slots++) : NO_MEMO);
+    }
+
+    /**
+     * Read a symbol. If the symbol is memoised and a complete expression is being evaluated then the value is held
+     * in the evaluation's frame, so the SymbolsTable is only read once
+     * @return a Constant if the SymbolsTable is typed, otherwise the symbol's text. If the symbol is undefined then
+     *          {@code null} is returned
+     */
+    @Nullable
+    private static Object lookup(@Nonnull SymbolsTable symbols, @Nonnull String identifier, int slot, int memo) {
+        Object[] frame = (memo == NO_MEMO ? null : FRAME.get());
+        Object value;
+
+        if (frame == null) {
+            value = read(symbols, identifier, slot);
+        } else {
+            value = frame[memo];
+
+            if (value == null) {
+                value = read(symbols, identifier, slot);
+                frame[memo] = (value == null ? UNDEFINED : value);
+            } else if (value == UNDEFINED) {
+                value = null;
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Evaluate a term at most once per evaluation of the complete expression, by holding its value in the
+     * evaluation's frame. If the term is not evaluated as part of a complete expression then it is always evaluated
+     */
+    @Nonnull
+    private static Value memoised(@Nonnull Term term, int slot, @Nonnull SymbolsTable symbols) {
+        Object[] frame = FRAME.get();
+        Value value;
+
+        if (frame == null) {
+            value = term.evaluate(symbols);
+        } else {
+            value = (Value) frame[slot];
+
+            if (value == null) {
+                value = term.evaluate(symbols);
+                frame[slot] = value;
+            }
+        }
+
+        return value;
+    }
+
+    @Nullable
+    private static Object read(@Nonnull SymbolsTable symbols, @Nonnull String identifier, int slot) {
+        Object value;
+
+        if (symbols.isTyped()) {                    // Typed values are read as Constants
+            value = symbols.value(identifier);
+        } else if (slot == NO_SLOT) {
+            value = symbols.read(identifier);
+        } else {
+            value = symbols.read(slot, identifier);
+        }
+
+        return value;
+    }
+
                 //*** Constants ***//
 
     @Override
@@ -267,12 +606,71 @@ class LambdaCompiler implements Compiler {
         }
 
         if (result == null) {
-            result = s -> condition.evaluate(s).asLogic() ? first.evaluate(s) : second.evaluate(s);
+            Equality equality = equalities.get(condition);
+            Switch chain = (equality == null ? null : extend(equality, first, second));
+
+            if ((chain != null) && (chain.cases().size() > 1)) {
+                result = dispatch(chain);
+            } else {
+                result = s -> condition.evaluate(s).asLogic() ? first.evaluate(s) : second.evaluate(s);
+            }
+
+            if (chain != null) {
+                switches.put(result, chain);
+            }
+
+            if (typeOf(first) == typeOf(second)) {
+                typed(result, typeOf(first));
+            }
         }
 
         return result;
     }
 
+    /**
+     * Add a conditional to the front of a chain of conditionals that compare the same subject with constants.
+     * If {@code second} is not part of a chain then a new chain is started
+     */
+    @Nonnull
+    private Switch extend(@Nonnull Equality equality, @Nonnull Term first, @Nonnull Term second) {
+        Switch chain = switches.get(second);
+        Switch result;
+
+        if ((chain != null) && (chain.subject() == equality.subject())) {
+            List<Constant> cases = new ArrayList<>(chain.cases().size() + 1);
+            List<Term> branches = new ArrayList<>(chain.branches().size() + 1);
+
+            cases.add(equality.value());
+            cases.addAll(chain.cases());
+            branches.add(first);
+            branches.addAll(chain.branches());
+
+            result = new Switch(equality.subject(), cases, branches, chain.otherwise());
+        } else {
+            result = new Switch(equality.subject(), List.of(equality.value()), List.of(first), second);
+        }
+
+        return result;
+    }
+
+    /**
+     * Compile a chain of conditionals into a jump table. The subject is evaluated once, the table selects the
+     * branch for the first constant that it is equal to and only that branch is evaluated
+     */
+    @Nonnull
+    private Term dispatch(@Nonnull Switch chain) {
+        ConstantSet table = ConstantSet.of(chain.cases());
+        Term[] branches = chain.branches().toArray(Term[]::new);
+        Term subject = chain.subject();
+        Term otherwise = chain.otherwise();
+
+        return s -> {
+            int index = table.indexOf(subject.evaluate(s));
+
+            return (index == ConstantSet.NOT_FOUND ? otherwise : branches[index]).evaluate(s);
+        };
+    }
+
                 //*** Relational Ops ***//
 
     @Override
@@ -283,16 +681,26 @@ class LambdaCompiler implements Compiler {
         if (left.isConstant() && right.isConstant()) {
             result = Constant.of(equal(left, right, SymbolsTable.EMPTY));
         } else {
-            result = s -> Constant.of(equal(left, right, s));
+            BiPredicate<Value, Value> comparison = comparison(left, right);
+
+            result = typed(s -> Constant.of(comparison.test(left.evaluate(s), right.evaluate(s))), Type.LOGIC);
+
+            if (right instanceof Constant constant) {
+                equalities.put(result, new Equality(left, constant));
+            } else if (left instanceof Constant constant) {
+                equalities.put(result, new Equality(right, constant));
+            }
         }
 
         return result;
     }
 
     private boolean equal(@Nonnull Term left, @Nonnull Term right, @Nonnull SymbolsTable symbols) {
+        return equal(left.evaluate(symbols), right.evaluate(symbols));
+    }
+
+    private static boolean equal(@Nonnull Value leftValue, @Nonnull Value rightValue) {
         boolean equal;
-        Value leftValue = left.evaluate(symbols);
-        Value rightValue = right.evaluate(symbols);
         Type leftType = leftValue.getType();
         Type rightType = rightValue.getType();
 
@@ -320,7 +728,9 @@ class LambdaCompiler implements Compiler {
         if (left.isConstant() && right.isConstant()) {
             result = Constant.of(!equal(left, right, SymbolsTable.EMPTY));
         } else {
-            result = s -> Constant.of(!equal(left, right, s));
+            BiPredicate<Value, Value> comparison = comparison(left, right);
+
+            result = typed(s -> Constant.of(!comparison.test(left.evaluate(s), right.evaluate(s))), Type.LOGIC);
         }
 
         return result;
@@ -340,7 +750,7 @@ class LambdaCompiler implements Compiler {
         }
 
         if (result == null) {
-            result = s -> Constant.of(greaterThan(left, right, s));
+            result = typed(s -> Constant.of(greaterThan(left, right, s)), Type.LOGIC);
         }
 
         return result;
@@ -368,7 +778,7 @@ class LambdaCompiler implements Compiler {
         }
 
         if (result == null) {
-            result = s -> Constant.of(lessThan(left, right, s));
+            result = typed(s -> Constant.of(lessThan(left, right, s)), Type.LOGIC);
         }
 
         return result;
@@ -395,7 +805,7 @@ class LambdaCompiler implements Compiler {
         }
 
         if (result == null) {
-            result = s -> Constant.of(!lessThan(left, right, s));
+            result = typed(s -> Constant.of(!lessThan(left, right, s)), Type.LOGIC);
         }
 
         return result;
@@ -415,7 +825,7 @@ class LambdaCompiler implements Compiler {
         }
 
         if (result == null) {
-            result = s -> Constant.of(!greaterThan(left, right, s));
+            result = typed(s -> Constant.of(!greaterThan(left, right, s)), Type.LOGIC);
         }
 
         return result;
@@ -428,14 +838,14 @@ class LambdaCompiler implements Compiler {
 
         if (left.isConstant() && right.isConstant()) {
             try {
-                result = isBefore(left, right, SymbolsTable.EMPTY);
+                result = isBefore(left, right, SymbolsTable.EMPTY).intern();
             } catch (RuntimeException e) {
                 // do nothing - to be consistent with unoptimised code, generate a term that will fail when evaluated
             }
         }
 
         if (result == null) {
-            result = s -> isBefore(left, right, s);
+            result = typed(s -> isBefore(left, right, s), Type.LOGIC);
         }
 
         return result;
@@ -456,14 +866,14 @@ class LambdaCompiler implements Compiler {
 
         if (left.isConstant() && right.isConstant()) {
             try {
-                result = isAfter(left, right, SymbolsTable.EMPTY);
+                result = isAfter(left, right, SymbolsTable.EMPTY).intern();
             } catch (RuntimeException e) {
                 // do nothing - to be consistent with unoptimised code, generate a term that will fail when evaluated
             }
         }
 
         if (result == null) {
-            result = s -> isAfter(left, right, s);
+            result = typed(s -> isAfter(left, right, s), Type.LOGIC);
         }
 
         return result;
@@ -481,20 +891,65 @@ class LambdaCompiler implements Compiler {
     @Nonnull
     @Override
     public Term in(@Nonnull Term left, @Nonnull List<Term> terms) {
-        // Optimising this is an O(n) operation as we will need to check of the terms are all constants
-        return s -> {
-            boolean found = false;
+        List<Constant> constants = new ArrayList<>(terms.size());
+        List<Term> variables = new ArrayList<>(terms.size());
 
-            for (var term : terms) {
-                found = equal(left, term, s);
+        for (Term term : terms) {
+            if (term instanceof Constant constant) {
+                constants.add(constant);
+            } else {
+                variables.add(term);
+            }
+        }
+
+        // Constants have no side effects, so they can all be tested before any of the variables are evaluated
+        ConstantSet constantSet = (constants.isEmpty() ? null : ConstantSet.of(constants));
+        Term result;
+
+        if (variables.isEmpty()) {
+            result = s -> Constant.of(constantSet != null && constantSet.contains(left.evaluate(s)));
+        } else {
+            List<BiPredicate<Value, Value>> comparisons = variables.stream()
+                .map(t -> comparison(left, t))
+                .toList();
+            int size = variables.size();
+
+            result = s -> {
+                Value leftValue = left.evaluate(s);
+                boolean found = (constantSet != null) && constantSet.contains(leftValue);
 
-                if (found) {
-                    break;
+                for (int index = 0; !found && (index < size); index++) {
+                    found = comparisons.get(index).test(leftValue, variables.get(index).evaluate(s));
                 }
-            }
 
-            return Constant.of(found);
-        };
+                return Constant.of(found);
+            };
+        }
+
+        return typed(result, Type.LOGIC);
+    }
+
+    /**
+     * Select the comparison used to test two terms for equality. If the types of both terms are known at compile
+     * time then the comparison can be selected now rather than each time the terms are evaluated
+     */
+    @Nonnull
+    private BiPredicate<Value, Value> comparison(@Nonnull Term left, @Nonnull Term right) {
+        Type leftType = typeOf(left);
+        Type rightType = typeOf(right);
+        BiPredicate<Value, Value> comparison;
+
+        if ((leftType == null) || (rightType == null)) {
+            comparison = LambdaCompiler::equal;
+        } else if ((leftType == Type.TEXT) || (rightType == Type.TEXT)) {
+            comparison = (l, r) -> l.asText().equals(r.asText());
+        } else if ((leftType == Type.LOGIC) && (rightType == Type.LOGIC)) {
+            comparison = (l, r) -> l.asLogic() == r.asLogic();
+        } else {
+            comparison = (l, r) -> BigDecimals.eq(l.asNumber(), r.asNumber());
+        }
+
+        return comparison;
     }
 
                 //*** Numeric Ops ***//
@@ -502,26 +957,27 @@ class LambdaCompiler implements Compiler {
     @Override
     @Nonnull
     public Term negate(@Nonnull Term value) {
+        Constant.Recent recent = new Constant.Recent();
         Term result = null;
 
         if (value.isConstant()) {
             try {
-                result = negate(value, SymbolsTable.EMPTY);
+                result = negate(value, SymbolsTable.EMPTY, recent).intern();
             } catch (RuntimeException e) {
                 // do nothing - to be consistent with unoptimised code, generate a term that will fail when evaluated
             }
         }
 
         if (result == null) {
-            result = s -> negate(value, s);
+            result = typed(s -> negate(value, s, recent), Type.NUMBER);
         }
 
         return result;
     }
 
     @Nonnull
-    private Constant negate(@Nonnull Term value, @Nonnull SymbolsTable symbols) {
-        return Constant.of(value.evaluate(symbols).asNumber().negate());
+    private Constant negate(@Nonnull Term value, @Nonnull SymbolsTable symbols, @Nonnull Constant.Recent recent) {
+        return recent.of(value.evaluate(symbols).asNumber().negate());
     }
 
 
@@ -529,6 +985,7 @@ class LambdaCompiler implements Compiler {
     @Nonnull
     public Term add(@Nonnull Term left, @Nonnull Term right) {
         // Optimise: adding a constant zero to a number always returns the original number
+        Constant.Recent recent = new Constant.Recent();
         Term result = null;
 
         try {
@@ -537,7 +994,7 @@ class LambdaCompiler implements Compiler {
             } else if (is(right, BigDecimal.ZERO)) {
                 result = left;
             } else if (left.isConstant() && right.isConstant()) {
-                result = add(left, right, SymbolsTable.EMPTY);
+                result = add(left, right, SymbolsTable.EMPTY, recent).intern();
             } else {
                 // Do nothing - the following check will assign the correct value
             }
@@ -546,18 +1003,21 @@ class LambdaCompiler implements Compiler {
         }
 
         if (result == null) {
-            result = s -> add(left, right, s);
+            result = typed(s -> add(left, right, s, recent), Type.NUMBER);
         }
 
         return result;
     }
 
     @Nonnull
-    private Constant add(@Nonnull Term left, @Nonnull Term right, @Nonnull SymbolsTable symbols) {
+    private Constant add(@Nonnull Term left,
+                         @Nonnull Term right,
+                         @Nonnull SymbolsTable symbols,
+                         @Nonnull Constant.Recent recent) {
         BigDecimal leftValue = left.evaluate(symbols).asNumber();
         BigDecimal rightValue = right.evaluate(symbols).asNumber();
 
-        return Constant.of(leftValue.add(rightValue));
+        return recent.of(leftValue.add(rightValue));
     }
 
     @Override
@@ -565,13 +1025,14 @@ class LambdaCompiler implements Compiler {
     public Term subtract(@Nonnull Term left, @Nonnull Term right) {
         // Optimise: subtracting a constant zero from a number always returns the original number
 
+        Constant.Recent recent = new Constant.Recent();
         Term result = null;
 
         try {
             if (is(right, BigDecimal.ZERO)) {
                 result = left;
             } else if (left.isConstant() && right.isConstant()) {
-                result = subtract(left, right, SymbolsTable.EMPTY);
+                result = subtract(left, right, SymbolsTable.EMPTY, recent).intern();
             } else {
                 // Do nothing - the following check will assign the correct value
             }
@@ -580,18 +1041,21 @@ class LambdaCompiler implements Compiler {
         }
 
         if (result == null) {
-            result = s -> subtract(left, right, s);
+            result = typed(s -> subtract(left, right, s, recent), Type.NUMBER);
         }
 
         return result;
     }
 
     @Nonnull
-    private Constant subtract(@Nonnull Term left, @Nonnull Term right, @Nonnull SymbolsTable symbols) {
+    private Constant subtract(@Nonnull Term left,
+                              @Nonnull Term right,
+                              @Nonnull SymbolsTable symbols,
+                              @Nonnull Constant.Recent recent) {
         BigDecimal leftValue = left.evaluate(symbols).asNumber();
         BigDecimal rightValue = right.evaluate(symbols).asNumber();
 
-        return Constant.of(leftValue.subtract(rightValue));
+        return recent.of(leftValue.subtract(rightValue));
     }
 
     @Override
@@ -599,6 +1063,7 @@ class LambdaCompiler implements Compiler {
     public Term multiply(@Nonnull Term left, @Nonnull Term right) {
         // Optimise: multiplying by a constant one always returns the original number
 
+        Constant.Recent recent = new Constant.Recent();
         Term result = null;
 
         try {
@@ -607,7 +1072,7 @@ class LambdaCompiler implements Compiler {
             } else if (is(right, BigDecimal.ONE)) {
                 result = left;
             } else if (left.isConstant() && right.isConstant()) {
-                result =  multiply(left, right, SymbolsTable.EMPTY);
+                result = multiply(left, right, SymbolsTable.EMPTY, recent).intern();
             } else {
                 // Do nothing - the following check will assign the correct value
             }
@@ -616,18 +1081,21 @@ class LambdaCompiler implements Compiler {
         }
 
         if (result == null) {
-            result = s -> multiply(left, right, s);
+            result = typed(s -> multiply(left, right, s, recent), Type.NUMBER);
         }
 
         return result;
     }
 
     @Nonnull
-    private Constant multiply(@Nonnull Term left, @Nonnull Term right, @Nonnull SymbolsTable symbols) {
+    private Constant multiply(@Nonnull Term left,
+                              @Nonnull Term right,
+                              @Nonnull SymbolsTable symbols,
+                              @Nonnull Constant.Recent recent) {
         BigDecimal leftValue = left.evaluate(symbols).asNumber();
         BigDecimal rightValue = right.evaluate(symbols).asNumber();
 
-        return Constant.of(leftValue.multiply(rightValue));
+        return recent.of(leftValue.multiply(rightValue));
     }
 
     @Override
@@ -635,13 +1103,14 @@ class LambdaCompiler implements Compiler {
     public Term divide(@Nonnull Term left, @Nonnull Term right) {
         // Optimise: dividing by a constant one always returns the original number
 
+        Constant.Recent recent = new Constant.Recent();
         Term result = null;
 
         try {
             if (is(right, BigDecimal.ONE)) {
                 result = left;
             } else if (left.isConstant() && right.isConstant()) {
-                result = divide(left, right, SymbolsTable.EMPTY);
+                result = divide(left, right, SymbolsTable.EMPTY, recent).intern();
             } else {
                 // Do nothing - the following check will assign the correct value
             }
@@ -650,19 +1119,22 @@ class LambdaCompiler implements Compiler {
         }
 
         if (result == null) {
-            result = s -> divide(left, right, s);
+            result = typed(s -> divide(left, right, s, recent), Type.NUMBER);
         }
 
         return result;
     }
 
     @Nonnull
-    private Constant divide(@Nonnull Term left, @Nonnull Term right, @Nonnull SymbolsTable symbols) {
+    private Constant divide(@Nonnull Term left,
+                            @Nonnull Term right,
+                            @Nonnull SymbolsTable symbols,
+                            @Nonnull Constant.Recent recent) {
         BigDecimal leftValue = left.evaluate(symbols).asNumber();
         BigDecimal rightValue = right.evaluate(symbols).asNumber();
         BigDecimal result = leftValue.divide(rightValue, context.getMathContext());
 
-        return Constant.of(result);
+        return recent.of(result);
     }
 
     @Nonnull
@@ -670,18 +1142,19 @@ class LambdaCompiler implements Compiler {
     public Term divideFloor(@Nonnull Term left, @Nonnull Term right) {
         // Can't optimise dividing by constant one as the result changes scale
 
+        Constant.Recent recent = new Constant.Recent();
         Term result = null;
 
         if (left.isConstant() && right.isConstant()) {
             try {
-                result = divideHelper(left, right, SymbolsTable.EMPTY, RoundingMode.FLOOR);
+                result = divideHelper(left, right, SymbolsTable.EMPTY, RoundingMode.FLOOR, recent).intern();
             } catch (RuntimeException e) {
                 // do nothing - to be consistent with unoptimised code, generate a term that will fail when evaluated
             }
         }
 
         if (result == null) {
-            result = s -> divideHelper(left, right, s, RoundingMode.FLOOR);
+            result = typed(s -> divideHelper(left, right, s, RoundingMode.FLOOR, recent), Type.NUMBER);
         }
 
         return result;
@@ -692,18 +1165,19 @@ class LambdaCompiler implements Compiler {
     public Term divideTruncate(@Nonnull Term left, @Nonnull Term right) {
         // Can't optimise dividing by constant one as the result changes scale
 
+        Constant.Recent recent = new Constant.Recent();
         Term result = null;
 
         if (left.isConstant() && right.isConstant()) {
             try {
-                result = divideHelper(left, right, SymbolsTable.EMPTY, RoundingMode.DOWN);
+                result = divideHelper(left, right, SymbolsTable.EMPTY, RoundingMode.DOWN, recent).intern();
             } catch (RuntimeException e) {
                 // do nothing - to be consistent with unoptimised code, generate a term that will fail when evaluated
             }
         }
 
         if (result == null) {
-            result = s -> divideHelper(left, right, s, RoundingMode.DOWN);
+            result = typed(s -> divideHelper(left, right, s, RoundingMode.DOWN, recent), Type.NUMBER);
         }
 
         return result;
@@ -713,42 +1187,58 @@ class LambdaCompiler implements Compiler {
     private Constant divideHelper(@Nonnull Term left,
                                   @Nonnull Term right,
                                   @Nonnull SymbolsTable symbols,
-                                  @Nonnull RoundingMode mode) {
+                                  @Nonnull RoundingMode mode,
+                                  @Nonnull Constant.Recent recent) {
         BigDecimal leftValue = left.evaluate(symbols).asNumber();
         BigDecimal rightValue = right.evaluate(symbols).asNumber();
         BigDecimal quotient = leftValue.divide(rightValue, context.getMathContext())
             .setScale(0, mode);
 
-        return Constant.of(quotient);
+        return recent.of(quotient);
     }
 
 
     @Override
     @Nonnull
     public Term modulus(@Nonnull Term left, @Nonnull Term right) {
+        Constant.Recent recent = new Constant.Recent();
         Term result = null;
 
         if (left.isConstant() && right.isConstant()) {
             try {
-                result = modulus(left, right, SymbolsTable.EMPTY);
+                result = modulus(left, right, SymbolsTable.EMPTY, recent).intern();
             } catch (RuntimeException e) {
                 // do nothing - to be consistent with unoptimised code, generate a term that will fail when evaluated
             }
         }
 
         if (result == null) {
-            result = s -> modulus(left, right, s);
+            result = typed(s -> modulus(left, right, s, recent), Type.NUMBER);
         }
 
         return result;
     }
 
     @Nonnull
-    private Constant modulus(@Nonnull Term left, @Nonnull Term right, @Nonnull SymbolsTable symbols) {
-        BigInteger leftValue = left.evaluate(symbols).asBigInteger();
-        BigInteger rightValue = right.evaluate(symbols).asBigInteger();
+    private Constant modulus(@Nonnull Term left,
+                             @Nonnull Term right,
+                             @Nonnull SymbolsTable symbols,
+                             @Nonnull Constant.Recent recent) {
+        BigDecimal leftValue = left.evaluate(symbols).asNumber();
+        BigDecimal rightValue = right.evaluate(symbols).asNumber();
+        Constant result;
+
+        // Optimise: floorMod() is the same as BigInteger.mod() for positive divisors. Other divisors fall back to
+        // BigInteger so that they fail in the same way
+        if (BigDecimals.isSmallInteger(leftValue)
+                && BigDecimals.isSmallInteger(rightValue)
+                && (rightValue.signum() > 0)) {
+            result = recent.of(Math.floorMod(leftValue.longValue(), rightValue.longValue()));
+        } else {
+            result = recent.of(leftValue.toBigInteger().mod(rightValue.toBigInteger()));
+        }
 
-        return Constant.of(leftValue.mod(rightValue));
+        return result;
     }
 
     @Override
@@ -756,13 +1246,14 @@ class LambdaCompiler implements Compiler {
     public Term power(@Nonnull Term left, @Nonnull Term right) {
         // Optimise: Raising a number to the power of a constant one always returns the original number
 
+        Constant.Recent recent = new Constant.Recent();
         Term result = null;
 
         try {
             if (is(right, BigDecimal.ONE)) {
                 result = left;
             } else if (left.isConstant() && right.isConstant()) {
-                result = power(left, right, SymbolsTable.EMPTY);
+                result = power(left, right, SymbolsTable.EMPTY, recent).intern();
             } else {
                 // Do nothing - the following check will assign the correct value
             }
@@ -771,19 +1262,22 @@ class LambdaCompiler implements Compiler {
         }
 
         if (result == null) {
-            result = s -> power(left, right, s);
+            result = typed(s -> power(left, right, s, recent), Type.NUMBER);
         }
 
         return result;
     }
 
     @Nonnull
-    private Constant power(@Nonnull Term left, @Nonnull Term right, @Nonnull SymbolsTable symbols) {
+    private Constant power(@Nonnull Term left,
+                           @Nonnull Term right,
+                           @Nonnull SymbolsTable symbols,
+                           @Nonnull Constant.Recent recent) {
         BigDecimal leftValue = left.evaluate(symbols).asNumber();
         BigDecimal rightValue = right.evaluate(symbols).asNumber();
         BigDecimal result = BigDecimalMath.pow(leftValue, rightValue, context.getMathContext());
 
-        return Constant.of(result);
+        return recent.of(result);
     }
 
 
@@ -796,14 +1290,14 @@ class LambdaCompiler implements Compiler {
 
         if (value.isConstant()) {
             try {
-                result = logicalNot(value, SymbolsTable.EMPTY);
+                result = logicalNot(value, SymbolsTable.EMPTY).intern();
             } catch (RuntimeException e) {
                 // do nothing - to be consistent with unoptimised code, generate a term that will fail when evaluated
             }
         }
 
         if (result == null) {
-            result = s -> logicalNot(value, s);
+            result = typed(s -> logicalNot(value, s), Type.LOGIC);
         }
 
         return result;
@@ -826,7 +1320,7 @@ class LambdaCompiler implements Compiler {
             if (is(left, false)) {
                 result = left;
             } else if (left.isConstant() && right.isConstant()) {
-                result = logicalAnd(left, right, SymbolsTable.EMPTY);
+                result = logicalAnd(left, right, SymbolsTable.EMPTY).intern();
             } else {
                 // Do nothing - the following check will assign the correct value
             }
@@ -835,7 +1329,7 @@ class LambdaCompiler implements Compiler {
         }
 
         if (result == null) {
-            result = s -> logicalAnd(left, right, s);
+            result = typed(s -> logicalAnd(left, right, s), Type.LOGIC);
         }
 
         return result;
@@ -858,7 +1352,7 @@ class LambdaCompiler implements Compiler {
             if (is(left, true)) {
                 result = left;
             } else if (left.isConstant() && right.isConstant()) {
-                result = logicalOr(left, right, SymbolsTable.EMPTY);
+                result = logicalOr(left, right, SymbolsTable.EMPTY).intern();
             } else {
                 // Do nothing - the following check will assign the correct value
             }
@@ -867,7 +1361,7 @@ class LambdaCompiler implements Compiler {
         }
 
         if (result == null) {
-            result = s -> logicalOr(left, right, s);
+            result = typed(s -> logicalOr(left, right, s), Type.LOGIC);
         }
 
         return result;
@@ -885,14 +1379,14 @@ class LambdaCompiler implements Compiler {
 
         if (left.isConstant() && right.isConstant()) {
             try {
-                result = logicalXor(left, right, SymbolsTable.EMPTY);
+                result = logicalXor(left, right, SymbolsTable.EMPTY).intern();
             } catch (RuntimeException e) {
                 // do nothing - to be consistent with unoptimised code, generate a term that will fail when evaluated
             }
         }
 
         if (result == null) {
-            result = s -> logicalXor(left, right, s);
+            result = typed(s -> logicalXor(left, right, s), Type.LOGIC);
         }
 
         return result;
@@ -908,26 +1402,31 @@ class LambdaCompiler implements Compiler {
     @Override
     @Nonnull
     public Term bitwiseNot(@Nonnull Term value) {
+        Constant.Recent recent = new Constant.Recent();
         Term result = null;
 
         if (value.isConstant()) {
             try {
-                result = bitwiseNot(value, SymbolsTable.EMPTY);
+                result = bitwiseNot(value, SymbolsTable.EMPTY, recent).intern();
             } catch (RuntimeException e) {
                 // do nothing - to be consistent with unoptimised code, generate a term that will fail when evaluated
             }
         }
 
         if (result == null) {
-            result = s -> bitwiseNot(value, s);
+            result = typed(s -> bitwiseNot(value, s, recent), Type.NUMBER);
         }
 
         return result;
     }
 
     @Nonnull
-    private Constant bitwiseNot(@Nonnull Term value, @Nonnull SymbolsTable symbols) {
-        return Constant.of(value.evaluate(symbols).asBigInteger().not());
+    private Constant bitwiseNot(@Nonnull Term value, @Nonnull SymbolsTable symbols, @Nonnull Constant.Recent recent) {
+        BigDecimal number = value.evaluate(symbols).asNumber();
+
+        return (BigDecimals.isSmallInteger(number) ?
+            recent.of(~number.longValue()) :
+            recent.of(number.toBigInteger().not()));
     }
 
     @Override
@@ -935,29 +1434,35 @@ class LambdaCompiler implements Compiler {
     public Term bitwiseAnd(@Nonnull Term left, @Nonnull Term right) {
         // Optimise: Bitwise AND isn't short-circuited => both terms always have to be evaluated
 
+        Constant.Recent recent = new Constant.Recent();
         Term result = null;
 
         if (left.isConstant() && right.isConstant()) {
             try {
-                result = bitwiseAnd(left, right, SymbolsTable.EMPTY);
+                result = bitwiseAnd(left, right, SymbolsTable.EMPTY, recent).intern();
             } catch (RuntimeException e) {
                 // do nothing - to be consistent with unoptimised code, generate a term that will fail when evaluated
             }
         }
 
         if (result == null) {
-            result = s -> bitwiseAnd(left, right, s);
+            result = typed(s -> bitwiseAnd(left, right, s, recent), Type.NUMBER);
         }
 
         return result;
     }
 
     @Nonnull
-    private Constant bitwiseAnd(@Nonnull Term left, @Nonnull Term right, @Nonnull SymbolsTable symbols) {
-        BigInteger leftValue = left.evaluate(symbols).asBigInteger();
-        BigInteger rightValue = right.evaluate(symbols).asBigInteger();
+    private Constant bitwiseAnd(@Nonnull Term left,
+                                @Nonnull Term right,
+                                @Nonnull SymbolsTable symbols,
+                                @Nonnull Constant.Recent recent) {
+        BigDecimal leftValue = left.evaluate(symbols).asNumber();
+        BigDecimal rightValue = right.evaluate(symbols).asNumber();
 
-        return Constant.of(leftValue.and(rightValue));
+        return (BigDecimals.isSmallInteger(leftValue) && BigDecimals.isSmallInteger(rightValue) ?
+            recent.of(leftValue.longValue() & rightValue.longValue()) :
+            recent.of(leftValue.toBigInteger().and(rightValue.toBigInteger())));
     }
 
     @Override
@@ -965,57 +1470,69 @@ class LambdaCompiler implements Compiler {
     public Term bitwiseOr(@Nonnull Term left, @Nonnull Term right) {
         // Optimise: Bitwise OR isn't short-circuited => both terms always have to be evaluated
 
+        Constant.Recent recent = new Constant.Recent();
         Term result = null;
 
         if (left.isConstant() && right.isConstant()) {
             try {
-                result = bitwiseOr(left, right, SymbolsTable.EMPTY);
+                result = bitwiseOr(left, right, SymbolsTable.EMPTY, recent).intern();
             } catch (RuntimeException e) {
                 // do nothing - to be consistent with unoptimised code, generate a term that will fail when evaluated
             }
         }
 
         if (result == null) {
-            result = s -> bitwiseOr(left, right, s);
+            result = typed(s -> bitwiseOr(left, right, s, recent), Type.NUMBER);
         }
 
         return result;
     }
 
     @Nonnull
-    private Constant bitwiseOr(@Nonnull Term left, @Nonnull Term right, @Nonnull SymbolsTable symbols) {
-        BigInteger leftValue = left.evaluate(symbols).asBigInteger();
-        BigInteger rightValue = right.evaluate(symbols).asBigInteger();
+    private Constant bitwiseOr(@Nonnull Term left,
+                               @Nonnull Term right,
+                               @Nonnull SymbolsTable symbols,
+                               @Nonnull Constant.Recent recent) {
+        BigDecimal leftValue = left.evaluate(symbols).asNumber();
+        BigDecimal rightValue = right.evaluate(symbols).asNumber();
 
-        return Constant.of(leftValue.or(rightValue));
+        return (BigDecimals.isSmallInteger(leftValue) && BigDecimals.isSmallInteger(rightValue) ?
+            recent.of(leftValue.longValue() | rightValue.longValue()) :
+            recent.of(leftValue.toBigInteger().or(rightValue.toBigInteger())));
     }
 
     @Override
     @Nonnull
     public Term bitwiseXor(@Nonnull Term left, @Nonnull Term right) {
+        Constant.Recent recent = new Constant.Recent();
         Term result = null;
 
         if (left.isConstant() && right.isConstant()) {
             try {
-                result = bitwiseXor(left, right, SymbolsTable.EMPTY);
+                result = bitwiseXor(left, right, SymbolsTable.EMPTY, recent).intern();
             } catch (RuntimeException e) {
                 // do nothing - to be consistent with unoptimised code, generate a term that will fail when evaluated
             }
         }
 
         if (result == null) {
-            result = s -> bitwiseXor(left, right, s);
+            result = typed(s -> bitwiseXor(left, right, s, recent), Type.NUMBER);
         }
 
         return result;
     }
 
     @Nonnull
-    private Constant bitwiseXor(@Nonnull Term left, @Nonnull Term right, @Nonnull SymbolsTable symbols) {
-        BigInteger leftValue = left.evaluate(symbols).asBigInteger();
-        BigInteger rightValue = right.evaluate(symbols).asBigInteger();
+    private Constant bitwiseXor(@Nonnull Term left,
+                                @Nonnull Term right,
+                                @Nonnull SymbolsTable symbols,
+                                @Nonnull Constant.Recent recent) {
+        BigDecimal leftValue = left.evaluate(symbols).asNumber();
+        BigDecimal rightValue = right.evaluate(symbols).asNumber();
 
-        return Constant.of(leftValue.xor(rightValue));
+        return (BigDecimals.isSmallInteger(leftValue) && BigDecimals.isSmallInteger(rightValue) ?
+            recent.of(leftValue.longValue() ^ rightValue.longValue()) :
+            recent.of(leftValue.toBigInteger().xor(rightValue.toBigInteger())));
     }
 
     @Override
@@ -1024,13 +1541,14 @@ class LambdaCompiler implements Compiler {
         // Optimise: anything << 0 will return the original value
         // but...  : 0 << anything can't be optimised to 0 as anything could be invalid
 
+        Constant.Recent recent = new Constant.Recent();
         Term result = null;
 
         try {
             if (is(shift, BigDecimal.ZERO)) {
                 result = value;
             } else if (value.isConstant() && shift.isConstant()) {
-                result = leftShift(value, shift, SymbolsTable.EMPTY);
+                result = leftShift(value, shift, SymbolsTable.EMPTY, recent).intern();
             } else {
                 // Do nothing - the following check will assign the correct value
             }
@@ -1039,18 +1557,36 @@ class LambdaCompiler implements Compiler {
         }
 
         if (result == null) {
-            result = s -> leftShift(value, shift, s);
+            result = typed(s -> leftShift(value, shift, s, recent), Type.NUMBER);
         }
 
         return result;
     }
 
     @Nonnull
-    private Constant leftShift(@Nonnull Term value, @Nonnull Term shift, @Nonnull SymbolsTable symbols) {
-        BigInteger number = value.evaluate(symbols).asBigInteger();
+    private Constant leftShift(@Nonnull Term value,
+                               @Nonnull Term shift,
+                               @Nonnull SymbolsTable symbols,
+                               @Nonnull Constant.Recent recent) {
+        BigDecimal number = value.evaluate(symbols).asNumber();
         int by = shift.evaluate(symbols).asInt();
+        Constant result = null;
+
+        // Optimise: shift a long if no bits will be lost
+        if (BigDecimals.isSmallInteger(number) && (by >= 0) && (by < Long.SIZE)) {
+            long original = number.longValue();
+            long shifted = original << by;
 
-        return Constant.of(number.shiftLeft(by));
+            if ((shifted >> by) == original) {
+                result = recent.of(shifted);
+            }
+        }
+
+        if (result == null) {
+            result = recent.of(number.toBigInteger().shiftLeft(by));
+        }
+
+        return result;
     }
 
     @Override
@@ -1059,13 +1595,14 @@ class LambdaCompiler implements Compiler {
         // Optimise: anything >> 0 will return the original value
         // but...  : 0 >> anything can't be optimised to 0 as anything could be invalid
 
+        Constant.Recent recent = new Constant.Recent();
         Term result = null;
 
         try {
             if (is(shift, BigDecimal.ZERO)) {
                 result = value;
             } else if (value.isConstant() && shift.isConstant()) {
-                result = rightShift(value, shift, SymbolsTable.EMPTY);
+                result = rightShift(value, shift, SymbolsTable.EMPTY, recent).intern();
             } else {
                 // Do nothing - the following check will assign the correct value
             }
@@ -1074,18 +1611,24 @@ class LambdaCompiler implements Compiler {
         }
 
         if (result == null) {
-            result = s -> rightShift(value, shift, s);
+            result = typed(s -> rightShift(value, shift, s, recent), Type.NUMBER);
         }
 
         return result;
     }
 
     @Nonnull
-    private Constant rightShift(@Nonnull Term value, @Nonnull Term shift, @Nonnull SymbolsTable symbols) {
-        BigInteger number = value.evaluate(symbols).asBigInteger();
+    private Constant rightShift(@Nonnull Term value,
+                                @Nonnull Term shift,
+                                @Nonnull SymbolsTable symbols,
+                                @Nonnull Constant.Recent recent) {
+        BigDecimal number = value.evaluate(symbols).asNumber();
         int by = shift.evaluate(symbols).asInt();
 
-        return Constant.of(number.shiftRight(by));
+        // Optimise: an arithmetic shift of a long is the same as BigInteger.shiftRight()
+        return (BigDecimals.isSmallInteger(number) && (by >= 0) ?
+            recent.of(number.longValue() >> Math.min(by, Long.SIZE - 1)) :
+            recent.of(number.toBigInteger().shiftRight(by)));
     }
 
                 //*** String Ops ***//
@@ -1095,6 +1638,7 @@ class LambdaCompiler implements Compiler {
     public Term concatenate(@Nonnull Term first, @Nonnull Term second) {
         // Optimise: Concatenate any text by constant empty text always returns the original text
 
+        Constant.Recent recent = new Constant.Recent();
         Term result;
 
         if (isEmpty(first)) {
@@ -1102,20 +1646,75 @@ class LambdaCompiler implements Compiler {
         } else if (isEmpty(second)) {
             result = first;
         } else if (first.isConstant() && second.isConstant()) {
-            result = concatenate(first, second, SymbolsTable.EMPTY);
+            result = concatenate(first, second, SymbolsTable.EMPTY, recent).intern();
         } else {
-            result = s -> concatenate(first, second, s);
+            result = typed(s -> concatenate(first, second, s, recent), Type.TEXT);
         }
 
         return result;
     }
 
     @Nonnull
-    private Constant concatenate(@Nonnull Term first, @Nonnull Term second, @Nonnull SymbolsTable symbols) {
+    private Constant concatenate(@Nonnull Term first,
+                                 @Nonnull Term second,
+                                 @Nonnull SymbolsTable symbols,
+                                 @Nonnull Constant.Recent recent) {
         String firstValue = first.evaluate(symbols).asText();
         String secondValue = second.evaluate(symbols).asText();
 
-        return Constant.of(firstValue + secondValue);
+        return recent.of(firstValue + secondValue);
+    }
+
+    @Nonnull
+    @Override
+    public Term interpolate(@Nonnull List<Term> elements) {
+        // Optimise: Adjacent constants are merged and empty constant text is dropped, so the remaining parts can be
+        // appended to a single buffer that is sized before any text is copied
+        List<Term> parts = new ArrayList<>(elements.size());
+        List<Term> constants = new ArrayList<>();
+        Term result;
+
+        for (Term element : elements) {
+            if (!element.isConstant()) {
+                merge(constants, parts);
+                parts.add(element);
+            } else if (!isEmpty(element)) {
+                constants.add(element);
+            }
+        }
+
+        merge(constants, parts);
+
+        if (parts.isEmpty()) {
+            result = Constant.of("");
+        } else if (parts.size() == 1) {
+            result = parts.get(0);                  // Same as concatenating with empty text
+        } else {
+            result = typed(new Interpolation(parts.toArray(Term[]::new)), Type.TEXT);
+        }
+
+        return result;
+    }
+
+    /**
+     * Move a run of adjacent constants into the list of parts as a single constant
+     */
+    private void merge(@Nonnull List<Term> constants, @Nonnull List<Term> parts) {
+        int size = constants.size();
+
+        if (size == 1) {
+            parts.add(constants.get(0));
+        } else if (size != 0) {
+            StringBuilder text = new StringBuilder();
+
+            for (Term constant : constants) {
+                text.append(constant.evaluate(SymbolsTable.EMPTY).asText());
+            }
+
+            parts.add(Constant.of(text.toString()));
+        }
+
+        constants.clear();
     }
 
 
@@ -1124,50 +1723,56 @@ class LambdaCompiler implements Compiler {
     public Term callText(@Nonnull Term value) {
         // Optimise: All values can be converted to text
 
+        Constant.Recent recent = new Constant.Recent();
         Term result;
 
         if (value.isConstant()) {
-            result = callText(value, SymbolsTable.EMPTY);
+            result = callText(value, SymbolsTable.EMPTY, recent).intern();
         } else {
-            result = s -> callText(value, s);
+            result = (typeOf(value) == Type.TEXT ? value : typed(s -> callText(value, s, recent), Type.TEXT));
         }
 
         return result;
     }
 
     @Nonnull
-    private static Constant callText(@Nonnull Term operand, @Nonnull SymbolsTable symbols) {
+    private static Constant callText(@Nonnull Term operand,
+                                     @Nonnull SymbolsTable symbols,
+                                     @Nonnull Constant.Recent recent) {
         String text = operand.evaluate(symbols).asText();
 
-        return Constant.of(text);
+        return recent.of(text);
     }
 
 
     @Nonnull
     @Override
     public Term callNumber(@Nonnull Term value) {
+        Constant.Recent recent = new Constant.Recent();
         Term result = null;
 
         if (value.isConstant()) {
             try {
-                result = callNumber(value, SymbolsTable.EMPTY);
+                result = callNumber(value, SymbolsTable.EMPTY, recent).intern();
             } catch (RuntimeException e) {
                 // do nothing - to be consistent with unoptimised code, generate a term that will fail when evaluated
             }
         }
 
         if (result == null) {
-            result = s -> callNumber(value, s);
+            result = (typeOf(value) == Type.NUMBER ? value : typed(s -> callNumber(value, s, recent), Type.NUMBER));
         }
 
         return result;
     }
 
     @Nonnull
-    private static Constant callNumber(@Nonnull Term operand, @Nonnull SymbolsTable symbols) {
+    private static Constant callNumber(@Nonnull Term operand,
+                                       @Nonnull SymbolsTable symbols,
+                                       @Nonnull Constant.Recent recent) {
         BigDecimal number = operand.evaluate(symbols).asNumber();
 
-        return Constant.of(number);
+        return recent.of(number);
     }
 
 
@@ -1178,14 +1783,14 @@ class LambdaCompiler implements Compiler {
 
         if (value.isConstant()) {
             try {
-                result = callLogic(value, SymbolsTable.EMPTY);
+                result = callLogic(value, SymbolsTable.EMPTY).intern();
             } catch (RuntimeException e) {
                 // do nothing - to be consistent with unoptimised code, generate a term that will fail when evaluated
             }
         }
 
         if (result == null) {
-            result = s -> callLogic(value, s);
+            result = (typeOf(value) == Type.LOGIC ? value : typed(s -> callLogic(value, s), Type.LOGIC));
         }
 
         return result;
@@ -1202,33 +1807,169 @@ class LambdaCompiler implements Compiler {
     @Nonnull
     @Override
     public Term callDate(@Nonnull Term value) {
+        Constant.Recent recent = new Constant.Recent();
         Term result = null;
 
         if (value.isConstant()) {
             try {
-                result = callDate(value, SymbolsTable.EMPTY);
+                result = callDate(value, SymbolsTable.EMPTY, recent).intern();
             } catch (RuntimeException e) {
                 // do nothing - to be consistent with unoptimised code, generate a term that will fail when evaluated
             }
         }
 
         if (result == null) {
-            result = s -> callDate(value, s);
+            result = (typeOf(value) == Type.DATE ? value : typed(s -> callDate(value, s, recent), Type.DATE));
         }
 
         return result;
     }
 
     @Nonnull
-    private static Constant callDate(@Nonnull Term operand, @Nonnull SymbolsTable symbols) {
+    private static Constant callDate(@Nonnull Term operand,
+                                     @Nonnull SymbolsTable symbols,
+                                     @Nonnull Constant.Recent recent) {
         ZonedDateTime date = operand.evaluate(symbols).asDate();
 
-        return Constant.of(date);
+        return recent.of(date);
+    }
+
+
+                //*** Functions ***//
+
+    @Nonnull
+    @Override
+    public Term callFunction(@Nonnull String functionName, @Nonnull List<Term> arguments) {
+        FunctionManager functionManager = context.getFunctionManager();
+        Term call = functionManager.compileCall(context, functionName, arguments);
+        Term result = null;
+
+        if (functionManager.isDeterministic(functionName) && arguments.stream().allMatch(Term::isConstant)) {
+            result = fold(call);
+        } else if (TEXT_INDEX.equals(functionName) && isIndexTable(arguments)) {
+            result = textIndex(arguments.get(0), arguments.subList(1, arguments.size()));
+        }
+
+        if (result == null) {
+            result = typed(call, functionManager.returnType(functionName));
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Evaluate a call to a deterministic function with constant arguments. The call is evaluated on the compiling
+     * thread with a {@link Deadline} set to the context's timeout. The deadline is cooperative, so a call that runs
+     * out of time is only abandoned when it reaches a {@link Deadline#checkpoint() checkpoint}; until then it blocks
+     * the compiler.
+     * @param call      the compiled call
+     * @return          the interned value returned by the call, or {@code null} if the call failed, ran out of
+     *                  time or returned text that is too large to be held as a constant
+     */
+    @Nullable
+    private Term fold(@Nonnull Term call) {
+        Duration timeout = context.getTimeout();
+        Term result;
+
+        try {
+            Value value = (timeout.isZero() ?
+                call.evaluate(SymbolsTable.EMPTY) :
+                Deadline.run(timeout, () -> call.evaluate(SymbolsTable.EMPTY)));
+            boolean foldable = (value instanceof Constant constant) &&
+                ((constant.getType() != Type.TEXT) || (constant.asText().length() <= MAX_FOLDED_TEXT));
+
+            result = (foldable ? ((Constant) value).intern() : null);
+        } catch (RuntimeException e) {
+            // do nothing - to be consistent with unoptimised code, generate a term that will fail when evaluated
+            result = null;
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Returns {@literal true} if a call to {@code text.index()} searches a list of constant values
+     */
+    private static boolean isIndexTable(@Nonnull List<Term> arguments) {
+        return (arguments.size() > 1) &&
+            arguments.subList(1, arguments.size()).stream().allMatch(Constant.class::isInstance);
+    }
+
+    /**
+     * Compile a call to {@code text.index()} that searches a list of constant values into a table lookup. The
+     * result is the same as calling the function: the 1-based position of the first value with the same text, or
+     * {@literal -1} if there is none.
+     * @param find      the term that is searched for
+     * @param values    the constant values that are searched
+     * @return          a term that evaluates {@code find} once and returns its position in the {@code values}
+     */
+    @Nonnull
+    private Term textIndex(@Nonnull Term find, @Nonnull List<Term> values) {
+        int size = values.size();
+        List<Constant> constants = new ArrayList<>(size);
+        Constant[] positions = new Constant[size];
+
+        for (int index = 0; index < size; index++) {
+            constants.add((Constant) values.get(index));
+            positions[index] = Constant.of(index + 1);
+        }
+
+        ConstantSet table = ConstantSet.of(constants);
+        Term lookup = s -> {
+            int index = table.indexOfText(find.evaluate(s).asText());
+
+            return (index == ConstantSet.NOT_FOUND ? INDEX_NOT_FOUND : positions[index]);
+        };
+
+        return typed(lookup, Type.NUMBER);
     }
 
 
                 //*** Helper methods ***//
 
+    /**
+     * Record the type of value that will always be returned when a non-constant term is evaluated
+     * @param term      the term that has been compiled
+     * @param type      the type of value returned by the term, or {@code null} if this is not known
+     * @return          {@code term}
+     */
+    @Nonnull
+    private Term typed(@Nonnull Term term, @Nullable Type type) {
+        if ((type != null) && !(term instanceof Constant)) {
+            types.put(term, type);
+        }
+
+        return term;
+    }
+
+    /**
+     * Returns the type of value that will always be returned when {@code term} is evaluated
+     * @param term      a term generated by this compiler
+     * @return          the type of value returned by the term, or {@code null} if this can not be determined
+     *                  until the term is evaluated
+     */
+    @Nullable
+    Type typeOf(@Nonnull Term term) {
+        return (term instanceof Constant constant ? constant.getType() : types.get(term));
+    }
+
+    /**
+     * Checks that interpolated text of the given total length can be held in a String
+     * @param length    the sum of the lengths of the interpolated parts
+     * @return          {@code length} as an int
+     * @throws EelRuntimeException if the text would be too long
+     */
+    @VisibleForTesting
+    static int interpolatedLength(long length) {
+        if (length > MAX_TEXT_LENGTH) {
+            throw new EelRuntimeException("Interpolated text of %d characters is too long", length);
+        }
+
+        return (int) length;
+    }
+
     private boolean isEmpty(@Nonnull Term value) {
         return (value.isConstant() && value.evaluate(SymbolsTable.EMPTY).asText().isEmpty());
     }
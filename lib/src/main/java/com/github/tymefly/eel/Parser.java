@@ -10,7 +10,6 @@ import javax.annotation.Nonnull;
 
 import com.github.tymefly.eel.Tokenizer.Terminal;
 import com.github.tymefly.eel.exception.EelSyntaxException;
-import com.github.tymefly.eel.utils.StringUtils;
 
 import static java.util.Map.entry;
 
@@ -28,12 +27,12 @@ class Parser {
         Token.EXPRESSION_INTERPOLATION
     );
     private static final Map<Token, Compiler.SymbolTransformation> CASE_OP = Map.ofEntries(
-        entry(Token.CARET, (s, t) -> StringUtils.upperFirst(t)),
-        entry(Token.ALL_UPPER, (s, t) -> t.toUpperCase()),
-        entry(Token.COMMA, (s, t) -> StringUtils.lowerFirst(t)),
-        entry(Token.ALL_LOWER, (s, t) -> t.toLowerCase()),
-        entry(Token.TILDE, (s, t) -> StringUtils.toggleFirst(t)),
-        entry(Token.ALL_TOGGLE, (s, t) -> StringUtils.toggleAll(t)));
+        entry(Token.CARET, Compiler.SymbolTransformation.UPPER_FIRST),
+        entry(Token.ALL_UPPER, Compiler.SymbolTransformation.UPPER),
+        entry(Token.COMMA, Compiler.SymbolTransformation.LOWER_FIRST),
+        entry(Token.ALL_LOWER, Compiler.SymbolTransformation.LOWER),
+        entry(Token.TILDE, Compiler.SymbolTransformation.TOGGLE_FIRST),
+        entry(Token.ALL_TOGGLE, Compiler.SymbolTransformation.TOGGLE));
     private static final Map<Token, CompileBinaryOp> EQUAL_OP = Map.ofEntries(
         entry(Token.EQUAL, Compiler::equal),
         entry(Token.NOT_EQUAL, Compiler::notEqual));
@@ -84,7 +83,6 @@ class Parser {
         Token.IN);
 
     private final Tokenizer tokenizer;
-    private final EelContextImpl context;
     private final Compiler compiler;
 
     private Terminal terminal;
@@ -93,13 +91,11 @@ class Parser {
 
     /**
      * Constructor
-     * @param context       The EEL Context for the generated code
      * @param tokenizer     Reads the source expression represented as a sequence of {@link Terminal} symbols
      * @param compiler      The compiler that will generate the required code in the current context
      */
-    Parser(@Nonnull EelContextImpl context, @Nonnull Tokenizer tokenizer, @Nonnull Compiler compiler) {
+    Parser(@Nonnull Tokenizer tokenizer, @Nonnull Compiler compiler) {
         this.tokenizer = tokenizer;
-        this.context = context;
         this.compiler = compiler;
         this.lookBacks = null;
 
@@ -113,28 +109,30 @@ class Parser {
 
         assertToken(Token.END_OF_PROGRAM);
 
-        return result;
+        return compiler.complete(result);
     }
 
 
     @Nonnull
     private Term expression(@Nonnull Token follow) {
-        Term result = null;
+        List<Term> elements = new ArrayList<>();
+        Term result;
 
         while (terminal.token() != follow) {
-            Term interpolateElement = interpolate(follow);
-
-            if (result == null) {
-                result = interpolateElement;
-            } else {
-                Term finalResult = result;
-                result = compiler.concatenate(finalResult, interpolateElement);
-            }
+            elements.add(interpolate(follow));
 
             nextText(follow);
         }
 
-        return (result == null ? compiler.textConstant("") : result);
+        if (elements.isEmpty()) {
+            result = compiler.textConstant("");
+        } else if (elements.size() == 1) {
+            result = elements.get(0);
+        } else {
+            result = compiler.interpolate(elements);
+        }
+
+        return result;
     }
 
 
@@ -258,8 +256,7 @@ class Parser {
             count = Constant.of(Integer.MAX_VALUE);
         }
 
-        return symbolBuilder.withTransformation((s, t) ->
-            StringUtils.mid(t, start.evaluate(s).asInt(), count.evaluate(s).asInt()));
+        return symbolBuilder.withTransformation(new Compiler.Substring(start, count));
     }
 
 
@@ -694,8 +691,7 @@ class Parser {
 
         assertToken(Token.RIGHT_PARENTHESES);
 
-        result = context.getFunctionManager()
-            .compileCall(context, functionName, argumentList);
+        result = compiler.callFunction(functionName, argumentList);
 
         return result;
     }
@@ -0,0 +1,922 @@
+package com.github.tymefly.eel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.github.tymefly.eel.exception.EelInternalException;
+import com.github.tymefly.eel.utils.BigDecimals;
+
+/**
+ * A compact binary record of the calls that a {@link Parser} made to a {@link Compiler}.
+ * <br>
+ * Compiled terms are lambdas that can not be serialised, so an expression is stored as the sequence of compiler
+ * operations that built it. Replaying the sequence through a compiler for the current context rebuilds the same
+ * terms without tokenising or parsing the source. Each instruction is an {@link Op} followed by its operands; terms
+ * are referenced by the index of the instruction that created them. All integers are written as unsigned variable
+ * length values.
+ */
+final class Program {
+    /**
+     * The operations in a program. The ordinal of each operation is written to the program, so new operations
+     * must be added to the end.
+     */
+    enum Op {
+        CONSTANT,
+        TEXT_CONSTANT,
+        LOGIC_CONSTANT,
+        NUMERIC_CONSTANT,
+        IS_DEFINED,
+        READ,
+        LOOKBACK,
+        CONST_TERM(Compiler::constTerm),
+        CONDITIONAL,
+        IN,
+        INTERPOLATE,
+        CALL_FUNCTION,
+        COMPLETE(Compiler::complete),
+
+        EQUAL(Compiler::equal),
+        NOT_EQUAL(Compiler::notEqual),
+        GREATER_THAN(Compiler::greaterThan),
+        GREATER_THAN_EQUALS(Compiler::greaterThenEquals),
+        LESS_THAN(Compiler::lessThan),
+        LESS_THAN_EQUALS(Compiler::lessThanEquals),
+        IS_BEFORE(Compiler::isBefore),
+        IS_AFTER(Compiler::isAfter),
+        ADD(Compiler::add),
+        SUBTRACT(Compiler::subtract),
+        MULTIPLY(Compiler::multiply),
+        DIVIDE(Compiler::divide),
+        DIVIDE_FLOOR(Compiler::divideFloor),
+        DIVIDE_TRUNCATE(Compiler::divideTruncate),
+        MODULUS(Compiler::modulus),
+        POWER(Compiler::power),
+        LOGICAL_AND(Compiler::logicalAnd),
+        LOGICAL_OR(Compiler::logicalOr),
+        LOGICAL_XOR(Compiler::logicalXor),
+        BITWISE_AND(Compiler::bitwiseAnd),
+        BITWISE_OR(Compiler::bitwiseOr),
+        BITWISE_XOR(Compiler::bitwiseXor),
+        LEFT_SHIFT(Compiler::leftShift),
+        RIGHT_SHIFT(Compiler::rightShift),
+        CONCATENATE(Compiler::concatenate),
+
+        NEGATE(Compiler::negate),
+        LOGICAL_NOT(Compiler::logicalNot),
+        BITWISE_NOT(Compiler::bitwiseNot),
+        CALL_TEXT(Compiler::callText),
+        CALL_NUMBER(Compiler::callNumber),
+        CALL_LOGIC(Compiler::callLogic),
+        CALL_DATE(Compiler::callDate);
+
+        private final CompileBinaryOp binary;
+        private final CompileUnaryOp unary;
+
+        Op() {
+            this(null, null);
+        }
+
+        Op(@Nonnull CompileBinaryOp binary) {
+            this(binary, null);
+        }
+
+        Op(@Nonnull CompileUnaryOp unary) {
+            this(null, unary);
+        }
+
+        Op(@Nullable CompileBinaryOp binary, @Nullable CompileUnaryOp unary) {
+            this.binary = binary;
+            this.unary = unary;
+        }
+    }
+
+
+    /**
+     * A Compiler that records each operation before it is passed to the wrapped compiler
+     */
+    static final class Recorder implements Compiler {
+        /**
+         * Records a symbol read, with its modifiers, when it is built
+         */
+        private final class RecordingSymbolBuilder implements SymbolBuilder {
+            private final String identifier;
+            private final SymbolBuilder builder;
+            private final ByteArrayOutputStream modifiers;
+            private int size;
+
+            private RecordingSymbolBuilder(@Nonnull String identifier, @Nonnull SymbolBuilder builder) {
+                this.identifier = identifier;
+                this.builder = builder;
+                this.modifiers = new ByteArrayOutputStream();
+                this.size = 0;
+            }
+
+            @Nonnull
+            @Override
+            public SymbolBuilder withDefault(@Nonnull Term defaultValue) {
+                modifier(DEFAULT, reference(defaultValue));
+                builder.withDefault(defaultValue);
+
+                return this;
+            }
+
+            @Nonnull
+            @Override
+            public SymbolBuilder withBlankDefault(@Nonnull Term defaultValue) {
+                modifier(BLANK_DEFAULT, reference(defaultValue));
+                builder.withBlankDefault(defaultValue);
+
+                return this;
+            }
+
+            @Nonnull
+            @Override
+            public SymbolBuilder withTransformation(@Nonnull SymbolTransformation transformation) {
+                if (transformation instanceof Substring substring) {
+                    modifier(SUBSTRING, reference(substring.start()), reference(substring.count()));
+                } else {
+                    int code = TRANSFORMATIONS.indexOf(transformation);
+
+                    if (code == -1) {
+                        throw new EelInternalException("Can not record the transformation %s", transformation);
+                    }
+
+                    modifier(TRANSFORMATION, code);
+                }
+
+                builder.withTransformation(transformation);
+
+                return this;
+            }
+
+            @Nonnull
+            @Override
+            public Term build() {
+                Term term = builder.build();
+
+                begin(Op.READ);
+                writeText(program, identifier);
+                writeInt(program, size);
+                program.writeBytes(modifiers.toByteArray());
+
+                return record(term);
+            }
+
+            private void modifier(int kind, int... operands) {
+                writeInt(modifiers, kind);
+
+                for (int operand : operands) {
+                    writeInt(modifiers, operand);
+                }
+
+                size++;
+            }
+        }
+
+
+        /**
+         * Records a lookback, with its modifiers, when it is built
+         */
+        private final class RecordingLookbackBuilder implements LookbackBuilder {
+            private final int[] lookBacks;
+            private final LookbackBuilder builder;
+            private final ByteArrayOutputStream modifiers;
+            private int size;
+
+            private RecordingLookbackBuilder(@Nullable int[] lookBacks, @Nonnull LookbackBuilder builder) {
+                this.lookBacks = lookBacks;
+                this.builder = builder;
+                this.modifiers = new ByteArrayOutputStream();
+                this.size = 0;
+            }
+
+            @Nonnull
+            @Override
+            public LookbackBuilder withIndex(int position, @Nonnull Term index) {
+                writeInt(modifiers, INDEX);
+                writeInt(modifiers, position);
+                writeInt(modifiers, reference(index));
+                size++;
+
+                builder.withIndex(position, index);
+
+                return this;
+            }
+
+            @Nonnull
+            @Override
+            public LookbackBuilder withDefault(@Nonnull Term defaultValue) {
+                writeInt(modifiers, DEFAULT);
+                writeInt(modifiers, reference(defaultValue));
+                size++;
+
+                builder.withDefault(defaultValue);
+
+                return this;
+            }
+
+            @Nonnull
+            @Override
+            public Term build() {
+                Term term = builder.build();
+
+                begin(Op.LOOKBACK);
+
+                if (lookBacks == null) {
+                    writeInt(program, 0);
+                } else {
+                    writeInt(program, lookBacks.length + 1);
+                    writeReferences(lookBacks);
+                }
+
+                writeInt(program, size);
+                program.writeBytes(modifiers.toByteArray());
+
+                return record(term);
+            }
+        }
+
+
+        private final Compiler compiler;
+        private final ByteArrayOutputStream program;
+        private final Map<Term, Integer> indexes;
+        private int count;
+
+
+        /**
+         * Constructor
+         * @param compiler      the compiler that will generate the code for each recorded operation
+         */
+        Recorder(@Nonnull Compiler compiler) {
+            this.compiler = compiler;
+            this.program = new ByteArrayOutputStream();
+            this.indexes = new IdentityHashMap<>();
+            this.count = 0;
+        }
+
+
+        /**
+         * Returns the recorded program
+         * @return the encoded operations that have been recorded so far
+         */
+        @Nonnull
+        byte[] program() {
+            return program.toByteArray();
+        }
+
+
+        @Nonnull
+        @Override
+        public Term complete(@Nonnull Term expression) {
+            return unary(Op.COMPLETE, expression);
+        }
+
+        @Nonnull
+        @Override
+        public Term constTerm(@Nonnull Term term) {
+            return unary(Op.CONST_TERM, term);
+        }
+
+        @Nonnull
+        @Override
+        public LookbackBuilder lookback(@Nullable List<Term> lookBacks) {
+            int[] references = (lookBacks == null ? null : references(lookBacks));
+
+            return new RecordingLookbackBuilder(references, compiler.lookback(lookBacks));
+        }
+
+
+        @Nonnull
+        @Override
+        public Term isDefined(@Nonnull String identifier) {
+            Term term = compiler.isDefined(identifier);
+
+            begin(Op.IS_DEFINED);
+            writeText(program, identifier);
+
+            return record(term);
+        }
+
+        @Nonnull
+        @Override
+        public SymbolBuilder read(@Nonnull String identifier) {
+            return new RecordingSymbolBuilder(identifier, compiler.read(identifier));
+        }
+
+
+        @Nonnull
+        @Override
+        public Term textConstant(@Nonnull String value) {
+            Term term = compiler.textConstant(value);
+
+            begin(Op.TEXT_CONSTANT);
+            writeText(program, value);
+
+            return record(term);
+        }
+
+        @Nonnull
+        @Override
+        public Term logicConstant(boolean value) {
+            Term term = compiler.logicConstant(value);
+
+            begin(Op.LOGIC_CONSTANT);
+            writeInt(program, value ? 1 : 0);
+
+            return record(term);
+        }
+
+        @Nonnull
+        @Override
+        public Term numericConstant(@Nonnull Number value) {
+            Term term = compiler.numericConstant(value);
+
+            begin(Op.NUMERIC_CONSTANT);
+            writeText(program, BigDecimals.toBigDecimal(value).toString());
+
+            return record(term);
+        }
+
+
+        @Nonnull
+        @Override
+        public Term conditional(@Nonnull Term condition, @Nonnull Term first, @Nonnull Term second) {
+            int[] references = references(List.of(condition, first, second));
+            Term term = compiler.conditional(condition, first, second);
+
+            begin(Op.CONDITIONAL);
+            writeReferences(references);
+
+            return record(term);
+        }
+
+
+        @Nonnull
+        @Override
+        public Term equal(@Nonnull Term left, @Nonnull Term right) {
+            return binary(Op.EQUAL, left, right);
+        }
+
+        @Nonnull
+        @Override
+        public Term notEqual(@Nonnull Term left, @Nonnull Term right) {
+            return binary(Op.NOT_EQUAL, left, right);
+        }
+
+        @Nonnull
+        @Override
+        public Term greaterThan(@Nonnull Term left, @Nonnull Term right) {
+            return binary(Op.GREATER_THAN, left, right);
+        }
+
+        @Nonnull
+        @Override
+        public Term greaterThenEquals(@Nonnull Term left, @Nonnull Term right) {
+            return binary(Op.GREATER_THAN_EQUALS, left, right);
+        }
+
+        @Nonnull
+        @Override
+        public Term lessThan(@Nonnull Term left, @Nonnull Term right) {
+            return binary(Op.LESS_THAN, left, right);
+        }
+
+        @Nonnull
+        @Override
+        public Term lessThanEquals(@Nonnull Term left, @Nonnull Term right) {
+            return binary(Op.LESS_THAN_EQUALS, left, right);
+        }
+
+        @Nonnull
+        @Override
+        public Term isBefore(@Nonnull Term left, @Nonnull Term right) {
+            return binary(Op.IS_BEFORE, left, right);
+        }
+
+        @Nonnull
+        @Override
+        public Term isAfter(@Nonnull Term left, @Nonnull Term right) {
+            return binary(Op.IS_AFTER, left, right);
+        }
+
+        @Nonnull
+        @Override
+        public Term in(@Nonnull Term left, @Nonnull List<Term> terms) {
+            int value = reference(left);
+            int[] references = references(terms);
+            Term term = compiler.in(left, terms);
+
+            begin(Op.IN);
+            writeInt(program, value);
+            writeList(references);
+
+            return record(term);
+        }
+
+
+        @Nonnull
+        @Override
+        public Term negate(@Nonnull Term value) {
+            return unary(Op.NEGATE, value);
+        }
+
+        @Nonnull
+        @Override
+        public Term add(@Nonnull Term left, @Nonnull Term right) {
+            return binary(Op.ADD, left, right);
+        }
+
+        @Nonnull
+        @Override
+        public Term subtract(@Nonnull Term left, @Nonnull Term right) {
+            return binary(Op.SUBTRACT, left, right);
+        }
+
+        @Nonnull
+        @Override
+        public Term multiply(@Nonnull Term left, @Nonnull Term right) {
+            return binary(Op.MULTIPLY, left, right);
+        }
+
+        @Nonnull
+        @Override
+        public Term divide(@Nonnull Term left, @Nonnull Term right) {
+            return binary(Op.DIVIDE, left, right);
+        }
+
+        @Nonnull
+        @Override
+        public Term divideFloor(@Nonnull Term left, @Nonnull Term right) {
+            return binary(Op.DIVIDE_FLOOR, left, right);
+        }
+
+        @Nonnull
+        @Override
+        public Term divideTruncate(@Nonnull Term left, @Nonnull Term right) {
+            return binary(Op.DIVIDE_TRUNCATE, left, right);
+        }
+
+        @Nonnull
+        @Override
+        public Term modulus(@Nonnull Term left, @Nonnull Term right) {
+            return binary(Op.MODULUS, left, right);
+        }
+
+        @Nonnull
+        @Override
+        public Term power(@Nonnull Term left, @Nonnull Term right) {
+            return binary(Op.POWER, left, right);
+        }
+
+
+        @Nonnull
+        @Override
+        public Term logicalNot(@Nonnull Term value) {
+            return unary(Op.LOGICAL_NOT, value);
+        }
+
+        @Nonnull
+        @Override
+        public Term logicalAnd(@Nonnull Term left, @Nonnull Term right) {
+            return binary(Op.LOGICAL_AND, left, right);
+        }
+
+        @Nonnull
+        @Override
+        public Term logicalOr(@Nonnull Term left, @Nonnull Term right) {
+            return binary(Op.LOGICAL_OR, left, right);
+        }
+
+        @Nonnull
+        @Override
+        public Term logicalXor(@Nonnull Term left, @Nonnull Term right) {
+            return binary(Op.LOGICAL_XOR, left, right);
+        }
+
+
+        @Nonnull
+        @Override
+        public Term bitwiseNot(@Nonnull Term value) {
+            return unary(Op.BITWISE_NOT, value);
+        }
+
+        @Nonnull
+        @Override
+        public Term bitwiseAnd(@Nonnull Term left, @Nonnull Term right) {
+            return binary(Op.BITWISE_AND, left, right);
+        }
+
+        @Nonnull
+        @Override
+        public Term bitwiseOr(@Nonnull Term left, @Nonnull Term right) {
+            return binary(Op.BITWISE_OR, left, right);
+        }
+
+        @Nonnull
+        @Override
+        public Term bitwiseXor(@Nonnull Term left, @Nonnull Term right) {
+            return binary(Op.BITWISE_XOR, left, right);
+        }
+
+        @Nonnull
+        @Override
+        public Term leftShift(@Nonnull Term value, @Nonnull Term shift) {
+            return binary(Op.LEFT_SHIFT, value, shift);
+        }
+
+        @Nonnull
+        @Override
+        public Term rightShift(@Nonnull Term value, @Nonnull Term shift) {
+            return binary(Op.RIGHT_SHIFT, value, shift);
+        }
+
+
+        @Nonnull
+        @Override
+        public Term concatenate(@Nonnull Term first, @Nonnull Term second) {
+            return binary(Op.CONCATENATE, first, second);
+        }
+
+        @Nonnull
+        @Override
+        public Term interpolate(@Nonnull List<Term> elements) {
+            int[] references = references(elements);
+            Term term = compiler.interpolate(elements);
+
+            begin(Op.INTERPOLATE);
+            writeList(references);
+
+            return record(term);
+        }
+
+
+        @Nonnull
+        @Override
+        public Term callText(@Nonnull Term operand) {
+            return unary(Op.CALL_TEXT, operand);
+        }
+
+        @Nonnull
+        @Override
+        public Term callNumber(@Nonnull Term operand) {
+            return unary(Op.CALL_NUMBER, operand);
+        }
+
+        @Nonnull
+        @Override
+        public Term callLogic(@Nonnull Term operand) {
+            return unary(Op.CALL_LOGIC, operand);
+        }
+
+        @Nonnull
+        @Override
+        public Term callDate(@Nonnull Term operand) {
+            return unary(Op.CALL_DATE, operand);
+        }
+
+
+        @Nonnull
+        @Override
+        public Term callFunction(@Nonnull String functionName, @Nonnull List<Term> arguments) {
+            int[] references = references(arguments);
+            Term term = compiler.callFunction(functionName, arguments);
+
+            begin(Op.CALL_FUNCTION);
+            writeText(program, functionName);
+            writeList(references);
+
+            return record(term);
+        }
+
+
+        @Nonnull
+        private Term unary(@Nonnull Op op, @Nonnull Term operand) {
+            int reference = reference(operand);
+            Term term = op.unary.apply(compiler, operand);
+
+            begin(op);
+            writeInt(program, reference);
+
+            return record(term);
+        }
+
+        @Nonnull
+        private Term binary(@Nonnull Op op, @Nonnull Term left, @Nonnull Term right) {
+            int first = reference(left);
+            int second = reference(right);
+            Term term = op.binary.apply(compiler, left, right);
+
+            begin(op);
+            writeInt(program, first);
+            writeInt(program, second);
+
+            return record(term);
+        }
+
+
+        private void begin(@Nonnull Op op) {
+            writeInt(program, op.ordinal());
+        }
+
+        @Nonnull
+        private Term record(@Nonnull Term term) {
+            indexes.put(term, count++);
+
+            return term;
+        }
+
+        /**
+         * Returns the index of the instruction that created the {@code term}. Constants that the Parser created
+         * without the compiler are recorded when they are first referenced.
+         */
+        private int reference(@Nonnull Term term) {
+            Integer index = indexes.get(term);
+
+            if (index == null) {
+                if (!(term instanceof Constant constant)) {
+                    throw new EelInternalException("Can not record a term that was not compiled");
+                }
+
+                begin(Op.CONSTANT);
+                writeInt(program, constant.getType().ordinal());
+                writeText(program, constantText(constant));
+                record(constant);
+
+                index = count - 1;
+            }
+
+            return index;
+        }
+
+        @Nonnull
+        private int[] references(@Nonnull List<Term> terms) {
+            int[] references = new int[terms.size()];
+            int index = 0;
+
+            for (Term term : terms) {
+                references[index++] = reference(term);
+            }
+
+            return references;
+        }
+
+        private void writeReferences(@Nonnull int[] references) {
+            for (int reference : references) {
+                writeInt(program, reference);
+            }
+        }
+
+        private void writeList(@Nonnull int[] references) {
+            writeInt(program, references.length);
+            writeReferences(references);
+        }
+    }
+
+
+    private static final int VALUE_BITS = 7;
+    private static final int VALUE_MASK = 0x7F;
+    private static final int MORE_BIT = 0x80;
+    private static final int MAX_SHIFT = 28;
+
+    private static final int DEFAULT = 0;
+    private static final int BLANK_DEFAULT = 1;
+    private static final int TRANSFORMATION = 2;
+    private static final int SUBSTRING = 3;
+    private static final int INDEX = 4;
+
+    /** Transformations that can be recorded. The index of each transformation is written to the program */
+    private static final List<Compiler.SymbolTransformation> TRANSFORMATIONS = List.of(
+        Compiler.SymbolTransformation.IDENTITY,
+        Compiler.SymbolTransformation.LENGTH,
+        Compiler.SymbolTransformation.UPPER_FIRST,
+        Compiler.SymbolTransformation.UPPER,
+        Compiler.SymbolTransformation.LOWER_FIRST,
+        Compiler.SymbolTransformation.LOWER,
+        Compiler.SymbolTransformation.TOGGLE_FIRST,
+        Compiler.SymbolTransformation.TOGGLE);
+
+    private static final Op[] OPS = Op.values();
+    private static final Type[] TYPES = Type.values();
+
+
+    private Program() {
+    }
+
+
+    /**
+     * Rebuild the terms that were recorded by a {@link Recorder}
+     * @param program       the recorded program
+     * @param compiler      the compiler that will generate the code for the current context
+     * @return              the term returned by {@link Compiler#complete(Term)}
+     * @throws StreamCorruptedException if the {@code program} is not a complete recorded program
+     */
+    @Nonnull
+    static Term replay(@Nonnull byte[] program, @Nonnull Compiler compiler) throws StreamCorruptedException {
+        ByteBuffer in = ByteBuffer.wrap(program);
+        List<Term> terms = new ArrayList<>();
+        Op op = null;
+
+        try {
+            while (in.hasRemaining()) {
+                op = readOp(in);
+                terms.add(execute(op, in, terms, compiler));
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException | DateTimeException e) {
+            throw corrupt("Truncated or invalid program");
+        }
+
+        if (op != Op.COMPLETE) {
+            throw corrupt("Incomplete program");
+        }
+
+        return terms.get(terms.size() - 1);
+    }
+
+    @Nonnull
+    private static Term execute(@Nonnull Op op,
+                                @Nonnull ByteBuffer in,
+                                @Nonnull List<Term> terms,
+                                @Nonnull Compiler compiler) throws StreamCorruptedException {
+        return switch (op) {
+            case CONSTANT -> readConstant(in);
+            case TEXT_CONSTANT -> compiler.textConstant(readText(in));
+            case LOGIC_CONSTANT -> compiler.logicConstant(readInt(in) != 0);
+            case NUMERIC_CONSTANT -> compiler.numericConstant(new BigDecimal(readText(in)));
+            case IS_DEFINED -> compiler.isDefined(readText(in));
+            case READ -> readSymbol(in, terms, compiler);
+            case LOOKBACK -> readLookback(in, terms, compiler);
+            case CONDITIONAL -> compiler.conditional(readTerm(in, terms), readTerm(in, terms), readTerm(in, terms));
+            case IN -> compiler.in(readTerm(in, terms), readTerms(in, terms, readInt(in)));
+            case INTERPOLATE -> compiler.interpolate(readTerms(in, terms, readInt(in)));
+            case CALL_FUNCTION -> compiler.callFunction(readText(in), readTerms(in, terms, readInt(in)));
+            default -> (op.binary != null ?
+                op.binary.apply(compiler, readTerm(in, terms), readTerm(in, terms)) :
+                op.unary.apply(compiler, readTerm(in, terms)));
+        };
+    }
+
+    @Nonnull
+    private static Term readSymbol(@Nonnull ByteBuffer in,
+                                   @Nonnull List<Term> terms,
+                                   @Nonnull Compiler compiler) throws StreamCorruptedException {
+        Compiler.SymbolBuilder builder = compiler.read(readText(in));
+        int size = readInt(in);
+
+        for (int i = 0; i < size; i++) {
+            int kind = readInt(in);
+
+            switch (kind) {
+                case DEFAULT -> builder.withDefault(readTerm(in, terms));
+                case BLANK_DEFAULT -> builder.withBlankDefault(readTerm(in, terms));
+                case TRANSFORMATION ->
+                    builder.withTransformation(TRANSFORMATIONS.get(readIndex(in, TRANSFORMATIONS.size())));
+                case SUBSTRING -> builder.withTransformation(
+                    new Compiler.Substring(readTerm(in, terms), readTerm(in, terms)));
+                default -> throw corrupt("Invalid symbol modifier " + kind);
+            }
+        }
+
+        return builder.build();
+    }
+
+    @Nonnull
+    private static Term readLookback(@Nonnull ByteBuffer in,
+                                     @Nonnull List<Term> terms,
+                                     @Nonnull Compiler compiler) throws StreamCorruptedException {
+        int lookBacks = readInt(in);
+        List<Term> list = (lookBacks == 0 ? null : readTerms(in, terms, lookBacks - 1));
+        Compiler.LookbackBuilder builder = compiler.lookback(list);
+        int size = readInt(in);
+
+        for (int i = 0; i < size; i++) {
+            int kind = readInt(in);
+
+            switch (kind) {
+                case DEFAULT -> builder.withDefault(readTerm(in, terms));
+                case INDEX -> builder.withIndex(readInt(in), readTerm(in, terms));
+                default -> throw corrupt("Invalid lookback modifier " + kind);
+            }
+        }
+
+        return builder.build();
+    }
+
+    @Nonnull
+    private static Constant readConstant(@Nonnull ByteBuffer in) throws StreamCorruptedException {
+        Type type = TYPES[readIndex(in, TYPES.length)];
+        String text = readText(in);
+
+        return switch (type) {
+            case TEXT -> Constant.of(text);
+            case NUMBER -> Constant.of(new BigDecimal(text));
+            case LOGIC -> Constant.of(Boolean.parseBoolean(text));
+            case DATE -> Constant.of(ZonedDateTime.parse(text));
+        };
+    }
+
+    @Nonnull
+    private static String constantText(@Nonnull Constant constant) {
+        return switch (constant.getType()) {
+            case NUMBER -> constant.asNumber().toString();
+            case DATE -> constant.asDate().toString();
+            default -> constant.asText();
+        };
+    }
+
+    @Nonnull
+    private static Op readOp(@Nonnull ByteBuffer in) throws StreamCorruptedException {
+        return OPS[readIndex(in, OPS.length)];
+    }
+
+    @Nonnull
+    private static Term readTerm(@Nonnull ByteBuffer in, @Nonnull List<Term> terms) throws StreamCorruptedException {
+        return terms.get(readIndex(in, terms.size()));
+    }
+
+    @Nonnull
+    private static List<Term> readTerms(@Nonnull ByteBuffer in,
+                                        @Nonnull List<Term> terms,
+                                        int size) throws StreamCorruptedException {
+        List<Term> result = new ArrayList<>(Math.min(size, in.remaining()));
+
+        for (int i = 0; i < size; i++) {
+            result.add(readTerm(in, terms));
+        }
+
+        return result;
+    }
+
+    private static int readIndex(@Nonnull ByteBuffer in, int limit) throws StreamCorruptedException {
+        int index = readInt(in);
+
+        if ((index < 0) || (index >= limit)) {
+            throw corrupt("Invalid index " + index);
+        }
+
+        return index;
+    }
+
+
+    private static void writeInt(@Nonnull ByteArrayOutputStream out, int value) {
+        int remaining = value;
+
+        while ((remaining & ~VALUE_MASK) != 0) {
+            out.write((remaining & VALUE_MASK) | MORE_BIT);
+            remaining >>>= VALUE_BITS;
+        }
+
+        out.write(remaining);
+    }
+
+    private static int readInt(@Nonnull ByteBuffer in) throws StreamCorruptedException {
+        int result = 0;
+        int shift = 0;
+        int next;
+
+        do {
+            if (shift > MAX_SHIFT) {
+                throw corrupt("Invalid integer");
+            }
+
+            next = in.get();
+            result |= (next & VALUE_MASK) << shift;
+            shift += VALUE_BITS;
+        } while ((next & MORE_BIT) != 0);
+
+        return result;
+    }
+
+    private static void writeText(@Nonnull ByteArrayOutputStream out, @Nonnull String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+
+        writeInt(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    @Nonnull
+    private static String readText(@Nonnull ByteBuffer in) throws StreamCorruptedException {
+        byte[] bytes = new byte[readIndex(in, in.remaining() + 1)];
+
+        in.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Nonnull
+    private static StreamCorruptedException corrupt(@Nonnull String message) {
+        return new StreamCorruptedException(message);
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.tymefly.eel;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+import com.github.tymefly.eel.validate.Preconditions;
+
+/**
+ * The names of all the symbols that an expression can read, each of which is bound to a slot
+ * @see SymbolsTable#slots(String...)
+ */
+final class SymbolSchema {
+    /** Returned by {@link #slot(String)} for names that are not in the schema */
+    static final int UNKNOWN = -1;
+
+    private final Map<String, Integer> slots;
+
+
+    SymbolSchema(@Nonnull String... names) {
+        Map<String, Integer> slots = new HashMap<>();
+
+        for (String name : names) {
+            Preconditions.checkNotNull(name, "Can not set a null symbol name");
+            Preconditions.checkArgument((slots.putIfAbsent(name, slots.size()) == null),
+                "Duplicate symbol name: '%s'", name);
+        }
+
+        this.slots = Map.copyOf(slots);
+    }
+
+
+    /**
+     * Returns the slot bound to the symbol called {@code name}
+     * @param name      the name of a symbol
+     * @return          the slot bound to the symbol or {@link #UNKNOWN} if it is not in the schema
+     */
+    int slot(@Nonnull String name) {
+        return slots.getOrDefault(name, UNKNOWN);
+    }
+
+    /**
+     * Returns the names of all the symbols in the schema
+     * @return  the names of all the symbols, in the order of the slots they are bound to
+     */
+    @Nonnull
+    List<String> names() {
+        String[] names = new String[slots.size()];
+
+        slots.forEach((name, slot) -> names[slot] = name);
+
+        return List.of(names);
+    }
+}
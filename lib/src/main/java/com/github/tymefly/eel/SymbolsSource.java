@@ -1,5 +1,6 @@
 package com.github.tymefly.eel;
 
+import java.util.Map;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -17,19 +18,43 @@ class SymbolsSource {
     private final String prefix;
     private final Predicate<String> scopeCheck;
     private final Function<String, ?> strategy;
+    private final Map<?, ?> values;
+    private final String fallback;
+    private final boolean typed;
 
     private SymbolsSource(@Nonnull String prefix,
                           @Nonnull Predicate<String> scopeCheck,
-                          @Nonnull Function<String, ?> strategy) {
+                          @Nonnull Function<String, ?> strategy,
+                          @Nullable Map<?, ?> values,
+                          @Nullable String fallback,
+                          boolean typed) {
         this.prefix = prefix;
         this.scopeCheck = scopeCheck;
         this.strategy = strategy;
+        this.values = values;
+        this.fallback = fallback;
+        this.typed = typed;
     }
 
 
     @Nonnull
     static SymbolsSource unscoped(@Nonnull Function<String, ?> strategy) {
-        return new SymbolsSource("", NOT_SCOPED, strategy);
+        return new SymbolsSource("", NOT_SCOPED, strategy, null, null, false);
+    }
+
+    @Nonnull
+    static SymbolsSource typed(@Nonnull Function<String, ?> strategy) {
+        return new SymbolsSource("", NOT_SCOPED, strategy, null, null, true);
+    }
+
+    @Nonnull
+    static SymbolsSource unscoped(@Nonnull Map<?, ?> values) {
+        return new SymbolsSource("", NOT_SCOPED, values::get, values, null, false);
+    }
+
+    @Nonnull
+    static SymbolsSource fallback(@Nonnull String defaultValue) {
+        return new SymbolsSource("", NOT_SCOPED, k -> defaultValue, null, defaultValue, false);
     }
 
 
@@ -37,13 +62,34 @@ class SymbolsSource {
     static SymbolsSource scoped(@Nonnull String scopeName,
                          @Nullable String delimiter,
                          @Nonnull Function<String, ?> strategy) {
+        return scoped(scopeName, delimiter, strategy, null, false);
+    }
+
+    @Nonnull
+    static SymbolsSource typed(@Nonnull String scopeName,
+                               @Nullable String delimiter,
+                               @Nonnull Function<String, ?> strategy) {
+        return scoped(scopeName, delimiter, strategy, null, true);
+    }
+
+    @Nonnull
+    static SymbolsSource scoped(@Nonnull String scopeName, @Nullable String delimiter, @Nonnull Map<?, ?> values) {
+        return scoped(scopeName, delimiter, values::get, values, false);
+    }
+
+    @Nonnull
+    private static SymbolsSource scoped(@Nonnull String scopeName,
+                                        @Nullable String delimiter,
+                                        @Nonnull Function<String, ?> strategy,
+                                        @Nullable Map<?, ?> values,
+                                        boolean typed) {
         String prefix = scopeName + delimiter;
 
         if ((delimiter == null) || scopeName.contains(delimiter)) {
             throw new EelSymbolsTableException("Scope name '%s' contains delimiter '%s'", scopeName, delimiter);
         }
 
-        return new SymbolsSource(prefix, s -> s.startsWith(prefix), strategy);
+        return new SymbolsSource(prefix, s -> s.startsWith(prefix), strategy, values, null, typed);
     }
 
 
@@ -61,4 +107,49 @@ class SymbolsSource {
 
         return result;
     }
+
+    /**
+     * Returns the prefix that expressions add to the keys in this source
+     * @return the prefix that expressions add to the keys in this source. This is blank if the source is not scoped
+     */
+    @Nonnull
+    String prefix() {
+        return prefix;
+    }
+
+    /**
+     * Returns the values that this source reads from, if they can be enumerated
+     * @return the values that this source reads from, or {@code null} if they can not be enumerated
+     */
+    @Nullable
+    Map<?, ?> values() {
+        return values;
+    }
+
+    /**
+     * Returns the value that this source returns for every key, if it is a default value
+     * @return the value that this source returns for every key, or {@code null} if this is not a default value
+     */
+    @Nullable
+    String fallback() {
+        return fallback;
+    }
+
+    /**
+     * Returns {@code true} if this source returns native values rather than text
+     * @return {@code true} if this source returns native values rather than text
+     */
+    boolean isTyped() {
+        return typed;
+    }
+
+    /**
+     * Convert a value that was read from this source to a Constant
+     * @param value     a value returned by {@link #read(String)}
+     * @return          the value as a text Constant
+     */
+    @Nonnull
+    Constant constant(@Nonnull Object value) {
+        return (typed ? Constant.symbol(value) : Constant.of(value.toString()));
+    }
 }
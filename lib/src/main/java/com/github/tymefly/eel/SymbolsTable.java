@@ -37,25 +37,25 @@ public class SymbolsTable {
         @Nonnull
         @Override
         public SymbolsTableBuilder withProperties() {
-            return unscoped(System.getProperties()::get);
+            return unscoped(System.getProperties());
         }
 
         @Nonnull
         @Override
         public ScopedSymbolsTableBuilder withProperties(@Nonnull String scopeName) {
-            return addScoped(scopeName, System.getProperties()::get);
+            return addScoped(scopeName, System.getProperties());
         }
 
         @Nonnull
         @Override
         public SymbolsTableBuilder withEnvironment() {
-            return unscoped(System.getenv()::get);
+            return unscoped(System.getenv());
         }
 
         @Nonnull
         @Override
         public ScopedSymbolsTableBuilder withEnvironment(@Nonnull String scopeName) {
-            return addScoped(scopeName, System.getenv()::get);
+            return addScoped(scopeName, System.getenv());
         }
 
         @Nonnull
@@ -63,9 +63,7 @@ public class SymbolsTable {
         public SymbolsTableBuilder withValues(@Nonnull Map<String, String> values) {
             Preconditions.checkNotNull(values, "Can not evaluate a null SymbolsTable map");
 
-            Map<String, String> copy = new HashMap<>(values);
-
-            return unscoped(copy::get);
+            return unscoped(new HashMap<>(values));
         }
 
         @Nonnull
@@ -73,9 +71,7 @@ public class SymbolsTable {
         public ScopedSymbolsTableBuilder withValues(@Nonnull String scopeName, @Nonnull Map<String, String> values) {
             Preconditions.checkNotNull(values, "Can not evaluate a null SymbolsTable map");
 
-            Map<String, String> copy = new HashMap<>(values);
-
-            return addScoped(scopeName, copy::get);
+            return addScoped(scopeName, new HashMap<>(values));
         }
 
         @Nonnull
@@ -83,7 +79,7 @@ public class SymbolsTable {
         public SymbolsTableBuilder withLookup(@Nonnull Function<String, String> lookup) {
             Preconditions.checkNotNull(lookup, "Can not evaluate a null symbols lookup");
 
-            return unscoped(lookup);
+            return unscoped(SymbolsSource.unscoped(lookup));
         }
 
         @Nonnull
@@ -92,7 +88,24 @@ public class SymbolsTable {
                                                     @Nonnull Function<String, String> lookup) {
             Preconditions.checkNotNull(lookup, "Can not evaluate a null symbols lookup");
 
-            return addScoped(scopeName, lookup);
+            return addScoped(scopeName, SymbolsSource.scoped(scopeName, delimiter, lookup));
+        }
+
+        @Nonnull
+        @Override
+        public SymbolsTableBuilder withTypedLookup(@Nonnull Function<String, ?> lookup) {
+            Preconditions.checkNotNull(lookup, "Can not evaluate a null symbols lookup");
+
+            return unscoped(SymbolsSource.typed(lookup));
+        }
+
+        @Nonnull
+        @Override
+        public ScopedSymbolsTableBuilder withTypedLookup(@Nonnull String scopeName,
+                                                         @Nonnull Function<String, ?> lookup) {
+            Preconditions.checkNotNull(lookup, "Can not evaluate a null symbols lookup");
+
+            return addScoped(scopeName, SymbolsSource.typed(scopeName, delimiter, lookup));
         }
 
         @Nonnull
@@ -100,30 +113,34 @@ public class SymbolsTable {
         public SymbolsTableBuilder withDefault(@Nonnull String defaultValue) {
             Preconditions.checkNotNull(defaultValue, "Can not evaluate a null symbols default value");
 
-            sources.add(SymbolsSource.unscoped(k -> defaultValue));
-
-            return this;
+            return unscoped(SymbolsSource.fallback(defaultValue));
         }
 
         @Nonnull
-        private SymbolsTableBuilder unscoped(@Nonnull Function<String, ?> strategy) {
-            SymbolsSource symbolsSource = SymbolsSource.unscoped(strategy);
+        private SymbolsTableBuilder unscoped(@Nonnull Map<?, ?> values) {
+            return unscoped(SymbolsSource.unscoped(values));
+        }
 
+        @Nonnull
+        private SymbolsTableBuilder unscoped(@Nonnull SymbolsSource symbolsSource) {
             sources.add(symbolsSource);
 
             return this;
         }
 
         @Nonnull
-        private ScopedSymbolsTableBuilder addScoped(@Nonnull String scopeName, @Nonnull Function<String, ?> strategy) {
+        private ScopedSymbolsTableBuilder addScoped(@Nonnull String scopeName, @Nonnull Map<?, ?> values) {
+            return addScoped(scopeName, SymbolsSource.scoped(scopeName, delimiter, values));
+        }
+
+        @Nonnull
+        private ScopedSymbolsTableBuilder addScoped(@Nonnull String scopeName, @Nonnull SymbolsSource symbolsSource) {
             boolean valid = scopeNames.add(scopeName);
 
             if (!valid) {
                 throw new EelSymbolsTableException("Duplicate scope '%s'", scopeName);
             }
 
-            SymbolsSource symbolsSource = SymbolsSource.scoped(scopeName, delimiter, strategy);
-
             sources.add(symbolsSource);
 
             return this;
@@ -143,9 +160,29 @@ public class SymbolsTable {
     static final SymbolsTable EMPTY = new SymbolsTable(Collections.emptyList());
 
     private final List<SymbolsSource> sources;
+    private final String[] slots;
+    private final FrozenSymbols frozen;
+    private final boolean typed;
 
     private SymbolsTable(@Nonnull List<SymbolsSource> sources) {
         this.sources = new ArrayList<>(sources);
+        this.slots = null;
+        this.frozen = null;
+        this.typed = sources.stream().anyMatch(SymbolsSource::isTyped);
+    }
+
+    private SymbolsTable(@Nonnull String[] slots) {
+        this.sources = Collections.emptyList();
+        this.slots = slots;
+        this.frozen = null;
+        this.typed = false;
+    }
+
+    private SymbolsTable(@Nonnull FrozenSymbols frozen) {
+        this.sources = Collections.emptyList();
+        this.slots = null;
+        this.frozen = frozen;
+        this.typed = true;
     }
 
     /**
@@ -187,9 +224,7 @@ public class SymbolsTable {
     public static SymbolsTable from(@Nonnull Map<String, String> values) {
         Preconditions.checkNotNull(values, "Can not evaluate a null SymbolsTable map");
 
-        Map<String, String> copy = new HashMap<>(values);
-
-        return new SymbolsTable(List.of(SymbolsSource.unscoped(copy::get)));
+        return new SymbolsTable(List.of(SymbolsSource.unscoped(new HashMap<>(values))));
     }
 
     /**
@@ -209,9 +244,7 @@ public class SymbolsTable {
     public static SymbolsTable from(@Nonnull String scopeName, @Nonnull Map<String, String> values) {
         Preconditions.checkNotNull(values, "Can not evaluate a null SymbolsTable map");
 
-        Map<String, String> copy = new HashMap<>(values);
-
-        return new SymbolsTable(List.of(SymbolsSource.scoped(scopeName, DEFAULT_DELIMITER, copy::get)));
+        return new SymbolsTable(List.of(SymbolsSource.scoped(scopeName, DEFAULT_DELIMITER, new HashMap<>(values))));
     }
 
     /**
@@ -266,7 +299,7 @@ public class SymbolsTable {
      */
     @Nonnull
     public static SymbolsTable fromEnvironment() {
-        return from(System.getenv()::get);
+        return new SymbolsTable(List.of(SymbolsSource.unscoped(System.getenv())));
     }
 
     /**
@@ -283,7 +316,7 @@ public class SymbolsTable {
      */
     @Nonnull
     public static SymbolsTable fromEnvironment(@Nonnull String scopeName) {
-        return from(scopeName, System.getenv()::get);
+        return new SymbolsTable(List.of(SymbolsSource.scoped(scopeName, DEFAULT_DELIMITER, System.getenv())));
     }
 
     /**
@@ -299,7 +332,7 @@ public class SymbolsTable {
      */
     @Nonnull
     public static SymbolsTable fromProperties() {
-        return from(k -> (String) System.getProperties().get(k));
+        return new SymbolsTable(List.of(SymbolsSource.unscoped(System.getProperties())));
     }
 
     /**
@@ -316,7 +349,7 @@ public class SymbolsTable {
      */
     @Nonnull
     public static SymbolsTable fromProperties(@Nonnull String scopeName) {
-        return from(scopeName, k -> (String) System.getProperties().get(k));
+        return new SymbolsTable(List.of(SymbolsSource.scoped(scopeName, DEFAULT_DELIMITER, System.getProperties())));
     }
 
     /**
@@ -332,20 +365,137 @@ public class SymbolsTable {
      */
     @Nonnull
     public static SymbolsTable from(@Nonnull String defaultValue) {
-        return from(k -> defaultValue);
+        Preconditions.checkNotNull(defaultValue, "Can not evaluate a null symbols default value");
+
+        return new SymbolsTable(List.of(SymbolsSource.fallback(defaultValue)));
+    }
+
+    /**
+     * A factory method that returns a new {@link SymbolsTable} whose values are read by position rather than by name.
+     * The value for each symbol is at the same index as the symbol's name in the
+     * {@link com.github.tymefly.eel.builder.EelContextSettingBuilder#withSymbolSchema(String...) symbol schema}
+     * that the expression was compiled with; a {@code null} value is undefined.
+     * Reading a value is an array access, so this is the cheapest SymbolsTable to evaluate in tight loops.
+     * Expressions that were compiled without a symbol schema will find that all symbols are undefined.
+     * <br>
+     * <b>Note:</b> {@code values} is not copied, so it must not be modified while expressions are being evaluated.
+     * @param values    The value for each slot in the symbol schema
+     * @return          A new {@link SymbolsTable} object
+     * @since 3.3
+     * @see com.github.tymefly.eel.builder.EelContextSettingBuilder#withSymbolSchema(String...)
+     */
+    @Nonnull
+    public static SymbolsTable slots(@Nonnull String... values) {
+        Preconditions.checkNotNull(values, "Can not evaluate null slot values");
+
+        return new SymbolsTable(values);
     }
 
+    /**
+     * Returns an immutable snapshot of this SymbolsTable. All the values are read once, when the snapshot is taken,
+     * and are held in a compact hash table that is ready to be read by compiled expressions. Later changes to the
+     * environment, the system properties or to any map that the values were read from are not seen by the snapshot.
+     * A snapshot can be shared between threads and used for any number of evaluations.
+     * <br>
+     * Lookup functions can not be enumerated, so SymbolsTables that use them can not be frozen. Default values can
+     * be frozen; they are still returned for any name that is not in the snapshot.
+     * @return  an immutable snapshot of this SymbolsTable
+     * @throws EelSymbolsTableException if this SymbolsTable reads values from a lookup function
+     * @since 3.3
+     */
+    @Nonnull
+    public SymbolsTable freeze() {
+        SymbolsTable result;
+
+        if (frozen != null) {
+            result = this;
+        } else if (slots != null) {
+            result = new SymbolsTable(slots.clone());
+        } else {
+            result = new SymbolsTable(FrozenSymbols.of(sources));
+        }
+
+        return result;
+    }
+
+
     @Nullable
     String read(@Nonnull String key) {
-        Object value = null;
-        int size = sources.size();
-        int index = -1;
+        String result;
+
+        if (typed) {
+            Constant value = value(key);
 
-        while ((value == null) && (++index != size)) {
-            value = sources.get(index)
-                .read(key);
+            result = (value != null ? value.asText() : null);
+        } else {
+            Object value = null;
+            int size = sources.size();
+            int index = -1;
+
+            while ((value == null) && (++index != size)) {
+                value = sources.get(index)
+                    .read(key);
+            }
+
+            result = (value != null ? value.toString() : null);
+        }
+
+        return result;
+    }
+
+    /**
+     * Read the value for a symbol that has been bound to a slot by a symbol schema
+     * @param slot      the slot bound to the symbol, or a negative number if the symbol has no slot
+     * @param key       the name of the symbol, which is used if this table does not hold slot values
+     * @return          the value of the symbol or {@code null} if it is undefined
+     */
+    @Nullable
+    String read(int slot, @Nonnull String key) {
+        String result;
+
+        if (slots == null) {
+            result = read(key);
+        } else {
+            result = ((slot >= 0) && (slot < slots.length) ? slots[slot] : null);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns {@code true} if the values in this table should be read with {@link #value(String)}. This is the case
+     * for frozen tables and tables that have typed lookups, which hold values that are not plain text.
+     * @return {@code true} if the values in this table should be read with {@link #value(String)}
+     */
+    boolean isTyped() {
+        return typed;
+    }
+
+    /**
+     * Read the value for a symbol as a {@link Constant}. Frozen tables return the value that they already hold, and
+     * values from typed lookups keep their native value.
+     * @param key       the name of the symbol
+     * @return          the value of the symbol or {@code null} if it is undefined
+     * @see #isTyped()
+     */
+    @Nullable
+    Constant value(@Nonnull String key) {
+        Constant result = null;
+
+        if (frozen != null) {
+            result = frozen.get(key);
+        } else {
+            int size = sources.size();
+            int index = -1;
+
+            while ((result == null) && (++index != size)) {
+                SymbolsSource source = sources.get(index);
+                Object value = source.read(key);
+
+                result = (value != null ? source.constant(value) : null);
+            }
         }
 
-        return (value != null ? value.toString() : null);
+        return result;
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,7 @@
 package com.github.tymefly.eel;
 
+import java.io.IOException;
+
 import javax.annotation.Nonnull;
 
 /**
@@ -15,6 +17,17 @@ interface Term {
     @Nonnull
     Value evaluate(@Nonnull SymbolsTable symbols);
 
+    /**
+     * Evaluate this term and append its text to the {@code sink}. Terms that build their text from several parts
+     * can override this so the parts are written without building the complete text.
+     * @param symbols   Accessor for values stored in the SymbolsTable
+     * @param sink      receives the text of the evaluated Value
+     * @throws IOException if the text could not be written to the {@code sink}
+     */
+    default void appendTo(@Nonnull SymbolsTable symbols, @Nonnull Appendable sink) throws IOException {
+        sink.append(evaluate(symbols).asText());
+    }
+
 
     /**
      * Returns {@literal true} only if this Term represents a constant
@@ -0,0 +1,24 @@
+package com.github.tymefly.eel;
+
+/**
+ * The strategies that EEL can use to enforce the timeout set for a context.
+ * @since 3.3
+ * @see com.github.tymefly.eel.builder.EelContextSettingBuilder#withTimeoutMode(TimeoutMode)
+ * @see com.github.tymefly.eel.builder.EelContextSettingBuilder#withTimeout(java.time.Duration)
+ */
+public enum TimeoutMode {
+    /**
+     * Each expression is evaluated on a separate thread while the calling thread waits for the result.
+     * This can abandon any evaluation, including one blocked in a UDF, but the abandoned work continues to run in
+     * the background. This is the default strategy.
+     */
+    ASYNC,
+
+    /**
+     * Each expression is evaluated on the calling thread. The timeout is checked before each function is called,
+     * while the standard functions read files, and after the expression has been evaluated. No work is left
+     * running after a timeout, but a UDF that blocks without calling {@link Deadline#checkpoint()} can not be
+     * abandoned.
+     */
+    COOPERATIVE
+}
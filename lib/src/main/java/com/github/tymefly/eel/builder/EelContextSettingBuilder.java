@@ -3,10 +3,12 @@ package com.github.tymefly.eel.builder;
 import java.io.File;
 import java.time.DayOfWeek;
 import java.time.Duration;
+import java.util.concurrent.Executor;
 
 import javax.annotation.Nonnull;
 
 import com.github.tymefly.eel.FileFactory;
+import com.github.tymefly.eel.TimeoutMode;
 
 
 /**
@@ -47,6 +49,61 @@ public interface EelContextSettingBuilder<T> {
     @Nonnull
     T withTimeout(@Nonnull Duration timeout);
 
+    /**
+     * Sets the strategy used to enforce the {@link #withTimeout(Duration) timeout}.
+     * By default, this is {@link TimeoutMode#ASYNC}.
+     * @param mode      the strategy used to enforce the timeout
+     * @return          a fluent interface
+     * @since 3.3
+     * @see TimeoutMode
+     */
+    @Nonnull
+    T withTimeoutMode(@Nonnull TimeoutMode mode);
+
+    /**
+     * Sets the executor used to evaluate expressions that have an {@link TimeoutMode#ASYNC} timeout.
+     * This isolates EEL evaluations from other work in the application.
+     * {@link com.github.tymefly.eel.EelExecutors} provides executors that start a (virtual) thread per evaluation
+     * and that limit the number of concurrent evaluations.
+     * If the executor rejects an evaluation then an {@link com.github.tymefly.eel.exception.EelRejectedException}
+     * is thrown.
+     * By default, this is the {@link java.util.concurrent.ForkJoinPool#commonPool() common pool}.
+     * @param executor  the executor used to evaluate expressions
+     * @return          a fluent interface
+     * @since 3.3
+     * @see com.github.tymefly.eel.EelExecutors
+     */
+    @Nonnull
+    T withExecutor(@Nonnull Executor executor);
+
+    /**
+     * Declares the names of all the symbols that expressions can read. Each name is bound to the position it has in
+     * {@code names}, which is resolved when the expression is compiled, so expressions can be evaluated with a
+     * {@link com.github.tymefly.eel.SymbolsTable#slots(String...) slot based} SymbolsTable.
+     * Expressions that reference a name that is not in the schema fail to compile.
+     * By default, there is no schema and expressions can read any symbol.
+     * @param names     the names of the symbols that can be read, in slot order
+     * @return          a fluent interface
+     * @since 3.3
+     * @see com.github.tymefly.eel.SymbolsTable#slots(String...)
+     */
+    @Nonnull
+    T withSymbolSchema(@Nonnull String... names);
+
+    /**
+     * Enables per-evaluation memoisation of symbols. If enabled, each distinct symbol in an expression is read from
+     * the {@link com.github.tymefly.eel.SymbolsTable} at most once each time the expression is evaluated, no matter
+     * how many times the expression references it. This is useful if reading symbols is expensive, for example if
+     * they are read by a lookup function that calls a remote service. Memoised values are never shared between
+     * evaluations.
+     * By default, symbols are not memoised.
+     * @param enabled   {@code true} if symbols should be memoised
+     * @return          a fluent interface
+     * @since 3.3
+     */
+    @Nonnull
+    T withSymbolMemoisation(boolean enabled);
+
     /**
      * Sets the precision used in calculations involving fractional numbers.
      * By default, this is {@value com.github.tymefly.eel.EelContext#DEFAULT_PRECISION}.
@@ -120,4 +177,18 @@ public interface EelContextSettingBuilder<T> {
      */
     @Nonnull
     T withFileFactory(@Nonnull FileFactory factory);
-}
\ No newline at end of file
+
+    /**
+     * Enables a cache of compiled expressions, keyed by their source text. When the same text is compiled again
+     * with this context the cached expression is returned without being recompiled. When the cache is full the
+     * least recently used expression is evicted.
+     * Expressions read from an {@link java.io.InputStream} are never cached.
+     * By default, the cache is disabled.
+     * @param size  the maximum number of expressions that are cached, or {@literal 0} to disable the cache
+     * @return      a fluent interface
+     * @since 3.3
+     * @see com.github.tymefly.eel.EelContext#getExpressionCacheStatistics()
+     */
+    @Nonnull
+    T withExpressionCache(int size);
+}
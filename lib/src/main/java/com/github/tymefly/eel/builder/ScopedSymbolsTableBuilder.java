@@ -62,6 +62,25 @@ public interface ScopedSymbolsTableBuilder extends BasicSymbolTableBuilder {
     @Nonnull
     ScopedSymbolsTableBuilder withLookup(@Nonnull String scopeName, @Nonnull Function<String, String> lookup);
 
+    /**
+     * Adds a callback function to the {@link com.github.tymefly.eel.SymbolsTable} that returns native values rather
+     * than text. The lookup function can return a {@link Number}, {@link Boolean},
+     * {@link java.time.ZonedDateTime}, {@link java.time.Instant} or {@link com.github.tymefly.eel.Value}; these are
+     * used as they are, so converting them to their own EEL type does not require them to be formatted and parsed.
+     * Any other object is converted to text by calling its {@link Object#toString()} method.
+     * This method may be called multiple times to include more than one lookup function.
+     * <br>
+     * <b>Note:</b> For any given key, the lookup function must always return the same value.
+     * @param scopeName  unique name of the scope for the lookup function
+     * @param lookup     a function that receives the lookup key and returns the associated value,
+     *                   or {@literal null} if no value is available
+     * @return           a fluent interface
+     * @since 3.3
+     * @see #withLookup(String, Function)
+     */
+    @Nonnull
+    ScopedSymbolsTableBuilder withTypedLookup(@Nonnull String scopeName, @Nonnull Function<String, ?> lookup);
+
     /**
      * Sets the value returned when a symbol cannot be found in the {@link com.github.tymefly.eel.SymbolsTable}.
      * As this always returns the {@code defaultValue}, no further strategies can be added.
@@ -58,6 +58,25 @@ public interface SymbolsTableBuilder extends BasicSymbolTableBuilder {
     @Nonnull
     SymbolsTableBuilder withLookup(@Nonnull Function<String, String> lookup);
 
+    /**
+     * Adds a callback function to the {@link com.github.tymefly.eel.SymbolsTable} that returns native values rather
+     * than text. The lookup function can return a {@link Number}, {@link Boolean},
+     * {@link java.time.ZonedDateTime}, {@link java.time.Instant} or {@link com.github.tymefly.eel.Value}; these are
+     * used as they are, so converting them to their own EEL type does not require them to be formatted and parsed.
+     * Any other object is converted to text by calling its {@link Object#toString()} method.
+     * Symbol values are still text as far as the EEL language is concerned.
+     * This method may be called multiple times to include more than one lookup function.
+     * <br>
+     * <b>Note:</b> For any given key, the lookup function must always return the same value.
+     * @param lookup  a function that receives a key and returns the associated value, or
+     *                {@literal null} if no value exists
+     * @return        a fluent interface
+     * @since 3.3
+     * @see #withLookup(Function)
+     */
+    @Nonnull
+    SymbolsTableBuilder withTypedLookup(@Nonnull Function<String, ?> lookup);
+
     /**
      * Sets the value returned when a symbol cannot be found in the {@link com.github.tymefly.eel.SymbolsTable}.
      * As this always returns the {@code defaultValue}, no further strategies can be added.
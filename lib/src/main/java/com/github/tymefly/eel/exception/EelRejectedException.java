@@ -0,0 +1,42 @@
+package com.github.tymefly.eel.exception;
+
+import java.io.Serial;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Thrown when the {@link java.util.concurrent.Executor} used to evaluate a timed EEL expression rejects the evaluation.
+ * @since 3.3
+ */
+public class EelRejectedException extends EelRuntimeException {
+    @Serial
+    private static final long serialVersionUID = 0x1L;
+
+
+    /**
+     * Constructor for a simple message.
+     * @param message  human-readable message
+     */
+    public EelRejectedException(@Nonnull String message) {
+        super(message);
+    }
+
+    /**
+     * Constructor for a formatted message.
+     * @param message  formatted message string
+     * @param args     formatting arguments; the final argument may be a {@link Throwable} cause
+     * @see java.util.Formatter
+     */
+    public EelRejectedException(@Nonnull String message, @Nonnull Object... args) {
+        super(message, args);
+    }
+
+    /**
+     * Constructor for a wrapped exception.
+     * @param message  human-readable message
+     * @param cause    wrapped exception
+     */
+    public EelRejectedException(@Nonnull String message, @Nonnull Throwable cause) {
+        super(message, cause);
+    }
+}
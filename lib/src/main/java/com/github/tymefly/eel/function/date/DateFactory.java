@@ -112,7 +112,7 @@ public class DateFactory {
      * @since 1.0
      */
     @Nonnull
-    @EelFunction("date.start")
+    @EelFunction(value = "date.start", deterministic = true)
     public ZonedDateTime start(@Nonnull EelContext context,
                                @DefaultArgument("UTC") @Nonnull String zone,
                                @DefaultArgument(value = "", description = "No offsets")
@@ -28,7 +28,7 @@ public class ModifyDate {
      * @since 1.0
      */
     @Nonnull
-    @EelFunction("date.set")
+    @EelFunction(value = "date.set", deterministic = true)
     public ZonedDateTime set(@Nonnull EelContext context,
                              @Nonnull ZonedDateTime date,
                              @Nonnull String... spec) throws DateTimeException {
@@ -54,7 +54,7 @@ public class ModifyDate {
      * @since 1.0
      */
     @Nonnull
-    @EelFunction("date.setZone")
+    @EelFunction(value = "date.setZone", deterministic = true)
     public ZonedDateTime setZone(@Nonnull ZonedDateTime date, @Nonnull String zone) throws DateTimeException {
         ZoneId zoneId = DateHelper.toZone(zone);
 
@@ -74,7 +74,7 @@ public class ModifyDate {
      * @since 1.0
      */
     @Nonnull
-    @EelFunction("date.moveZone")
+    @EelFunction(value = "date.moveZone", deterministic = true)
     public ZonedDateTime moveZone(@Nonnull ZonedDateTime date, @Nonnull String zone) throws DateTimeException {
         ZoneId zoneId = DateHelper.toZone(zone);
 
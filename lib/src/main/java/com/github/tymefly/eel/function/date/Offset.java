@@ -24,7 +24,7 @@ public class Offset {
      * @since 1.0
      */
     @Nonnull
-    @EelFunction("date.plus")
+    @EelFunction(value = "date.plus", deterministic = true)
     public ZonedDateTime plus(@Nonnull EelContext context, @Nonnull ZonedDateTime date, @Nonnull String... offsets) {
         for (var offset : offsets) {
             date = DateHelper.plus(context, date, offset);
@@ -43,7 +43,7 @@ public class Offset {
      * @since 1.0
      */
     @Nonnull
-    @EelFunction("date.minus")
+    @EelFunction(value = "date.minus", deterministic = true)
     public ZonedDateTime minus(@Nonnull EelContext context, @Nonnull ZonedDateTime date, @Nonnull String... offsets) {
         for (var offset : offsets) {
             date = DateHelper.minus(context, date, offset);
@@ -22,7 +22,7 @@ public class EelMetadata {
      * @since 2.0
      */
     @Nonnull
-    @EelFunction("eel.version")
+    @EelFunction(value = "eel.version", deterministic = true)
     public String version(@Nonnull EelContext context) {
         return context.metadata().version();
     }
@@ -35,7 +35,7 @@ public class EelMetadata {
      * @since 2.0
      */
     @Nonnull
-    @EelFunction("eel.buildDate")
+    @EelFunction(value = "eel.buildDate", deterministic = true)
     public ZonedDateTime buildDate(@Nonnull EelContext context) {
         return context.metadata().buildDate();
     }
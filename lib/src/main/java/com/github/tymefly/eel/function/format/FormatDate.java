@@ -52,7 +52,7 @@ public class FormatDate {
      * @since 1.0
      */
     @Nonnull
-    @EelFunction("format.date")
+    @EelFunction(value = "format.date", deterministic = true)
     public String formatDate(@Nonnull EelContext context,
                              @Nonnull String format,
                              @Nonnull ZonedDateTime date,
@@ -82,7 +82,7 @@ public class FormatDate {
      * @since 2.1
      */
     @Nonnull
-    @EelFunction("format.start")
+    @EelFunction(value = "format.start", deterministic = true)
     public String formatStart(@Nonnull EelContext context,
                               @Nonnull String format,
                               @DefaultArgument("UTC") @Nonnull String zone,
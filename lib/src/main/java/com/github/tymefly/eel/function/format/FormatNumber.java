@@ -28,7 +28,7 @@ public class FormatNumber {
      * @since 2.1
      */
     @Nonnull
-    @EelFunction("format.binary")
+    @EelFunction(value = "format.binary", deterministic = true)
     public String formatBinary(@Nonnull BigInteger value) {
         return formatNumber(value, BINARY_RADIX);
     }
@@ -44,7 +44,7 @@ public class FormatNumber {
      * @since 1.0
      */
     @Nonnull
-    @EelFunction("format.octal")
+    @EelFunction(value = "format.octal", deterministic = true)
     public String formatOctal(@Nonnull BigInteger value) {
         return formatNumber(value, OCTAL_RADIX);
     }
@@ -60,7 +60,7 @@ public class FormatNumber {
      * @since 1.0
      */
     @Nonnull
-    @EelFunction("format.hex")
+    @EelFunction(value = "format.hex", deterministic = true)
     public String formatHex(@Nonnull BigInteger value) {
         return formatNumber(value, HEX_RADIX);
     }
@@ -76,7 +76,7 @@ public class FormatNumber {
      * @since 1.0
      */
     @Nonnull
-    @EelFunction("format.number")
+    @EelFunction(value = "format.number", deterministic = true)
     public String formatNumber(@Nonnull BigInteger value,
                                int radix) throws IllegalArgumentException {
         if ((radix < Character.MIN_RADIX) || (radix > Character.MAX_RADIX)) {
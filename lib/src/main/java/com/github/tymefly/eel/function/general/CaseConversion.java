@@ -21,7 +21,7 @@ public class CaseConversion {
      * @see #title(String)
      * @since 1.0
      */
-    @EelFunction("upper")
+    @EelFunction(value = "upper", deterministic = true)
     @Nonnull
     public String upper(@Nonnull String text) {
         return text.toUpperCase();
@@ -35,7 +35,7 @@ public class CaseConversion {
      * @see #title(String)
      * @since 1.0
      */
-    @EelFunction("lower")
+    @EelFunction(value = "lower", deterministic = true)
     @Nonnull
     public String lower(@Nonnull String text) {
         return text.toLowerCase();
@@ -50,7 +50,7 @@ public class CaseConversion {
      * @see #lower(String)
      * @since 1.1
      */
-    @EelFunction("title")
+    @EelFunction(value = "title", deterministic = true)
     @Nonnull
     public String title(@Nonnull String text) {
         return StringUtils.toTitleCase(text);
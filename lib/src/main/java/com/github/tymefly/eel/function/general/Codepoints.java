@@ -23,7 +23,7 @@ public class Codepoints {
      * @see #codepoint(char)
      * @since 1.1
      */
-    @EelFunction("char")
+    @EelFunction(value = "char", deterministic = true)
     @Nonnull
     public String toChar(int codepoint) throws IllegalArgumentException {
         Preconditions.checkArgument((codepoint >= MIN_CODEPOINT) && (codepoint <= MAX_CODEPOINT),
@@ -40,7 +40,7 @@ public class Codepoints {
      * @see #toChar(int)
      * @since 1.1
      */
-    @EelFunction("codepoint")
+    @EelFunction(value = "codepoint", deterministic = true)
     public int codepoint(char text) {
         return text;
     }
@@ -25,7 +25,7 @@ public class Dates {
      *                the value is positive only if {@code from} precedes {@code to}
      * @since 1.0
      */
-    @EelFunction("duration")
+    @EelFunction(value = "duration", deterministic = true)
     public long duration(@Nonnull ZonedDateTime from,
                          @Nonnull ZonedDateTime to,
                          @DefaultArgument("seconds") String period) {
@@ -19,6 +19,7 @@ import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import com.github.tymefly.eel.Deadline;
 import com.github.tymefly.eel.EelContext;
 import com.github.tymefly.eel.Value;
 import com.github.tymefly.eel.annotation.VisibleForTesting;
@@ -481,7 +482,8 @@ public class LocalFiles {
 
         try {
             Path path = directory.getCanonicalFile().toPath();
-            list = Files.list(path);
+            list = Files.list(path)
+                .peek(p -> Deadline.checkpoint());
         } catch (IOException e) {
             IOException checked = new IOException("Can not read directory " + directory.getAbsolutePath(), e);
 
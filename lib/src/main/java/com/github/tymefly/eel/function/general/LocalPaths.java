@@ -65,7 +65,7 @@ public class LocalPaths {
      * @see #baseName(String, String)
      * @since 1.0
      */
-    @EelFunction("dirName")
+    @EelFunction(value = "dirName", deterministic = true)
     @Nonnull
     public String dirName(@Nonnull String path) {
         path = normalise(path);
@@ -93,7 +93,7 @@ public class LocalPaths {
      * @see #extension(String, int)
      * @since 1.0
      */
-    @EelFunction("baseName")
+    @EelFunction(value = "baseName", deterministic = true)
     @Nonnull
     public String baseName(@Nonnull String path,
                @DefaultArgument(value = "", description = "Empty text") @Nonnull String extension) {
@@ -119,7 +119,7 @@ public class LocalPaths {
      * @see #baseName(String, String)
      * @since 1.0
      */
-    @EelFunction("extension")
+    @EelFunction(value = "extension", deterministic = true)
     @Nonnull
     public String extension(@Nonnull String path,
             @DefaultArgument(value = "-1", description = "All extensions") int max) {
@@ -24,7 +24,7 @@ public class Maths {
      * @see #sgn(BigDecimal)
      * @since 1.0
      */
-    @EelFunction("abs")
+    @EelFunction(value = "abs", deterministic = true)
     @Nonnull
     public BigDecimal abs(@Nonnull EelContext context, @Nonnull BigDecimal value) {
         return value.abs(context.getMathContext());
@@ -39,7 +39,7 @@ public class Maths {
      * @see #abs(EelContext, BigDecimal)
      * @since 1.0
      */
-    @EelFunction("sgn")
+    @EelFunction(value = "sgn", deterministic = true)
     public int sgn(@Nonnull BigDecimal value) {
         return value.signum();
     }    
@@ -54,7 +54,7 @@ public class Maths {
      * @see #ln(EelContext, BigDecimal)
      * @since 1.0
      */
-    @EelFunction("exp")
+    @EelFunction(value = "exp", deterministic = true)
     @Nonnull
     public BigDecimal exp(@Nonnull EelContext context, @Nonnull BigDecimal value) {
         return BigDecimalMath.exp(value, context.getMathContext());
@@ -68,7 +68,7 @@ public class Maths {
      * @return          the factorial of the specified value, calculated with the precision defined by the context
      * @since 1.0
      */
-    @EelFunction("factorial")
+    @EelFunction(value = "factorial", deterministic = true)
     @Nonnull
     public BigDecimal factorial(@Nonnull EelContext context, @Nonnull BigDecimal value) {
         return BigDecimalMath.factorial(value, context.getMathContext());
@@ -86,7 +86,7 @@ public class Maths {
      * @see #exp(EelContext, BigDecimal)
      * @since 1.0
      */
-    @EelFunction("ln")
+    @EelFunction(value = "ln", deterministic = true)
     @Nonnull
     public BigDecimal ln(@Nonnull EelContext context, @Nonnull BigDecimal value) throws ArithmeticException {
         return BigDecimalMath.log(value, context.getMathContext());
@@ -104,7 +104,7 @@ public class Maths {
      * @see #ln(EelContext, BigDecimal)
      * @since 1.0
      */
-    @EelFunction("log")
+    @EelFunction(value = "log", deterministic = true)
     @Nonnull
     public BigDecimal log(@Nonnull EelContext context, @Nonnull BigDecimal value) throws ArithmeticException {
         return BigDecimalMath.log10(value, context.getMathContext());
@@ -121,7 +121,7 @@ public class Maths {
      * @see #exp(EelContext, BigDecimal)
      * @since 1.0
      */
-    @EelFunction("root")
+    @EelFunction(value = "root", deterministic = true)
     @Nonnull
     public BigDecimal root(@Nonnull EelContext context,
                            @Nonnull BigDecimal value,
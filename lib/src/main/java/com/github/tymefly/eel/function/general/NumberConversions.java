@@ -23,7 +23,7 @@ public class NumberConversions {
      * @see #toRadians(EelContext, BigDecimal)
      * @since 2.1
      */
-    @EelFunction("toDegrees")
+    @EelFunction(value = "toDegrees", deterministic = true)
     @Nonnull
     public BigDecimal toDegrees(@Nonnull EelContext context, @Nonnull BigDecimal value) {
         return BigDecimalMath.toDegrees(value, context.getMathContext());
@@ -37,7 +37,7 @@ public class NumberConversions {
      * @see #toDegrees(EelContext, BigDecimal)
      * @since 2.1
      */
-    @EelFunction("toRadians")
+    @EelFunction(value = "toRadians", deterministic = true)
     @Nonnull
     public BigDecimal toRadians(@Nonnull EelContext context, @Nonnull BigDecimal value) {
         return BigDecimalMath.toRadians(value, context.getMathContext());
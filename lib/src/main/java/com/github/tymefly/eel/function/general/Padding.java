@@ -20,7 +20,7 @@ public class Padding {
      * @return          the padded text with a length of at least the specified width
      * @since 1.1
      */
-    @EelFunction("padLeft")
+    @EelFunction(value = "padLeft", deterministic = true)
     @Nonnull
     public String padLeft(@Nonnull String text,
                           int width,
@@ -36,7 +36,7 @@ public class Padding {
      * @return          the padded text with a length of at least the specified width
      * @since 1.1
      */
-    @EelFunction("padRight")
+    @EelFunction(value = "padRight", deterministic = true)
     @Nonnull
     public String padRight(@Nonnull String text,
                            int width,
@@ -154,7 +154,7 @@ public class PrintF {
      *      </a>
      * @since 1.1
      */
-    @EelFunction("printf")
+    @EelFunction(value = "printf", deterministic = true)
     @Nonnull
     public String printf(@Nonnull String format, @Nonnull Value... arguments) {
         return new ArgumentParser(format, arguments)
@@ -22,7 +22,7 @@ public class Stats {
      * @return          the arithmetic mean of all provided values, calculated with the precision defined by the context
      * @since 1.0
      */
-    @EelFunction("avg")
+    @EelFunction(value = "avg", deterministic = true)
     @Nonnull
     public BigDecimal avg(@Nonnull EelContext context, @Nonnull BigDecimal first, BigDecimal... others) {
         BigDecimal sum = first;
@@ -44,7 +44,7 @@ public class Stats {
      * @see #min(BigDecimal, BigDecimal...)
      * @since 1.0
      */
-    @EelFunction("max")
+    @EelFunction(value = "max", deterministic = true)
     @Nonnull
     public BigDecimal max(@Nonnull BigDecimal first, BigDecimal... others) {
         BigDecimal result = first;
@@ -64,7 +64,7 @@ public class Stats {
      * @see #max(BigDecimal, BigDecimal...)
      * @since 1.0
      */
-    @EelFunction("min")
+    @EelFunction(value = "min", deterministic = true)
     @Nonnull
     public BigDecimal min(@Nonnull BigDecimal first, BigDecimal... others) {
         BigDecimal result = first;
@@ -42,7 +42,7 @@ public class Text {
      * @see #before(String, String, int)
      * @since 1.0
      */
-    @EelFunction("left")
+    @EelFunction(value = "left", deterministic = true)
     @Nonnull
     public String left(@Nonnull String text, int length) {
         return StringUtils.left(text, length);
@@ -60,7 +60,7 @@ public class Text {
      * @see #after(String, String, int)
      * @since 1.0
      */
-    @EelFunction("right")
+    @EelFunction(value = "right", deterministic = true)
     @Nonnull
     public String right(@Nonnull String text, int length) {
         return StringUtils.right(text, length);
@@ -80,7 +80,7 @@ public class Text {
      * @see #between(String, String, int, int)
      * @since 1.0
      */
-    @EelFunction("mid")
+    @EelFunction(value = "mid", deterministic = true)
     @Nonnull
     public String mid(@Nonnull String text,
                       int position,
@@ -103,7 +103,7 @@ public class Text {
      * @see #contains(String, String)
      * @since 1.0
      */
-    @EelFunction("beforeFirst")
+    @EelFunction(value = "beforeFirst", deterministic = true)
     @Nonnull
     public String beforeFirst(@Nonnull String text, @Nonnull String delimiter) {
         int index = text.indexOf(delimiter);
@@ -125,7 +125,7 @@ public class Text {
      * @see #contains(String, String)
      * @since 2.0
      */
-    @EelFunction("afterFirst")
+    @EelFunction(value = "afterFirst", deterministic = true)
     @Nonnull
     public String afterFirst(@Nonnull String text, @Nonnull String delimiter) {
         int index = text.indexOf(delimiter);
@@ -147,7 +147,7 @@ public class Text {
      * @see #contains(String, String)
      * @since 1.0
      */
-    @EelFunction("beforeLast")
+    @EelFunction(value = "beforeLast", deterministic = true)
     @Nonnull
     public String beforeLast(@Nonnull String text, @Nonnull String delimiter) {
         int index = text.lastIndexOf(delimiter);
@@ -169,7 +169,7 @@ public class Text {
      * @see #contains(String, String)
      * @since 2.0
      */
-    @EelFunction("afterLast")
+    @EelFunction(value = "afterLast", deterministic = true)
     @Nonnull
     public String afterLast(@Nonnull String text, @Nonnull String delimiter) {
         int index = text.lastIndexOf(delimiter);
@@ -195,7 +195,7 @@ public class Text {
      * @see #left(String, int)
      * @since 2.0
      */
-    @EelFunction("before")
+    @EelFunction(value = "before", deterministic = true)
     @Nonnull
     public String before(@Nonnull String text, @Nonnull String delimiter, int count) {
         int index = nthIndexOf(text, delimiter, count, Direction.BEFORE);
@@ -220,7 +220,7 @@ public class Text {
      * @see #right(String, int)
      * @since 2.0
      */
-    @EelFunction("after")
+    @EelFunction(value = "after", deterministic = true)
     @Nonnull
     public String after(@Nonnull String text, @Nonnull String delimiter, int count) {
         int index = nthIndexOf(text, delimiter, count, Direction.AFTER);
@@ -247,7 +247,7 @@ public class Text {
      * @see #mid(String, int, int)
      * @since 2.0
      */
-    @EelFunction("between")
+    @EelFunction(value = "between", deterministic = true)
     @Nonnull
     public String between(@Nonnull String text, @Nonnull String delimiter, int start, int end) {
         int startIndex = nthIndexOf(text, delimiter, start, Direction.AFTER);
@@ -270,7 +270,7 @@ public class Text {
      * @see #contains(String, String)
      * @since 2.0
      */
-    @EelFunction("contains")
+    @EelFunction(value = "contains", deterministic = true)
     public int contains(@Nonnull String text, @Nonnull String search) {
         int count;
 
@@ -303,7 +303,7 @@ public class Text {
      * @see #matches(String, String)
      * @since 1.0
      */
-    @EelFunction("extract")
+    @EelFunction(value = "extract", deterministic = true)
     public String extract(@Nonnull String text, @Nonnull String regEx) {
         String result;
         Matcher matcher = Pattern.compile(regEx).matcher(text);
@@ -336,7 +336,7 @@ public class Text {
      * @see #extract(String, String)
      * @since 1.0
      */
-    @EelFunction("matches")
+    @EelFunction(value = "matches", deterministic = true)
     public boolean matches(@Nonnull String text, @Nonnull String regEx) {
         return text.matches(regEx);
     }
@@ -350,7 +350,7 @@ public class Text {
      * @see #replaceEx(String, String, String)
      * @since 1.0
      */
-    @EelFunction("replace")
+    @EelFunction(value = "replace", deterministic = true)
     @Nonnull
     public String replace(@Nonnull String text, @Nonnull String from, @Nonnull String to) {
         return text.replace(from, to);
@@ -366,7 +366,7 @@ public class Text {
      * @see #replace(String, String, String)
      * @since 1.0
      */
-    @EelFunction("replaceEx")
+    @EelFunction(value = "replaceEx", deterministic = true)
     @Nonnull
     public String replaceEx(@Nonnull String text, @Nonnull String regEx, @Nonnull String to) {
         return text.replaceAll(regEx, to);
@@ -379,7 +379,7 @@ public class Text {
      * @return          the {@code text} with no leading or trailing spaces
      * @since 1.0
      */
-    @EelFunction("trim")
+    @EelFunction(value = "trim", deterministic = true)
     @Nonnull
     public String trim(@Nonnull String text) {
         return text.trim();
@@ -394,7 +394,7 @@ public class Text {
      * @see #isBlank(String) for checking if the text is blank (contains only spaces)
      * @since 1.0
      */
-    @EelFunction("len")
+    @EelFunction(value = "len", deterministic = true)
     public int len(@Nonnull String text) {
         return text.length();
     }
@@ -408,7 +408,7 @@ public class Text {
      * @see #isBlank(String) for checking if the text is blank (contains only spaces)
      * @since 1.0
      */
-    @EelFunction("isEmpty")
+    @EelFunction(value = "isEmpty", deterministic = true)
     public boolean isEmpty(@Nonnull String text) {
         return text.isEmpty();
     }
@@ -421,7 +421,7 @@ public class Text {
      * @see #isEmpty(String)
      * @since 1.1
      */
-    @EelFunction("isBlank")
+    @EelFunction(value = "isBlank", deterministic = true)
     public boolean isBlank(@Nonnull String text) {
         return text.isBlank();
     }
@@ -437,7 +437,7 @@ public class Text {
      * @see #lastIndexOf(String, String, Value)
      * @since 1.0
      */
-    @EelFunction("indexOf")
+    @EelFunction(value = "indexOf", deterministic = true)
     public int indexOf(@Nonnull String text,
                        @Nonnull String subText,
                        @Nonnull @DefaultArgument("-1") Value defaultValue) {
@@ -457,7 +457,7 @@ public class Text {
      * @see #indexOf(String, String, Value)
      * @since 1.0
      */
-    @EelFunction("lastIndexOf")
+    @EelFunction(value = "lastIndexOf", deterministic = true)
     public int lastIndexOf(@Nonnull String text,
                        @Nonnull String subString,
                        @Nonnull @DefaultArgument("-1") Value defaultValue) {
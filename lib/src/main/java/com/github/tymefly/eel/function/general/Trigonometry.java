@@ -23,7 +23,7 @@ public class Trigonometry {
      * @see #asin(EelContext, BigDecimal)
      * @since 1.0
      */
-    @EelFunction("sin")
+    @EelFunction(value = "sin", deterministic = true)
     @Nonnull
     public BigDecimal sin(@Nonnull EelContext context, @Nonnull BigDecimal value) {
         return BigDecimalMath.sin(value, context.getMathContext());
@@ -38,7 +38,7 @@ public class Trigonometry {
      * @see #acos(EelContext, BigDecimal)
      * @since 1.0
      */
-    @EelFunction("cos")
+    @EelFunction(value = "cos", deterministic = true)
     @Nonnull
     public BigDecimal cos(@Nonnull EelContext context, @Nonnull BigDecimal value) {
         return BigDecimalMath.cos(value, context.getMathContext());
@@ -53,7 +53,7 @@ public class Trigonometry {
      * @see #atan(EelContext, BigDecimal)
      * @since 1.0
      */
-    @EelFunction("tan")
+    @EelFunction(value = "tan", deterministic = true)
     @Nonnull
     public BigDecimal tan(@Nonnull EelContext context, @Nonnull BigDecimal value) {
         return BigDecimalMath.tan(value, context.getMathContext());
@@ -68,7 +68,7 @@ public class Trigonometry {
      * @see #sin(EelContext, BigDecimal)
      * @since 1.0
      */
-    @EelFunction("asin")
+    @EelFunction(value = "asin", deterministic = true)
     @Nonnull
     public BigDecimal asin(@Nonnull EelContext context, @Nonnull BigDecimal value) {
         return BigDecimalMath.asin(value, context.getMathContext());
@@ -83,7 +83,7 @@ public class Trigonometry {
      * @see #cos(EelContext, BigDecimal)
      * @since 1.0
      */
-    @EelFunction("acos")
+    @EelFunction(value = "acos", deterministic = true)
     @Nonnull
     public BigDecimal acos(@Nonnull EelContext context, @Nonnull BigDecimal value) {
         return BigDecimalMath.acos(value, context.getMathContext());
@@ -98,7 +98,7 @@ public class Trigonometry {
      * @see #tan(EelContext, BigDecimal)
      * @since 1.0
      */
-    @EelFunction("atan")
+    @EelFunction(value = "atan", deterministic = true)
     @Nonnull
     public BigDecimal atan(@Nonnull EelContext context, @Nonnull BigDecimal value) {
         return BigDecimalMath.atan(value, context.getMathContext());
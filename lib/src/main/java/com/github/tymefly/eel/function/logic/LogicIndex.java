@@ -22,7 +22,7 @@ public class LogicIndex {
      *                      or {@code -1} if all values are {@literal false}
      * @since 3.2
      */
-    @EelFunction("logic.index")
+    @EelFunction(value = "logic.index", deterministic = true)
     public int index(@Nonnull Value... values) {
         int found = -1;
         int index = 0;
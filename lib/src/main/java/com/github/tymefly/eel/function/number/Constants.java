@@ -24,7 +24,7 @@ public class Constants {
      * @return           the value of {@code pi} at the precision defined by the context
      * @since 2.0
      */
-    @EelFunction("number.pi")
+    @EelFunction(value = "number.pi", deterministic = true)
     @Nonnull
     public BigDecimal pi(@Nonnull EelContext context) {
         return BigDecimalMath.pi(context.getMathContext());
@@ -36,7 +36,7 @@ public class Constants {
      * @return           the value of {@code e} at the precision defined by the context
      * @since 2.0
      */
-    @EelFunction("number.e")
+    @EelFunction(value = "number.e", deterministic = true)
     @Nonnull
     public BigDecimal e(@Nonnull EelContext context) {
         return BigDecimalMath.e(context.getMathContext());
@@ -47,7 +47,7 @@ public class Constants {
      * @return           the constant value of {@code c} in metres per second
      * @since 2.0
      */
-    @EelFunction("number.c")
+    @EelFunction(value = "number.c", deterministic = true)
     public long c() {
         return SPEED_OF_LIGHT;
     }
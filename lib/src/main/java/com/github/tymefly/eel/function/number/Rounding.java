@@ -26,7 +26,7 @@ public class Rounding {
      * @see #floor(BigDecimal)
      * @since 1.1
      */
-    @EelFunction("number.round")
+    @EelFunction(value = "number.round", deterministic = true)
     @Nonnull
     public BigDecimal round(@Nonnull BigDecimal number,
                             @DefaultArgument(value = "0", description = "round to an integral value") int precision)
@@ -50,7 +50,7 @@ public class Rounding {
      * @see #floor(BigDecimal)
      * @since 1.1
      */
-    @EelFunction("number.truncate")
+    @EelFunction(value = "number.truncate", deterministic = true)
     @Nonnull
     public BigDecimal truncate(@Nonnull BigDecimal number,
                                @DefaultArgument(value = "0", description = "round to an integral value") int precision)
@@ -72,7 +72,7 @@ public class Rounding {
      * @see #floor(BigDecimal)
      * @since 2.0
      */
-    @EelFunction("number.ceil")
+    @EelFunction(value = "number.ceil", deterministic = true)
     @Nonnull
     public BigDecimal ceil(@Nonnull BigDecimal number) {
         return number.setScale(0, RoundingMode.CEILING);
@@ -88,7 +88,7 @@ public class Rounding {
      * @see #ceil(BigDecimal)
      * @since 2.0
      */
-    @EelFunction("number.floor")
+    @EelFunction(value = "number.floor", deterministic = true)
     @Nonnull
     public BigDecimal floor(@Nonnull BigDecimal number) {
         return number.setScale(0, RoundingMode.FLOOR);
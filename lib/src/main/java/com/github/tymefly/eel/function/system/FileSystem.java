@@ -45,7 +45,7 @@ public class FileSystem {
      * @since 1.0
      */
     @Nonnull
-    @EelFunction("system.fileSeparator")
+    @EelFunction(value = "system.fileSeparator", deterministic = true)
     public String fileSeparator() {
         if (fileSeparator == null) {
             fileSeparator = properties.getProperty("file.separator");
@@ -22,7 +22,7 @@ public class TextIndex {
      * @return              the 1-based index of the first matching value, or {@code -1} if no match is found
      * @since 3.2
      */
-    @EelFunction("text.index")
+    @EelFunction(value = "text.index", deterministic = true)
     public int index(@Nonnull String find, @Nonnull Value... values) {
         int found = -1;
         int index = 0;
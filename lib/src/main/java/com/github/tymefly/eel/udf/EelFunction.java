@@ -17,4 +17,15 @@ public @interface EelFunction {
      * @return the EEL name for this function
      */
     String value();
+
+    /**
+     * Returns {@literal true} if the function always returns the same value when it is passed the same arguments
+     * in the same context and has no side effects. Calls to deterministic functions with constant arguments may
+     * be evaluated once, when the expression is compiled, rather than each time the expression is evaluated.
+     * These calls block the compiler until they return, or until they time out at a
+     * {@link com.github.tymefly.eel.Deadline#checkpoint() checkpoint}.
+     * @return {@literal true} if the function is deterministic
+     * @since 3.3
+     */
+    boolean deterministic() default false;
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import java.io.InputStream;
 
 import javax.annotation.Nonnull;
 
+import com.github.tymefly.eel.Deadline;
 import com.github.tymefly.eel.EelContext;
 /**
  * A decorator for an {@link InputStream} that limits the amount of data read.
@@ -14,8 +15,11 @@ import com.github.tymefly.eel.EelContext;
  * an {@link IOException} is thrown. {@link #available()} returns the smaller of the bytes available
  * from the backing stream or the number of bytes remaining before the exception is thrown.
  * Marks are not supported; {@link #markSupported()} always returns {@literal false}.
+ * The {@link Deadline} for the current evaluation is checked periodically while data is read.
  */
 public class LimitedInputStream extends InputStream {
+    private static final int CHECKPOINT_INTERVAL = 4096;
+
     private final InputStream backing;
     private int remaining;
 
@@ -43,6 +47,10 @@ public class LimitedInputStream extends InputStream {
         if (!valid) {
             data = -1;
         } else {
+            if ((remaining % CHECKPOINT_INTERVAL) == 0) {
+                Deadline.checkpoint();
+            }
+
             data = backing.read();
             valid = (remaining-- != 0) || (data == -1);
         }
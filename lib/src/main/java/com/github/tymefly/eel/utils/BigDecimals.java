@@ -9,6 +9,8 @@ import javax.annotation.Nonnull;
  * Utility functions for BigDecimals
  */
 public class BigDecimals {
+    private static final int MAX_LONG_DIGITS = 18;
+
     private BigDecimals() {
     }
 
@@ -68,6 +70,18 @@ public class BigDecimals {
     }
 
 
+    /**
+     * Returns {@literal true} only if {@code value} is an integer that is guaranteed to fit in a {@code long}.
+     * This is a quick, conservative, check: integers with more than 18 digits may fit in a {@code long} but
+     * are not reported.
+     * @param value     value to test
+     * @return {@literal true} only if {@code value} is an integer that is guaranteed to fit in a {@code long}
+     */
+    public static boolean isSmallInteger(@Nonnull BigDecimal value) {
+        return (value.scale() == 0) && (value.precision() <= MAX_LONG_DIGITS);
+    }
+
+
     /**
      * Convert a numeric value to a BigDecimal
      * @param value     value to convert
@@ -0,0 +1,155 @@
+package com.github.tymefly.eel;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.List;
+
+import com.github.tymefly.eel.utils.StringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for {@link CommonTerms}
+ */
+public class CommonTermsTest {
+    private SymbolsTable symbols;
+    private CommonTerms compile;
+
+
+    @BeforeEach
+    public void setUp() {
+        EelContextImpl context = mock();
+
+        symbols = mock();
+
+        when(context.getMathContext())
+            .thenReturn(new MathContext(10, RoundingMode.HALF_UP));
+        when(context.getTimeout())
+            .thenReturn(Duration.ZERO);
+        when(context.getFunctionManager())
+            .thenReturn(new FunctionManager.Builder().build());
+
+        when(symbols.read("a"))
+            .thenReturn("2");
+        when(symbols.read("b"))
+            .thenReturn("3");
+        when(symbols.read("flag"))
+            .thenReturn("false");
+
+        compile = new CommonTerms(context, new LambdaCompiler(context));
+    }
+
+
+    /**
+     * Unit test {@link CommonTerms#add(Term, Term)}
+     */
+    @Test
+    public void test_shared() {
+        Term first = compile.add(compile.read("a").build(), compile.read("b").build());
+        Term second = compile.add(compile.read("a").build(), compile.read("b").build());
+        Term expression = compile.complete(compile.multiply(first, second));
+
+        assertSame(first, second, "Term was not shared");
+
+        assertEquals(new BigDecimal("25"), expression.evaluate(symbols).asNumber(), "#1 evaluate()");
+        verify(symbols, times(1)).read("a");
+        verify(symbols, times(1)).read("b");
+
+        assertEquals(new BigDecimal("25"), expression.evaluate(symbols).asNumber(), "#2 evaluate()");
+        verify(symbols, times(2)).read("a");
+        verify(symbols, times(2)).read("b");
+    }
+
+    /**
+     * Unit test {@link CommonTerms#add(Term, Term)}
+     */
+    @Test
+    public void test_differentOperands() {
+        Term first = compile.add(compile.read("a").build(), compile.read("b").build());
+        Term second = compile.add(compile.read("b").build(), compile.read("a").build());
+        Term third = compile.subtract(compile.read("a").build(), compile.read("b").build());
+
+        assertNotSame(first, second, "Operands were swapped");
+        assertNotSame(first, third, "Operator was changed");
+    }
+
+    /**
+     * Unit test {@link CommonTerms#numericConstant(Number)}
+     */
+    @Test
+    public void test_constantScale() {
+        Term first = compile.concatenate(compile.read("a").build(), compile.numericConstant(new BigDecimal("1.0")));
+        Term second = compile.concatenate(compile.read("a").build(), compile.numericConstant(new BigDecimal("1.00")));
+
+        assertNotSame(first, second, "Constants with different text were shared");
+        assertEquals("21.0", first.evaluate(symbols).asText(), "first");
+        assertEquals("21.00", second.evaluate(symbols).asText(), "second");
+    }
+
+    /**
+     * Unit test {@link CommonTerms#read(String)}
+     */
+    @Test
+    public void test_symbolWithTransformation() {
+        Term first = compile.concatenate(
+            compile.read("a").withTransformation((s, t) -> StringUtils.toggleAll(t)).build(),
+            compile.textConstant("x"));
+        Term second = compile.concatenate(
+            compile.read("a").withTransformation((s, t) -> StringUtils.toggleAll(t)).build(),
+            compile.textConstant("x"));
+
+        assertNotSame(first, second, "Transformed symbols were shared");
+    }
+
+    /**
+     * Unit test {@link CommonTerms#conditional(Term, Term, Term)}
+     */
+    @Test
+    public void test_notReached() {
+        Term condition = compile.callLogic(compile.read("flag").build());
+        Term shared = compile.add(compile.read("a").build(), compile.read("b").build());
+        Term first = compile.conditional(condition, compile.callText(shared), compile.textConstant("no"));
+        Term second = compile.conditional(condition, compile.callText(shared), compile.textConstant("no"));
+        Term expression = compile.complete(compile.concatenate(first, second));
+
+        assertSame(first, second, "Term was not shared");
+        assertEquals("nono", expression.evaluate(symbols).asText(), "evaluate()");
+        verify(symbols, times(1)).read("flag");
+        verify(symbols, never()).read("a");
+    }
+
+    /**
+     * Unit test {@link CommonTerms#callFunction(String, List)}
+     */
+    @Test
+    public void test_deterministicFunction() {
+        Term first = compile.callFunction("text.index",
+            List.of(compile.read("a").build(), compile.textConstant("1"), compile.textConstant("2")));
+        Term second = compile.callFunction("text.index",
+            List.of(compile.read("a").build(), compile.textConstant("1"), compile.textConstant("2")));
+
+        assertSame(first, second, "Deterministic function was not shared");
+    }
+
+    /**
+     * Unit test {@link CommonTerms#callFunction(String, List)}
+     */
+    @Test
+    public void test_nonDeterministicFunction() {
+        Term first = compile.callFunction("random", List.of());
+        Term second = compile.callFunction("random", List.of());
+
+        assertNotSame(first, second, "Non-deterministic function was shared");
+    }
+}
@@ -0,0 +1,168 @@
+package com.github.tymefly.eel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test for {@link ConstantPool}
+ */
+public class ConstantPoolTest {
+    private static final Function<String, Constant> FACTORY = Constant::of;
+
+
+    /**
+     * Unit test {@link ConstantPool#intern(Object, Function)}
+     */
+    @Test
+    public void test_intern_hit() {
+        ConstantPool<String> pool = new ConstantPool<>(32);
+
+        Constant first = pool.intern("key", k -> Constant.of(k + "!"));
+        Constant second = pool.intern("key", k -> Constant.of("unexpected"));
+
+        assertSame(first, second, "Value was not pooled");
+        assertEquals("key!", second.asText(), "Unexpected value");
+        assertEquals(new CacheStatistics(1, 1, 0, 1, 32), pool.statistics(), "Unexpected statistics");
+    }
+
+    /**
+     * Unit test {@link ConstantPool#intern(Object, Function)}
+     */
+    @Test
+    public void test_intern_pinned() {
+        ConstantPool<String> pool = new ConstantPool<>(16);
+        Constant pinned = Constant.of("pinned");
+
+        pool.pin("key", pinned);
+
+        for (int i = 0; i < 100; i++) {
+            pool.intern("other" + i, FACTORY);
+        }
+
+        assertSame(pinned, pool.intern("key", FACTORY), "Pinned value was evicted");
+    }
+
+    /**
+     * Unit test {@link ConstantPool#intern(Object, Function)}
+     */
+    @Test
+    public void test_intern_bounded() {
+        ConstantPool<String> pool = new ConstantPool<>(32);
+        List<Constant> held = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++) {
+            held.add(pool.intern("value" + i, FACTORY));
+        }
+
+        CacheStatistics statistics = pool.statistics();
+
+        assertTrue(statistics.size() <= 32, "Pool is not bounded: " + statistics);
+        assertEquals(1000, statistics.misses(), "Unexpected misses");
+        assertEquals(1000 - statistics.size(), statistics.evictions(), "Unexpected evictions");
+        assertEquals(1000, held.size(), "Values were not returned");
+    }
+
+    /**
+     * Unit test {@link ConstantPool#intern(Object, Function)}
+     */
+    @Test
+    public void test_intern_exactCapacity() {
+        for (int capacity : new int[] { 1, 3, 5, 15, 17, 21, 100 }) {
+            ConstantPool<String> pool = new ConstantPool<>(capacity);
+            List<Constant> held = new ArrayList<>();
+
+            for (int i = 0; i < 1000; i++) {
+                held.add(pool.intern("value" + i, FACTORY));
+            }
+
+            CacheStatistics statistics = pool.statistics();
+
+            assertEquals(capacity, statistics.size(), "Unexpected size for capacity " + capacity);
+            assertEquals(capacity, statistics.capacity(), "Unexpected capacity for capacity " + capacity);
+            assertEquals(1000 - capacity, statistics.evictions(), "Unexpected evictions for capacity " + capacity);
+            assertEquals(1000, held.size(), "Values were not returned");
+        }
+    }
+
+    /**
+     * Unit test {@link ConstantPool#intern(Object, Function)}
+     */
+    @Test
+    public void test_intern_disabled() {
+        ConstantPool<String> pool = new ConstantPool<>(0);
+
+        Constant first = pool.intern("key", FACTORY);
+        Constant second = pool.intern("key", FACTORY);
+
+        assertEquals(first, second, "Values are not equal");
+        assertEquals(new CacheStatistics(0, 2, 0, 0, 0), pool.statistics(), "Unexpected statistics");
+    }
+
+    /**
+     * Unit test {@link ConstantPool#statistics()}
+     */
+    @Test
+    public void test_statistics_collected() throws Exception {
+        ConstantPool<String> pool = new ConstantPool<>(1024);
+
+        for (int i = 0; i < 100; i++) {
+            pool.intern("value" + i, FACTORY);
+        }
+
+        for (int attempt = 0; (attempt < 20) && (pool.statistics().size() != 0); attempt++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+
+        assertEquals(0, pool.statistics().size(), "Unreachable values were not purged");
+    }
+
+    /**
+     * Unit test {@link ConstantPool#intern(Object, Function)}
+     */
+    @Test
+    public void test_intern_concurrent() throws Exception {
+        ConstantPool<String> pool = new ConstantPool<>(4096);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<List<Constant>>> results = new ArrayList<>();
+
+        try {
+            for (int thread = 0; thread < 8; thread++) {
+                results.add(executor.submit(() -> {
+                    List<Constant> values = new ArrayList<>();
+
+                    for (int i = 0; i < 1000; i++) {
+                        values.add(pool.intern("value" + i, FACTORY));
+                    }
+
+                    return values;
+                }));
+            }
+
+            List<Constant> expected = results.get(0).get();
+
+            for (var result : results) {
+                List<Constant> actual = result.get();
+
+                for (int i = 0; i < 1000; i++) {
+                    assertSame(expected.get(i), actual.get(i), "Value " + i + " was not shared");
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1000, pool.statistics().misses(), "Unexpected misses");
+        assertEquals(7000, pool.statistics().hits(), "Unexpected hits");
+    }
+}
@@ -0,0 +1,140 @@
+package com.github.tymefly.eel;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test for {@link ConstantSet}
+ */
+public class ConstantSetTest {
+    private static final ZonedDateTime DATE = ZonedDateTime.ofInstant(Instant.ofEpochSecond(10), ZoneId.of("UTC"));
+
+
+    /**
+     * Unit test {@link ConstantSet#contains(Value)}
+     */
+    @Test
+    public void test_text() {
+        ConstantSet set = ConstantSet.of(List.of(Constant.of("a"), Constant.of("b"), Constant.of("1.0")));
+
+        assertTrue(set.contains(Constant.of("a")), "a");
+        assertTrue(set.contains(Constant.of("b")), "b");
+        assertFalse(set.contains(Constant.of("c")), "c");
+        assertFalse(set.contains(Constant.of("A")), "A");
+        assertTrue(set.contains(Constant.of(new BigDecimal("1.0"))), "1.0");
+        assertFalse(set.contains(Constant.of(1)), "1");
+    }
+
+    /**
+     * Unit test {@link ConstantSet#contains(Value)}
+     */
+    @Test
+    public void test_numbers() {
+        ConstantSet set = ConstantSet.of(List.of(Constant.of(new BigDecimal("1.50")), Constant.of(0), Constant.of(10)));
+
+        assertTrue(set.contains(Constant.of(new BigDecimal("1.5"))), "1.5");
+        assertTrue(set.contains(Constant.of(new BigDecimal("0.00"))), "0.00");
+        assertFalse(set.contains(Constant.of(2)), "2");
+        assertTrue(set.contains(Constant.of("1.50")), "text 1.50");
+        assertFalse(set.contains(Constant.of("1.5")), "text 1.5");
+        assertTrue(set.contains(Constant.of(false)), "false");
+        assertFalse(set.contains(Constant.of(true)), "true");
+        assertTrue(set.contains(Constant.of(DATE)), "date");
+    }
+
+    /**
+     * Unit test {@link ConstantSet#contains(Value)}
+     */
+    @Test
+    public void test_logic() {
+        ConstantSet set = ConstantSet.of(List.of(Constant.of(true)));
+
+        assertTrue(set.contains(Constant.of(true)), "true");
+        assertFalse(set.contains(Constant.of(false)), "false");
+        assertTrue(set.contains(Constant.of(1)), "1");
+        assertFalse(set.contains(Constant.of(0)), "0");
+        assertTrue(set.contains(Constant.of("true")), "text true");
+        assertFalse(set.contains(Constant.of("TRUE")), "text TRUE");
+    }
+
+    /**
+     * Unit test {@link ConstantSet#contains(Value)}
+     */
+    @Test
+    public void test_dates() {
+        ConstantSet set = ConstantSet.of(List.of(Constant.of(DATE)));
+
+        assertTrue(set.contains(Constant.of(DATE.withZoneSameInstant(ZoneId.of("+01:00")))), "other zone");
+        assertTrue(set.contains(Constant.of(10)), "number");
+        assertFalse(set.contains(Constant.of(DATE.plusSeconds(1))), "other date");
+    }
+
+    /**
+     * Unit test {@link ConstantSet#contains(Value)}
+     */
+    @Test
+    public void test_mixed() {
+        ConstantSet set = ConstantSet.of(List.of(Constant.of("x"), Constant.of(false), Constant.of(5)));
+
+        assertTrue(set.contains(Constant.of("x")), "x");
+        assertTrue(set.contains(Constant.of("5")), "text 5");
+        assertTrue(set.contains(Constant.of("false")), "text false");
+        assertTrue(set.contains(Constant.of(false)), "false");
+        assertFalse(set.contains(Constant.of(true)), "true");
+        assertTrue(set.contains(Constant.of(new BigDecimal("5.0"))), "5.0");
+        assertTrue(set.contains(Constant.of(0)), "0");
+        assertFalse(set.contains(Constant.of(1)), "1");
+    }
+
+    /**
+     * Unit test {@link ConstantSet#indexOf(Value)}
+     */
+    @Test
+    public void test_indexOf() {
+        ConstantSet set = ConstantSet.of(
+            List.of(Constant.of("x"), Constant.of(5), Constant.of("5"), Constant.of(true), Constant.of(1)));
+
+        assertEquals(0, set.indexOf(Constant.of("x")), "x");
+        assertEquals(1, set.indexOf(Constant.of(new BigDecimal("5.00"))), "5.00");
+        assertEquals(1, set.indexOf(Constant.of("5")), "text 5");
+        assertEquals(3, set.indexOf(Constant.of(true)), "true");
+        assertEquals(3, set.indexOf(Constant.of(1)), "1");
+        assertEquals(ConstantSet.NOT_FOUND, set.indexOf(Constant.of(false)), "false");
+        assertEquals(ConstantSet.NOT_FOUND, set.indexOf(Constant.of("y")), "y");
+    }
+
+    /**
+     * Unit test {@link ConstantSet#indexOfText(String)}
+     */
+    @Test
+    public void test_indexOfText() {
+        ConstantSet set = ConstantSet.of(
+            List.of(Constant.of("x"), Constant.of(5), Constant.of("5"), Constant.of(true), Constant.of(1)));
+
+        assertEquals(0, set.indexOfText("x"), "x");
+        assertEquals(1, set.indexOfText("5"), "5");
+        assertEquals(3, set.indexOfText("true"), "true");
+        assertEquals(ConstantSet.NOT_FOUND, set.indexOfText("5.00"), "5.00");
+        assertEquals(ConstantSet.NOT_FOUND, set.indexOfText("y"), "y");
+    }
+
+    /**
+     * Unit test {@link ConstantSet#contains(Value)}
+     */
+    @Test
+    public void test_empty() {
+        ConstantSet set = ConstantSet.of(List.of());
+
+        assertFalse(set.contains(Constant.of("")), "text");
+        assertFalse(set.contains(Constant.of(0)), "number");
+    }
+}
@@ -65,6 +65,53 @@ public class ConstantTest {
         assertSame(Constant.of(stamp), Constant.of(stamp), "Check Cache");
     }
 
+    /**
+     * Unit test {@link Constant#ephemeral(String)}
+     */
+    @Test
+    public void test_ephemeral_String() {
+        String stamp = Long.toString(System.currentTimeMillis());
+
+        assertSame(Value.BLANK, Constant.ephemeral(""), "Empty String");
+        assertNotSame(Constant.ephemeral(stamp), Constant.ephemeral(stamp), "Value was pooled");
+        assertEquals(Constant.of(stamp), Constant.ephemeral(stamp), "Unexpected value");
+        assertSame(Constant.of(stamp), Constant.ephemeral(stamp).intern(), "intern() did not return pooled value");
+    }
+
+    /**
+     * Unit test {@link Constant#ephemeral(Number)}
+     */
+    @Test
+    public void test_ephemeral_Number() {
+        Long stamp = System.currentTimeMillis();
+
+        assertNotSame(Constant.ephemeral(stamp), Constant.ephemeral(stamp), "Value was pooled");
+        assertEquals(Constant.of(stamp), Constant.ephemeral(stamp), "Unexpected value");
+        assertSame(Constant.of(stamp), Constant.ephemeral(stamp).intern(), "intern() did not return pooled value");
+        assertSame(Value.ZERO, Constant.ephemeral(0).intern(), "intern() did not return pinned value");
+    }
+
+    /**
+     * Unit test {@link Constant#ephemeral(ZonedDateTime)}
+     */
+    @Test
+    public void test_ephemeral_Date() {
+        ZonedDateTime stamp = ZonedDateTime.now();
+
+        assertNotSame(Constant.ephemeral(stamp), Constant.ephemeral(stamp), "Value was pooled");
+        assertEquals(Constant.of(stamp), Constant.ephemeral(stamp), "Unexpected value");
+        assertSame(Constant.of(stamp), Constant.ephemeral(stamp).intern(), "intern() did not return pooled value");
+    }
+
+    /**
+     * Unit test {@link Constant#intern()}
+     */
+    @Test
+    public void test_intern_Logic() {
+        assertSame(Value.TRUE, Constant.of(true).intern(), "true");
+        assertSame(Value.FALSE, Constant.of(false).intern(), "false");
+    }
+
     /**
      * Unit test {@link Constant#of(boolean)}
      */
@@ -92,6 +139,77 @@ public class ConstantTest {
         assertSame(Constant.of(stamp), Constant.of(stamp), "Check Cache");
     }
 
+    /**
+     * Unit test {@link Constant#symbol(Object)}
+     */
+    @Test
+    public void test_symbol_Number() {
+        BigDecimal value = new BigDecimal("12.30");
+        Constant actual = Constant.symbol(value);
+
+        assertEquals(Type.TEXT, actual.getType(), "Symbols are text");
+        assertSame(value, actual.asNumber(), "Native value should be used");
+        assertEquals("12.30", actual.asText(), "text");
+        assertEquals(Constant.of("12.30"), actual, "equals");
+        assertEquals(Constant.of("12.30").hashCode(), actual.hashCode(), "hashCode");
+        assertSame(Constant.of("12.30"), actual.intern(), "intern");
+
+        assertEquals(BigDecimal.valueOf(7), Constant.symbol(7).asNumber(), "Integer");
+    }
+
+    /**
+     * Unit test {@link Constant#symbol(Object)}
+     */
+    @Test
+    public void test_symbol_Boolean() {
+        Constant actual = Constant.symbol(Boolean.TRUE);
+
+        assertEquals(Type.TEXT, actual.getType(), "Symbols are text");
+        assertTrue(actual.asLogic(), "Native value should be used");
+        assertEquals("true", actual.asText(), "text");
+        assertThrows(EelConvertException.class, actual::asNumber, "Other conversions are from the text");
+    }
+
+    /**
+     * Unit test {@link Constant#symbol(Object)}
+     */
+    @Test
+    public void test_symbol_Date() {
+        Constant actual = Constant.symbol(DATE_STAMP1);
+
+        assertEquals(Type.TEXT, actual.getType(), "Symbols are text");
+        assertSame(DATE_STAMP1, actual.asDate(), "Native value should be used");
+        assertEquals(date.asText(), actual.asText(), "text");
+
+        Instant instant = DATE_STAMP2.toInstant();
+
+        assertEquals(DATE_STAMP2, Constant.symbol(instant).asDate(), "Instant");
+    }
+
+    /**
+     * Unit test {@link Constant#symbol(Object)}
+     */
+    @Test
+    public void test_symbol_Value() {
+        assertSame(text, Constant.symbol(text), "Text value");
+        assertEquals(Type.TEXT, Constant.symbol(number).getType(), "Numeric value");
+        assertSame(number.asNumber(), Constant.symbol(number).asNumber(), "Numeric value should be used");
+        assertEquals(Type.TEXT, Constant.symbol(logic).getType(), "Logic value");
+        assertTrue(Constant.symbol(logic).asLogic(), "Logic value should be used");
+        assertSame(date.asDate(), Constant.symbol(date).asDate(), "Date value should be used");
+    }
+
+    /**
+     * Unit test {@link Constant#symbol(Object)}
+     */
+    @Test
+    public void test_symbol_other() {
+        StringBuilder value = new StringBuilder("abc");
+
+        assertSame(Constant.of("abc"), Constant.symbol(value), "Converted to text");
+        assertSame(Constant.of("def"), Constant.symbol("def"), "String");
+    }
+
     /**
      * Unit test {@link Constant#getType()}
      */
@@ -295,4 +413,62 @@ public class ConstantTest {
 
         assertThrows(EelConvertException.class, () -> Constant.of("").asChar(), "Empty String");
     }
-}
\ No newline at end of file
+
+    /**
+     * Unit test {@link Constant.Recent#of(String)}
+     */
+    @Test
+    public void test_Recent_String() {
+        Constant.Recent recent = new Constant.Recent();
+        Constant first = recent.of("abc");
+
+        assertEquals("abc", first.asText(), "Unexpected value");
+        assertSame(first, recent.of("abc"), "Repeated value");
+        assertNotSame(first, recent.of("xyz"), "Different value");
+        assertNotSame(first, recent.of("abc"), "Only the last value is remembered");
+    }
+
+    /**
+     * Unit test {@link Constant.Recent#of(Number)}
+     */
+    @Test
+    public void test_Recent_Number() {
+        Constant.Recent recent = new Constant.Recent();
+        Constant first = recent.of(new BigDecimal("1.5"));
+
+        assertEquals(new BigDecimal("1.5"), first.asNumber(), "Unexpected value");
+        assertSame(first, recent.of(new BigDecimal("1.5")), "Repeated value");
+        assertNotSame(first, recent.of(new BigDecimal("1.50")), "Different scale");
+        assertNotSame(first, recent.of("1.5"), "Different type");
+    }
+
+    /**
+     * Unit test {@link Constant.Recent#of(long)}
+     */
+    @Test
+    public void test_Recent_long() {
+        Constant.Recent recent = new Constant.Recent();
+        Constant first = recent.of(42L);
+
+        assertEquals(42L, first.asLong(), "Unexpected value");
+        assertSame(first, recent.of(42L), "Repeated value");
+        assertNotSame(first, recent.of(43L), "Different value");
+
+        Constant scaled = recent.of(new BigDecimal("43.0"));
+
+        assertNotSame(scaled, recent.of(43L), "Different scale");
+    }
+
+    /**
+     * Unit test {@link Constant.Recent#of(ZonedDateTime)}
+     */
+    @Test
+    public void test_Recent_Date() {
+        Constant.Recent recent = new Constant.Recent();
+        Constant first = recent.of(DATE_STAMP1);
+
+        assertEquals(DATE_STAMP1, first.asDate(), "Unexpected value");
+        assertSame(first, recent.of(DATE_STAMP1), "Repeated value");
+        assertNotSame(first, recent.of(DATE_STAMP2), "Different value");
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.tymefly.eel;
+
+import java.time.Duration;
+
+import com.github.tymefly.eel.exception.EelTimeoutException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit test for {@link Deadline}
+ */
+public class DeadlineTest {
+    /**
+     * Unit test {@link Deadline#checkpoint()}
+     */
+    @Test
+    public void test_checkpoint_noDeadline() {
+        Deadline.checkpoint();                  // No exception
+    }
+
+    /**
+     * Unit test {@link Deadline#run(Duration, java.util.function.Supplier)}
+     */
+    @Test
+    public void test_run_inTime() {
+        String actual = Deadline.run(Duration.ofMinutes(1), () -> {
+            Deadline.checkpoint();
+
+            return "done";
+        });
+
+        assertEquals("done", actual, "Unexpected result");
+    }
+
+    /**
+     * Unit test {@link Deadline#run(Duration, java.util.function.Supplier)}
+     */
+    @Test
+    public void test_run_expired() {
+        assertThrows(EelTimeoutException.class, () -> Deadline.run(Duration.ZERO, () -> {
+            Deadline.checkpoint();
+
+            return "unexpected";
+        }));
+
+        Deadline.checkpoint();                  // The deadline has been removed
+    }
+
+    /**
+     * Unit test {@link Deadline#run(Duration, java.util.function.Supplier)}
+     */
+    @Test
+    public void test_run_nested() {
+        assertThrows(EelTimeoutException.class, () -> Deadline.run(Duration.ZERO, () ->
+            Deadline.run(Duration.ofMinutes(1), () -> {
+                Deadline.checkpoint();          // Nested task can not extend the outer deadline
+
+                return "unexpected";
+            })));
+    }
+}
@@ -0,0 +1,175 @@
+package com.github.tymefly.eel;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.tymefly.eel.exception.EelCompileException;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.mockito.MockedStatic;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+/**
+ * Unit test for {@link EelBundle}
+ */
+public class EelBundleTest {
+    private static final SymbolsTable SYMBOLS = SymbolsTable.from(Map.of("name", "World", "count", "3"));
+
+
+    /**
+     * Unit test {@link EelBundle#write(EelContext, Map, java.io.OutputStream)} and
+     * {@link EelBundle#read(EelContext, java.io.InputStream)}
+     */
+    @Test
+    public void test_roundTrip() throws Exception {
+        EelContext context = Eel.defaultContext();
+        Map<String, String> expressions = new LinkedHashMap<>();
+
+        expressions.put("greeting", "Hello ${name^^}!");
+        expressions.put("total", "$( ${count} * 2 + 1 )");
+        expressions.put("choice", "$( ${count} = 3 ? 'three' : 'other' )");
+
+        try (
+            MockedStatic<Program> program = Mockito.mockStatic(Program.class, Mockito.CALLS_REAL_METHODS)
+        ) {
+            Map<String, Eel> actual = EelBundle.read(context, new ByteArrayInputStream(write(context, expressions)));
+
+            assertEquals(List.of("greeting", "total", "choice"), List.copyOf(actual.keySet()), "Unexpected names");
+            assertEquals("Hello WORLD!", actual.get("greeting").evaluate(SYMBOLS).asText(), "greeting");
+            assertEquals(7, actual.get("total").evaluate(SYMBOLS).asInt(), "total");
+            assertEquals("three", actual.get("choice").evaluate(SYMBOLS).asText(), "choice");
+
+            program.verify(() -> Program.replay(any(), any()), times(3));
+        }
+    }
+
+    /**
+     * Unit test {@link EelBundle#read(EelContext, java.io.InputStream)}
+     */
+    @Test
+    public void test_stale() throws Exception {
+        EelContext writer = Eel.defaultContext();
+        EelContext reader = new EelContextImpl.Builder()
+            .withPrecision(5)
+            .build();
+        byte[] bundle = write(writer, Map.of("third", "$( 1 / 3 )"));
+
+        try (
+            MockedStatic<Program> program = Mockito.mockStatic(Program.class, Mockito.CALLS_REAL_METHODS)
+        ) {
+            Map<String, Eel> actual = EelBundle.read(reader, new ByteArrayInputStream(bundle));
+
+            assertEquals("0.33333", actual.get("third").evaluate().asText(), "Unexpected result");
+
+            program.verify(() -> Program.replay(any(), any()), never());
+        }
+    }
+
+    /**
+     * Unit test {@link EelBundle#read(EelContext, java.io.InputStream)}
+     */
+    @Test
+    public void test_read_corrupt() throws Exception {
+        EelContext context = Eel.defaultContext();
+        byte[] bundle = write(context, Map.of("text", "text"));
+        byte[] badMagic = Arrays.copyOf(bundle, bundle.length);
+        byte[] badVersion = Arrays.copyOf(bundle, bundle.length);
+        byte[] truncated = Arrays.copyOf(bundle, bundle.length - 1);
+
+        badMagic[0] = 'X';
+        badVersion[7] = 99;
+
+        assertEquals("Not an EEL bundle",
+            assertThrows(StreamCorruptedException.class,
+                () -> EelBundle.read(context, new ByteArrayInputStream(badMagic))).getMessage(),
+            "bad magic");
+        assertEquals("Unsupported EEL bundle version 99",
+            assertThrows(StreamCorruptedException.class,
+                () -> EelBundle.read(context, new ByteArrayInputStream(badVersion))).getMessage(),
+            "bad version");
+        assertThrows(EOFException.class,
+            () -> EelBundle.read(context, new ByteArrayInputStream(truncated)),
+            "truncated");
+    }
+
+    /**
+     * Unit test {@link EelBundle#read(EelContext, java.io.InputStream)}
+     */
+    @Test
+    public void test_read_hugeSize() throws Exception {
+        EelContext context = Eel.defaultContext();
+        byte[] bundle = write(context, Map.of("text", "text"));
+        ByteBuffer header = ByteBuffer.wrap(bundle);
+        int nameSize = Integer.BYTES * 3 + header.getInt(Integer.BYTES * 2) + Integer.BYTES;
+
+        header.putInt(nameSize, Integer.MAX_VALUE);
+
+        assertThrows(EOFException.class, () -> EelBundle.read(context, new ByteArrayInputStream(bundle)));
+    }
+
+    /**
+     * Unit test {@link EelBundle#read(EelContext, java.io.InputStream)}
+     */
+    @Test
+    public void test_read_tooLong() throws Exception {
+        EelContext writer = Eel.defaultContext();
+        EelContext reader = new EelContextImpl.Builder()
+            .withMaxExpressionSize(10)
+            .build();
+        byte[] bundle = write(writer, Map.of("long", "This expression is longer than ten bytes"));
+
+        assertThrows(EelSourceException.class, () -> EelBundle.read(reader, new ByteArrayInputStream(bundle)));
+    }
+
+    /**
+     * Unit test {@link EelBundle#write(EelContext, Map, java.io.OutputStream)}
+     */
+    @Test
+    public void test_write_invalid() {
+        EelContext context = Eel.defaultContext();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThrows(EelCompileException.class, () -> EelBundle.write(context, Map.of("bad", "$( 1 + )"), out));
+    }
+
+    /**
+     * Unit test {@link EelBundle#fingerprint(EelContextImpl)}
+     */
+    @Test
+    public void test_fingerprint() {
+        EelContextImpl first = (EelContextImpl) new EelContextImpl.Builder().build();
+        EelContextImpl second = (EelContextImpl) new EelContextImpl.Builder().build();
+        EelContextImpl schema = (EelContextImpl) new EelContextImpl.Builder().withSymbolSchema("a").build();
+        EelContextImpl memoised = (EelContextImpl) new EelContextImpl.Builder()
+            .withSymbolMemoisation(!first.isSymbolMemoisation())
+            .build();
+
+        assertArrayEquals(EelBundle.fingerprint(first), EelBundle.fingerprint(second), "same settings");
+        assertFalse(Arrays.equals(EelBundle.fingerprint(first), EelBundle.fingerprint(schema)), "schema");
+        assertFalse(Arrays.equals(EelBundle.fingerprint(first), EelBundle.fingerprint(memoised)), "memoisation");
+    }
+
+
+    private byte[] write(EelContext context, Map<String, String> expressions) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        EelBundle.write(context, expressions, out);
+
+        return out.toByteArray();
+    }
+}
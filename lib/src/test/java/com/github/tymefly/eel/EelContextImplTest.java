@@ -10,6 +10,8 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.WeekFields;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
@@ -23,6 +25,8 @@ import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -220,6 +224,97 @@ public class EelContextImplTest {
 
 
 
+    /**
+     * Unit test {@link EelContextImpl#getTimeoutMode()}
+     */
+    @Test
+    public void test_getTimeoutMode() {
+        EelContextImpl defaultContext = new EelContextImpl.Builder().build();
+        EelContextImpl cooperativeContext = (EelContextImpl) new EelContextImpl.Builder()
+            .withTimeoutMode(TimeoutMode.COOPERATIVE)
+            .build();
+
+        assertEquals(TimeoutMode.ASYNC, defaultContext.getTimeoutMode(), "Bad default mode");
+        assertEquals(TimeoutMode.COOPERATIVE, cooperativeContext.getTimeoutMode(), "Bad explicit mode");
+    }
+
+    /**
+     * Unit test {@link EelContextImpl#getExecutor()}
+     */
+    @Test
+    public void test_getExecutor() {
+        Executor executor = Runnable::run;
+        EelContextImpl defaultContext = new EelContextImpl.Builder().build();
+        EelContextImpl customContext = (EelContextImpl) new EelContextImpl.Builder()
+            .withExecutor(executor)
+            .build();
+
+        assertSame(new CompletableFuture<>().defaultExecutor(), defaultContext.getExecutor(), "Bad default executor");
+        assertSame(executor, customContext.getExecutor(), "Bad explicit executor");
+    }
+
+
+    /**
+     * Unit test {@link EelContextImpl#getSymbolSchema()}
+     */
+    @Test
+    public void test_getSymbolSchema() {
+        EelContextImpl defaultContext = new EelContextImpl.Builder()
+            .build();
+        EelContextImpl schemaContext = (EelContextImpl) new EelContextImpl.Builder()
+            .withSymbolSchema("a", "b", "c")
+            .build();
+
+        assertNull(defaultContext.getSymbolSchema(), "Unexpected default schema");
+        assertEquals(1, schemaContext.getSymbolSchema().slot("b"), "Bad explicit schema");
+    }
+
+    /**
+     * Unit test {@link EelContextImpl#isSymbolMemoisation()}
+     */
+    @Test
+    public void test_isSymbolMemoisation() {
+        EelContextImpl defaultContext = new EelContextImpl.Builder()
+            .build();
+        EelContextImpl memoContext = (EelContextImpl) new EelContextImpl.Builder()
+            .withSymbolMemoisation(true)
+            .build();
+
+        assertFalse(defaultContext.isSymbolMemoisation(), "Unexpected default");
+        assertTrue(memoContext.isSymbolMemoisation(), "Bad explicit value");
+    }
+
+
+    /**
+     * Unit test {@link EelContextImpl#getExpressionCacheStatistics()}
+     */
+    @Test
+    public void test_getExpressionCacheStatistics() {
+        EelContextImpl defaultContext = new EelContextImpl.Builder()
+            .build();
+        EelContextImpl cachedContext = (EelContextImpl) new EelContextImpl.Builder()
+            .withExpressionCache(10)
+            .build();
+
+        assertEquals(new CacheStatistics(0, 0, 0, 0, 0),
+            defaultContext.getExpressionCacheStatistics(),
+            "Bad default statistics");
+        assertEquals(new CacheStatistics(0, 0, 0, 0, 10),
+            cachedContext.getExpressionCacheStatistics(),
+            "Bad cached statistics");
+    }
+
+    /**
+     * Unit test {@link EelContextImpl.Builder#withExpressionCache(int)}
+     */
+    @Test
+    public void test_withExpressionCache_negative() {
+        EelContextImpl.Builder builder = new EelContextImpl.Builder();
+
+        assertThrows(IllegalArgumentException.class, () -> builder.withExpressionCache(-1));
+    }
+
+
     /**
      * Unit test {@link EelContextImpl#getTimeout()}
      */
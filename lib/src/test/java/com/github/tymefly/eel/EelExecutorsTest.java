@@ -0,0 +1,95 @@
+package com.github.tymefly.eel;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test for {@link EelExecutors}
+ */
+public class EelExecutorsTest {
+    /**
+     * Unit test {@link EelExecutors#threadPerEvaluation()}
+     */
+    @Test
+    public void test_threadPerEvaluation() throws Exception {
+        CompletableFuture<Thread> actual = CompletableFuture.supplyAsync(Thread::currentThread,
+            EelExecutors.threadPerEvaluation());
+
+        assertNotSame(Thread.currentThread(), actual.get(10, TimeUnit.SECONDS), "Not run in a new thread");
+    }
+
+    /**
+     * Unit test {@link EelExecutors#bounded(Executor, int)}
+     */
+    @Test
+    public void test_bounded() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Executor executor = EelExecutors.bounded(EelExecutors.threadPerEvaluation(), 1);
+
+        executor.execute(() -> {
+            running.countDown();
+
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertTrue(running.await(10, TimeUnit.SECONDS), "Task did not start");
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+
+        release.countDown();
+
+        // The permit is returned after the first task completes
+        CountDownLatch done = new CountDownLatch(1);
+        long expiry = System.currentTimeMillis() + 10_000;
+        boolean accepted = false;
+
+        while (!accepted && (System.currentTimeMillis() < expiry)) {
+            try {
+                executor.execute(done::countDown);
+                accepted = true;
+            } catch (RejectedExecutionException e) {
+                Thread.sleep(10);
+            }
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS), "Second task did not run");
+    }
+
+    /**
+     * Unit test {@link EelExecutors#bounded(Executor, int)}
+     */
+    @Test
+    public void test_bounded_delegateRejects() throws Exception {
+        Executor rejecting = t -> { throw new RejectedExecutionException("expected"); };
+        Executor executor = EelExecutors.bounded(rejecting, 1);
+
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+
+        // The permit was returned after each rejection, so a working delegate can still run the task
+        Executor direct = EelExecutors.bounded(Runnable::run, 1);
+        direct.execute(() -> { });
+        direct.execute(() -> { });
+    }
+
+    /**
+     * Unit test {@link EelExecutors#bounded(Executor, int)}
+     */
+    @Test
+    public void test_bounded_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> EelExecutors.bounded(Runnable::run, 0));
+    }
+}
@@ -1,16 +1,29 @@
 package com.github.tymefly.eel;
 
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import com.github.tymefly.eel.exception.EelException;
 import com.github.tymefly.eel.exception.EelInterruptedException;
+import com.github.tymefly.eel.exception.EelRejectedException;
 import com.github.tymefly.eel.exception.EelRuntimeException;
 import com.github.tymefly.eel.exception.EelTimeoutException;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,8 +33,13 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -37,6 +55,8 @@ public class EelRuntimeTest {
 
         when(context.getTimeout())
             .thenReturn(Duration.of(2, ChronoUnit.SECONDS));
+        when(context.getExecutor())
+            .thenReturn(ForkJoinPool.commonPool());
     }
 
                 //*** No timeout ***//
@@ -235,6 +255,592 @@ public class EelRuntimeTest {
     }
 
 
+    /**
+     * Unit test {@link EelRuntime#wrap(Term)}
+     */
+    @Test
+    public void test_withTimeout_customExecutor() {
+        Executor executor = mock();
+
+        doAnswer(i -> {
+                ((Runnable) i.getArgument(0)).run();
+                return null;
+            })
+            .when(executor)
+            .execute(any(Runnable.class));
+        when(context.getExecutor())
+            .thenReturn(executor);
+
+        Term backing = s -> Constant.of(1);
+        Expression wrapped = new EelRuntime(context).wrap(backing);
+        SymbolsTable table = mock();
+
+        Result actual = wrapped.evaluate(table);
+
+        assertEquals(BigDecimal.ONE, actual.asNumber(), "Unexpected Value");
+        verify(executor).execute(any(Runnable.class));
+    }
+
+    /**
+     * Unit test {@link EelRuntime#wrap(Term)}
+     */
+    @Test
+    public void test_withTimeout_rejected() {
+        RejectedExecutionException cause = new RejectedExecutionException("expected");
+        Executor executor = mock();
+
+        doThrow(cause)
+            .when(executor)
+            .execute(any(Runnable.class));
+        when(context.getExecutor())
+            .thenReturn(executor);
+
+        Term backing = s -> Constant.of(1);
+        Expression wrapped = new EelRuntime(context).wrap(backing);
+        SymbolsTable table = mock();
+
+        EelRuntimeException actual = assertThrows(EelRejectedException.class, () -> wrapped.evaluate(table));
+
+        assertEquals("EEL execution was rejected", actual.getMessage(), "Unexpected message");
+        assertSame(cause, actual.getCause(), "Unexpected cause");
+    }
+
+
+                //*** With cooperative timeout ***//
+
+    /**
+     * Unit test {@link EelRuntime#wrap(Term)}
+     */
+    @Test
+    public void test_cooperative_happyPath() {
+        when(context.getTimeoutMode())
+            .thenReturn(TimeoutMode.COOPERATIVE);
+
+        Thread caller = Thread.currentThread();
+        Term backing = s -> Constant.of(Thread.currentThread() == caller);
+        Expression wrapped = new EelRuntime(context).wrap(backing);
+        SymbolsTable table = mock();
+
+        Result actual = wrapped.evaluate(table);
+
+        assertEquals(Type.LOGIC, actual.getType(), "Unexpected Type");
+        assertTrue(actual.asLogic(), "Not evaluated on the calling thread");
+    }
+
+    /**
+     * Unit test {@link EelRuntime#wrap(Term)}
+     */
+    @Test
+    public void test_cooperative_timedOut() {
+        when(context.getTimeoutMode())
+            .thenReturn(TimeoutMode.COOPERATIVE);
+        when(context.getTimeout())
+            .thenReturn(Duration.ofMillis(100));
+
+        Term backing = s -> {
+            while (true) {
+                Deadline.checkpoint();
+            }
+        };
+        Expression wrapped = new EelRuntime(context).wrap(backing);
+        SymbolsTable table = mock();
+
+        EelRuntimeException actual = assertThrows(EelTimeoutException.class, () -> wrapped.evaluate(table));
+
+        assertEquals("EEL Timeout after 0 second(s)", actual.getMessage(), "Unexpected message");
+        assertStack(actual, "test_cooperative_timedOut", true);
+    }
+
+    /**
+     * Unit test {@link EelRuntime#wrap(Term)}
+     */
+    @Test
+    public void test_cooperative_completedLate() {
+        when(context.getTimeoutMode())
+            .thenReturn(TimeoutMode.COOPERATIVE);
+        when(context.getTimeout())
+            .thenReturn(Duration.ofMillis(10));
+
+        Term backing = s -> {
+            try {
+                Thread.sleep(100);
+            } catch (Exception e) {
+            }
+
+            return Value.of("");
+        };
+        Expression wrapped = new EelRuntime(context).wrap(backing);
+        SymbolsTable table = mock();
+
+        assertThrows(EelTimeoutException.class, () -> wrapped.evaluate(table));
+
+        Deadline.checkpoint();                  // The deadline does not outlive the evaluation
+    }
+
+    /**
+     * Unit test {@link EelRuntime#wrap(Term)}
+     */
+    @Test
+    public void test_cooperative_otherException() {
+        when(context.getTimeoutMode())
+            .thenReturn(TimeoutMode.COOPERATIVE);
+
+        RuntimeException cause = new ArithmeticException("expected");
+        Term backing = s -> { throw cause; };
+        Expression wrapped = new EelRuntime(context).wrap(backing);
+        SymbolsTable table = mock();
+
+        EelRuntimeException actual = assertThrows(EelRuntimeException.class, () -> wrapped.evaluate(table));
+
+        assertEquals("EEL execution failed", actual.getMessage(), "Unexpected message");
+        assertEquals(cause, actual.getCause(), "Unexpected cause");
+        assertStack(actual, "test_cooperative_otherException", true);
+    }
+
+
+                //*** Streaming ***//
+
+    /**
+     * Unit test {@link Expression#evaluateTo(SymbolsTable, Appendable)}
+     */
+    @Test
+    public void test_evaluateTo_noTimeout() throws IOException {
+        when(context.getTimeout())
+            .thenReturn(Duration.ZERO);
+
+        Expression wrapped = new EelRuntime(context).wrap(streamingTerm(null));
+        StringBuilder sink = new StringBuilder();
+
+        wrapped.evaluateTo(mock(), sink);
+
+        assertEquals("streamed", sink.toString(), "Unexpected text");
+    }
+
+    /**
+     * Unit test {@link Expression#evaluateTo(SymbolsTable, Appendable)}
+     */
+    @Test
+    public void test_evaluateTo_cooperative() throws IOException {
+        when(context.getTimeoutMode())
+            .thenReturn(TimeoutMode.COOPERATIVE);
+
+        Expression wrapped = new EelRuntime(context).wrap(streamingTerm(null));
+        StringBuilder sink = new StringBuilder();
+
+        wrapped.evaluateTo(mock(), sink);
+
+        assertEquals("streamed", sink.toString(), "Unexpected text");
+    }
+
+    /**
+     * Unit test {@link Expression#evaluateTo(SymbolsTable, Appendable)}
+     */
+    @Test
+    public void test_evaluateTo_cooperative_timedOut() {
+        when(context.getTimeoutMode())
+            .thenReturn(TimeoutMode.COOPERATIVE);
+        when(context.getTimeout())
+            .thenReturn(Duration.ofMillis(100));
+
+        Term backing = new Term() {
+            @Nonnull
+            @Override
+            public Value evaluate(@Nonnull SymbolsTable symbols) {
+                throw new AssertionError("Unexpected call");
+            }
+
+            @Override
+            public void appendTo(@Nonnull SymbolsTable symbols, @Nonnull Appendable sink) {
+                while (true) {
+                    Deadline.checkpoint();
+                }
+            }
+        };
+        Expression wrapped = new EelRuntime(context).wrap(backing);
+
+        assertThrows(EelTimeoutException.class, () -> wrapped.evaluateTo(mock(), new StringBuilder()));
+    }
+
+    /**
+     * Unit test {@link Expression#evaluateTo(SymbolsTable, Appendable)}
+     */
+    @Test
+    public void test_evaluateTo_ioException() {
+        when(context.getTimeoutMode())
+            .thenReturn(TimeoutMode.COOPERATIVE);
+
+        IOException cause = new IOException("expected");
+        Expression wrapped = new EelRuntime(context).wrap(streamingTerm(cause));
+
+        IOException actual = assertThrows(IOException.class, () -> wrapped.evaluateTo(mock(), new StringBuilder()));
+
+        assertSame(cause, actual, "Unexpected exception");
+    }
+
+    /**
+     * Unit test {@link Expression#evaluateTo(SymbolsTable, Appendable)}
+     */
+    @Test
+    public void test_evaluateTo_withTimeout() throws IOException {
+        Term backing = s -> Constant.of("evaluated");
+        Expression wrapped = new EelRuntime(context).wrap(backing);
+        StringBuilder sink = new StringBuilder();
+
+        wrapped.evaluateTo(mock(), sink);
+
+        assertEquals("evaluated", sink.toString(), "Unexpected text");
+    }
+
+    @Nonnull
+    private Term streamingTerm(@Nullable IOException failure) {
+        return new Term() {
+            @Nonnull
+            @Override
+            public Value evaluate(@Nonnull SymbolsTable symbols) {
+                throw new AssertionError("Unexpected call");
+            }
+
+            @Override
+            public void appendTo(@Nonnull SymbolsTable symbols, @Nonnull Appendable sink) throws IOException {
+                if (failure != null) {
+                    throw failure;
+                }
+
+                sink.append("stream")
+                    .append("ed");
+            }
+        };
+    }
+
+
+                //*** Batch evaluation ***//
+
+    /**
+     * Unit test {@link Expression#evaluateAll(Iterable, BatchHandler)}
+     */
+    @Test
+    public void test_evaluateAll_noTimeout() {
+        when(context.getTimeout())
+            .thenReturn(Duration.ZERO);
+
+        RecordingHandler handler = new RecordingHandler();
+        Expression wrapped = new EelRuntime(context).wrap(rowTerm());
+
+        long failures = wrapped.evaluateAll(rows(4), handler);
+
+        assertEquals(1, failures, "Unexpected failures");
+        assertEquals(List.of("0:0", "1:1", "2:failed", "3:3"), handler.outcomes, "Unexpected outcomes");
+    }
+
+    /**
+     * Unit test {@link Expression#evaluateAll(Iterable, BatchHandler)}
+     */
+    @Test
+    public void test_evaluateAll_cooperative() {
+        when(context.getTimeoutMode())
+            .thenReturn(TimeoutMode.COOPERATIVE);
+
+        RecordingHandler handler = new RecordingHandler();
+        Expression wrapped = new EelRuntime(context).wrap(rowTerm());
+
+        long failures = wrapped.evaluateAll(rows(4), handler);
+
+        assertEquals(1, failures, "Unexpected failures");
+        assertEquals(List.of("0:0", "1:1", "2:failed", "3:3"), handler.outcomes, "Unexpected outcomes");
+    }
+
+    /**
+     * Unit test {@link Expression#evaluateAll(Iterable, BatchHandler)}
+     */
+    @Test
+    public void test_evaluateAll_withTimeout() {
+        AtomicInteger submitted = new AtomicInteger();
+        Executor executor = r -> {
+            submitted.incrementAndGet();
+            ForkJoinPool.commonPool().execute(r);
+        };
+
+        when(context.getExecutor())
+            .thenReturn(executor);
+
+        RecordingHandler handler = new RecordingHandler();
+        Expression wrapped = new EelRuntime(context).wrap(rowTerm());
+
+        long failures = wrapped.evaluateAll(rows(600), handler);
+
+        assertEquals(1, failures, "Unexpected failures");
+        assertEquals(600, handler.outcomes.size(), "Unexpected number of outcomes");
+        assertEquals("0:0", handler.outcomes.get(0), "Unexpected first outcome");
+        assertEquals("2:failed", handler.outcomes.get(2), "Unexpected failure");
+        assertEquals("599:599", handler.outcomes.get(599), "Unexpected last outcome");
+        assertEquals(3, submitted.get(), "Rows were not submitted in chunks");
+    }
+
+    /**
+     * Unit test {@link Expression#evaluateAll(Iterable, BatchHandler)}
+     */
+    @Test
+    public void test_evaluateAll_withTimeout_blocked() {
+        when(context.getTimeout())
+            .thenReturn(Duration.ofMillis(200));
+
+        Term backing = s -> {
+            String row = s.read("row");
+
+            if ("1".equals(row)) {
+                try {
+                    Thread.sleep(2_000);                    // Ignores checkpoints
+                } catch (Exception e) {
+                }
+            }
+
+            return Constant.of(row);
+        };
+        RecordingHandler handler = new RecordingHandler();
+        Expression wrapped = new EelRuntime(context).wrap(backing);
+
+        long failures = wrapped.evaluateAll(rows(3), handler);
+
+        assertEquals(1, failures, "Unexpected failures");
+        assertEquals(List.of("0:0", "1:EelTimeoutException", "2:2"), handler.outcomes, "Unexpected outcomes");
+    }
+
+    /**
+     * Unit test {@link Expression#evaluateAll(Iterable, BatchHandler)}
+     */
+    @Test
+    public void test_evaluateAll_withTimeout_saturated() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        when(context.getTimeout())
+            .thenReturn(Duration.ofMillis(200));
+        when(context.getExecutor())
+            .thenReturn(executor);
+
+        try {
+            executor.execute(() -> sleep(600));                 // Rows are queued behind this task
+
+            RecordingHandler handler = new RecordingHandler();
+            Expression wrapped = new EelRuntime(context).wrap(slowRows(100, -1));
+
+            long failures = wrapped.evaluateAll(rows(3), handler);
+
+            assertEquals(0, failures, "Unexpected failures");
+            assertEquals(List.of("0:0", "1:1", "2:2"), handler.outcomes, "Unexpected outcomes");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Unit test {@link Expression#evaluateAll(Iterable, BatchHandler)}
+     */
+    @Test
+    public void test_evaluateAll_withTimeout_slowRow() {
+        when(context.getTimeout())
+            .thenReturn(Duration.ofMillis(200));
+
+        RecordingHandler handler = new RecordingHandler();
+        Expression wrapped = new EelRuntime(context).wrap(slowRows(100, 3));
+
+        long failures = wrapped.evaluateAll(rows(5), handler);
+
+        assertEquals(1, failures, "Unexpected failures");
+        assertEquals(List.of("0:0", "1:1", "2:2", "3:EelTimeoutException", "4:4"), handler.outcomes,
+            "Unexpected outcomes");
+    }
+
+    /**
+     * Unit test {@link Expression#evaluateAll(Iterable, BatchHandler)}
+     */
+    @Test
+    public void test_evaluateAll_withTimeout_error() {
+        when(context.getTimeout())
+            .thenReturn(Duration.ofMillis(200));
+
+        Term backing = s -> {
+            String row = s.read("row");
+
+            if ("1".equals(row)) {
+                throw new AssertionError("expected");
+            }
+
+            return Constant.of(row);
+        };
+        RecordingHandler handler = new RecordingHandler();
+        Expression wrapped = new EelRuntime(context).wrap(backing);
+
+        long failures = wrapped.evaluateAll(rows(3), handler);
+
+        assertEquals(1, failures, "Unexpected failures");
+        assertEquals(List.of("0:0", "1:EelRuntimeException", "2:2"), handler.outcomes, "Unexpected outcomes");
+    }
+
+    /**
+     * Unit test {@link Expression#evaluateAll(Iterable, BatchHandler)}
+     */
+    @Test
+    public void test_evaluateAll_rejected() {
+        Executor executor = mock();
+
+        doThrow(new RejectedExecutionException("expected"))
+            .when(executor)
+            .execute(any(Runnable.class));
+        when(context.getExecutor())
+            .thenReturn(executor);
+
+        RecordingHandler handler = new RecordingHandler();
+        Expression wrapped = new EelRuntime(context).wrap(rowTerm());
+
+        long failures = wrapped.evaluateAll(rows(2), handler);
+
+        assertEquals(2, failures, "Unexpected failures");
+        assertEquals(List.of("0:EelRejectedException", "1:EelRejectedException"), handler.outcomes,
+            "Unexpected outcomes");
+    }
+
+
+    /**
+     * Unit test {@link Expression#evaluateParallel(List, ForkJoinPool, BatchHandler)}
+     */
+    @Test
+    public void test_evaluateParallel_noTimeout() {
+        when(context.getTimeout())
+            .thenReturn(Duration.ZERO);
+
+        RecordingHandler handler = new RecordingHandler();
+        Expression wrapped = new EelRuntime(context).wrap(rowTerm());
+
+        long failures = wrapped.evaluateParallel(rows(1000), ForkJoinPool.commonPool(), handler);
+
+        assertEquals(1, failures, "Unexpected failures");
+        assertEquals(1000, handler.outcomes.size(), "Unexpected number of outcomes");
+        assertEquals("2:failed", handler.outcomes.get(2), "Unexpected failure");
+
+        for (int index = 0; index < 1000; index++) {
+            if (index != 2) {
+                assertEquals(index + ":" + index, handler.outcomes.get(index), "Unexpected outcome " + index);
+            }
+        }
+    }
+
+    /**
+     * Unit test {@link Expression#evaluateParallel(List, ForkJoinPool, BatchHandler)}
+     */
+    @Test
+    public void test_evaluateParallel_withTimeout_blocked() {
+        when(context.getTimeout())
+            .thenReturn(Duration.ofMillis(200));
+
+        Term backing = s -> {
+            String row = s.read("row");
+
+            if ("1".equals(row)) {
+                try {
+                    Thread.sleep(2_000);                    // Ignores checkpoints
+                } catch (Exception e) {
+                }
+            }
+
+            return Constant.of(row);
+        };
+        RecordingHandler handler = new RecordingHandler();
+        Expression wrapped = new EelRuntime(context).wrap(backing);
+
+        long failures = wrapped.evaluateParallel(rows(3), new ForkJoinPool(2), handler);
+
+        assertEquals(1, failures, "Unexpected failures");
+        assertEquals(List.of("0:0", "1:EelTimeoutException", "2:2"), handler.outcomes, "Unexpected outcomes");
+    }
+
+    /**
+     * Unit test {@link Expression#evaluateParallel(List, ForkJoinPool, BatchHandler)}
+     */
+    @Test
+    public void test_evaluateParallel_withTimeout_saturated() {
+        ForkJoinPool pool = new ForkJoinPool(1);
+
+        when(context.getTimeout())
+            .thenReturn(Duration.ofMillis(200));
+
+        try {
+            pool.execute(() -> sleep(600));                     // Chunks are queued behind this task
+
+            RecordingHandler handler = new RecordingHandler();
+            Expression wrapped = new EelRuntime(context).wrap(slowRows(100, -1));
+
+            long failures = wrapped.evaluateParallel(rows(4), pool, handler);
+
+            assertEquals(0, failures, "Unexpected failures");
+            assertEquals(List.of("0:0", "1:1", "2:2", "3:3"), handler.outcomes, "Unexpected outcomes");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns a term that takes {@code millis} to evaluate each row, and blocks without reaching a checkpoint
+     * when it evaluates the {@code blocked} row
+     */
+    @Nonnull
+    private Term slowRows(long millis, int blocked) {
+        return s -> {
+            String row = s.read("row");
+
+            sleep(Integer.toString(blocked).equals(row) ? 2_000 : millis);
+
+            return Constant.of(row);
+        };
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);                               // Ignores checkpoints
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Nonnull
+    private Term rowTerm() {
+        return s -> {
+            String row = s.read("row");
+
+            if ("2".equals(row)) {
+                throw new ArithmeticException("failed");
+            }
+
+            return Constant.of(row);
+        };
+    }
+
+    @Nonnull
+    private List<SymbolsTable> rows(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> SymbolsTable.from(Map.of("row", Integer.toString(i))))
+            .toList();
+    }
+
+
+    private static class RecordingHandler implements BatchHandler {
+        private final List<String> outcomes = new ArrayList<>();
+
+        @Override
+        public void onResult(long row, @Nonnull Result result) {
+            outcomes.add(row + ":" + result.asText());
+        }
+
+        @Override
+        public void onFailure(long row, @Nonnull EelException failure) {
+            String reason = (failure.getCause() instanceof ArithmeticException cause ?
+                cause.getMessage() :
+                failure.getClass().getSimpleName());
+
+            outcomes.add(row + ":" + reason);
+        }
+    }
+
+
     private void assertStack(@Nonnull Exception actual, @Nonnull String callingMethod, boolean substring) {
         boolean found = Arrays.stream(actual.getStackTrace())
             .map(StackTraceElement::getMethodName)
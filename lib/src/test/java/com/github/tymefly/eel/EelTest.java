@@ -1,15 +1,28 @@
 package com.github.tymefly.eel;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringWriter;
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import javax.annotation.Nonnull;
 
 import com.github.tymefly.eel.builder.EelContextBuilder;
+import com.github.tymefly.eel.builder.FluentEelBuilder;
+import com.github.tymefly.eel.exception.EelException;
+import com.github.tymefly.eel.exception.EelUnknownSymbolException;
 import func.bad_functions.Test1;
 import func.functions.Plus1;
 import helper.MockConstructor;
@@ -20,13 +33,19 @@ import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -100,6 +119,7 @@ public class EelTest {
         try (
             MockConstructor<Tokenizer> tokenizerMock = new MockConstructor<>(Tokenizer.class);
             MockConstructor<LambdaCompiler> compilerMock = new MockConstructor<>(LambdaCompiler.class);
+            MockConstructor<CommonTerms> commonTermsMock = new MockConstructor<>(CommonTerms.class);
             MockConstructor<Parser> parserMock = new MockConstructor<>(Parser.class, p -> when(p.parse())
                 .thenReturn(parsed))
         ) {
@@ -114,15 +134,15 @@ public class EelTest {
             assertEquals(EelContextBuilder.DEFAULT_MAX_EXPRESSION_LENGTH,
                 source.getMaxLength(),
                 "Unexpected expression length");
-            assertSame(compilerMock.getArgument(0, EelContext.class),
-                parserMock.getArgument(0, EelContext.class),
-                "Inconsistent context");
             assertSame(tokenizerMock.getMock(),
-                parserMock.getArgument(1, Tokenizer.class),
+                parserMock.getArgument(0, Tokenizer.class),
                 "Unexpected tokenizer");
             assertSame(compilerMock.getMock(),
-                parserMock.getArgument(2, LambdaCompiler.class),
+                commonTermsMock.getArgument(1, LambdaCompiler.class),
                 "Unexpected compiler");
+            assertSame(commonTermsMock.getMock(),
+                parserMock.getArgument(1, CommonTerms.class),
+                "Unexpected common terms");
         }
     }
 
@@ -138,6 +158,7 @@ public class EelTest {
 
             MockConstructor<Tokenizer> tokenizerMock = new MockConstructor<>(Tokenizer.class);
             MockConstructor<LambdaCompiler> compilerMock = new MockConstructor<>(LambdaCompiler.class);
+            MockConstructor<CommonTerms> commonTermsMock = new MockConstructor<>(CommonTerms.class);
             MockConstructor<Parser> parserMock = new MockConstructor<>(Parser.class, p -> when(p.parse())
                 .thenReturn(parsed))
         ) {
@@ -152,15 +173,15 @@ public class EelTest {
             assertEquals(EelContextBuilder.DEFAULT_MAX_EXPRESSION_LENGTH,
                 source.getMaxLength(),
                 "Unexpected expression length");
-            assertSame(compilerMock.getArgument(0, EelContext.class),
-                parserMock.getArgument(0, EelContext.class),
-                "Inconsistent context");
             assertSame(tokenizerMock.getMock(),
-                parserMock.getArgument(1, Tokenizer.class),
+                parserMock.getArgument(0, Tokenizer.class),
                 "Unexpected tokenizer");
             assertSame(compilerMock.getMock(),
-                parserMock.getArgument(2, LambdaCompiler.class),
+                commonTermsMock.getArgument(1, LambdaCompiler.class),
                 "Unexpected compiler");
+            assertSame(commonTermsMock.getMock(),
+                parserMock.getArgument(1, CommonTerms.class),
+                "Unexpected common terms");
         }
     }
 
@@ -178,6 +199,7 @@ public class EelTest {
         try (
             MockConstructor<Tokenizer> tokenizerMock = new MockConstructor<>(Tokenizer.class);
             MockConstructor<LambdaCompiler> compilerMock = new MockConstructor<>(LambdaCompiler.class);
+            MockConstructor<CommonTerms> commonTermsMock = new MockConstructor<>(CommonTerms.class);
             MockConstructor<Parser> parserMock = new MockConstructor<>(Parser.class, p -> when(p.parse())
                 .thenReturn(firstParsed))
         ) {
@@ -189,6 +211,7 @@ public class EelTest {
         try (
             MockConstructor<Tokenizer> tokenizerMock = new MockConstructor<>(Tokenizer.class);
             MockConstructor<LambdaCompiler> compilerMock = new MockConstructor<>(LambdaCompiler.class);
+            MockConstructor<CommonTerms> commonTermsMock = new MockConstructor<>(CommonTerms.class);
             MockConstructor<Parser> parserMock = new MockConstructor<>(Parser.class, p -> when(p.parse())
                 .thenReturn(secondParsed))
         ) {
@@ -200,6 +223,93 @@ public class EelTest {
         assertSame(first, second, "Context was not reused");
     }
 
+    /**
+     * Unit test {@link Eel#compile(EelContext, String)}
+     */
+    @Test
+    public void test_compile_cachedContext() {
+        EelContext context = EelContext.factory()
+            .withExpressionCache(2)
+            .build();
+
+        Eel first = Eel.compile(context, "first");
+        Eel second = Eel.compile(context, "second");
+
+        assertSame(first, Eel.compile(context, "first"), "first was not cached");
+        assertSame(second, Eel.compile(context, "second"), "second was not cached");
+
+        Eel.compile(context, "third");
+
+        assertNotSame(first, Eel.compile(context, "first"), "first was not evicted");
+        assertEquals(new CacheStatistics(2, 4, 2, 2, 2),
+            context.getExpressionCacheStatistics(),
+            "Unexpected statistics");
+    }
+
+    /**
+     * Unit test {@link Eel#compile(EelContext, InputStream)}
+     */
+    @Test
+    public void test_compile_cachedContext_stream() {
+        EelContext context = EelContext.factory()
+            .withExpressionCache(2)
+            .build();
+
+        Eel first = Eel.compile(context, new ByteArrayInputStream("text".getBytes(StandardCharsets.UTF_8)));
+        Eel second = Eel.compile(context, new ByteArrayInputStream("text".getBytes(StandardCharsets.UTF_8)));
+
+        assertNotSame(first, second, "Stream was cached");
+        assertEquals(new CacheStatistics(0, 0, 0, 0, 2),
+            context.getExpressionCacheStatistics(),
+            "Unexpected statistics");
+    }
+
+    /**
+     * Unit test {@link Eel#factory()}
+     */
+    @Test
+    public void test_factory_cachedContext() {
+        FluentEelBuilder builder = Eel.factory()
+            .withExpressionCache(2);
+
+        Eel first = builder.compile("first");
+
+        assertSame(first, builder.compile("first"), "first was not cached");
+        assertEquals("first", builder.compile("first").evaluate().asText(), "Unexpected result");
+    }
+
+    /**
+     * Unit test {@link Eel#defaultContext()}
+     */
+    @Test
+    public void test_defaultContext() {
+        EelContext context = Eel.defaultContext();
+
+        assertSame(context, Eel.defaultContext(), "Default context is not shared");
+        assertEquals(0, context.getExpressionCacheStatistics().capacity(), "Default context should not cache");
+    }
+
+
+    /**
+     * Unit test {@link Eel#constantPoolStatistics()}
+     */
+    @Test
+    public void test_constantPoolStatistics() {
+        Map<Type, CacheStatistics> statistics = Eel.constantPoolStatistics();
+
+        assertEquals(3, statistics.size(), "Unexpected number of pools");
+        assertEquals(Eel.DEFAULT_CONSTANT_POOL_CAPACITY + 1,
+            statistics.get(Type.TEXT).capacity(),
+            "Unexpected TEXT capacity");
+        assertEquals(Eel.DEFAULT_CONSTANT_POOL_CAPACITY + 3,
+            statistics.get(Type.NUMBER).capacity(),
+            "Unexpected NUMBER capacity");
+        assertEquals(Eel.DEFAULT_CONSTANT_POOL_CAPACITY + 1,
+            statistics.get(Type.DATE).capacity(),
+            "Unexpected DATE capacity");
+    }
+
+
     /**
      * Unit test {@link Eel#compile(EelContext, String)}
      */
@@ -213,6 +323,7 @@ public class EelTest {
         try (
             MockConstructor<Tokenizer> tokenizerMock = new MockConstructor<>(Tokenizer.class);
             MockConstructor<LambdaCompiler> compilerMock = new MockConstructor<>(LambdaCompiler.class);
+            MockConstructor<CommonTerms> commonTermsMock = new MockConstructor<>(CommonTerms.class);
             MockConstructor<Parser> parserMock = new MockConstructor<>(Parser.class)
         ) {
             Eel.compile(context, "Test me");
@@ -229,15 +340,15 @@ public class EelTest {
             assertSame(context,
                 compilerMock.getArgument(0, EelContext.class),
                 "Unexpected context passed to compiler");
-            assertSame(context,
-                parserMock.getArgument(0, EelContext.class),
-                "Unexpected context passed to parser");
             assertSame(tokenizerMock.getMock(),
-                parserMock.getArgument(1, Tokenizer.class),
+                parserMock.getArgument(0, Tokenizer.class),
                 "Unexpected tokenizer");
             assertSame(compilerMock.getMock(),
-                parserMock.getArgument(2, LambdaCompiler.class),
+                commonTermsMock.getArgument(1, LambdaCompiler.class),
                 "Unexpected compiler");
+            assertSame(commonTermsMock.getMock(),
+                parserMock.getArgument(1, CommonTerms.class),
+                "Unexpected common terms");
         }
     }
 
@@ -256,6 +367,7 @@ public class EelTest {
 
             MockConstructor<Tokenizer> tokenizerMock = new MockConstructor<>(Tokenizer.class);
             MockConstructor<LambdaCompiler> compilerMock = new MockConstructor<>(LambdaCompiler.class);
+            MockConstructor<CommonTerms> commonTermsMock = new MockConstructor<>(CommonTerms.class);
             MockConstructor<Parser> parserMock = new MockConstructor<>(Parser.class)
         ) {
             Eel.compile(context, sourceStream);
@@ -272,15 +384,15 @@ public class EelTest {
             assertSame(context,
                 compilerMock.getArgument(0, EelContext.class),
                 "Unexpected context passed to compiler");
-            assertSame(context,
-                parserMock.getArgument(0, EelContext.class),
-                "Unexpected context passed to parser");
             assertSame(tokenizerMock.getMock(),
-                parserMock.getArgument(1, Tokenizer.class),
+                parserMock.getArgument(0, Tokenizer.class),
                 "Unexpected tokenizer");
             assertSame(compilerMock.getMock(),
-                parserMock.getArgument(2, LambdaCompiler.class),
+                commonTermsMock.getArgument(1, LambdaCompiler.class),
                 "Unexpected compiler");
+            assertSame(commonTermsMock.getMock(),
+                parserMock.getArgument(1, CommonTerms.class),
+                "Unexpected common terms");
         }
     }
 
@@ -292,6 +404,7 @@ public class EelTest {
         try (
             MockConstructor<Tokenizer> tokenizerMock = new MockConstructor<>(Tokenizer.class);
             MockConstructor<LambdaCompiler> compilerMock = new MockConstructor<>(LambdaCompiler.class);
+            MockConstructor<CommonTerms> commonTermsMock = new MockConstructor<>(CommonTerms.class);
             MockConstructor<Parser> parserMock = new MockConstructor<>(Parser.class)
         ) {
             Eel.factory()
@@ -310,15 +423,15 @@ public class EelTest {
             assertSame(context,
                 compilerMock.getArgument(0, EelContext.class),
                 "Unexpected context passed to compiler");
-            assertSame(context,
-                parserMock.getArgument(0, EelContext.class),
-                "Unexpected context passed to parser");
             assertSame(tokenizerMock.getMock(),
-                parserMock.getArgument(1, Tokenizer.class),
+                parserMock.getArgument(0, Tokenizer.class),
                 "Unexpected tokenizer");
             assertSame(compilerMock.getMock(),
-                parserMock.getArgument(2, LambdaCompiler.class),
+                commonTermsMock.getArgument(1, LambdaCompiler.class),
                 "Unexpected compiler");
+            assertSame(commonTermsMock.getMock(),
+                parserMock.getArgument(1, CommonTerms.class),
+                "Unexpected common terms");
         }
     }
 
@@ -332,6 +445,7 @@ public class EelTest {
         try (
             MockConstructor<Tokenizer> tokenizerMock = new MockConstructor<>(Tokenizer.class);
             MockConstructor<LambdaCompiler> compilerMock = new MockConstructor<>(LambdaCompiler.class);
+            MockConstructor<CommonTerms> commonTermsMock = new MockConstructor<>(CommonTerms.class);
             MockConstructor<Parser> parserMock = new MockConstructor<>(Parser.class);
             MockConstructor<EelContextImpl.Builder> contextFactory =
                 new MockConstructor<>(EelContextImpl.Builder.class, this::mockContextBuilder)
@@ -356,15 +470,15 @@ public class EelTest {
             assertSame(context,
                 compilerMock.getArgument(0, EelContext.class),
                 "Unexpected context passed to compiler");
-            assertSame(context,
-                parserMock.getArgument(0, EelContext.class),
-                "Unexpected context passed to parser");
             assertSame(tokenizerMock.getMock(),
-                parserMock.getArgument(1, Tokenizer.class),
+                parserMock.getArgument(0, Tokenizer.class),
                 "Unexpected tokenizer");
             assertSame(compilerMock.getMock(),
-                parserMock.getArgument(2, LambdaCompiler.class),
+                commonTermsMock.getArgument(1, LambdaCompiler.class),
                 "Unexpected compiler");
+            assertSame(commonTermsMock.getMock(),
+                parserMock.getArgument(1, CommonTerms.class),
+                "Unexpected common terms");
 
             verify(contextFactory.getMock()).withMaxExpressionSize(123);
             verify(contextFactory.getMock()).withPrecision(6);
@@ -388,6 +502,7 @@ public class EelTest {
         try (
             MockConstructor<Tokenizer> tokenizerMock = new MockConstructor<>(Tokenizer.class);
             MockConstructor<LambdaCompiler> compilerMock = new MockConstructor<>(LambdaCompiler.class);
+            MockConstructor<CommonTerms> commonTermsMock = new MockConstructor<>(CommonTerms.class);
             MockConstructor<Parser> parserMock = new MockConstructor<>(Parser.class, p -> when(p.parse())
                 .thenReturn(parsed))
         ) {
@@ -400,15 +515,15 @@ public class EelTest {
             assertEquals("myStream",
                 expression,
                 "Unexpected expression");
-            assertSame(compilerMock.getArgument(0, EelContext.class),
-                parserMock.getArgument(0, EelContext.class),
-                "Inconsistent context");
             assertSame(tokenizerMock.getMock(),
-                parserMock.getArgument(1, Tokenizer.class),
+                parserMock.getArgument(0, Tokenizer.class),
                 "Unexpected tokenizer");
             assertSame(compilerMock.getMock(),
-                parserMock.getArgument(2, LambdaCompiler.class),
+                commonTermsMock.getArgument(1, LambdaCompiler.class),
                 "Unexpected compiler");
+            assertSame(commonTermsMock.getMock(),
+                parserMock.getArgument(1, CommonTerms.class),
+                "Unexpected common terms");
         }
     }
 
@@ -423,6 +538,7 @@ public class EelTest {
         try (
             MockConstructor<Tokenizer> tokenizerMock = new MockConstructor<>(Tokenizer.class);
             MockConstructor<LambdaCompiler> compilerMock = new MockConstructor<>(LambdaCompiler.class);
+            MockConstructor<CommonTerms> commonTermsMock = new MockConstructor<>(CommonTerms.class);
             MockConstructor<Parser> parserMock = new MockConstructor<>(Parser.class, this::mockParser)
         ) {
             Eel.compile("${myVar}")
@@ -445,6 +561,7 @@ public class EelTest {
         try (
             MockConstructor<Tokenizer> tokenizerMock = new MockConstructor<>(Tokenizer.class);
             MockConstructor<LambdaCompiler> compilerMock = new MockConstructor<>(LambdaCompiler.class);
+            MockConstructor<CommonTerms> commonTermsMock = new MockConstructor<>(CommonTerms.class);
             MockConstructor<Parser> parserMock = new MockConstructor<>(Parser.class, this::mockParser)
         ) {
             Eel.compile("${myVar}")
@@ -467,6 +584,7 @@ public class EelTest {
         try (
             MockConstructor<Tokenizer> tokenizerMock = new MockConstructor<>(Tokenizer.class);
             MockConstructor<LambdaCompiler> compilerMock = new MockConstructor<>(LambdaCompiler.class);
+            MockConstructor<CommonTerms> commonTermsMock = new MockConstructor<>(CommonTerms.class);
             MockConstructor<Parser> parserMock = new MockConstructor<>(Parser.class, this::mockParser);
             MockedStatic<SymbolsTable> symbolsMock = mockStatic(SymbolsTable.class)
         ) {
@@ -494,6 +612,7 @@ public class EelTest {
         try (
             MockConstructor<Tokenizer> tokenizerMock = new MockConstructor<>(Tokenizer.class);
             MockConstructor<LambdaCompiler> compilerMock = new MockConstructor<>(LambdaCompiler.class);
+            MockConstructor<CommonTerms> commonTermsMock = new MockConstructor<>(CommonTerms.class);
             MockConstructor<Parser> parserMock = new MockConstructor<>(Parser.class, this::mockParser);
             MockedStatic<SymbolsTable> symbolsMock = mockStatic(SymbolsTable.class)
         ) {
@@ -510,6 +629,59 @@ public class EelTest {
         }
     }
 
+    /**
+     * Unit test {@link Eel#evaluateAll(Iterable, BatchHandler)}
+     */
+    @Test
+    public void test_evaluateAll() {
+        SymbolsTable first = mock();
+        SymbolsTable second = mock();
+        BatchHandler handler = mock();
+
+        try (
+            MockConstructor<Tokenizer> tokenizerMock = new MockConstructor<>(Tokenizer.class);
+            MockConstructor<LambdaCompiler> compilerMock = new MockConstructor<>(LambdaCompiler.class);
+            MockConstructor<CommonTerms> commonTermsMock = new MockConstructor<>(CommonTerms.class);
+            MockConstructor<Parser> parserMock = new MockConstructor<>(Parser.class, this::mockParser)
+        ) {
+            long actual = Eel.compile("${myVar}")
+                .evaluateAll(List.of(first, second), handler);
+
+            assertEquals(0, actual, "Unexpected failures");
+            verify(term).evaluate(first);
+            verify(term).evaluate(second);
+            verify(handler).onResult(eq(0L), any(Result.class));
+            verify(handler).onResult(eq(1L), any(Result.class));
+            verify(handler, never()).onFailure(anyLong(), any(EelException.class));
+        }
+    }
+
+    /**
+     * Unit test {@link Eel#evaluateRows(Iterable, BatchHandler)}
+     */
+    @Test
+    public void test_evaluateRows() {
+        ArgumentCaptor<SymbolsTable> captor = ArgumentCaptor.forClass(SymbolsTable.class);
+        BatchHandler handler = mock();
+
+        try (
+            MockConstructor<Tokenizer> tokenizerMock = new MockConstructor<>(Tokenizer.class);
+            MockConstructor<LambdaCompiler> compilerMock = new MockConstructor<>(LambdaCompiler.class);
+            MockConstructor<CommonTerms> commonTermsMock = new MockConstructor<>(CommonTerms.class);
+            MockConstructor<Parser> parserMock = new MockConstructor<>(Parser.class, this::mockParser)
+        ) {
+            long actual = Eel.compile("${key}")
+                .evaluateRows(List.of(Map.of("key", "first"), Map.of("key", "second")), handler);
+
+            assertEquals(0, actual, "Unexpected failures");
+            verify(term, times(2)).evaluate(captor.capture());
+            verify(handler, times(2)).onResult(anyLong(), any(Result.class));
+
+            assertEquals("first", captor.getAllValues().get(0).read("key"), "Unexpected first row");
+            assertEquals("second", captor.getAllValues().get(1).read("key"), "Unexpected second row");
+        }
+    }
+
     /**
      * Unit test {@link Eel#evaluate(Function)}
      */
@@ -521,6 +693,7 @@ public class EelTest {
         try (
             MockConstructor<Tokenizer> tokenizerMock = new MockConstructor<>(Tokenizer.class);
             MockConstructor<LambdaCompiler> compilerMock = new MockConstructor<>(LambdaCompiler.class);
+            MockConstructor<CommonTerms> commonTermsMock = new MockConstructor<>(CommonTerms.class);
             MockConstructor<Parser> parserMock = new MockConstructor<>(Parser.class, this::mockParser);
             MockedStatic<SymbolsTable> symbolsMock = mockStatic(SymbolsTable.class)
         ) {
@@ -548,6 +721,7 @@ public class EelTest {
         try (
             MockConstructor<Tokenizer> tokenizerMock = new MockConstructor<>(Tokenizer.class);
             MockConstructor<LambdaCompiler> compilerMock = new MockConstructor<>(LambdaCompiler.class);
+            MockConstructor<CommonTerms> commonTermsMock = new MockConstructor<>(CommonTerms.class);
             MockConstructor<Parser> parserMock = new MockConstructor<>(Parser.class, this::mockParser);
             MockedStatic<SymbolsTable> symbolsMock = mockStatic(SymbolsTable.class)
         ) {
@@ -574,6 +748,7 @@ public class EelTest {
         try (
             MockConstructor<Tokenizer> tokenizerMock = new MockConstructor<>(Tokenizer.class);
             MockConstructor<LambdaCompiler> compilerMock = new MockConstructor<>(LambdaCompiler.class);
+            MockConstructor<CommonTerms> commonTermsMock = new MockConstructor<>(CommonTerms.class);
             MockConstructor<Parser> parserMock = new MockConstructor<>(Parser.class, this::mockParser);
             MockedStatic<SymbolsTable> symbolsMock = mockStatic(SymbolsTable.class)
         ) {
@@ -600,6 +775,7 @@ public class EelTest {
         try (
             MockConstructor<Tokenizer> tokenizerMock = new MockConstructor<>(Tokenizer.class);
             MockConstructor<LambdaCompiler> compilerMock = new MockConstructor<>(LambdaCompiler.class);
+            MockConstructor<CommonTerms> commonTermsMock = new MockConstructor<>(CommonTerms.class);
             MockConstructor<Parser> parserMock = new MockConstructor<>(Parser.class, this::mockParser);
             MockedStatic<SymbolsTable> symbolsMock = mockStatic(SymbolsTable.class)
         ) {
@@ -626,6 +802,7 @@ public class EelTest {
         try (
             MockConstructor<Tokenizer> tokenizerMock = new MockConstructor<>(Tokenizer.class);
             MockConstructor<LambdaCompiler> compilerMock = new MockConstructor<>(LambdaCompiler.class);
+            MockConstructor<CommonTerms> commonTermsMock = new MockConstructor<>(CommonTerms.class);
             MockConstructor<Parser> parserMock = new MockConstructor<>(Parser.class, this::mockParser);
             MockedStatic<SymbolsTable> symbolsMock = mockStatic(SymbolsTable.class)
         ) {
@@ -652,6 +829,7 @@ public class EelTest {
         try (
             MockConstructor<Tokenizer> tokenizerMock = new MockConstructor<>(Tokenizer.class);
             MockConstructor<LambdaCompiler> compilerMock = new MockConstructor<>(LambdaCompiler.class);
+            MockConstructor<CommonTerms> commonTermsMock = new MockConstructor<>(CommonTerms.class);
             MockConstructor<Parser> parserMock = new MockConstructor<>(Parser.class, this::mockParser);
             MockedStatic<SymbolsTable> symbolsMock = mockStatic(SymbolsTable.class)
         ) {
@@ -678,6 +856,7 @@ public class EelTest {
         try (
             MockConstructor<Tokenizer> tokenizerMock = new MockConstructor<>(Tokenizer.class);
             MockConstructor<LambdaCompiler> compilerMock = new MockConstructor<>(LambdaCompiler.class);
+            MockConstructor<CommonTerms> commonTermsMock = new MockConstructor<>(CommonTerms.class);
             MockConstructor<Parser> parserMock = new MockConstructor<>(Parser.class, this::mockParser);
             MockedStatic<SymbolsTable> symbolsMock = mockStatic(SymbolsTable.class)
         ) {
@@ -694,7 +873,240 @@ public class EelTest {
         }
     }
 
+    /**
+     * Unit test {@link Eel#evaluate(Map)}
+     */
+    @Test
+    public void test_lookback_notShared() {
+        Eel eel = Eel.compile("$( ${x} ; $[1] ~> $[1] )");
+
+        assertEquals("11", eel.evaluate(Map.of("x", "1")).asText(), "first evaluation");
+        assertEquals("22", eel.evaluate(Map.of("x", "2")).asText(), "second evaluation");
+    }
+
+    /**
+     * Unit test {@link Eel#evaluateParallel(List, BatchHandler)}
+     */
+    @Test
+    public void test_evaluateParallel() {
+        int count = 10_000;
+        Eel eel = Eel.compile("$( ${x} * 2 ; $[1] ~> '-' ~> ${x} )");
+        List<SymbolsTable> rows = IntStream.range(0, count)
+            .mapToObj(i -> SymbolsTable.from(Map.of("x", Integer.toString(i))))
+            .toList();
+        List<String> actual = new ArrayList<>();
+
+        long failures = eel.evaluateParallel(rows, new BatchHandler() {
+            @Override
+            public void onResult(long row, @Nonnull Result result) {
+                assertEquals(actual.size(), row, "Out of order");
+                actual.add(result.asText());
+            }
+
+            @Override
+            public void onFailure(long row, @Nonnull EelException failure) {
+                fail("Unexpected failure for row " + row, failure);
+            }
+        });
+
+        assertEquals(0, failures, "Unexpected failures");
+        assertEquals(count, actual.size(), "Unexpected number of results");
+
+        for (int index = 0; index < count; index++) {
+            assertEquals((index * 2) + "-" + index, actual.get(index), "Unexpected result " + index);
+        }
+    }
+
+
+
+    /**
+     * Unit test {@link Eel#evaluate(SymbolsTable)}
+     */
+    @Test
+    public void test_symbolSchema() {
+        Eel eel = Eel.factory()
+            .withSymbolSchema("first", "second")
+            .compile("$( ${first} ~> ${second-?} ~> (second? ? '!' : '') )");
+
+        assertEquals("ab!", eel.evaluate(SymbolsTable.slots("a", "b")).asText(), "both slots");
+        assertEquals("a?", eel.evaluate(SymbolsTable.slots("a")).asText(), "one slot");
+        assertEquals("cd!", eel.evaluate(Map.of("first", "c", "second", "d")).asText(), "named table");
+    }
+
+    /**
+     * Unit test {@link Eel#factory()}
+     */
+    @Test
+    public void test_symbolSchema_unknown() {
+        FluentEelBuilder builder = Eel.factory()
+            .withSymbolSchema("first");
+
+        EelUnknownSymbolException actual = assertThrows(EelUnknownSymbolException.class,
+            () -> builder.compile("$( ${first} ~> ${second-?} )"));
+
+        assertEquals("Unknown variable 'second'", actual.getMessage(), "Unexpected message");
+    }
 
+    /**
+     * Unit test {@link com.github.tymefly.eel.builder.SymbolsTableBuilder#withTypedLookup(Function)}
+     */
+    @Test
+    public void test_typedLookup() {
+        Map<String, Object> values = Map.of(
+            "price", new BigDecimal("2.50"),
+            "count", 4,
+            "enabled", true,
+            "when", ZonedDateTime.of(2000, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC));
+        SymbolsTable symbols = SymbolsTable.factory()
+            .withTypedLookup(values::get)
+            .build();
+
+        assertEquals("10.00", Eel.compile("$( ${price} * ${count} )").evaluate(symbols).asText(), "numbers");
+        assertEquals("yes", Eel.compile("$( ${enabled} ? 'yes' : 'no' )").evaluate(symbols).asText(), "logic");
+        assertEquals(2001, Eel.compile("$( date.plus(${when}, '1y') )").evaluate(symbols).asDate().getYear(), "date");
+        assertEquals("2.50!", Eel.compile("${price}!").evaluate(symbols).asText(), "text");
+    }
+
+    /**
+     * Unit test {@link FluentEelBuilder#withSymbolMemoisation(boolean)}
+     */
+    @Test
+    public void test_symbolMemoisation() {
+        Map<String, Integer> reads = new HashMap<>();
+        SymbolsTable symbols = SymbolsTable.from(k -> {
+            reads.merge(k, 1, Integer::sum);
+
+            return k.toUpperCase();
+        });
+        Eel eel = Eel.factory()
+            .withSymbolMemoisation(true)
+            .compile("${a}-${b}-${a}-${b}-${a}$( (a? ? ${a} : '') ~> ${c-x} ~> (d? ? 'd' : '') ~> ${d-x} )");
+
+        assertEquals("A-B-A-B-AACdD", eel.evaluate(symbols).asText(), "first evaluation");
+        assertEquals(Map.of("a", 1, "b", 1, "c", 1, "d", 1), reads, "first evaluation reads");
+
+        eel.evaluate(symbols);
+
+        assertEquals(Map.of("a", 2, "b", 2, "c", 2, "d", 2), reads, "second evaluation reads");
+    }
+
+    /**
+     * Unit test {@link Eel#evaluateTo(SymbolsTable, Appendable)}
+     */
+    @Test
+    public void test_evaluateTo() throws Exception {
+        SymbolsTable symbols = SymbolsTable.from(Map.of("name", "World", "count", "41"));
+        Eel eel = Eel.factory()
+            .withTimeoutMode(TimeoutMode.COOPERATIVE)
+            .compile("Hello ${name}, the answer is $( ${count} + 1 )!");
+        List<String> parts = new ArrayList<>();
+        StringWriter sink = new StringWriter() {
+            @Override
+            public StringWriter append(CharSequence text) {
+                parts.add(text.toString());
+
+                return super.append(text);
+            }
+        };
+
+        eel.evaluateTo(symbols, sink);
+
+        assertEquals("Hello World, the answer is 42!", sink.toString(), "Unexpected text");
+        assertEquals(List.of("Hello ", "World", ", the answer is ", "42", "!"), parts, "Unexpected parts");
+    }
+
+    /**
+     * Unit test {@link Eel#evaluateTo(SymbolsTable, Appendable)}
+     */
+    @Test
+    public void test_evaluateTo_asyncTimeout() throws Exception {
+        SymbolsTable symbols = SymbolsTable.from(Map.of("name", "World"));
+        Appendable sink = mock();
+
+        Eel.factory()
+            .withTimeout(Duration.ofSeconds(5))
+            .withTimeoutMode(TimeoutMode.ASYNC)
+            .compile("Hello ${name}")
+            .evaluateTo(symbols, sink);
+
+        verify(sink).append("Hello World");
+    }
+
+    /**
+     * Unit test {@link Eel#evaluateTo(SymbolsTable, Appendable)}
+     */
+    @Test
+    public void test_evaluateTo_ioException() throws Exception {
+        IOException expected = new IOException("expected");
+        Appendable sink = mock();
+
+        when(sink.append(any(CharSequence.class)))
+            .thenThrow(expected);
+
+        IOException actual = assertThrows(IOException.class,
+            () -> Eel.compile("Hello ${name-World}").evaluateTo(SymbolsTable.EMPTY, sink));
+
+        assertSame(expected, actual, "Unexpected exception");
+    }
+
+    /**
+     * Unit test {@link Eel#evaluate(SymbolsTable)}
+     */
+    @Test
+    public void test_switch() {
+        Map<String, Integer> reads = new HashMap<>();
+        Eel eel = Eel.compile("$( ${x} = 'a' ? 'first' : ${x} = 'b' ? 'second' : ${x} = 'b' ? 'third' : 'other' )");
+
+        for (var entry : Map.of("a", "first", "b", "second", "c", "other").entrySet()) {
+            String actual = eel.evaluate(SymbolsTable.from(k -> {
+                    reads.merge(k, 1, Integer::sum);
+
+                    return entry.getKey();
+                }))
+                .asText();
+
+            assertEquals(entry.getValue(), actual, "Unexpected result for " + entry.getKey());
+        }
+
+        assertEquals(Map.of("x", 3), reads, "Unexpected reads");
+    }
+
+    /**
+     * Unit test {@link Eel#evaluate(SymbolsTable)}
+     */
+    @Test
+    public void test_commonSubexpressions() {
+        Map<String, Integer> reads = new HashMap<>();
+        SymbolsTable symbols = SymbolsTable.from(k -> {
+            reads.merge(k, 1, Integer::sum);
+
+            return k.length() + "";
+        });
+        Eel eel = Eel.compile("$( ${abc} * ${de} ) $( ${abc} * ${de} ) $( ${abc} * ${de} + 1 ) $( ${abc-1} * ${de} )");
+
+        assertEquals("6 6 7 6", eel.evaluate(symbols).asText(), "first evaluation");
+        assertEquals(Map.of("abc", 2, "de", 2), reads, "first evaluation reads");
+
+        eel.evaluate(symbols);
+
+        assertEquals(Map.of("abc", 4, "de", 4), reads, "second evaluation reads");
+    }
+
+    /**
+     * Unit test {@link SymbolsTable#freeze()}
+     */
+    @Test
+    public void test_frozenSymbols() {
+        SymbolsTable symbols = SymbolsTable.factory()
+            .withValues(Map.of("a", "1", "b", "2.5"))
+            .withDefault("0")
+            .build()
+            .freeze();
+        Eel eel = Eel.compile("$( (${a} + ${b} + ${c}) ~> ':' ~> upper(${x-none}) )");
+
+        assertEquals("3.5:0", eel.evaluate(symbols).asText(), "first evaluation");
+        assertEquals("3.5:0", eel.evaluate(symbols).asText(), "second evaluation");
+    }
 
     @Nonnull
     private String readExpression(@Nonnull Source source) {
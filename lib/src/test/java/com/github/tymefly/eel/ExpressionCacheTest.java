@@ -0,0 +1,79 @@
+package com.github.tymefly.eel;
+
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for {@link ExpressionCache}
+ */
+public class ExpressionCacheTest {
+    /**
+     * Unit test {@link ExpressionCache#get(String, Function)}
+     */
+    @Test
+    public void test_get_hit() {
+        Eel expression = mock();
+        Function<String, Eel> compiler = mock();
+        ExpressionCache cache = new ExpressionCache(2);
+
+        when(compiler.apply(any(String.class)))
+            .thenReturn(expression);
+
+        assertSame(expression, cache.get("first", compiler), "Unexpected first result");
+        assertSame(expression, cache.get("first", compiler), "Unexpected second result");
+
+        verify(compiler, times(1)).apply("first");
+        assertEquals(new CacheStatistics(1, 1, 0, 1, 2), cache.statistics(), "Unexpected statistics");
+    }
+
+    /**
+     * Unit test {@link ExpressionCache#get(String, Function)}
+     */
+    @Test
+    public void test_get_evict() {
+        Function<String, Eel> compiler = s -> mock();
+        ExpressionCache cache = new ExpressionCache(2);
+
+        Eel first = cache.get("first", compiler);
+        Eel second = cache.get("second", compiler);
+
+        assertSame(first, cache.get("first", compiler), "first was evicted too early");
+
+        cache.get("third", compiler);
+
+        assertSame(first, cache.get("first", compiler), "Most recently used entry was evicted");
+        assertNotSame(second, cache.get("second", compiler), "Least recently used entry was not evicted");
+        assertEquals(new CacheStatistics(2, 4, 2, 2, 2), cache.statistics(), "Unexpected statistics");
+    }
+
+    /**
+     * Unit test {@link ExpressionCache#get(String, Function)}
+     */
+    @Test
+    public void test_get_failure() {
+        Eel expression = mock();
+        Function<String, Eel> compiler = mock();
+        ExpressionCache cache = new ExpressionCache(2);
+
+        when(compiler.apply(any(String.class)))
+            .thenThrow(new EelSourceException("Expected"))
+            .thenReturn(expression);
+
+        assertThrows(EelSourceException.class, () -> cache.get("bad", compiler));
+        assertSame(expression, cache.get("bad", compiler), "Failure was cached");
+
+        verify(compiler, times(2)).apply("bad");
+        assertEquals(new CacheStatistics(0, 2, 0, 1, 2), cache.statistics(), "Unexpected statistics");
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.tymefly.eel;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.tymefly.eel.exception.EelSymbolsTableException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit test for {@link FrozenSymbols}
+ */
+public class FrozenSymbolsTest {
+    /**
+     * Unit test {@link FrozenSymbols#get(String)}
+     */
+    @Test
+    public void test_get() {
+        Map<String, String> values = new HashMap<>();
+
+        for (int index = 0; index < 1000; index++) {
+            values.put("key" + index, "value" + index);
+        }
+
+        FrozenSymbols frozen = FrozenSymbols.of(List.of(SymbolsSource.unscoped(values)));
+
+        for (int index = 0; index < 1000; index++) {
+            assertEquals("value" + index, frozen.get("key" + index).asText(), "Unexpected value for key" + index);
+        }
+
+        assertNull(frozen.get("key1000"), "Undefined key");
+    }
+
+    /**
+     * Unit test {@link FrozenSymbols#get(String)}
+     */
+    @Test
+    public void test_get_collisions() {
+        // "Aa" and "BB" have the same hash code
+        FrozenSymbols frozen = FrozenSymbols.of(List.of(SymbolsSource.unscoped(Map.of("Aa", "first", "BB", "second"))));
+
+        assertEquals("first", frozen.get("Aa").asText(), "Unexpected value for Aa");
+        assertEquals("second", frozen.get("BB").asText(), "Unexpected value for BB");
+        assertNull(frozen.get("C#"), "Undefined key with the same hash");
+    }
+
+    /**
+     * Unit test {@link FrozenSymbols#get(String)}
+     */
+    @Test
+    public void test_get_empty() {
+        FrozenSymbols frozen = FrozenSymbols.of(List.of());
+
+        assertNull(frozen.get("key"), "Empty snapshot");
+    }
+
+    /**
+     * Unit test {@link FrozenSymbols#of(List)}
+     */
+    @Test
+    public void test_of_priorities() {
+        FrozenSymbols frozen = FrozenSymbols.of(List.of(
+            SymbolsSource.unscoped(Map.of("key", "first")),
+            SymbolsSource.scoped("s", ".", Map.of("key", "scoped")),
+            SymbolsSource.unscoped(Map.of("key", "second", "other", "value")),
+            SymbolsSource.fallback("default"),
+            SymbolsSource.unscoped(Map.of("hidden", "value"))));
+
+        assertEquals("first", frozen.get("key").asText(), "First source should take priority");
+        assertEquals("scoped", frozen.get("s.key").asText(), "Scoped value");
+        assertEquals("value", frozen.get("other").asText(), "Value from later source");
+        assertEquals("default", frozen.get("hidden").asText(), "Sources after the default are ignored");
+    }
+
+    /**
+     * Unit test {@link FrozenSymbols#of(List)}
+     */
+    @Test
+    public void test_of_convertedValues() {
+        FrozenSymbols frozen = FrozenSymbols.of(List.of(SymbolsSource.unscoped(Map.of("key", "123"))));
+        Constant value = frozen.get("key");
+
+        assertSame(value, frozen.get("key"), "Values should only be built once");
+        assertSame(value.asNumber(), frozen.get("key").asNumber(), "Conversions should be cached");
+    }
+
+    /**
+     * Unit test {@link FrozenSymbols#of(List)}
+     */
+    @Test
+    public void test_of_lookup() {
+        List<SymbolsSource> sources = List.of(SymbolsSource.unscoped(String::toUpperCase));
+
+        assertThrows(EelSymbolsTableException.class, () -> FrozenSymbols.of(sources));
+    }
+}
@@ -0,0 +1,161 @@
+package com.github.tymefly.eel;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+
+import com.github.tymefly.eel.function.general.Text;
+import func.functions2.Half;
+import func.functions2.One;
+import func.functions2.child.Two;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test for {@link FunctionIndex}
+ */
+public class FunctionIndexTest {
+    @TempDir
+    private Path directory;
+
+
+    /**
+     * Unit test {@link FunctionIndex#find(Package)}
+     */
+    @Test
+    public void test_find() throws Exception {
+        ClassLoader loader = loader(
+            "# comment",
+            "",
+            "func.functions2.Half",
+            "func.functions2.Times2",
+            "func.functions2.Gone",
+            "func.functions2.child.Two");
+        FunctionIndex index = FunctionIndex.load(loader, null);
+
+        assertEquals(Set.of(Half.class), index.find(Half.class.getPackage()), "Package");
+        assertEquals(Set.of(Two.class), index.find(Two.class.getPackage()), "Child package");
+        assertNull(index.find(FunctionIndexTest.class.getPackage()), "Not indexed");
+    }
+
+    /**
+     * Unit test {@link FunctionIndex#load(ClassLoader...)}
+     */
+    @Test
+    public void test_load_duplicate() throws Exception {
+        ClassLoader loader = loader("func.functions2.Half");
+        FunctionIndex index = FunctionIndex.load(loader, loader);
+
+        assertEquals(Set.of(Half.class), index.find(Half.class.getPackage()), "Unexpected classes");
+    }
+
+    /**
+     * Unit test {@link FunctionIndex#load(ClassLoader...)}
+     */
+    @Test
+    public void test_load_standardFunctions() {
+        Set<Class<?>> actual = FunctionIndex.load(FunctionIndex.class.getClassLoader())
+            .find(Text.class.getPackage());
+
+        assertNotNull(actual, "The standard functions were not indexed");
+        assertTrue(actual.contains(Text.class), "Missing Text");
+    }
+
+    /**
+     * Unit test {@link FunctionIndex#find(Package)}
+     */
+    @Test
+    public void test_find_splitPackage() throws Exception {
+        Path indexed = directory.resolve("indexed");
+        Path unindexed = directory.resolve("unindexed");
+        String path = "func/functions2";
+
+        write(indexed, "func.functions2.Half");
+        write(unindexed);
+
+        FunctionIndex whole = FunctionIndex.load(rootsLoader(path, indexed));
+        FunctionIndex split = FunctionIndex.load(rootsLoader(path, indexed, unindexed));
+
+        assertEquals(Set.of(Half.class), whole.find(Half.class.getPackage()), "Indexed everywhere");
+        assertNull(split.find(Half.class.getPackage()), "Not indexed everywhere");
+    }
+
+    /**
+     * Unit test {@link FunctionIndex#find(Package)}
+     */
+    @Test
+    public void test_find_allIndexed() throws Exception {
+        Path first = directory.resolve("first");
+        Path second = directory.resolve("second");
+        String path = "func/functions2";
+
+        write(first, "func.functions2.Half");
+        write(second, "func.functions2.One");
+
+        FunctionIndex index = FunctionIndex.load(rootsLoader(path, first, second));
+
+        assertEquals(Set.of(Half.class, One.class), index.find(Half.class.getPackage()), "Unexpected classes");
+    }
+
+
+    private ClassLoader loader(String... lines) throws IOException {
+        Path resource = directory.resolve(FunctionIndex.RESOURCE);
+        URL url = resource.toUri().toURL();
+
+        Files.createDirectories(resource.getParent());
+        Files.write(resource, List.of(lines), StandardCharsets.UTF_8);
+
+        return new ClassLoader(getClass().getClassLoader()) {
+            @Override
+            public Enumeration<URL> getResources(String name) {
+                return Collections.enumeration(FunctionIndex.RESOURCE.equals(name) ? List.of(url) : List.of());
+            }
+        };
+    }
+
+    /**
+     * Returns a class loader that finds the {@code packagePath} and, if they have one, the function index in each of
+     * the {@code roots} directories
+     */
+    private ClassLoader rootsLoader(String packagePath, Path... roots) {
+        return new ClassLoader(getClass().getClassLoader()) {
+            @Override
+            public Enumeration<URL> getResources(String name) throws IOException {
+                List<URL> found = new ArrayList<>();
+
+                for (Path root : roots) {
+                    Path resource = root.resolve(name);
+
+                    if ((name.equals(packagePath) || name.equals(FunctionIndex.RESOURCE)) && Files.exists(resource)) {
+                        found.add(resource.toUri().toURL());
+                    }
+                }
+
+                return Collections.enumeration(found);
+            }
+        };
+    }
+
+    private void write(Path root, String... indexed) throws IOException {
+        Files.createDirectories(root.resolve("func/functions2"));
+
+        if (indexed.length != 0) {
+            Path resource = root.resolve(FunctionIndex.RESOURCE);
+
+            Files.createDirectories(resource.getParent());
+            Files.write(resource, List.of(indexed), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -12,6 +12,7 @@ import java.util.List;
 import java.util.function.Function;
 import java.util.stream.IntStream;
 
+import com.github.tymefly.eel.exception.EelConvertException;
 import com.github.tymefly.eel.exception.EelRuntimeException;
 import com.github.tymefly.eel.exception.EelUnknownFunctionException;
 import func.bad_functions.Test1;
@@ -46,6 +47,8 @@ import uk.org.webcompere.systemstubs.stream.SystemErr;
 import uk.org.webcompere.systemstubs.stream.SystemOut;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -672,6 +675,32 @@ public class FunctionManagerTest {
             "Unexpected value");
     }
 
+    /**
+     * Unit test {@link FunctionManager}
+     */
+    @Test
+    public void test_ReuseCall() {
+        SymbolsTable other = mock();
+        List<Term> argumentList = List.of(s -> Constant.of(s.read("myVar")));
+
+        when(symbolsTable.read("myVar"))
+            .thenReturn("first");
+        when(other.read("myVar"))
+            .thenReturn("second");
+
+        Term call = new FunctionManager.Builder()
+            .withUdfClass(Defaults.class)
+            .build()
+            .compileCall(context, "test.defaults", argumentList);
+
+        assertEquals(Value.of("Passed 'first', 987, false, '???' ~ 2001-02-03T04:05Z, ???"),
+            call.evaluate(symbolsTable),
+            "Unexpected first value");
+        assertEquals(Value.of("Passed 'second', 987, false, '???' ~ 2001-02-03T04:05Z, ???"),
+            call.evaluate(other),
+            "Unexpected second value");
+    }
+
     /**
      * Unit test {@link FunctionManager}
      */
@@ -692,6 +721,67 @@ public class FunctionManagerTest {
         assertEquals(Value.of(43), actual, "Unexpected value");
     }
 
+    /**
+     * Unit test {@link FunctionManager}
+     */
+    @Test
+    public void test_VarArgs_none() {
+        Term call = new FunctionManager.Builder()
+            .withUdfClass(Sum.class)
+            .build()
+            .compileCall(context, "test.sum", List.of(s -> Constant.of(s.read("myVar").length())));
+
+        assertEquals(Value.of(4), call.evaluate(symbolsTable), "Unexpected value");
+    }
+
+    /**
+     * Unit test {@link FunctionManager}
+     */
+    @Test
+    public void test_VarArgs_badElement() {
+        Term call = new FunctionManager.Builder()
+            .withUdfClass(Sum.class)
+            .build()
+            .compileCall(context, "test.sum", List.of(Constant.of(1), Constant.of(2), Constant.of("three")));
+
+        assertThrows(EelConvertException.class, () -> call.evaluate(symbolsTable));
+    }
+
+    /**
+     * Unit test {@link FunctionManager}
+     */
+    @Test
+    public void test_VarArgs_many() {
+        List<Term> argumentList = IntStream.rangeClosed(1, 300)
+            .mapToObj(i -> (Term) Constant.of(i))
+            .toList();
+
+        Value actual = new FunctionManager.Builder()
+            .withUdfClass(Sum.class)
+            .build()
+            .compileCall(context, "test.sum", argumentList)
+            .evaluate(symbolsTable);
+
+        assertEquals(Value.of(45150), actual, "Unexpected value");
+    }
+
+    /**
+     * Unit test {@link FunctionManager}
+     */
+    @Test
+    public void test_VarArgs_many_badElement() {
+        List<Term> argumentList = IntStream.rangeClosed(1, 300)
+            .mapToObj(i -> (Term) (i == 280 ? Constant.of("bad") : Constant.of(i)))
+            .toList();
+
+        Term call = new FunctionManager.Builder()
+            .withUdfClass(Sum.class)
+            .build()
+            .compileCall(context, "test.sum", argumentList);
+
+        assertThrows(EelConvertException.class, () -> call.evaluate(symbolsTable));
+    }
+
     /**
      * Unit test {@link FunctionManager}
      */
@@ -729,4 +819,64 @@ public class FunctionManagerTest {
             .parallel()
             .forEach(i -> build.run());
     }
-}
\ No newline at end of file
+
+
+    /**
+     * Unit test {@link FunctionManager#isDeterministic(String)}
+     */
+    @Test
+    public void test_isDeterministic() {
+        FunctionManager manager = new FunctionManager.Builder()
+            .withUdfClass(Plus1.class)
+            .build();
+
+        assertTrue(manager.isDeterministic("upper"), "upper");
+        assertTrue(manager.isDeterministic("format.date"), "format.date");
+        assertFalse(manager.isDeterministic("random"), "random");
+        assertFalse(manager.isDeterministic("date.utc"), "date.utc");
+        assertFalse(manager.isDeterministic("test.plus1"), "UDF");
+        assertFalse(manager.isDeterministic("unknown"), "Undefined");
+    }
+
+    /**
+     * Unit test {@link FunctionManager#returnType(String)}
+     */
+    @Test
+    public void test_returnType() {
+        FunctionManager manager = new FunctionManager.Builder()
+            .withUdfClass(Plus1.class)
+            .withUdfClass(Tomorrow.class)
+            .withUdfClass(SameValue.class)
+            .withUdfClass(TestTypes.class)
+            .build();
+
+        assertEquals(Type.NUMBER, manager.returnType("test.plus1"), "Wrapped number");
+        assertEquals(Type.DATE, manager.returnType("test.tomorrow"), "Date");
+        assertEquals(Type.LOGIC, manager.returnType("test.sameValue"), "Primitive logic");
+        assertEquals(Type.TEXT, manager.returnType("types.str"), "Text");
+        assertNull(manager.returnType("types.value"), "Value");
+        assertNull(manager.returnType("unknown"), "Undefined");
+    }
+
+    /**
+     * Unit test {@link FunctionManager#signatures()}
+     */
+    @Test
+    public void test_signatures() {
+        FunctionManager standard = new FunctionManager.Builder()
+            .build();
+        FunctionManager extended = new FunctionManager.Builder()
+            .withUdfClass(Plus1.class)
+            .build();
+        List<String> actual = extended.signatures();
+        List<String> names = actual.stream()
+            .map(s -> s.substring(0, s.indexOf('=')))
+            .toList();
+
+        assertEquals(standard.signatures(), new FunctionManager.Builder().build().signatures(), "Not repeatable");
+        assertEquals(standard.signatures().size() + 1, actual.size(), "Unexpected size");
+        assertTrue(actual.stream().anyMatch(s -> s.startsWith("test.plus1=") && !s.endsWith(" [d]")), "UDF");
+        assertTrue(actual.stream().anyMatch(s -> s.startsWith("upper=") && s.endsWith(" [d]")), "upper");
+        assertEquals(names.stream().sorted().toList(), names, "Not sorted");
+    }
+}
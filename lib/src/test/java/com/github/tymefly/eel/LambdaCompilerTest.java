@@ -1,28 +1,38 @@
 package com.github.tymefly.eel;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.MathContext;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 import javax.annotation.Nonnull;
 
 import com.github.tymefly.eel.exception.EelConvertException;
+import com.github.tymefly.eel.exception.EelRuntimeException;
 import com.github.tymefly.eel.exception.EelSemanticException;
 import com.github.tymefly.eel.exception.EelUnknownSymbolException;
 import com.github.tymefly.eel.utils.StringUtils;
+import func.functions.Slow;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.verification.VerificationMode;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
@@ -42,16 +52,21 @@ public class LambdaCompilerTest {
 
     private SymbolsTable symbols;
 
+    private EelContextImpl context;
     private LambdaCompiler compile;
 
     @BeforeEach
     public void setUp() {
-        EelContextImpl context = mock();
+        context = mock();
 
         symbols = mock();
 
         when(context.getMathContext())
             .thenReturn(new MathContext(3, RoundingMode.HALF_UP));
+        when(context.getTimeout())
+            .thenReturn(Duration.ZERO);
+        when(context.getFunctionManager())
+            .thenReturn(new FunctionManager.Builder().build());
 
         when(symbols.read("key"))
             .thenReturn("This Value!");
@@ -101,7 +116,12 @@ public class LambdaCompilerTest {
     @Test
     public void test_constTerm_variable() {
         Term backing = mockValue(Constant.of("abc"));
-        Term actual = compile.constTerm(backing);
+        Term single = compile.constTerm(backing);
+        Term actual = compile.complete(s -> {
+            single.evaluate(s);
+
+            return single.evaluate(s);
+        });
 
         Value value = actual.evaluate(symbols);
         assertEquals("abc", value.asText(), "#1 evaluate()");
@@ -109,7 +129,91 @@ public class LambdaCompilerTest {
 
         value = actual.evaluate(symbols);
         assertEquals("abc", value.asText(), "#2 evaluate()");
+        verify(backing, times(2)).evaluate(any(SymbolsTable.class));
+    }
+
+    /**
+     * Unit test {@link Compiler#constTerm(Term)}
+     */
+    @Test
+    public void test_constTerm_outsideExpression() {
+        Term backing = mockValue(Constant.of("abc"));
+        Term actual = compile.constTerm(backing);
+
+        actual.evaluate(symbols);
+        actual.evaluate(symbols);
+
+        verify(backing, times(2)).evaluate(any(SymbolsTable.class));
+    }
+
+
+                //*** Shared terms ***//
+
+    /**
+     * Unit test {@link LambdaCompiler#shareable(Term)}
+     */
+    @Test
+    public void test_shareable_notShared() {
+        Term backing = mockValue(Constant.of("abc"));
+        Term shareable = compile.shareable(backing);
+        Term actual = compile.complete(s -> {
+            shareable.evaluate(s);
+
+            return shareable.evaluate(s);
+        });
+
+        assertEquals("abc", actual.evaluate(symbols).asText(), "evaluate()");
+        verify(backing, times(2)).evaluate(any(SymbolsTable.class));
+    }
+
+    /**
+     * Unit test {@link LambdaCompiler#share(LambdaCompiler.SharedTerm)}
+     */
+    @Test
+    public void test_share() {
+        Term backing = mockValue(Constant.of("abc"));
+        LambdaCompiler.SharedTerm shareable = compile.shareable(backing);
+
+        compile.share(shareable);
+        compile.share(shareable);
+
+        Term actual = compile.complete(s -> {
+            shareable.evaluate(s);
+
+            return shareable.evaluate(s);
+        });
+
+        assertEquals("abc", actual.evaluate(symbols).asText(), "#1 evaluate()");
         verify(backing, times(1)).evaluate(any(SymbolsTable.class));
+
+        assertEquals("abc", actual.evaluate(symbols).asText(), "#2 evaluate()");
+        verify(backing, times(2)).evaluate(any(SymbolsTable.class));
+    }
+
+    /**
+     * Unit test {@link Compiler#constTerm(Term)}
+     */
+    @Test
+    public void test_constTerm_nestedExpression() {
+        LambdaCompiler other = new LambdaCompiler(mock());
+        Term innerBacking = mockValue(Constant.of("inner"));
+        Term innerSingle = other.constTerm(innerBacking);
+        Term inner = other.complete(innerSingle);
+
+        Term backing = mockValue(Constant.of("outer"));
+        Term single = compile.constTerm(backing);
+        Term actual = compile.complete(s -> {
+            single.evaluate(s);
+            inner.evaluate(s);
+
+            return single.evaluate(s);
+        });
+
+        Value value = actual.evaluate(symbols);
+
+        assertEquals("outer", value.asText(), "Unexpected value");
+        verify(backing, times(1)).evaluate(any(SymbolsTable.class));
+        verify(innerBacking, times(1)).evaluate(any(SymbolsTable.class));
     }
 
 
@@ -138,6 +242,110 @@ public class LambdaCompilerTest {
     }
 
 
+    /**
+     * Unit test {@link LambdaCompiler#isDefined(String)}
+     */
+    @Test
+    public void test_isDefined_schema() {
+        when(context.getSymbolSchema())
+            .thenReturn(new SymbolSchema("a", "b"));
+
+        LambdaCompiler schemaCompiler = new LambdaCompiler(context);
+        SymbolsTable slots = SymbolsTable.slots("value", null);
+
+        assertLogic(true, schemaCompiler.isDefined("a").evaluate(slots));
+        assertLogic(false, schemaCompiler.isDefined("b").evaluate(slots));
+
+        EelUnknownSymbolException actual = assertThrows(EelUnknownSymbolException.class,
+            () -> schemaCompiler.isDefined("c"));
+
+        assertEquals("Unknown variable 'c'", actual.getMessage(), "Unexpected message");
+    }
+
+    /**
+     * Unit test {@link LambdaCompiler#read(String)}
+     */
+    @Test
+    public void test_variable_memoised() {
+        when(context.isSymbolMemoisation())
+            .thenReturn(true);
+
+        LambdaCompiler memoCompiler = new LambdaCompiler(context);
+        Term first = memoCompiler.read("key")
+            .build();
+        Term second = memoCompiler.read("key")
+            .withTransformation((s, t) -> StringUtils.toggleAll(t))
+            .build();
+        Term defined = memoCompiler.isDefined("key");
+        Term undefined = memoCompiler.read("other")
+            .withDefault(memoCompiler.isDefined("other"))
+            .build();
+        Term expression = memoCompiler.complete(memoCompiler.concatenate(
+            memoCompiler.concatenate(first, second),
+            memoCompiler.concatenate(defined, undefined)));
+
+        assertText("This Value!tHIS vALUE!truefalse", expression.evaluate(symbols));
+        verify(symbols).read("key");
+        verify(symbols).read("other");
+
+        assertText("This Value!tHIS vALUE!truefalse", expression.evaluate(symbols));
+        verify(symbols, times(2)).read("key");
+        verify(symbols, times(2)).read("other");
+    }
+
+    /**
+     * Unit test {@link LambdaCompiler#read(String)}
+     */
+    @Test
+    public void test_variable_memoised_outsideExpression() {
+        when(context.isSymbolMemoisation())
+            .thenReturn(true);
+
+        Term term = new LambdaCompiler(context).read("key")
+            .build();
+
+        assertText("This Value!", term.evaluate(symbols));
+        assertText("This Value!", term.evaluate(symbols));
+        verify(symbols, times(2)).read("key");
+    }
+
+    /**
+     * Unit test {@link LambdaCompiler#read(String)}
+     */
+    @Test
+    public void test_variable_schema() {
+        when(context.getSymbolSchema())
+            .thenReturn(new SymbolSchema("a", "b"));
+
+        LambdaCompiler schemaCompiler = new LambdaCompiler(context);
+        Term first = schemaCompiler.read("a")
+            .build();
+        Term second = schemaCompiler.read("b")
+            .withDefault(Constant.of("default"))
+            .build();
+
+        assertEquals("one", first.evaluate(SymbolsTable.slots("one", "two")).asText(), "slot 0");
+        assertEquals("two", second.evaluate(SymbolsTable.slots("one", "two")).asText(), "slot 1");
+        assertEquals("default", second.evaluate(SymbolsTable.slots("one")).asText(), "missing slot");
+        assertEquals("named", first.evaluate(SymbolsTable.from(Map.of("a", "named"))).asText(), "named table");
+    }
+
+    /**
+     * Unit test {@link LambdaCompiler#read(String)}
+     */
+    @Test
+    public void test_variable_schema_unknown() {
+        when(context.getSymbolSchema())
+            .thenReturn(new SymbolSchema("a"));
+
+        LambdaCompiler schemaCompiler = new LambdaCompiler(context);
+
+        EelUnknownSymbolException actual = assertThrows(EelUnknownSymbolException.class,
+            () -> schemaCompiler.read("b"));
+
+        assertEquals("Unknown variable 'b'", actual.getMessage(), "Unexpected message");
+    }
+
     /**
      * Unit test {@link LambdaCompiler#read(String)}
      */
@@ -278,6 +486,55 @@ public class LambdaCompilerTest {
         assertEquals("Unknown variable 'other'", actual.getMessage(), "Unexpected message");
     }
 
+    /**
+     * Unit test {@link LambdaCompiler#read(String)}
+     */
+    @Test
+    public void test_variable_frozen() {
+        SymbolsTable frozen = SymbolsTable.from(Map.of("key", "This Value!", "blank", ""))
+            .freeze();
+
+        Term plain = compile.read("key")
+            .build();
+        Term transformed = compile.read("key")
+            .withTransformation((s, t) -> StringUtils.toggleAll(t))
+            .build();
+        Term blank = compile.read("blank")
+            .withBlankDefault(Constant.of("Hello"))
+            .build();
+        Term undefined = compile.read("other")
+            .withDefault(Constant.of("Hello"))
+            .build();
+
+        assertSame(frozen.value("key"), plain.evaluate(frozen), "Frozen value should be used as is");
+        assertText("tHIS vALUE!", transformed.evaluate(frozen));
+        assertText("Hello", blank.evaluate(frozen));
+        assertText("Hello", undefined.evaluate(frozen));
+        assertThrows(EelUnknownSymbolException.class, () -> compile.read("other").build().evaluate(frozen));
+    }
+
+    /**
+     * Unit test {@link LambdaCompiler#read(String)}
+     */
+    @Test
+    public void test_variable_typed() {
+        BigDecimal number = new BigDecimal("95.5");
+        SymbolsTable typed = SymbolsTable.factory()
+            .withTypedLookup(k -> "key".equals(k) ? number : null)
+            .build();
+
+        Term plain = compile.read("key")
+            .build();
+        Term transformed = compile.read("key")
+            .withTransformation((s, t) -> t + "!")
+            .build();
+        Value value = plain.evaluate(typed);
+
+        assertEquals(Type.TEXT, value.getType(), "Symbols are text");
+        assertSame(number, value.asNumber(), "Native value should be used");
+        assertText("95.5!", transformed.evaluate(typed));
+    }
+
                 //*** lookbacks ***//
 
     /**
@@ -540,6 +797,64 @@ public class LambdaCompilerTest {
         assertNumber(2, value);
     }
 
+    /**
+     * Unit test {@link LambdaCompiler#conditional(Term, Term, Term)}
+     */
+    @Test
+    public void test_conditional_switch() {
+        Term subject = mockValue(Constant.of("b"));
+        Term first = mockValue(Constant.of(1));
+        Term second = mockValue(Constant.of(2));
+        Term third = mockValue(Constant.of(3));
+        Term otherwise = mockValue(Constant.of(0));
+        Term actual = compile.conditional(compile.equal(subject, Constant.of("a")), first,
+            compile.conditional(compile.equal(Constant.of("b"), subject), second,
+                compile.conditional(compile.equal(subject, Constant.of("b")), third, otherwise)));
+
+        assertNumber(2, actual.evaluate(symbols));
+
+        verify(subject).evaluate(any(SymbolsTable.class));
+        verify(first, never()).evaluate(any(SymbolsTable.class));
+        verify(second).evaluate(any(SymbolsTable.class));
+        verify(third, never()).evaluate(any(SymbolsTable.class));
+        verify(otherwise, never()).evaluate(any(SymbolsTable.class));
+    }
+
+    /**
+     * Unit test {@link LambdaCompiler#conditional(Term, Term, Term)}
+     */
+    @Test
+    public void test_conditional_switch_otherwise() {
+        Term subject = mockValue(Constant.of(new BigDecimal("3.0")));
+        Term otherwise = mockValue(Constant.of(0));
+        Term actual = compile.conditional(compile.equal(subject, Constant.of(1)), Constant.of(1),
+            compile.conditional(compile.equal(subject, Constant.of(2)), Constant.of(2), otherwise));
+        Term matched = compile.conditional(compile.equal(subject, Constant.of(2)), Constant.of(2),
+            compile.conditional(compile.equal(subject, Constant.of(3)), Constant.of(3), otherwise));
+
+        assertNumber(0, actual.evaluate(symbols));
+        verify(subject).evaluate(any(SymbolsTable.class));
+        verify(otherwise).evaluate(any(SymbolsTable.class));
+
+        assertNumber(3, matched.evaluate(symbols));
+        verify(otherwise).evaluate(any(SymbolsTable.class));
+    }
+
+    /**
+     * Unit test {@link LambdaCompiler#conditional(Term, Term, Term)}
+     */
+    @Test
+    public void test_conditional_switch_differentSubjects() {
+        Term subject = mockValue(Constant.of("b"));
+        Term other = mockValue(Constant.of("b"));
+        Term actual = compile.conditional(compile.equal(subject, Constant.of("a")), Constant.of(1),
+            compile.conditional(compile.equal(other, Constant.of("b")), Constant.of(2), Constant.of(0)));
+
+        assertNumber(2, actual.evaluate(symbols));
+        verify(subject).evaluate(any(SymbolsTable.class));
+        verify(other).evaluate(any(SymbolsTable.class));
+    }
+
 
                 //*** Relational Ops ***//
 
@@ -950,6 +1265,40 @@ public class LambdaCompilerTest {
         in_Helper("500 in [ 500 ]", mockValue(Constant.of(500)), mockValue(Constant.of(500)), never(), true);
     }
 
+    /**
+     * Unit test {@link LambdaCompiler#in(Term, List)}
+     */
+    @Test
+    public void test_in_constants() {
+        List<Term> list = List.of(Constant.of("a"), Constant.of(2), Constant.of(true));
+
+        assertLogic(true, compile.in(mockValue(Constant.of("a")), list).evaluate(symbols));
+        assertLogic(true, compile.in(mockValue(Constant.of(new BigDecimal("2.0"))), list).evaluate(symbols));
+        assertLogic(true, compile.in(mockValue(Constant.of(1)), list).evaluate(symbols));
+        assertLogic(false, compile.in(mockValue(Constant.of("b")), list).evaluate(symbols));
+        assertLogic(false, compile.in(mockValue(Constant.of(false)), list).evaluate(symbols));
+    }
+
+    /**
+     * Unit test {@link LambdaCompiler#in(Term, List)}
+     */
+    @Test
+    public void test_in_mixed() {
+        Term left = mockValue(Constant.of("b"));
+        Term first = mockValue(Constant.of("a"));
+        Term second = mockValue(Constant.of("b"));
+        Term third = mockValue(Constant.of("c"));
+
+        assertLogic(true, compile.in(left, List.of(first, Constant.of("b"), third)).evaluate(symbols));
+        verify(first, never()).evaluate(any(SymbolsTable.class));
+        verify(third, never()).evaluate(any(SymbolsTable.class));
+
+        assertLogic(true, compile.in(left, List.of(first, Constant.of("x"), second, third)).evaluate(symbols));
+        verify(first).evaluate(any(SymbolsTable.class));
+        verify(second).evaluate(any(SymbolsTable.class));
+        verify(third, never()).evaluate(any(SymbolsTable.class));
+    }
+
     private void in_Helper(@Nonnull String message,
                            @Nonnull Term first,
                            @Nonnull Term second,
@@ -1037,6 +1386,36 @@ public class LambdaCompilerTest {
         assertNumber(19, value);
     }
 
+    /**
+     * Unit test {@link LambdaCompiler#add(Term, Term)}
+     */
+    @Test
+    public void test_add_pooling() {
+        Term folded = compile.add(Constant.of(1234), Constant.of(4321));
+        Term variable = compile.add(mockValue(Constant.of(1234)), Constant.of(4321));
+
+        assertSame(Constant.of(5555), folded, "Compile time constant was not pooled");
+        assertSame(variable.evaluate(symbols), variable.evaluate(symbols), "Repeated runtime value was not reused");
+    }
+
+    /**
+     * Unit test {@link LambdaCompiler#add(Term, Term)}
+     */
+    @Test
+    public void test_add_distinctValues() {
+        Term left = mock();
+        Term actual = compile.add(left, Constant.of(1));
+
+        when(left.evaluate(any(SymbolsTable.class))).thenReturn(Constant.of(10), Constant.of(20));
+
+        Value first = actual.evaluate(symbols);
+        Value second = actual.evaluate(symbols);
+
+        assertNumber(11, first);
+        assertNumber(21, second);
+        assertNotSame(Constant.of(21), second, "Runtime value was pooled");
+    }
+
     /**
      * Unit test {@link LambdaCompiler#add(Term, Term)}
      */
@@ -1853,6 +2232,77 @@ public class LambdaCompilerTest {
         assertSame(left, actual, "Unexpected term returned");
     }
 
+    /**
+     * Unit test the integer fast paths give the same results as {@link BigInteger} for
+     * {@link LambdaCompiler#modulus(Term, Term)}, {@link LambdaCompiler#bitwiseNot(Term)},
+     * {@link LambdaCompiler#bitwiseAnd(Term, Term)}, {@link LambdaCompiler#bitwiseOr(Term, Term)},
+     * {@link LambdaCompiler#bitwiseXor(Term, Term)}, {@link LambdaCompiler#leftShift(Term, Term)} and
+     * {@link LambdaCompiler#rightShift(Term, Term)}
+     */
+    @Test
+    public void test_integerOps_parity() {
+        List<BigDecimal> values = List.of(BigDecimal.ZERO,
+            BigDecimal.ONE,
+            new BigDecimal("-1"),
+            new BigDecimal("7"),
+            new BigDecimal("-7"),
+            new BigDecimal("4096"),
+            new BigDecimal("12.75"),
+            new BigDecimal("-12.75"),
+            new BigDecimal("999999999999999999"),
+            new BigDecimal("-999999999999999999"),
+            new BigDecimal("1000000000000000000"),
+            BigDecimal.valueOf(Long.MAX_VALUE),
+            BigDecimal.valueOf(Long.MIN_VALUE),
+            new BigDecimal("123456789012345678901234567890"));
+
+        for (var left : values) {
+            BigInteger leftInteger = left.toBigInteger();
+
+            assertParity("~" + left, new BigDecimal(leftInteger.not()), () -> compile.bitwiseNot(mockValue(Constant.of(left))));
+
+            for (var right : values) {
+                BigInteger rightInteger = right.toBigInteger();
+                String message = left + " op " + right;
+
+                assertParity(message + " (&)",
+                    new BigDecimal(leftInteger.and(rightInteger)),
+                    () -> compile.bitwiseAnd(mockValue(Constant.of(left)), mockValue(Constant.of(right))));
+                assertParity(message + " (|)",
+                    new BigDecimal(leftInteger.or(rightInteger)),
+                    () -> compile.bitwiseOr(mockValue(Constant.of(left)), mockValue(Constant.of(right))));
+                assertParity(message + " (^)",
+                    new BigDecimal(leftInteger.xor(rightInteger)),
+                    () -> compile.bitwiseXor(mockValue(Constant.of(left)), mockValue(Constant.of(right))));
+
+                if (rightInteger.signum() > 0) {
+                    assertParity(message + " (%)",
+                        new BigDecimal(leftInteger.mod(rightInteger)),
+                        () -> compile.modulus(mockValue(Constant.of(left)), mockValue(Constant.of(right))));
+                } else {
+                    assertThrows(ArithmeticException.class,
+                        () -> compile.modulus(mockValue(Constant.of(left)), mockValue(Constant.of(right))).evaluate(symbols),
+                        message + " (%)");
+                }
+            }
+
+            for (int shift = -70; shift <= 70; shift++) {
+                BigDecimal by = BigDecimal.valueOf(shift);
+
+                assertParity(left + " << " + shift,
+                    new BigDecimal(leftInteger.shiftLeft(shift)),
+                    () -> compile.leftShift(mockValue(Constant.of(left)), mockValue(Constant.of(by))));
+                assertParity(left + " >> " + shift,
+                    new BigDecimal(leftInteger.shiftRight(shift)),
+                    () -> compile.rightShift(mockValue(Constant.of(left)), mockValue(Constant.of(by))));
+            }
+        }
+    }
+
+    private void assertParity(@Nonnull String message, @Nonnull BigDecimal expected, @Nonnull Supplier<Term> term) {
+        assertNumber(message, expected, term.get().evaluate(symbols));
+    }
+
                 //*** Text Ops ***//
 
     /**
@@ -1910,6 +2360,67 @@ public class LambdaCompilerTest {
         assertTrue((rightTerm == actual) || (leftTerm == actual), message + ": Unexpected term returned");
     }
 
+    /**
+     * Unit test {@link LambdaCompiler#interpolate(List)}
+     */
+    @Test
+    public void test_interpolate_variables() {
+        Term first = mockValue(Constant.of("a"));
+        Term second = mockValue(Constant.of(12));
+        Term actual = compile.interpolate(List.of(Constant.of("<"), first, Constant.of(""), Constant.of("-"),
+            Constant.of(1), second, Constant.of(">")));
+
+        verify(first, never()).evaluate(any(SymbolsTable.class));
+        verify(second, never()).evaluate(any(SymbolsTable.class));
+
+        assertText("<a-112>", actual.evaluate(symbols));
+        verify(first).evaluate(any(SymbolsTable.class));
+        verify(second).evaluate(any(SymbolsTable.class));
+    }
+
+    /**
+     * Unit test {@link LambdaCompiler#interpolate(List)}
+     */
+    @Test
+    public void test_interpolate_constants() {
+        Term actual = compile.interpolate(List.of(Constant.of("a"), Constant.of(""), Constant.of(true)));
+
+        assertTrue(actual.isConstant(), "Constants were not merged");
+        assertText("atrue", actual.evaluate(symbols));
+    }
+
+    /**
+     * Unit test {@link LambdaCompiler#interpolate(List)}
+     */
+    @Test
+    public void test_interpolate_appendTo() throws Exception {
+        Term first = s -> Constant.of("a");
+        Term second = mockValue(Constant.of(12));
+        Term single = compile.constTerm(second);
+        Term actual = compile.complete(compile.interpolate(List.of(Constant.of("<"), first, single, single)));
+        Appendable sink = mock();
+
+        actual.appendTo(symbols, sink);
+
+        verify(sink).append("<");
+        verify(sink).append("a");
+        verify(sink, times(2)).append("12");
+        verify(second).evaluate(any(SymbolsTable.class));
+    }
+
+    /**
+     * Unit test {@link LambdaCompiler#interpolate(List)}
+     */
+    @Test
+    public void test_interpolate_single() {
+        Term variable = mockValue(Constant.of(12));
+        Term number = Constant.of(34);
+
+        assertSame(variable, compile.interpolate(List.of(Constant.of(""), variable, Constant.of(""))), "variable");
+        assertSame(number, compile.interpolate(List.of(number, Constant.of(""))), "constant");
+        assertText("", compile.interpolate(List.of(Constant.of(""), Constant.of(""))).evaluate(symbols));
+    }
+
 
     /**
      * Unit test {@link LambdaCompiler#callText(Term)} 
@@ -2085,6 +2596,200 @@ public class LambdaCompilerTest {
     }
 
 
+                //*** Functions ***//
+
+    /**
+     * Unit test {@link LambdaCompiler#callFunction(String, List)}
+     */
+    @Test
+    public void test_callFunction_constants() {
+        Term actual = compile.callFunction("upper", List.of(Constant.of("abc")));
+
+        assertTrue(actual.isConstant(), "Call was not folded");
+        assertText("ABC", actual.evaluate(symbols));
+    }
+
+    /**
+     * Unit test {@link LambdaCompiler#callFunction(String, List)}
+     */
+    @Test
+    public void test_callFunction_variables() {
+        Term operand = mockValue(Constant.of("abc"));
+        Term actual = compile.callFunction("upper", List.of(operand));
+
+        verify(operand, never()).evaluate(any(SymbolsTable.class));
+        assertFalse(actual.isConstant(), "Call was folded");
+        assertEquals(Type.TEXT, compile.typeOf(actual), "Unexpected type");
+        assertText("ABC", actual.evaluate(symbols));
+    }
+
+    /**
+     * Unit test {@link LambdaCompiler#callFunction(String, List)}
+     */
+    @Test
+    public void test_callFunction_notDeterministic() {
+        Term actual = compile.callFunction("random", List.of(Constant.of(1), Constant.of(1)));
+
+        assertFalse(actual.isConstant(), "Call was folded");
+        assertEquals(Value.of(1), actual.evaluate(symbols), "Unexpected value");
+    }
+
+    /**
+     * Unit test {@link LambdaCompiler#callFunction(String, List)}
+     */
+    @Test
+    public void test_callFunction_invalid() {
+        Term actual = compile.callFunction("asin", List.of(Constant.of(12)));
+
+        assertFalse(actual.isConstant(), "Call was folded");
+        assertThrows(EelFunctionException.class, () -> actual.evaluate(symbols));
+    }
+
+    /**
+     * Unit test {@link LambdaCompiler#callFunction(String, List)}
+     */
+    @Test
+    public void test_callFunction_slow() {
+        when(context.getTimeout())
+            .thenReturn(Duration.ofMillis(100));
+        when(context.getFunctionManager())
+            .thenReturn(new FunctionManager.Builder().withUdfClass(Slow.class).build());
+
+        Term actual = assertTimeout(Duration.ofSeconds(10),
+            () -> compile.callFunction("test.slow", List.of(Constant.of(60))),
+            "Compilation was blocked");
+
+        assertFalse(actual.isConstant(), "Call was folded");
+    }
+
+    /**
+     * Unit test {@link LambdaCompiler#callFunction(String, List)}
+     */
+    @Test
+    public void test_callFunction_largeText() {
+        when(context.getFunctionManager())
+            .thenReturn(new FunctionManager.Builder().withUdfClass(Slow.class).build());
+
+        Term small = compile.callFunction("test.large", List.of(Constant.of(LambdaCompiler.MAX_FOLDED_TEXT)));
+        Term large = compile.callFunction("test.large", List.of(Constant.of(LambdaCompiler.MAX_FOLDED_TEXT + 1)));
+
+        assertTrue(small.isConstant(), "Small call was not folded");
+        assertFalse(large.isConstant(), "Large call was folded");
+        assertEquals(LambdaCompiler.MAX_FOLDED_TEXT + 1, large.evaluate(symbols).asText().length(), "Unexpected text");
+    }
+
+    /**
+     * Unit test {@link LambdaCompiler#callFunction(String, List)}
+     */
+    @Test
+    public void test_callFunction_textIndex() {
+        Term find = mockValue(Constant.of("b"));
+        Term actual = compile.callFunction("text.index",
+            List.of(find, Constant.of("a"), Constant.of("b"), Constant.of("c"), Constant.of("b")));
+
+        verify(find, never()).evaluate(any(SymbolsTable.class));
+        assertFalse(actual.isConstant(), "Call was folded");
+        assertEquals(Type.NUMBER, compile.typeOf(actual), "Unexpected type");
+        assertEquals(Value.of(2), actual.evaluate(symbols), "Unexpected value");
+        verify(find).evaluate(symbols);
+    }
+
+    /**
+     * Unit test {@link LambdaCompiler#callFunction(String, List)}
+     */
+    @Test
+    public void test_callFunction_textIndex_byText() {
+        Term number = compile.callFunction("text.index",
+            List.of(mockValue(Constant.of(1)), Constant.of(true), Constant.of("1"), Constant.of(1)));
+        Term logic = compile.callFunction("text.index",
+            List.of(mockValue(Constant.of(true)), Constant.of(1), Constant.of("true")));
+        Term missing = compile.callFunction("text.index",
+            List.of(mockValue(Constant.of("z")), Constant.of("a"), Constant.of("b")));
+
+        assertEquals(Value.of(2), number.evaluate(symbols), "Unexpected number index");
+        assertEquals(Value.of(2), logic.evaluate(symbols), "Unexpected logic index");
+        assertEquals(Value.of(-1), missing.evaluate(symbols), "Unexpected missing index");
+    }
+
+    /**
+     * Unit test {@link LambdaCompiler#callFunction(String, List)}
+     */
+    @Test
+    public void test_callFunction_textIndex_variableValues() {
+        Term find = mockValue(Constant.of("b"));
+        Term value = mockValue(Constant.of("b"));
+        Term actual = compile.callFunction("text.index", List.of(find, Constant.of("a"), value, Constant.of("c")));
+
+        assertEquals(Value.of(2), actual.evaluate(symbols), "Unexpected value");
+    }
+
+
+                //*** Type inference ***//
+
+    /**
+     * Unit test {@link LambdaCompiler#typeOf(Term)}
+     */
+    @Test
+    public void test_typeOf() {
+        Term unknown = mockValue(Constant.of(1));
+        Term text = compile.read("key").build();
+        Term number = compile.add(unknown, unknown);
+        Term logic = compile.equal(unknown, unknown);
+        Term date = compile.callDate(unknown);
+
+        assertNull(compile.typeOf(unknown), "unknown");
+        assertEquals(Type.TEXT, compile.typeOf(Constant.of("abc")), "constant");
+        assertEquals(Type.TEXT, compile.typeOf(text), "symbol");
+        assertNull(compile.typeOf(compile.read("key").withDefault(unknown).build()), "symbol with default");
+        assertEquals(Type.NUMBER, compile.typeOf(number), "number");
+        assertEquals(Type.LOGIC, compile.typeOf(logic), "logic");
+        assertEquals(Type.DATE, compile.typeOf(date), "date");
+        assertEquals(Type.LOGIC, compile.typeOf(compile.isDefined("key")), "isDefined");
+        assertEquals(Type.LOGIC, compile.typeOf(compile.in(unknown, List.of(unknown))), "in");
+        assertEquals(Type.NUMBER, compile.typeOf(compile.constTerm(number)), "constTerm");
+        assertEquals(Type.NUMBER, compile.typeOf(compile.conditional(logic, number, number)), "conditional");
+        assertNull(compile.typeOf(compile.conditional(logic, number, text)), "mixed conditional");
+    }
+
+    /**
+     * Unit test {@link LambdaCompiler#callText(Term)}, {@link LambdaCompiler#callNumber(Term)},
+     * {@link LambdaCompiler#callLogic(Term)} and {@link LambdaCompiler#callDate(Term)}
+     */
+    @Test
+    public void test_redundantConversions() {
+        Term unknown = mockValue(Constant.of(1));
+        Term text = compile.read("key").build();
+        Term number = compile.add(unknown, unknown);
+        Term logic = compile.equal(unknown, unknown);
+        Term date = compile.callDate(unknown);
+
+        assertSame(text, compile.callText(text), "callText");
+        assertSame(number, compile.callNumber(number), "callNumber");
+        assertSame(logic, compile.callLogic(logic), "callLogic");
+        assertSame(date, compile.callDate(date), "callDate");
+
+        assertNotSame(number, compile.callText(number), "converted text");
+        assertNotSame(text, compile.callNumber(text), "converted number");
+    }
+
+    /**
+     * Unit test {@link LambdaCompiler#equal(Term, Term)} where the types of the operands are known at compile time
+     */
+    @Test
+    public void test_equal_typed() {
+        Term text = compile.read("key").build();
+        Term number = compile.add(mockValue(Constant.of(1)), mockValue(Constant.of(2)));
+        Term logic = compile.isDefined("key");
+
+        assertTrue(compile.equal(text, Constant.of("This Value!")).evaluate(symbols).asLogic(), "text");
+        assertTrue(compile.equal(number, Constant.of(3.0)).evaluate(symbols).asLogic(), "number");
+        assertTrue(compile.equal(logic, Constant.of(true)).evaluate(symbols).asLogic(), "logic");
+        assertFalse(compile.equal(number, Constant.of("3.0")).evaluate(symbols).asLogic(), "number to text");
+        assertTrue(compile.notEqual(text, number).evaluate(symbols).asLogic(), "notEqual");
+        assertTrue(compile.in(number, List.of(Constant.of("x"), Constant.of(3))).evaluate(symbols).asLogic(), "in");
+    }
+
+
                 //*** Helper methods ***//
 
     private void assertText(@Nonnull String expected, @Nonnull Value value) {
@@ -2131,4 +2836,18 @@ public class LambdaCompilerTest {
         assertEquals(Type.DATE, value.getType(), "Unexpected type");
         assertEquals(expected, value.asDate(), "Unexpected value");
     }
-}
\ No newline at end of file
+
+    /**
+     * Unit test {@link LambdaCompiler#interpolatedLength(long)}
+     */
+    @Test
+    public void test_interpolatedLength() {
+        assertEquals(0, LambdaCompiler.interpolatedLength(0), "Empty");
+        assertEquals(Integer.MAX_VALUE, LambdaCompiler.interpolatedLength(Integer.MAX_VALUE), "Largest");
+
+        EelRuntimeException actual = assertThrows(EelRuntimeException.class,
+            () -> LambdaCompiler.interpolatedLength(Integer.MAX_VALUE + 1L));
+
+        assertEquals("Interpolated text of 2147483648 characters is too long", actual.getMessage(), "Unexpected message");
+    }
+}
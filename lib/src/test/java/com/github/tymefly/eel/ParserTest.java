@@ -3,6 +3,7 @@ package com.github.tymefly.eel;
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.LinkedList;
@@ -51,6 +52,8 @@ public class ParserTest {
 
         when(context.getMathContext())
             .thenReturn(new MathContext(2, RoundingMode.HALF_UP));
+        when(context.getTimeout())
+            .thenReturn(Duration.ZERO);
         when(context.getFunctionManager())
             .thenReturn(functionManager);
 
@@ -122,7 +125,7 @@ public class ParserTest {
     public void test_empty() {
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -137,7 +140,7 @@ public class ParserTest {
         mockToken(Token.TEXT_LITERAL, "Some Text");
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -157,7 +160,7 @@ public class ParserTest {
         mockToken(Token.END_OF_PROGRAM);
 
         EelSyntaxException actual = assertThrows(EelSyntaxException.class,
-            () -> new Parser(context, tokenizer, compiler).parse());
+            () -> new Parser(tokenizer, compiler).parse());
 
         assertEquals("Error at position 4: '123' was unexpected", actual.getMessage(), "Unexpected message");
     }
@@ -175,7 +178,7 @@ public class ParserTest {
         mockToken(Token.TEXT_LITERAL, "!");
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -197,7 +200,7 @@ public class ParserTest {
         mockToken(Token.TEXT_LITERAL, "!");
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -221,7 +224,7 @@ public class ParserTest {
         mockToken(Token.TEXT_LITERAL, "!");
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -238,7 +241,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_BRACE);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -275,7 +278,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_BRACE);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -297,7 +300,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_BRACE);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -315,7 +318,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_BRACE);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -334,7 +337,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_BRACE);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -356,7 +359,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_BRACE);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -377,7 +380,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_BRACE);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -397,7 +400,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_BRACE);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -419,7 +422,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_BRACE);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -444,7 +447,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_BRACE);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -469,7 +472,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_BRACE);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -487,7 +490,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_BRACE);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -507,7 +510,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_BRACE);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -524,7 +527,7 @@ public class ParserTest {
         mockToken(Token.END_OF_PROGRAM);
 
         EelSyntaxException actual = assertThrows(EelSyntaxException.class,
-            () -> new Parser(context, tokenizer, compiler).parse());
+            () -> new Parser(tokenizer, compiler).parse());
 
         assertEquals("Error at position 2: '}' was unexpected", actual.getMessage(), "Unexpected message");
     }
@@ -539,7 +542,7 @@ public class ParserTest {
         mockToken(Token.END_OF_PROGRAM);
 
         EelSyntaxException actual = assertThrows(EelSyntaxException.class,
-            () -> new Parser(context, tokenizer, compiler).parse());
+            () -> new Parser(tokenizer, compiler).parse());
 
         assertEquals("Error at position 3: Unexpected end of expression", actual.getMessage(), "Unexpected message");
     }
@@ -556,7 +559,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -576,7 +579,7 @@ public class ParserTest {
         mockToken(Token.END_OF_PROGRAM);
 
         Exception actual = assertThrows(EelSyntaxException.class,
-            () -> new Parser(context, tokenizer, compiler).parse());
+            () -> new Parser(tokenizer, compiler).parse());
 
         assertEquals("Error at position 4: 'DOUBLE_QUOTE' was unexpected",
             actual.getMessage(),
@@ -595,7 +598,7 @@ public class ParserTest {
         mockToken(Token.END_OF_PROGRAM);
 
         Exception actual = assertThrows(EelSyntaxException.class,
-            () -> new Parser(context, tokenizer, compiler).parse());
+            () -> new Parser(tokenizer, compiler).parse());
 
         assertEquals("Error at position 4: 'RIGHT_PARENTHESES' was unexpected",
             actual.getMessage(),
@@ -618,7 +621,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -642,7 +645,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -667,7 +670,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -687,7 +690,7 @@ public class ParserTest {
         mockToken(Token.END_OF_PROGRAM);
 
         EelSyntaxException actual = assertThrows(EelSyntaxException.class,
-            () -> new Parser(context, tokenizer, compiler).parse());
+            () -> new Parser(tokenizer, compiler).parse());
 
         assertEquals("Error at position 5: Unexpected end of expression", actual.getMessage(), "Unexpected message");
     }
@@ -707,7 +710,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -738,7 +741,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -755,7 +758,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -772,7 +775,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -790,7 +793,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -809,7 +812,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -828,7 +831,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -848,7 +851,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -867,7 +870,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -891,7 +894,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -914,7 +917,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -938,7 +941,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -961,7 +964,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -986,7 +989,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1011,7 +1014,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1033,7 +1036,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1052,7 +1055,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1071,7 +1074,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1091,7 +1094,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1110,7 +1113,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1129,7 +1132,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1148,7 +1151,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1167,7 +1170,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1185,7 +1188,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1205,7 +1208,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1223,7 +1226,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1241,7 +1244,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1260,7 +1263,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1280,7 +1283,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1299,7 +1302,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1319,7 +1322,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1338,7 +1341,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1358,7 +1361,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1377,7 +1380,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1397,7 +1400,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1416,7 +1419,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1436,7 +1439,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1455,7 +1458,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1475,7 +1478,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1494,7 +1497,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1513,7 +1516,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1532,7 +1535,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1552,7 +1555,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1572,7 +1575,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1591,7 +1594,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1610,7 +1613,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1629,7 +1632,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1648,7 +1651,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1667,7 +1670,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1686,7 +1689,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1706,7 +1709,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1725,7 +1728,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1748,7 +1751,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1770,7 +1773,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1789,7 +1792,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1809,7 +1812,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1829,7 +1832,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1848,7 +1851,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1876,7 +1879,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1899,7 +1902,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1920,7 +1923,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1942,7 +1945,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1965,7 +1968,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1986,7 +1989,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -1994,6 +1997,32 @@ public class ParserTest {
     }
 
 
+    /**
+     * Unit test {@link Parser#parse()} for {@literal [${myStr}] ${myNumber}${blank}. }
+     */
+    @Test
+    public void test_interpolate_sequence() {
+        mockToken(Token.TEXT_LITERAL, "[");
+        mockToken(Token.VALUE_INTERPOLATION);
+        mockToken(Token.IDENTIFIER, "myStr");
+        mockToken(Token.RIGHT_BRACE);
+        mockToken(Token.TEXT_LITERAL, "] ");
+        mockToken(Token.VALUE_INTERPOLATION);
+        mockToken(Token.IDENTIFIER, "myNumber");
+        mockToken(Token.RIGHT_BRACE);
+        mockToken(Token.VALUE_INTERPOLATION);
+        mockToken(Token.IDENTIFIER, "blank");
+        mockToken(Token.RIGHT_BRACE);
+        mockToken(Token.TEXT_LITERAL, ".");
+        mockToken(Token.END_OF_PROGRAM);
+
+        Value actual = new Parser(tokenizer, compiler)
+            .parse()
+            .evaluate(symbolsTable);
+
+        assertEquals(Value.of("[Hello World!] 1234."), actual, "Unexpected value");
+    }
+
     /**
      * Unit test {@link Parser#parse()} for {@literal $text(123) !! }
      */
@@ -2007,7 +2036,7 @@ public class ParserTest {
         mockToken(Token.TEXT_LITERAL, " !!");
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -2028,7 +2057,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -2050,7 +2079,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -2070,7 +2099,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -2090,7 +2119,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -2121,7 +2150,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -2148,7 +2177,7 @@ public class ParserTest {
         mockToken(Token.TEXT_LITERAL, "-!");
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -2172,7 +2201,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Term term = new Parser(context, tokenizer, compiler).parse();
+        Term term = new Parser(tokenizer, compiler).parse();
 
         assertEquals("Hello World!", term.evaluate(symbolsTable).asText(), "First runtime");
         assertEquals("otherValue", term.evaluate(symbolsTable2).asText(), "other runtime");
@@ -2200,7 +2229,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -2224,7 +2253,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -2247,7 +2276,7 @@ public class ParserTest {
         mockToken(Token.RIGHT_PARENTHESES);
         mockToken(Token.END_OF_PROGRAM);
 
-        Value actual = new Parser(context, tokenizer, compiler)
+        Value actual = new Parser(tokenizer, compiler)
             .parse()
             .evaluate(symbolsTable);
 
@@ -2269,7 +2298,7 @@ public class ParserTest {
         mockToken(Token.END_OF_PROGRAM);
 
         EelSemanticException actual = assertThrows(EelSemanticException.class,
-            () -> new Parser(context, tokenizer, compiler).parse().evaluate(symbolsTable));
+            () -> new Parser(tokenizer, compiler).parse().evaluate(symbolsTable));
 
         assertEquals("Error at position 5: Undefined lookback $[0]", actual.getMessage(), "Unexpected message");
     }
@@ -2289,7 +2318,7 @@ public class ParserTest {
         mockToken(Token.END_OF_PROGRAM);
 
         EelSemanticException actual = assertThrows(EelSemanticException.class,
-            () -> new Parser(context, tokenizer, compiler).parse().evaluate(symbolsTable));
+            () -> new Parser(tokenizer, compiler).parse().evaluate(symbolsTable));
 
         assertEquals("Error at position 5: Undefined lookback $[2]", actual.getMessage(), "Unexpected message");
     }
@@ -2309,7 +2338,7 @@ public class ParserTest {
         mockToken(Token.END_OF_PROGRAM);
 
         EelSemanticException actual = assertThrows(EelSemanticException.class,
-            () -> new Parser(context, tokenizer, compiler).parse().evaluate(symbolsTable));
+            () -> new Parser(tokenizer, compiler).parse().evaluate(symbolsTable));
 
         assertEquals("Error at position 5: Undefined lookback $[2]", actual.getMessage(), "Unexpected message");
     }
@@ -2325,7 +2354,7 @@ public class ParserTest {
         mockToken(Token.END_OF_PROGRAM);
 
         EelSyntaxException actual = assertThrows(EelSyntaxException.class,
-            () -> new Parser(context, tokenizer, compiler).parse());
+            () -> new Parser(tokenizer, compiler).parse());
 
         assertEquals("Error at position 4: Unexpected end of expression", actual.getMessage(), "Unexpected message");
     }
@@ -2341,7 +2370,7 @@ public class ParserTest {
         mockToken(Token.FALSE);
 
         EelSyntaxException actual = assertThrows(EelSyntaxException.class,
-            () -> new Parser(context, tokenizer, compiler).parse());
+            () -> new Parser(tokenizer, compiler).parse());
 
         assertEquals("Error at position 3: 'FALSE' was unexpected", actual.getMessage(), "Unexpected message");
     }
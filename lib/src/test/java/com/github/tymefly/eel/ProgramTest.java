@@ -0,0 +1,109 @@
+package com.github.tymefly.eel;
+
+import java.io.StreamCorruptedException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import com.github.tymefly.eel.exception.EelInternalException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit test for {@link Program}
+ */
+public class ProgramTest {
+    private static final EelContextImpl CONTEXT = (EelContextImpl) new EelContextImpl.Builder().build();
+    private static final SymbolsTable SYMBOLS = SymbolsTable.from(Map.of("a", "Hello", "n", "7", "blank", ""));
+
+
+    /**
+     * Unit test {@link Program.Recorder} and {@link Program#replay(byte[], Compiler)}
+     */
+    @Test
+    public void test_replay() throws Exception {
+        List<String> expressions = List.of(
+            "",
+            "Plain text",
+            "${a} ${b-x} ${blank:-y} ${a^^} ${a^} ${a,,} ${a,} ${a~} ${a~~} ${#a} ${a:1:2} ${a:1} ${a:-3:2}",
+            "$( ${n} + 1 - 2 * 3 / 4 // 5 -/ 6 % 7 ** 2 )",
+            "$( ${n} = 7 ? 'seven' : ${n} = 8 ? 'eight' : 'other' )",
+            "$( (${n} > 1) and (${n} >= 1) or (${n} < 1) xor (${n} <= 1) or (${n} <> 1) )",
+            "$( (${n} in {1, 7, ${n}}) ~> (1 isBefore 2) ~> (1 isAfter 2) ~> (not false) )",
+            "$( -${n} ~> (${n} & 3) ~> (${n} | 8) ~> (${n} << 2) ~> (${n} >> 1) )",
+            "$( text(${n}) ~> number('1.50') ~> logic('true') ~> date(0) )",
+            "$( ${n} * 2 ; $[1] ~> '-' ~> $[2-none] ~> $[1-x] )",
+            "$( upper(${a}) ~> a? ~> b? ) $min(${n}, 3)");
+
+        for (String expression : expressions) {
+            Program.Recorder recorder = new Program.Recorder(Eel.compiler(CONTEXT));
+            Term recorded = new Parser(new Tokenizer(Source.build(expression, 1024)), recorder).parse();
+            Term replayed = Program.replay(recorder.program(), Eel.compiler(CONTEXT));
+
+            assertEquals(new Eel(CONTEXT, recorded).evaluate(SYMBOLS).asText(),
+                new Eel(CONTEXT, replayed).evaluate(SYMBOLS).asText(),
+                "Unexpected result for " + expression);
+        }
+    }
+
+    /**
+     * Unit test {@link Program.Recorder}
+     */
+    @Test
+    public void test_unknownTerm() {
+        Program.Recorder recorder = new Program.Recorder(Eel.compiler(CONTEXT));
+        Term term = s -> Constant.of(1);
+
+        EelInternalException actual = assertThrows(EelInternalException.class, () -> recorder.negate(term));
+
+        assertEquals("Can not record a term that was not compiled", actual.getMessage(), "Unexpected message");
+    }
+
+    /**
+     * Unit test {@link Program.Recorder}
+     */
+    @Test
+    public void test_unknownTransformation() {
+        Program.Recorder recorder = new Program.Recorder(Eel.compiler(CONTEXT));
+        Compiler.SymbolBuilder builder = recorder.read("a");
+
+        assertThrows(EelInternalException.class, () -> builder.withTransformation((s, t) -> t));
+    }
+
+    /**
+     * Unit test {@link Program#replay(byte[], Compiler)}
+     */
+    @Test
+    public void test_replay_corrupt() {
+        Program.Recorder recorder = new Program.Recorder(Eel.compiler(CONTEXT));
+
+        new Parser(new Tokenizer(Source.build("$( ${a} ~> 'x' )", 1024)), recorder).parse();
+
+        byte[] program = recorder.program();
+        byte[] truncated = Arrays.copyOf(program, program.length - 1);
+        byte[] incomplete = Arrays.copyOf(program, program.length - 2);
+
+        assertThrows(StreamCorruptedException.class,
+            () -> Program.replay(truncated, Eel.compiler(CONTEXT)),
+            "truncated");
+        assertThrows(StreamCorruptedException.class,
+            () -> Program.replay(incomplete, Eel.compiler(CONTEXT)),
+            "incomplete");
+        assertThrows(StreamCorruptedException.class,
+            () -> Program.replay(new byte[] { (byte) 0x7F }, Eel.compiler(CONTEXT)),
+            "invalid op");
+        assertThrows(StreamCorruptedException.class,
+            () -> Program.replay(new byte[0], Eel.compiler(CONTEXT)),
+            "empty");
+        assertThrows(StreamCorruptedException.class,
+            () -> Program.replay(new byte[] { -1, -1, -1, -1, 0x0F }, Eel.compiler(CONTEXT)),
+            "negative op");
+        assertThrows(StreamCorruptedException.class,
+            () -> Program.replay(
+                new byte[] { (byte) Program.Op.TEXT_CONSTANT.ordinal(), -1, -1, -1, -1, 0x0F, 'x' },
+                Eel.compiler(CONTEXT)),
+            "negative text length");
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.tymefly.eel;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit test for {@link SymbolSchema}
+ */
+public class SymbolSchemaTest {
+    /**
+     * Unit test {@link SymbolSchema#slot(String)}
+     */
+    @Test
+    public void test_slot() {
+        SymbolSchema schema = new SymbolSchema("a", "b", "c");
+
+        assertEquals(0, schema.slot("a"), "a");
+        assertEquals(1, schema.slot("b"), "b");
+        assertEquals(2, schema.slot("c"), "c");
+        assertEquals(SymbolSchema.UNKNOWN, schema.slot("d"), "d");
+    }
+
+    /**
+     * Unit test {@link SymbolSchema#names()}
+     */
+    @Test
+    public void test_names() {
+        assertEquals(List.of("c", "a", "b"), new SymbolSchema("c", "a", "b").names(), "names");
+        assertEquals(List.of(), new SymbolSchema().names(), "empty");
+    }
+
+    /**
+     * Unit test {@link SymbolSchema#SymbolSchema(String...)}
+     */
+    @Test
+    public void test_duplicate() {
+        IllegalArgumentException actual = assertThrows(IllegalArgumentException.class,
+            () -> new SymbolSchema("a", "b", "a"));
+
+        assertEquals("Duplicate symbol name: 'a'", actual.getMessage(), "Unexpected message");
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.tymefly.eel;
 
+import java.math.BigDecimal;
 import java.nio.file.FileSystems;
 import java.util.Map;
 import java.util.function.Function;
@@ -10,9 +11,12 @@ import com.github.tymefly.eel.exception.EelSymbolsTableException;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Unit test for {@link SymbolsTable}
@@ -70,6 +74,49 @@ public class SymbolsTableTest {
         assertEquals("yeK", table.read("Key"), "Failed to read via callback");
     }
 
+    /**
+     * Unit test {@link SymbolsTableBuilder#withTypedLookup(Function)}
+     */
+    @Test
+    public void test_withTypedLookup() {
+        BigDecimal number = new BigDecimal("1.50");
+        SymbolsTable table = SymbolsTable.factory()
+            .withTypedLookup(k -> "number".equals(k) ? number : null)
+            .withValues(Map.of("text", "value"))
+            .build();
+
+        assertTrue(table.isTyped(), "Table should be typed");
+        assertEquals("1.50", table.read("number"), "Failed to read number as text");
+        assertSame(number, table.value("number").asNumber(), "Failed to read number");
+        assertEquals(Type.TEXT, table.value("number").getType(), "Symbols are text");
+        assertEquals("value", table.read("text"), "Failed to read text");
+        assertEquals(Type.TEXT, table.value("text").getType(), "Failed to read text value");
+        assertNull(table.value("other"), "Undefined value");
+    }
+
+    /**
+     * Unit test {@link ScopedSymbolsTableBuilder#withTypedLookup(String, Function)}
+     */
+    @Test
+    public void test_withTypedLookup_scoped() {
+        SymbolsTable table = SymbolsTable.factory(".")
+            .withTypedLookup("s", k -> "flag".equals(k) ? Boolean.TRUE : null)
+            .build();
+
+        assertTrue(table.value("s.flag").asLogic(), "Failed to read scoped value");
+        assertNull(table.value("flag"), "Key without a scope");
+    }
+
+    /**
+     * Unit test {@link SymbolsTable#isTyped()}
+     */
+    @Test
+    public void test_isTyped() {
+        assertFalse(SymbolsTable.from(Map.of("key", "value")).isTyped(), "Map");
+        assertTrue(SymbolsTable.from(Map.of("key", "value")).freeze().isTyped(), "Frozen");
+        assertFalse(SymbolsTable.slots("value").isTyped(), "Slots");
+    }
+
     /**
      * Unit test {@link SymbolsTableBuilder#withDefault(String)}
      */
@@ -222,6 +269,149 @@ public class SymbolsTableTest {
     }
 
 
+    /**
+     * Unit test {@link SymbolsTable#slots(String...)}
+     */
+    @Test
+    public void test_slots() {
+        SymbolsTable table = SymbolsTable.slots("first", null, "third");
+
+        assertEquals("first", table.read(0, "a"), "Failed to read slot 0");
+        assertNull(table.read(1, "b"), "Slot 1 is undefined");
+        assertEquals("third", table.read(2, "c"), "Failed to read slot 2");
+        assertNull(table.read(3, "d"), "Slot 3 does not exist");
+        assertNull(table.read(-1, "a"), "Symbol without a slot");
+        assertNull(table.read("a"), "Read by name");
+    }
+
+    /**
+     * Unit test {@link SymbolsTable#read(int, String)}
+     */
+    @Test
+    public void test_read_slot_namedTable() {
+        SymbolsTable table = SymbolsTable.from(Map.of("a", "value"));
+
+        assertEquals("value", table.read(7, "a"), "Named tables ignore the slot");
+        assertEquals("value", table.read(-1, "a"), "Named tables ignore a missing slot");
+    }
+
+    /**
+     * Unit test {@link SymbolsTable#freeze()}
+     */
+    @Test
+    public void test_freeze() {
+        String property = System.getProperty("java.specification.version");
+
+        SymbolsTable table = SymbolsTable.factory()
+            .withValues(Map.of("file.separator", "overridden!"))
+            .withValues(Map.of("file.separator", "FromMap2", "map2", "value-2"))
+            .withProperties()
+            .withDefault("<not set>")
+            .build()
+            .freeze();
+
+        assertEquals("overridden!", table.read("file.separator"), "Should have read Map1");
+        assertEquals("value-2", table.read("map2"), "Should have read Map2");
+        assertEquals(property, table.read("java.specification.version"), "Should have read props");
+        assertEquals("<not set>", table.read("Key"), "Should have read default");
+    }
+
+    /**
+     * Unit test {@link SymbolsTable#freeze()}
+     */
+    @Test
+    public void test_freeze_scoped() {
+        Map.Entry<String, String> variable = System.getenv().entrySet().iterator().next();
+
+        SymbolsTable table = SymbolsTable.factory(".")
+            .withValues("map", Map.of("key", "scoped"))
+            .withEnvironment("env")
+            .build()
+            .freeze();
+
+        assertEquals("scoped", table.read("map.key"), "Should have read the scoped map");
+        assertEquals(variable.getValue(), table.read("env." + variable.getKey()), "Should have read env");
+        assertNull(table.read("key"), "Key without a scope");
+    }
+
+    /**
+     * Unit test {@link SymbolsTable#freeze()}
+     */
+    @Test
+    public void test_freeze_snapshot() {
+        String key = "eel.test.freeze";
+
+        try {
+            System.setProperty(key, "before");
+
+            SymbolsTable live = SymbolsTable.fromProperties();
+            SymbolsTable frozen = live.freeze();
+
+            System.setProperty(key, "after");
+
+            assertEquals("after", live.read(key), "Live table should see the change");
+            assertEquals("before", frozen.read(key), "Frozen table should not see the change");
+        } finally {
+            System.clearProperty(key);
+        }
+    }
+
+    /**
+     * Unit test {@link SymbolsTable#freeze()}
+     */
+    @Test
+    public void test_freeze_undefined() {
+        SymbolsTable table = SymbolsTable.from(Map.of("key", "value"))
+            .freeze();
+
+        assertNull(table.read("other"), "Undefined value");
+        assertNull(table.value("other"), "Undefined Constant");
+        assertSame(table.value("key"), table.value("key"), "Values should be pre-built");
+    }
+
+    /**
+     * Unit test {@link SymbolsTable#freeze()}
+     */
+    @Test
+    public void test_freeze_frozen() {
+        SymbolsTable table = SymbolsTable.from(Map.of("key", "value"))
+            .freeze();
+
+        assertSame(table, table.freeze(), "Frozen tables should not be copied");
+    }
+
+    /**
+     * Unit test {@link SymbolsTable#freeze()}
+     */
+    @Test
+    public void test_freeze_slots() {
+        String[] values = { "first", "second" };
+        SymbolsTable table = SymbolsTable.slots(values)
+            .freeze();
+
+        values[0] = "changed";
+
+        assertEquals("first", table.read(0, "a"), "Frozen slots should be copied");
+        assertEquals("second", table.read(1, "b"), "Failed to read slot 1");
+    }
+
+    /**
+     * Unit test {@link SymbolsTable#freeze()}
+     */
+    @Test
+    public void test_freeze_lookup() {
+        SymbolsTable table = SymbolsTable.factory()
+            .withValues(Map.of("key", "value"))
+            .withLookup(String::toUpperCase)
+            .build();
+
+        EelSymbolsTableException actual = assertThrows(EelSymbolsTableException.class, table::freeze);
+
+        assertEquals("Can not freeze a SymbolsTable that uses a lookup function",
+            actual.getMessage(),
+            "Unexpected message");
+    }
+
     /**
      * Unit test {@link SymbolsTable}
      */
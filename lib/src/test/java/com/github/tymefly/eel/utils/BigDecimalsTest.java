@@ -34,6 +34,24 @@ public class BigDecimalsTest {
         assertFalse(BigDecimals.eq(ZERO, NEG_ONE), "Zero and NEG_ONE");
     }
 
+    /**
+     * Unit test {@link BigDecimals#isSmallInteger(BigDecimal)}
+     */
+    @Test
+    public void test_isSmallInteger() {
+        assertTrue(BigDecimals.isSmallInteger(ZERO), "Zero");
+        assertTrue(BigDecimals.isSmallInteger(ONE), "One");
+        assertTrue(BigDecimals.isSmallInteger(NEG_ONE), "Negative One");
+        assertTrue(BigDecimals.isSmallInteger(new BigDecimal("999999999999999999")), "18 digits");
+        assertTrue(BigDecimals.isSmallInteger(new BigDecimal("-999999999999999999")), "Negative 18 digits");
+
+        assertFalse(BigDecimals.isSmallInteger(ZERO_1), "Zero_1");
+        assertFalse(BigDecimals.isSmallInteger(new BigDecimal("1.5")), "Fraction");
+        assertFalse(BigDecimals.isSmallInteger(new BigDecimal("1E+3")), "Negative scale");
+        assertFalse(BigDecimals.isSmallInteger(new BigDecimal("1000000000000000000")), "19 digits");
+        assertFalse(BigDecimals.isSmallInteger(BigDecimal.valueOf(Long.MAX_VALUE)), "Long.MAX_VALUE");
+    }
+
     /**
      * Unit test {@link BigDecimals#gt(BigDecimal, BigDecimal)}
      */
@@ -0,0 +1,27 @@
+package func.functions;
+
+import java.util.concurrent.TimeUnit;
+
+import com.github.tymefly.eel.Deadline;
+import com.github.tymefly.eel.udf.EelFunction;
+import com.github.tymefly.eel.udf.PackagedEelFunction;
+
+@PackagedEelFunction
+public class Slow {
+    @EelFunction(value = "test.slow", deterministic = true)
+    public String slow(int seconds) throws InterruptedException {
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        while (System.nanoTime() - end < 0) {
+            Deadline.checkpoint();
+            Thread.sleep(10);
+        }
+
+        return "done";
+    }
+
+    @EelFunction(value = "test.large", deterministic = true)
+    public String large(int size) {
+        return "x".repeat(size);
+    }
+}
@@ -0,0 +1,161 @@
+package com.github.tymefly.eel.processor;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.NoSuchFileException;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.Nonnull;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor that writes an index of the classes annotated with {@code PackagedEelFunction}.
+ * <br>
+ * EEL reads the index, from every jar and directory on the classpath, to find the functions in a package without
+ * scanning the classpath. The index is a UTF-8 text file named {@value #INDEX} that holds the binary name of each
+ * class on a separate line. Lines that start with {@literal #} are comments.
+ * <br>
+ * Incremental builds only compile some of the sources, so the classes in an existing index are kept for as long as
+ * they can still be found and are still annotated.
+ * <br>
+ * The processor is registered as a service, so it is used by {@code javac} whenever this jar is on the
+ * compile classpath.
+ */
+@SupportedAnnotationTypes(FunctionIndexProcessor.PACKAGED_FUNCTION)
+public class FunctionIndexProcessor extends AbstractProcessor {
+    /** The name of the generated index resource */
+    public static final String INDEX = "META-INF/eel/functions.index";
+
+    static final String PACKAGED_FUNCTION = "com.github.tymefly.eel.udf.PackagedEelFunction";
+    static final String FUNCTION = "com.github.tymefly.eel.udf.EelFunction";
+
+    private static final String COMMENT = "#";
+
+    private final Set<String> classes = new TreeSet<>();
+
+
+    @Override
+    @Nonnull
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(@Nonnull Set<? extends TypeElement> annotations, @Nonnull RoundEnvironment round) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : round.getElementsAnnotatedWith(annotation)) {
+                if (element instanceof TypeElement type) {
+                    addClass(type);
+                }
+            }
+        }
+
+        if (round.processingOver()) {
+            boolean existing = mergeIndex();
+
+            if (existing || !classes.isEmpty()) {
+                writeIndex();
+            }
+        }
+
+        return false;
+    }
+
+
+    private void addClass(@Nonnull TypeElement type) {
+        boolean hasFunction = type.getEnclosedElements()
+            .stream()
+            .filter(e -> e.getKind() == ElementKind.METHOD)
+            .anyMatch(e -> isAnnotated(e, FUNCTION));
+
+        if (!hasFunction) {
+            processingEnv.getMessager()
+                .printMessage(Diagnostic.Kind.WARNING, "Class contains no EEL functions", type);
+        }
+
+        classes.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+    }
+
+    private static boolean isAnnotated(@Nonnull Element element, @Nonnull String annotation) {
+        return element.getAnnotationMirrors()
+            .stream()
+            .map(a -> (TypeElement) a.getAnnotationType().asElement())
+            .anyMatch(a -> a.getQualifiedName().contentEquals(annotation));
+    }
+
+    /**
+     * Add the classes in the index written by a previous compilation, if there is one, that can still be found and
+     * are still annotated.
+     * @return {@literal true} only if there was an existing index
+     */
+    private boolean mergeIndex() {
+        boolean existing;
+
+        try {
+            FileObject index = processingEnv.getFiler()
+                .getResource(StandardLocation.CLASS_OUTPUT, "", INDEX);
+
+            try (
+                BufferedReader reader = new BufferedReader(index.openReader(true))
+            ) {
+                reader.lines()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith(COMMENT))
+                    .filter(this::isPackaged)
+                    .forEach(classes::add);
+            }
+
+            existing = true;
+        } catch (FileNotFoundException | NoSuchFileException e) {
+            existing = false;
+        } catch (IOException e) {
+            processingEnv.getMessager()
+                .printMessage(Diagnostic.Kind.WARNING, "Failed to read " + INDEX + ": " + e.getMessage());
+            existing = false;
+        }
+
+        return existing;
+    }
+
+    private boolean isPackaged(@Nonnull String binaryName) {
+        Elements elements = processingEnv.getElementUtils();
+        TypeElement type = elements.getTypeElement(binaryName.replace('$', '.'));
+
+        return (type != null) &&
+            elements.getBinaryName(type).contentEquals(binaryName) &&
+            isAnnotated(type, PACKAGED_FUNCTION);
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject index = processingEnv.getFiler()
+                .createResource(StandardLocation.CLASS_OUTPUT, "", INDEX);
+
+            try (
+                Writer writer = index.openWriter()
+            ) {
+                writer.write(COMMENT + " Generated by " + getClass().getName() + System.lineSeparator());
+
+                for (String name : classes) {
+                    writer.write(name + System.lineSeparator());
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager()
+                .printMessage(Diagnostic.Kind.ERROR, "Failed to write " + INDEX + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * This package contains the annotation processor that indexes EEL functions when they are compiled.
+ */
+package com.github.tymefly.eel.processor;
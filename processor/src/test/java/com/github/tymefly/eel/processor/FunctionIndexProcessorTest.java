@@ -0,0 +1,183 @@
+package com.github.tymefly.eel.processor;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test for {@link FunctionIndexProcessor}
+ */
+public class FunctionIndexProcessorTest {
+    private static final Map<String, String> ANNOTATIONS = Map.of(
+        "com.github.tymefly.eel.udf.PackagedEelFunction",
+        "package com.github.tymefly.eel.udf; public @interface PackagedEelFunction {}",
+        "com.github.tymefly.eel.udf.EelFunction",
+        "package com.github.tymefly.eel.udf; public @interface EelFunction { String value(); }");
+
+    @TempDir
+    private Path output;
+
+
+    /**
+     * Unit test {@link FunctionIndexProcessor#process}
+     */
+    @Test
+    public void test_index() throws Exception {
+        List<Diagnostic<? extends JavaFileObject>> diagnostics = compile(Map.of(
+            "my.udf.Second",
+            "package my.udf; @com.github.tymefly.eel.udf.PackagedEelFunction public class Second {" +
+                "  @com.github.tymefly.eel.udf.EelFunction(\"my.second\") public String second() { return \"\"; }" +
+                "  @com.github.tymefly.eel.udf.PackagedEelFunction public static class Nested {" +
+                "    @com.github.tymefly.eel.udf.EelFunction(\"my.nested\") public String nested() { return \"\"; }" +
+                "  }" +
+                "}",
+            "my.udf.First",
+            "package my.udf; @com.github.tymefly.eel.udf.PackagedEelFunction public class First {" +
+                "  @com.github.tymefly.eel.udf.EelFunction(\"my.first\") public String first() { return \"\"; }" +
+                "}",
+            "my.udf.Ignored",
+            "package my.udf; public class Ignored {" +
+                "  @com.github.tymefly.eel.udf.EelFunction(\"my.ignored\") public String ignored() { return \"\"; }" +
+                "}"));
+
+        assertEquals(List.of(), diagnostics, "Unexpected diagnostics");
+        assertEquals(List.of("my.udf.First", "my.udf.Second", "my.udf.Second$Nested"), readIndex(), "Unexpected index");
+    }
+
+    /**
+     * Unit test {@link FunctionIndexProcessor#process}
+     */
+    @Test
+    public void test_noFunctions() throws Exception {
+        List<Diagnostic<? extends JavaFileObject>> diagnostics = compile(Map.of(
+            "my.udf.Empty",
+            "package my.udf; @com.github.tymefly.eel.udf.PackagedEelFunction public class Empty {}"));
+
+        assertEquals(1, diagnostics.size(), "Unexpected diagnostics");
+        assertEquals(Diagnostic.Kind.WARNING, diagnostics.get(0).getKind(), "Unexpected kind");
+        assertEquals("Class contains no EEL functions", diagnostics.get(0).getMessage(null), "Unexpected message");
+        assertEquals(List.of("my.udf.Empty"), readIndex(), "Unexpected index");
+    }
+
+    /**
+     * Unit test {@link FunctionIndexProcessor#process}
+     */
+    @Test
+    public void test_nothingToIndex() throws Exception {
+        compile(Map.of("my.udf.Plain", "package my.udf; public class Plain {}"));
+
+        assertFalse(Files.exists(output.resolve(FunctionIndexProcessor.INDEX)), "Unexpected index");
+    }
+
+    /**
+     * Unit test {@link FunctionIndexProcessor#process}
+     */
+    @Test
+    public void test_incremental() throws Exception {
+        compile(Map.of(
+            "my.udf.Kept",
+            "package my.udf; @com.github.tymefly.eel.udf.PackagedEelFunction public class Kept {" +
+                "  @com.github.tymefly.eel.udf.EelFunction(\"my.kept\") public String kept() { return \"\"; }" +
+                "}",
+            "my.udf.Changed",
+            "package my.udf; @com.github.tymefly.eel.udf.PackagedEelFunction public class Changed {" +
+                "  @com.github.tymefly.eel.udf.EelFunction(\"my.changed\") public String changed() { return \"\"; }" +
+                "}",
+            "my.udf.Deleted",
+            "package my.udf; @com.github.tymefly.eel.udf.PackagedEelFunction public class Deleted {" +
+                "  @com.github.tymefly.eel.udf.EelFunction(\"my.deleted\") public String deleted() { return \"\"; }" +
+                "}"),
+            List.of());
+
+        Files.delete(output.resolve("my/udf/Deleted.class"));
+
+        List<Diagnostic<? extends JavaFileObject>> diagnostics = compile(Map.of(
+            "my.udf.Added",
+            "package my.udf; @com.github.tymefly.eel.udf.PackagedEelFunction public class Added {" +
+                "  @com.github.tymefly.eel.udf.EelFunction(\"my.added\") public String added() { return \"\"; }" +
+                "}",
+            "my.udf.Changed",
+            "package my.udf; public class Changed {" +
+                "  @com.github.tymefly.eel.udf.EelFunction(\"my.changed\") public String changed() { return \"\"; }" +
+                "}"),
+            List.of());
+
+        assertEquals(List.of(), diagnostics, "Unexpected diagnostics");
+        assertEquals(List.of("my.udf.Added", "my.udf.Kept"), readIndex(), "Unexpected index");
+    }
+
+
+    private List<Diagnostic<? extends JavaFileObject>> compile(Map<String, String> sources) throws IOException {
+        return compile(sources, List.of("-proc:only"));
+    }
+
+    private List<Diagnostic<? extends JavaFileObject>> compile(Map<String, String> sources,
+                                                               List<String> options) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        List<JavaFileObject> files = new ArrayList<>();
+
+        ANNOTATIONS.forEach((name, source) -> files.add(new Source(name, source)));
+        sources.forEach((name, source) -> files.add(new Source(name, source)));
+
+        try (
+            StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)
+        ) {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, List.of(output.toFile()));
+            fileManager.setLocation(StandardLocation.CLASS_PATH, List.of(output.toFile()));
+
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                options, null, files);
+
+            task.setProcessors(List.of(new FunctionIndexProcessor()));
+
+            assertTrue(task.call(), "Compilation failed");
+        }
+
+        return diagnostics.getDiagnostics();
+    }
+
+    private List<String> readIndex() throws IOException {
+        List<String> lines = Files.readAllLines(output.resolve(FunctionIndexProcessor.INDEX), StandardCharsets.UTF_8);
+
+        assertTrue(lines.get(0).startsWith("#"), "Missing header");
+
+        return lines.subList(1, lines.size());
+    }
+
+
+    private static class Source extends SimpleJavaFileObject {
+        private final String source;
+
+        Source(String name, String source) {
+            super(URI.create("string:///" + name.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+}